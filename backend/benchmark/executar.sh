@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Roda os microbenchmarks (JMH) do backend e grava o resultado em JSON, para comparar com execuções anteriores.
+#
+# Suítes: SerializacaoBenchmark (Jackson: JSON, CBOR e Smile), MapeamentoBenchmark (documentos do MongoDB <-> modelos)
+# ServicoBenchmark (CRUD dos serviços contra um MongoDB embutido em memória, sem nada instalado) e CarregadorBenchmark
+# (agrupamento das buscas por ID do CarregadorEmLote, com uma consulta simulada).
+#
+# Pré-requisitos: Java 21 e Maven.
+#
+# Uso: ./executar.sh [filtro de benchmarks e opções do JMH, ex: MapeamentoBenchmark -p modelo=aluno]
+# Variáveis: RESULTADO (padrão: resultados/<data>-<commit>.json), ANTERIOR (um resultado anterior para comparar).
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+# Os benchmarks usam o jar do backend instalado no repositório local do Maven.
+(cd "$DIR/.." && mvn -B -q install -DskipTests)
+cd "$DIR"
+mvn -B -q package
+
+mkdir -p resultados
+COMMIT="$(git rev-parse --short HEAD 2>/dev/null || echo local)"
+RESULTADO="${RESULTADO:-resultados/$(date +%Y%m%d-%H%M%S)-$COMMIT.json}"
+
+java -jar target/benchmarks.jar -rf json -rff "$RESULTADO" "$@"
+echo "Resultado gravado em $RESULTADO"
+
+if [ -n "${ANTERIOR:-}" ]; then
+    echo "=== Comparação com $ANTERIOR ==="
+    java -cp target/benchmarks.jar com.exemplo.crudmongo.benchmark.CompararResultados "$ANTERIOR" "$RESULTADO"
+fi
@@ -0,0 +1,79 @@
+// Define o pacote onde esta classe está localizada. O pacote 'benchmark' reúne os microbenchmarks (JMH) do backend.
+package com.exemplo.crudmongo.benchmark;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.service.CarregadorEmLote; // Importa o carregador em lote medido.
+import com.exemplo.crudmongo.service.CarregadoresEmLote; // Importa a fábrica dos carregadores (a mesma dos serviços).
+import org.openjdk.jmh.annotations.*; // Importa as anotações do JMH.
+import org.springframework.cache.support.NoOpCacheManager; // Importa o gerenciador de caches vazio: toda busca vai à "consulta".
+
+import java.util.Collection; // Importa a interface Collection, que representa os IDs de cada consulta.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Optional; // Importa o Optional, devolvido pelas buscas.
+import java.util.concurrent.ThreadLocalRandom; // Importa o gerador de números aleatórios (escolha dos IDs buscados).
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo do resultado.
+import java.util.concurrent.locks.LockSupport; // Importa a espera que simula o tempo de resposta do banco.
+
+/**
+ * Tempo de uma busca pelo carregador em lote (CarregadorEmLote), com uma consulta simulada que leva 'latenciaMicros'
+ * (sem banco e sem cache, para medir só o agrupamento).
+ *
+ * - buscaIsolada: uma thread, uma busca por vez. Mostra quanto a busca espera além da própria consulta.
+ * - buscasSimultaneas: 16 threads ao mesmo tempo. Mostra o efeito de juntar as buscas em lotes.
+ *
+ * Uso: java -jar target/benchmarks.jar CarregadorBenchmark [-p janelaMicros=0,2000] [-rf json -rff carregador.json]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarregadorBenchmark {
+
+    // Propriedade 'crudmongo.carregador.janela-micros'.
+    @Param({"2000"})
+    public long janelaMicros;
+
+    // Tempo de resposta simulado de cada consulta { _id: { $in: [...] } }.
+    @Param({"300"})
+    public long latenciaMicros;
+
+    private CarregadoresEmLote carregadores;
+    private CarregadorEmLote<String> carregador;
+
+    @Setup
+    public void preparar() {
+        carregadores = new CarregadoresEmLote(janelaMicros, 100, 10_000, new NoOpCacheManager());
+        carregador = carregadores.criar("benchmark", this::consultar, id -> id);
+    }
+
+    @TearDown
+    public void encerrar() {
+        carregadores.encerrar();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> buscaIsolada() {
+        return carregador.carregar(id());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Optional<String> buscasSimultaneas() {
+        return carregador.carregar(id());
+    }
+
+    /**
+     * A consulta simulada: espera a latência e devolve um documento para cada ID (o documento é o próprio ID).
+     */
+    private Iterable<String> consultar(Collection<String> ids) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latenciaMicros));
+        return List.copyOf(ids);
+    }
+
+    private static String id() {
+        return Integer.toString(ThreadLocalRandom.current().nextInt(1_000_000));
+    }
+}
@@ -0,0 +1,90 @@
+// Define o pacote onde esta classe está localizada. O pacote 'benchmark' reúne os microbenchmarks (JMH) do backend.
+package com.exemplo.crudmongo.benchmark;
+
+// Importações de classes necessárias.
+import com.fasterxml.jackson.databind.JsonNode; // Importa a árvore de nós do JSON lido.
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa o ObjectMapper, usado para ler os arquivos de resultado.
+
+import java.io.File; // Importa a representação de um arquivo.
+import java.io.IOException; // Importa a exceção de entrada/saída.
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção (a ordem do arquivo).
+import java.util.Locale; // Importa o Locale, usado para formatar números com ponto decimal no JSON.
+import java.util.Map; // Importa a interface Map.
+import java.util.TreeMap; // Importa o mapa ordenado, usado para os parâmetros.
+
+/**
+ * Compara dois arquivos de resultado do JMH em JSON (gerados com -rf json), ex: antes e depois de uma alteração.
+ *
+ * Para cada benchmark com os mesmos parâmetros nos dois arquivos, mostra a pontuação antes e depois, a variação
+ * e se ela é maior que a margem de erro das duas medições somadas. Nos modos de tempo (avgt, sample, ss), menos é
+ * melhor; no modo de vazão (thrpt), mais é melhor. O resultado também é impresso em linhas JSON (prefixo "RESULTADO ").
+ *
+ * Uso: java -cp target/benchmarks.jar com.exemplo.crudmongo.benchmark.CompararResultados antes.json depois.json
+ */
+public class CompararResultados {
+
+    /**
+     * Uma medição: pontuação, margem de erro (intervalo de 99,9%), unidade e modo.
+     */
+    private record Medicao(double pontuacao, double erro, String unidade, String modo) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CompararResultados antes.json depois.json");
+            System.exit(2);
+        }
+        Map<String, Medicao> antes = ler(new File(args[0]));
+        Map<String, Medicao> depois = ler(new File(args[1]));
+
+        System.out.printf("%-80s %14s %14s %9s  %s%n", "benchmark", "antes", "depois", "variação", "conclusão");
+        for (Map.Entry<String, Medicao> entrada : depois.entrySet()) {
+            Medicao anterior = antes.get(entrada.getKey());
+            if (anterior == null) {
+                continue; // Benchmark novo: não há com o que comparar.
+            }
+            Medicao atual = entrada.getValue();
+            double variacao = 100.0 * (atual.pontuacao() - anterior.pontuacao()) / anterior.pontuacao();
+            String conclusao = conclusao(anterior, atual);
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s (%s)%n",
+                    entrada.getKey(), anterior.pontuacao(), atual.pontuacao(), variacao, conclusao, atual.unidade());
+            System.out.println(String.format(Locale.ROOT,
+                    "RESULTADO {\"benchmark\":\"%s\",\"antes\":%.3f,\"depois\":%.3f,\"unidade\":\"%s\",\"variacao\":%.2f,\"conclusao\":\"%s\"}",
+                    entrada.getKey().replace("\"", "\\\""), anterior.pontuacao(), atual.pontuacao(), atual.unidade(),
+                    variacao, conclusao));
+        }
+    }
+
+    /**
+     * Lê um arquivo de resultado do JMH. A chave de cada medição é o nome do benchmark seguido dos parâmetros
+     * em ordem alfabética, ex: "MapeamentoBenchmark.ler {mapeamento=manual, modelo=aluno}".
+     */
+    private static Map<String, Medicao> ler(File arquivo) throws IOException {
+        Map<String, Medicao> medicoes = new LinkedHashMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo)) {
+            String nome = resultado.path("benchmark").asText().replace("com.exemplo.crudmongo.benchmark.", "");
+            Map<String, String> parametros = new TreeMap<>();
+            resultado.path("params").fields().forEachRemaining(p -> parametros.put(p.getKey(), p.getValue().asText()));
+            JsonNode metrica = resultado.path("primaryMetric");
+            double erro = metrica.path("scoreError").asDouble(0);
+            medicoes.put(parametros.isEmpty() ? nome : nome + " " + parametros, new Medicao(
+                    metrica.path("score").asDouble(),
+                    Double.isNaN(erro) ? 0 : erro, // Com uma só iteração, o JMH não calcula a margem de erro.
+                    metrica.path("scoreUnit").asText(),
+                    resultado.path("mode").asText()));
+        }
+        return medicoes;
+    }
+
+    /**
+     * "melhor", "pior" ou "igual", quando a diferença cabe nas margens de erro das duas medições.
+     */
+    private static String conclusao(Medicao antes, Medicao depois) {
+        double diferenca = depois.pontuacao() - antes.pontuacao();
+        if (Math.abs(diferenca) <= antes.erro() + depois.erro()) {
+            return "igual";
+        }
+        boolean maisEMelhor = antes.modo().equals("thrpt");
+        return (diferenca > 0) == maisEMelhor ? "melhor" : "pior";
+    }
+}
@@ -0,0 +1,121 @@
+// Define o pacote onde esta classe está localizada. O pacote 'benchmark' reúne os microbenchmarks (JMH) do backend.
+package com.exemplo.crudmongo.benchmark;
+
+// Importações de classes necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos usados nos benchmarks.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import org.bson.types.ObjectId; // Importa o ObjectId, usado para gerar IDs no mesmo formato do banco.
+import org.springframework.beans.BeanWrapper; // Importa o acesso às propriedades de um objeto pelo nome.
+import org.springframework.beans.PropertyAccessorFactory; // Importa a fábrica desse acesso.
+
+import java.time.Instant; // Importa a classe Instant, usada na data da última alteração.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Documentos de exemplo de cada modelo, com todos os campos preenchidos (o caso mais caro de ler e gravar).
+ */
+final class Exemplos {
+
+    // Os nomes aceitos nos parâmetros 'modelo' dos benchmarks.
+    static final String[] MODELOS = {"aluno", "curso", "disciplina", "turma", "curriculo"};
+
+    private Exemplos() {
+        // Classe utilitária: não deve ser instanciada.
+    }
+
+    /**
+     * Monta um exemplo do modelo informado.
+     * @param modelo "aluno", "curso", "disciplina", "turma" ou "curriculo".
+     */
+    static Object de(String modelo) {
+        return switch (modelo) {
+            case "aluno" -> aluno();
+            case "curso" -> curso();
+            case "disciplina" -> disciplina();
+            case "turma" -> turma();
+            case "curriculo" -> curriculo();
+            default -> throw new IllegalArgumentException("Modelo desconhecido: " + modelo);
+        };
+    }
+
+    /**
+     * Monta um exemplo do modelo como chega em um POST: sem ID, versão e data de alteração (preenchidos na gravação).
+     * @param modelo "aluno", "curso", "disciplina", "turma" ou "curriculo".
+     */
+    static Object novo(String modelo) {
+        Object exemplo = de(modelo);
+        BeanWrapper propriedades = PropertyAccessorFactory.forBeanPropertyAccess(exemplo);
+        propriedades.setPropertyValue("id", null);
+        propriedades.setPropertyValue("versao", null);
+        propriedades.setPropertyValue("ultimaModificacao", null);
+        return exemplo;
+    }
+
+    static Aluno aluno() {
+        Aluno aluno = new Aluno();
+        aluno.setId(new ObjectId().toHexString());
+        aluno.setNome("Maria Aparecida da Conceição Silva");
+        aluno.setIra(8.37);
+        aluno.setCursoId(new ObjectId().toHexString());
+        aluno.setPeriodoIngressoId("2024.1");
+        aluno.setVersao(3L);
+        aluno.setUltimaModificacao(Instant.parse("2024-03-15T12:34:56.789Z"));
+        return aluno;
+    }
+
+    static Curso curso() {
+        Curso curso = new Curso();
+        curso.setId(new ObjectId().toHexString());
+        curso.setNome("Ciência da Computação");
+        curso.setNivel("Graduação");
+        curso.setModalidade("Presencial");
+        curso.setTurno("Integral");
+        curso.setVersao(1L);
+        curso.setUltimaModificacao(Instant.parse("2024-03-15T12:34:56.789Z"));
+        return curso;
+    }
+
+    static Disciplina disciplina() {
+        Disciplina disciplina = new Disciplina();
+        disciplina.setId(new ObjectId().toHexString());
+        disciplina.setNome("Estruturas de Dados");
+        disciplina.setCargaHoraria(60);
+        disciplina.setEmenta("Listas, pilhas, filas, árvores binárias de busca, árvores balanceadas, heaps, tabelas de "
+                + "dispersão e grafos. Análise de complexidade das operações e escolha da estrutura adequada a cada problema.");
+        disciplina.setVersao(2L);
+        disciplina.setUltimaModificacao(Instant.parse("2024-03-15T12:34:56.789Z"));
+        return disciplina;
+    }
+
+    static Turma turma() {
+        Turma turma = new Turma();
+        turma.setId(new ObjectId().toHexString());
+        turma.setDisciplinaId(new ObjectId().toHexString());
+        turma.setAno(2024);
+        turma.setSemestre(1);
+        turma.setProfessor("João Pedro Albuquerque");
+        turma.setVersao(5L);
+        turma.setUltimaModificacao(Instant.parse("2024-03-15T12:34:56.789Z"));
+        return turma;
+    }
+
+    static Curriculo curriculo() {
+        Curriculo curriculo = new Curriculo();
+        curriculo.setId(new ObjectId().toHexString());
+        curriculo.setCursoId(new ObjectId().toHexString());
+        curriculo.setAno(2024);
+        curriculo.setSemestre(1);
+        curriculo.setDisciplinasObrigatorias(List.of(
+                new ObjectId().toHexString(), new ObjectId().toHexString(), new ObjectId().toHexString(),
+                new ObjectId().toHexString(), new ObjectId().toHexString(), new ObjectId().toHexString(),
+                new ObjectId().toHexString(), new ObjectId().toHexString()));
+        curriculo.setDisciplinasOptativas(List.of(
+                new ObjectId().toHexString(), new ObjectId().toHexString(), new ObjectId().toHexString()));
+        curriculo.setVersao(0L);
+        curriculo.setUltimaModificacao(Instant.parse("2024-03-15T12:34:56.789Z"));
+        return curriculo;
+    }
+}
@@ -0,0 +1,88 @@
+// Define o pacote onde esta classe está localizada. O pacote 'benchmark' reúne os microbenchmarks (JMH) do backend.
+package com.exemplo.crudmongo.benchmark;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos mapeados pelo Spring Data.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import com.exemplo.crudmongo.config.ConversoresMongo; // Importa os conversores escritos à mão.
+import org.bson.Document; // Importa a classe Document, que representa um documento BSON.
+import org.openjdk.jmh.annotations.*; // Importa as anotações do JMH.
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter; // Importa o conversor de mapeamento do Spring Data MongoDB.
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions; // Importa o registro de conversores personalizados.
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver; // Importa o resolvedor de DBRef que não acessa o banco.
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext; // Importa o contexto com os metadados de mapeamento.
+
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Set; // Importa a interface Set.
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo do resultado.
+
+/**
+ * Custo de converter um documento do MongoDB em objeto (ler) e um objeto em documento (escrever), para cada modelo,
+ * com o mapeamento genérico do Spring Data (por reflexão) e com os conversores escritos à mão (ConversoresMongo).
+ *
+ * O MappingMongoConverter é montado como o Spring Boot faz, sem banco: os números medem só a conversão, sem I/O.
+ *
+ * Uso: java -jar target/benchmarks.jar MapeamentoBenchmark [-p modelo=aluno,turma] [-rf json -rff mapeamento.json]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    // O modelo convertido.
+    @Param({"aluno", "curso", "disciplina", "turma", "curriculo"})
+    public String modelo;
+
+    // "generico" (MappingMongoConverter por reflexão) ou "manual" (ConversoresMongo).
+    @Param({"generico", "manual"})
+    public String mapeamento;
+
+    private MappingMongoConverter conversor;
+    private Class<?> tipo;
+    private Object objeto;
+    private Document documento;
+
+    @Setup
+    public void preparar() {
+        conversor = conversor(mapeamento.equals("manual"));
+        objeto = Exemplos.de(modelo);
+        tipo = objeto.getClass();
+        // O documento lido é o gravado pelo próprio mapeamento (o genérico inclui o campo '_class').
+        documento = new Document();
+        conversor.write(objeto, documento);
+    }
+
+    @Benchmark
+    public Object ler() {
+        return conversor.read(tipo, documento);
+    }
+
+    @Benchmark
+    public Document escrever() {
+        Document gravado = new Document();
+        conversor.write(objeto, gravado);
+        return gravado;
+    }
+
+    /**
+     * Monta o MappingMongoConverter da mesma forma que a configuração automática do Spring Boot.
+     * @param manuais Se os conversores escritos à mão devem ser registrados.
+     */
+    static MappingMongoConverter conversor(boolean manuais) {
+        MongoCustomConversions conversoes = new MongoCustomConversions(manuais ? ConversoresMongo.conversores() : List.of());
+        MongoMappingContext contexto = new MongoMappingContext();
+        contexto.setSimpleTypeHolder(conversoes.getSimpleTypeHolder());
+        contexto.setInitialEntitySet(Set.of(Aluno.class, Curso.class, Disciplina.class, Turma.class, Curriculo.class));
+        contexto.afterPropertiesSet();
+        MappingMongoConverter conversor = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexto);
+        conversor.setCustomConversions(conversoes);
+        conversor.afterPropertiesSet();
+        return conversor;
+    }
+}
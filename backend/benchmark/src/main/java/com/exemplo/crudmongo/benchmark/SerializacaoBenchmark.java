@@ -0,0 +1,110 @@
+// Define o pacote onde esta classe está localizada. O pacote 'benchmark' reúne os microbenchmarks (JMH) do backend.
+package com.exemplo.crudmongo.benchmark;
+
+// Importações de classes e anotações necessárias.
+import com.fasterxml.jackson.core.JsonFactory; // Importa a fábrica de geradores/analisadores do Jackson.
+import com.fasterxml.jackson.databind.JavaType; // Importa a representação de um tipo genérico (a lista da página).
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa o ObjectMapper, que converte objetos em bytes e vice-versa.
+import com.fasterxml.jackson.databind.SerializationFeature; // Importa as opções de serialização do Jackson.
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory; // Importa a fábrica do formato CBOR.
+import com.fasterxml.jackson.dataformat.smile.SmileFactory; // Importa a fábrica do formato Smile.
+import org.openjdk.jmh.annotations.*; // Importa as anotações do JMH.
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder; // Importa o construtor de ObjectMapper usado pelo Spring.
+
+import java.io.IOException; // Importa a exceção de entrada/saída.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo do resultado.
+
+/**
+ * Custo de serializar (escrever) e desserializar (ler) cada modelo com o Jackson, nos formatos de resposta da API:
+ * JSON, CBOR e Smile (ver FormatosBinarios).
+ *
+ * Além de um documento isolado (GET /{id}, POST e PUT), mede uma página de listagem com 'tamanhoPagina' documentos
+ * (GET /api/... e exportações). O ObjectMapper é montado com as mesmas configurações que o Spring Boot aplica no
+ * backend (módulos registrados automaticamente e datas como texto ISO-8601).
+ *
+ * Uso: java -jar target/benchmarks.jar SerializacaoBenchmark [-p formato=json,cbor] [-rf json -rff serializacao.json]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    // O modelo serializado.
+    @Param({"aluno", "curso", "disciplina", "turma", "curriculo"})
+    public String modelo;
+
+    // O formato: "json", "cbor" ou "smile".
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    // A quantidade de documentos da página (o limite padrão das listagens é 50).
+    @Param({"50"})
+    public int tamanhoPagina;
+
+    private ObjectMapper mapper;
+    private Class<?> tipo;
+    private JavaType tipoPagina;
+    private Object objeto;
+    private List<Object> pagina;
+    private byte[] bytes;
+    private byte[] bytesPagina;
+
+    @Setup
+    public void preparar() throws IOException {
+        mapper = mapper(formato);
+        objeto = Exemplos.de(modelo);
+        tipo = objeto.getClass();
+        tipoPagina = mapper.getTypeFactory().constructCollectionType(List.class, tipo);
+        // A página tem documentos diferentes (IDs novos a cada exemplo), como uma listagem de verdade.
+        pagina = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            pagina.add(Exemplos.de(modelo));
+        }
+        bytes = mapper.writeValueAsBytes(objeto);
+        bytesPagina = mapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] escrever() throws IOException {
+        return mapper.writeValueAsBytes(objeto);
+    }
+
+    @Benchmark
+    public Object ler() throws IOException {
+        return mapper.readValue(bytes, tipo);
+    }
+
+    @Benchmark
+    public byte[] escreverPagina() throws IOException {
+        return mapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public Object lerPagina() throws IOException {
+        return mapper.readValue(bytesPagina, tipoPagina);
+    }
+
+    /**
+     * Monta o ObjectMapper do formato com as configurações padrão do Spring Boot (as mesmas do backend).
+     * @param formato "json", "cbor" ou "smile".
+     */
+    static ObjectMapper mapper(String formato) {
+        JsonFactory fabrica = switch (formato) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + formato);
+        };
+        // Os módulos (ex: datas do Java 8) são registrados pelo próprio builder; as duas opções abaixo são os padrões
+        // que a configuração automática do Spring Boot (JacksonAutoConfiguration) acrescenta.
+        return new Jackson2ObjectMapperBuilder()
+                .factory(fabrica)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+    }
+}
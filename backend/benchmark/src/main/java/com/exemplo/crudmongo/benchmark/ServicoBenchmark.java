@@ -0,0 +1,208 @@
+// Define o pacote onde esta classe está localizada. O pacote 'benchmark' reúne os microbenchmarks (JMH) do backend.
+package com.exemplo.crudmongo.benchmark;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.CrudMongoApplication; // Importa a classe principal do backend, usada para montar o contexto do Spring.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos usados nas operações.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import com.exemplo.crudmongo.repository.Projecao; // Importa a projeção dos campos lidos (aqui, todos).
+import com.exemplo.crudmongo.service.AlunoService; // Importa os serviços medidos.
+import com.exemplo.crudmongo.service.CurriculoService;
+import com.exemplo.crudmongo.service.CursoService;
+import com.exemplo.crudmongo.service.DisciplinaService;
+import com.exemplo.crudmongo.service.TurmaService;
+import de.bwaldvogel.mongo.MongoServer; // Importa o servidor compatível com o protocolo do MongoDB, que roda dentro da JVM.
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend; // Importa o armazenamento em memória desse servidor.
+import org.openjdk.jmh.annotations.*; // Importa as anotações do JMH.
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory; // Importa a fábrica de beans do Spring.
+import org.springframework.beans.factory.support.BeanDefinitionRegistry; // Importa o registro das definições de beans.
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor; // Importa o ponto de extensão que altera as definições antes da criação dos beans.
+import org.springframework.boot.WebApplicationType; // Importa o tipo de aplicação (sem servidor web, aqui).
+import org.springframework.boot.builder.SpringApplicationBuilder; // Importa o construtor da aplicação Spring Boot.
+import org.springframework.context.ConfigurableApplicationContext; // Importa o contexto do Spring, encerrado no fim.
+import org.springframework.context.support.GenericApplicationContext; // Importa o contexto que aceita o registro de beans na inicialização.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado para apagar os dados no fim.
+
+import java.net.InetSocketAddress; // Importa o endereço em que o servidor embutido escuta.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Optional; // Importa o Optional, devolvido pelas buscas por ID.
+import java.util.concurrent.ThreadLocalRandom; // Importa o gerador de números aleatórios (escolha dos IDs buscados).
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo do resultado.
+import java.util.function.BiFunction; // Importa as interfaces funcionais que representam cada operação.
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Custo das operações de CRUD dos serviços (AlunoService, CursoService, DisciplinaService, TurmaService e
+ * CurriculoService), com o contexto completo do Spring (cache, contadores de versão, índices em memória) e um MongoDB
+ * de verdade do ponto de vista do driver.
+ *
+ * Por padrão, o MongoDB é substituído por um servidor embutido (mongo-java-server, em memória), então o benchmark
+ * roda sem nada instalado e os números refletem sobretudo o custo do lado da aplicação: mapeamento, driver, cache e
+ * a lógica dos serviços. Para medir contra um MongoDB real, informe a URI: -p uri=mongodb://localhost:27017/crudmongo-benchmark
+ * (o banco informado é apagado no fim).
+ *
+ * Antes das medições, 'quantidade' documentos do modelo são gravados. O buscarPorId passa pelo cache dos serviços, como
+ * em produção (depois do aquecimento, quase sempre é um acerto no cache).
+ *
+ * Uso: java -jar target/benchmarks.jar ServicoBenchmark [-p modelo=aluno] [-rf json -rff servico.json]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicoBenchmark {
+
+    // O modelo cujo serviço é medido.
+    @Param({"aluno", "curso", "disciplina", "turma", "curriculo"})
+    public String modelo;
+
+    // A quantidade de documentos gravados antes das medições.
+    @Param({"1000"})
+    public int quantidade;
+
+    // "embutido" (mongo-java-server em memória) ou a URI de um MongoDB real.
+    @Param({"embutido"})
+    public String uri;
+
+    /**
+     * As operações de um serviço, com os tipos do modelo escondidos (cada serviço tem os seus próprios tipos).
+     */
+    private record Operacoes(Function<Object, String> salvar, Function<String, Optional<?>> buscar,
+                             BiFunction<String, Object, Object> atualizar, Consumer<String> excluir,
+                             Function<Integer, Object> listarPagina) {
+    }
+
+    private MongoServer servidor;
+    private ConfigurableApplicationContext contexto;
+    private Operacoes operacoes;
+    private List<String> ids;
+
+    @Setup
+    public void preparar() {
+        String uriMongo = uri;
+        if (uri.equals("embutido")) {
+            servidor = new MongoServer(new MemoryBackend());
+            InetSocketAddress endereco = servidor.bind(); // Escuta no localhost, em uma porta livre.
+            uriMongo = "mongodb://127.0.0.1:" + endereco.getPort() + "/crudmongo-benchmark";
+        }
+        // Sobe o backend sem o servidor web: só os beans (serviços, repositórios, cache) interessam aqui.
+        contexto = new SpringApplicationBuilder(CrudMongoApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .initializers(inicial -> ((GenericApplicationContext) inicial).registerBean(SemDriverNetty.class))
+                .properties(
+                        "spring.data.mongodb.uri=" + uriMongo,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // O servidor embutido registra um aviso para cada índice e comando que não implementa (ex: explain).
+                        "logging.level.de.bwaldvogel=OFF")
+                .run();
+        operacoes = operacoes(modelo);
+
+        ids = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(operacoes.salvar().apply(Exemplos.novo(modelo)));
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.getBean(MongoTemplate.class).getDb().drop();
+        contexto.close();
+        if (servidor != null) {
+            servidor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Object buscarPorId() {
+        return operacoes.buscar().apply(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public Object listarPagina() {
+        return operacoes.listarPagina().apply(50);
+    }
+
+    @Benchmark
+    public Object atualizar() {
+        return operacoes.atualizar().apply(ids.get(ThreadLocalRandom.current().nextInt(ids.size())), Exemplos.novo(modelo));
+    }
+
+    /**
+     * Grava um documento novo (POST) e o exclui (DELETE) em seguida, para que a coleção não cresça durante a medição.
+     */
+    @Benchmark
+    public String criarEExcluir() {
+        String id = operacoes.salvar().apply(Exemplos.novo(modelo));
+        operacoes.excluir().accept(id);
+        return id;
+    }
+
+    /**
+     * Remove a configuração do driver do MongoDB com Netty, que o Spring Boot ativa quando o Netty está no classpath.
+     * Aqui ele vem com o servidor embutido; no backend, não existe. Sem isso, os clientes usariam um transporte
+     * diferente do de produção, e um dos grupos de threads do Netty criados pelo Spring Boot nunca é encerrado
+     * (o que impede o JMH de terminar a JVM de cada medição).
+     */
+    static class SemDriverNetty implements BeanDefinitionRegistryPostProcessor {
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registro) {
+            if (registro.containsBeanDefinition("nettyDriverCustomizer")) {
+                registro.removeBeanDefinition("nettyDriverCustomizer");
+            }
+        }
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory fabrica) {
+            // Nada a fazer: só as definições são alteradas.
+        }
+    }
+
+    /**
+     * Liga as operações ao serviço do modelo. Nas alterações e exclusões, a versão não é verificada (sem If-Match).
+     */
+    private Operacoes operacoes(String modelo) {
+        return switch (modelo) {
+            case "aluno" -> {
+                AlunoService servico = contexto.getBean(AlunoService.class);
+                yield new Operacoes(o -> servico.salvar((Aluno) o).getId(), servico::buscarPorId,
+                        (id, o) -> servico.atualizar(id, null, (Aluno) o), id -> servico.excluir(id, null),
+                        limite -> servico.listarPagina(limite, null, null, Projecao.COMPLETA));
+            }
+            case "curso" -> {
+                CursoService servico = contexto.getBean(CursoService.class);
+                yield new Operacoes(o -> servico.salvar((Curso) o).getId(), servico::buscarPorId,
+                        (id, o) -> servico.atualizar(id, null, (Curso) o), id -> servico.excluir(id, null),
+                        limite -> servico.listarPagina(limite, null, null, Projecao.COMPLETA));
+            }
+            case "disciplina" -> {
+                DisciplinaService servico = contexto.getBean(DisciplinaService.class);
+                yield new Operacoes(o -> servico.salvar((Disciplina) o).getId(), servico::buscarPorId,
+                        (id, o) -> servico.atualizar(id, null, (Disciplina) o), id -> servico.excluir(id, null),
+                        limite -> servico.listarPagina(limite, null, null, Projecao.COMPLETA));
+            }
+            case "turma" -> {
+                TurmaService servico = contexto.getBean(TurmaService.class);
+                yield new Operacoes(o -> servico.salvar((Turma) o).getId(), servico::buscarPorId,
+                        (id, o) -> servico.atualizar(id, null, (Turma) o), id -> servico.excluir(id, null),
+                        limite -> servico.listarPagina(limite, null, null, Projecao.COMPLETA));
+            }
+            case "curriculo" -> {
+                CurriculoService servico = contexto.getBean(CurriculoService.class);
+                yield new Operacoes(o -> servico.salvar((Curriculo) o).getId(), servico::buscarPorId,
+                        (id, o) -> servico.atualizar(id, null, (Curriculo) o), id -> servico.excluir(id, null),
+                        limite -> servico.listarPagina(limite, null, null, Projecao.COMPLETA));
+            }
+            default -> throw new IllegalArgumentException("Modelo desconhecido: " + modelo);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Teste de carga de ponta a ponta com massa de dados gerada a partir de uma semente.
+# Para cada tamanho (ex: 10k, 1M e 10M alunos), inicia o backend com um banco próprio, grava a massa de dados
+# (Semeadura), roda o cenário (TesteCarga) e encerra o backend.
+#
+# Pré-requisitos: Java 21, Maven e um MongoDB local. A semeadura de 10M de alunos leva um bom tempo: com SEMEAR=false,
+# a massa já gravada em uma execução anterior (mesma semente) é reaproveitada.
+#
+# Uso: ./carga.sh [tamanhos, ex: 10k,1M,10M] [argumentos do TesteCarga, ex: --cenario=semestre --concorrencia=200]
+# Variáveis: MONGO (padrão: mongodb://localhost:27017), SEMENTE (padrão: 42), PORTA (padrão: 8080), SEMEAR (padrão: true).
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+BACKEND="$DIR/.."
+PORTA="${PORTA:-8080}"
+MONGO="${MONGO:-mongodb://localhost:27017}"
+SEMENTE="${SEMENTE:-42}"
+SEMEAR="${SEMEAR:-true}"
+TAMANHOS="${1:-10k}"
+shift || true
+
+(cd "$BACKEND" && mvn -B -q package -DskipTests)
+(cd "$DIR" && mvn -B -q package)
+APP=$(ls "$BACKEND"/target/crudmongo-*-exec.jar | head -1)
+CP="$DIR/target/crudmongo-loadtest.jar"
+
+for tamanho in ${TAMANHOS//,/ }; do
+    # Um banco por tamanho e semente: a massa de um teste não se mistura com a de outro.
+    export SPRING_DATA_MONGODB_URI="$MONGO/crudmongo-carga-$tamanho-$SEMENTE"
+    java -jar "$APP" --server.port="$PORTA" > "$DIR/target/backend-carga-$tamanho.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    # Espera o backend responder antes de começar.
+    for _ in $(seq 1 120); do
+        curl -fs "http://localhost:$PORTA/api/cursos?limit=1" > /dev/null && break
+        sleep 1
+    done
+    if [ "$SEMEAR" = true ]; then
+        echo "=== Semeadura: $tamanho alunos ==="
+        java -cp "$CP" com.exemplo.crudmongo.loadtest.Semeadura --url="http://localhost:$PORTA" \
+            --semente="$SEMENTE" --alunos="$tamanho" | tee "$DIR/target/semeadura-$tamanho.txt"
+    fi
+    echo "=== Carga: $tamanho alunos ==="
+    java -cp "$CP" com.exemplo.crudmongo.loadtest.TesteCarga --url="http://localhost:$PORTA" \
+        --semente="$SEMENTE" --alunos="$tamanho" --rotulo="$tamanho" "$@" | tee "$DIR/target/carga-$tamanho.txt"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+done
+
+echo "=== Resumo ==="
+for tamanho in ${TAMANHOS//,/ }; do
+    grep -h '^RESULTADO .*"rota":"TOTAL"' "$DIR/target/carga-$tamanho.txt"
+done
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Compara o backend rodando com o pool de threads de plataforma do Tomcat e com virtual threads.
+# Para cada modo, inicia o backend, roda o teste de carga (ComparacaoThreads) e encerra o backend.
+#
+# Pré-requisitos: Java 21, Maven e um MongoDB acessível (de preferência já com dados, para que as
+# requisições realmente esperem pelo banco).
+#
+# Uso: ./comparar-threads.sh [argumentos do ComparacaoThreads, ex: --concorrencia=2000 --duracao=60]
+# Variáveis: SPRING_DATA_MONGODB_URI (padrão: mongodb://localhost:27017/crudmongo), PORTA (padrão: 8080).
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+BACKEND="$DIR/.."
+PORTA="${PORTA:-8080}"
+export SPRING_DATA_MONGODB_URI="${SPRING_DATA_MONGODB_URI:-mongodb://localhost:27017/crudmongo}"
+
+(cd "$BACKEND" && mvn -B -q package -DskipTests)
+(cd "$DIR" && mvn -B -q package)
+APP=$(ls "$BACKEND"/target/crudmongo-*-exec.jar | head -1)
+
+for modo in plataforma virtual; do
+    virtual=false
+    [ "$modo" = virtual ] && virtual=true
+    java -jar "$APP" --server.port="$PORTA" --spring.threads.virtual.enabled="$virtual" > "$DIR/target/backend-$modo.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    # Espera o backend responder antes de começar.
+    for _ in $(seq 1 120); do
+        curl -fs "http://localhost:$PORTA/api/cursos?limit=1" > /dev/null && break
+        sleep 1
+    done
+    echo "=== Modo: $modo ==="
+    java -jar "$DIR/target/crudmongo-loadtest.jar" --url="http://localhost:$PORTA" --rotulo="$modo" "$@" | tee "$DIR/target/resultado-$modo.txt"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+done
+
+echo "=== Resumo ==="
+grep -h '^RESULTADO ' "$DIR"/target/resultado-plataforma.txt "$DIR"/target/resultado-virtual.txt
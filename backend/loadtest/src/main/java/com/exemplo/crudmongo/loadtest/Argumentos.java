@@ -0,0 +1,49 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+/**
+ * Leitura simples dos argumentos no formato --nome=valor, usada pelas ferramentas deste módulo.
+ */
+final class Argumentos {
+
+    private final String[] args;
+
+    Argumentos(String[] args) {
+        this.args = args;
+    }
+
+    String texto(String nome, String padrao) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + nome + "=")) {
+                return arg.substring(nome.length() + 3);
+            }
+        }
+        return padrao;
+    }
+
+    int inteiro(String nome, int padrao) {
+        return Integer.parseInt(texto(nome, String.valueOf(padrao)));
+    }
+
+    double decimal(String nome, double padrao) {
+        return Double.parseDouble(texto(nome, String.valueOf(padrao)));
+    }
+
+    /**
+     * Lê uma quantidade, aceitando os sufixos k (mil) e M (milhão), ex: --alunos=10k, --alunos=10M.
+     */
+    int quantidade(String nome, int padrao) {
+        String valor = texto(nome, String.valueOf(padrao)).trim();
+        if (valor.endsWith("k") || valor.endsWith("K")) {
+            return Math.multiplyExact(Integer.parseInt(valor.substring(0, valor.length() - 1)), 1_000);
+        }
+        if (valor.endsWith("M")) {
+            return Math.multiplyExact(Integer.parseInt(valor.substring(0, valor.length() - 1)), 1_000_000);
+        }
+        return Integer.parseInt(valor);
+    }
+
+    long longo(String nome, long padrao) {
+        return Long.parseLong(texto(nome, String.valueOf(padrao)));
+    }
+}
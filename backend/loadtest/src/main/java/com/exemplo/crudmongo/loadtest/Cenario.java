@@ -0,0 +1,274 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+// Importações das classes do próprio Java (este módulo não depende de bibliotecas externas).
+import java.io.IOException; // Exceção lançada na leitura do arquivo de cenário.
+import java.io.Reader; // Leitor do arquivo de cenário.
+import java.net.URI; // Representa o endereço das requisições.
+import java.net.URLEncoder; // Codifica os textos enviados nos parâmetros da URL.
+import java.net.http.HttpRequest; // Representa uma requisição HTTP.
+import java.nio.charset.StandardCharsets; // Codificação UTF-8.
+import java.nio.file.Files; // Leitura do arquivo de cenário.
+import java.nio.file.Path; // Caminho do arquivo de cenário.
+import java.time.Duration; // Representa o timeout das requisições.
+import java.util.ArrayDeque; // Fila dos IDs criados por um usuário simulado.
+import java.util.ArrayList; // Implementação de lista.
+import java.util.LinkedHashMap; // Mapa que mantém a ordem de inserção (a ordem dos pesos).
+import java.util.List; // Interface de listas.
+import java.util.Map; // Interface de mapas.
+import java.util.Properties; // Leitura do arquivo de cenário (chave=peso).
+import java.util.SplittableRandom; // Gerador de números aleatórios de cada usuário simulado.
+import java.util.function.BiFunction; // Função que monta a requisição de uma operação.
+
+/**
+ * Um cenário de carga: as operações da API (de todos os controllers) e o peso de cada uma na mistura de requisições.
+ *
+ * Cenários prontos (--cenario=nome):
+ *  - leitura: só consultas, distribuídas entre todas as rotas de leitura.
+ *  - misto (padrão): consultas e ~18% de gravações (criação, alteração e exclusão).
+ *  - escrita: metade de gravações.
+ *  - semestre: o início do semestre (matrícula): currículos, turmas, calouros cadastrados e alunos alterados.
+ * Um cenário próprio pode ser informado como arquivo (--cenario=arquivo.properties, uma linha "operacao=peso" por
+ * operação) ou direto na linha de comando (--mix=alunos.buscar:70,alunos.atualizar:30).
+ *
+ * As requisições são sorteadas com o gerador aleatório de cada usuário simulado, criado a partir da semente: com a mesma
+ * semente, cada usuário envia sempre a mesma sequência de requisições. Os IDs usados são os da massa de dados (ver Dados).
+ * A exclusão remove um aluno criado antes pelo mesmo usuário (a massa de dados não diminui); se ele ainda não criou
+ * nenhum, a operação vira uma criação.
+ */
+final class Cenario {
+
+    /**
+     * Uma operação da API: o nome usado na mistura e no relatório, a rota e como montar a requisição.
+     */
+    record Operacao(String nome, String rota, BiFunction<Cenario, Usuario, HttpRequest> requisicao) {
+    }
+
+    /**
+     * Um usuário simulado: o seu gerador aleatório e os IDs dos alunos que ele criou e ainda não excluiu.
+     */
+    static final class Usuario {
+
+        final SplittableRandom aleatorio;
+        final ArrayDeque<String> criados = new ArrayDeque<>();
+
+        Usuario(SplittableRandom aleatorio) {
+            this.aleatorio = aleatorio;
+        }
+    }
+
+    // Os cenários prontos, com o peso de cada operação.
+    private static final Map<String, String> PRONTOS = Map.of(
+            "leitura", "alunos.buscar:25,alunos.listar:10,alunos.filtrar:8,alunos.autocompletar:8,alunos.ranking:4,"
+                    + "alunos.estatisticas:2,cursos.buscar:5,cursos.listar:3,disciplinas.buscar:5,disciplinas.listar:3,"
+                    + "disciplinas.busca:3,turmas.buscar:5,turmas.listar:3,turmas.filtrar:5,curriculos.buscar:3,"
+                    + "curriculos.expandido:3,curriculos.filtrar:2,painel:1,v2.alunos.buscar:2",
+            "misto", "alunos.buscar:22,alunos.listar:8,alunos.filtrar:7,alunos.autocompletar:7,alunos.ranking:3,"
+                    + "alunos.estatisticas:2,cursos.buscar:4,cursos.listar:2,disciplinas.buscar:4,disciplinas.listar:2,"
+                    + "disciplinas.busca:2,turmas.buscar:4,turmas.listar:2,turmas.filtrar:4,curriculos.buscar:2,"
+                    + "curriculos.expandido:3,curriculos.filtrar:2,painel:1,v2.alunos.buscar:2,"
+                    + "alunos.criar:5,alunos.atualizar:6,alunos.excluir:4,cursos.atualizar:1,turmas.atualizar:2",
+            "escrita", "alunos.buscar:20,alunos.listar:5,alunos.criar:20,alunos.atualizar:25,alunos.excluir:15,"
+                    + "turmas.atualizar:10,cursos.atualizar:5",
+            "semestre", "curriculos.expandido:15,curriculos.filtrar:5,turmas.filtrar:20,turmas.buscar:10,alunos.buscar:15,"
+                    + "alunos.autocompletar:10,alunos.criar:10,alunos.atualizar:10,painel:5");
+
+    private final String url;
+    private final Dados dados;
+
+    // Se os acessos se concentram em uma parte dos documentos (80% das escolhas em 20% deles).
+    private final boolean concentrado;
+
+    // As operações do cenário e a soma acumulada dos pesos (para o sorteio).
+    private final List<Operacao> operacoes = new ArrayList<>();
+    private final int[] pesosAcumulados;
+
+    // Todas as operações conhecidas, pelo nome.
+    private final Map<String, Operacao> catalogo = new LinkedHashMap<>();
+
+    /**
+     * Monta o cenário.
+     * @param url O endereço do backend.
+     * @param dados A massa de dados (a mesma semente e os mesmos tamanhos usados na semeadura).
+     * @param mistura O nome de um cenário pronto, um arquivo .properties ou a lista "operacao:peso,...".
+     * @param concentrado Se 80% dos acessos devem ir para 20% dos documentos.
+     */
+    Cenario(String url, Dados dados, String mistura, boolean concentrado) throws IOException {
+        this.url = url;
+        this.dados = dados;
+        this.concentrado = concentrado;
+        registrarOperacoes();
+
+        Map<String, Integer> pesos = pesos(mistura);
+        pesosAcumulados = new int[pesos.size()];
+        int soma = 0;
+        for (Map.Entry<String, Integer> peso : pesos.entrySet()) {
+            Operacao operacao = catalogo.get(peso.getKey());
+            if (operacao == null) {
+                throw new IllegalArgumentException("Operação desconhecida: " + peso.getKey() + ". Operações: " + catalogo.keySet());
+            }
+            soma += peso.getValue();
+            pesosAcumulados[operacoes.size()] = soma;
+            operacoes.add(operacao);
+        }
+        if (soma <= 0) {
+            throw new IllegalArgumentException("O cenário não tem nenhuma operação com peso positivo.");
+        }
+    }
+
+    /**
+     * Sorteia a próxima operação do usuário.
+     */
+    Operacao sortear(Usuario usuario) {
+        int sorteado = usuario.aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        int i = 0;
+        while (pesosAcumulados[i] <= sorteado) {
+            i++;
+        }
+        Operacao operacao = operacoes.get(i);
+        if (operacao.nome().equals("alunos.excluir") && usuario.criados.isEmpty()) {
+            return catalogo.get("alunos.criar");
+        }
+        return operacao;
+    }
+
+    List<Operacao> operacoes() {
+        return operacoes;
+    }
+
+    /**
+     * Lê os pesos de um cenário pronto, de um arquivo .properties ou da lista "operacao:peso,...".
+     */
+    private static Map<String, Integer> pesos(String mistura) throws IOException {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        if (mistura.endsWith(".properties")) {
+            Properties propriedades = new Properties();
+            try (Reader leitor = Files.newBufferedReader(Path.of(mistura), StandardCharsets.UTF_8)) {
+                propriedades.load(leitor);
+            }
+            // Ordena pelo nome, para que o sorteio não dependa da ordem interna do Properties.
+            propriedades.stringPropertyNames().stream().sorted()
+                    .forEach(nome -> pesos.put(nome, Integer.parseInt(propriedades.getProperty(nome).trim())));
+            return pesos;
+        }
+        for (String item : PRONTOS.getOrDefault(mistura, mistura).split(",")) {
+            String[] partes = item.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Cenário desconhecido ou item inválido: '" + item + "'. Cenários prontos: " + PRONTOS.keySet());
+            }
+            pesos.merge(partes[0].trim(), Integer.parseInt(partes[1].trim()), Integer::sum);
+        }
+        return pesos;
+    }
+
+    /**
+     * Registra todas as operações conhecidas. Os nomes são "colecao.acao"; a rota é a usada no relatório.
+     */
+    private void registrarOperacoes() {
+        // ----- Alunos -----
+        registrar("alunos.buscar", "GET /api/alunos/{id}",
+                (c, u) -> get("/api/alunos/" + c.id(u, Dados.Colecao.ALUNOS)));
+        registrar("alunos.listar", "GET /api/alunos?limit",
+                (c, u) -> get("/api/alunos?limit=50&sort=" + (u.aleatorio.nextBoolean() ? "nome" : "-ira")));
+        registrar("alunos.filtrar", "GET /api/alunos/filtro",
+                (c, u) -> get("/api/alunos/filtro?cursoId=" + c.id(u, Dados.Colecao.CURSOS)
+                        + "&iraMin=" + (5 + u.aleatorio.nextInt(5)) + "&limit=50"));
+        registrar("alunos.autocompletar", "GET /api/alunos/autocomplete", (c, u) -> {
+            // O começo (3 a 6 letras) do nome de um aluno da massa de dados, como alguém digitando.
+            String nome = c.dados.nomeAluno(c.indice(u, Dados.Colecao.ALUNOS));
+            return get("/api/alunos/autocomplete?limit=10&q=" + codificar(nome.substring(0, Math.min(nome.length(), 3 + u.aleatorio.nextInt(4)))));
+        });
+        registrar("alunos.ranking", "GET /api/alunos/ranking",
+                (c, u) -> get("/api/alunos/ranking?k=10&cursoId=" + c.id(u, Dados.Colecao.CURSOS)));
+        registrar("alunos.estatisticas", "GET /api/alunos/estatisticas/ira",
+                (c, u) -> get("/api/alunos/estatisticas/ira?agruparPor=curso&materializado=true"));
+        registrar("alunos.criar", "POST /api/alunos",
+                (c, u) -> enviar("POST", "/api/alunos", c.dados.aluno(null, u.aleatorio)));
+        registrar("alunos.atualizar", "PATCH /api/alunos/{id}",
+                (c, u) -> enviar("PATCH", "/api/alunos/" + c.id(u, Dados.Colecao.ALUNOS), "{\"ira\":" + c.dados.ira(u.aleatorio) + "}"));
+        registrar("alunos.excluir", "DELETE /api/alunos/{id}",
+                (c, u) -> requisicao("/api/alunos/" + u.criados.poll()).DELETE().build());
+        registrar("v2.alunos.buscar", "GET /api/v2/alunos/{id}",
+                (c, u) -> get("/api/v2/alunos/" + c.id(u, Dados.Colecao.ALUNOS)));
+
+        // ----- Cursos -----
+        registrar("cursos.buscar", "GET /api/cursos/{id}",
+                (c, u) -> get("/api/cursos/" + c.id(u, Dados.Colecao.CURSOS)));
+        registrar("cursos.listar", "GET /api/cursos?limit",
+                (c, u) -> get("/api/cursos?limit=50&sort=nome"));
+        registrar("cursos.atualizar", "PATCH /api/cursos/{id}",
+                (c, u) -> enviar("PATCH", "/api/cursos/" + c.id(u, Dados.Colecao.CURSOS),
+                        "{\"turno\":" + Dados.texto(Dados.sortear(Dados.TURNOS, u.aleatorio)) + "}"));
+
+        // ----- Disciplinas -----
+        registrar("disciplinas.buscar", "GET /api/disciplinas/{id}",
+                (c, u) -> get("/api/disciplinas/" + c.id(u, Dados.Colecao.DISCIPLINAS)));
+        registrar("disciplinas.listar", "GET /api/disciplinas?limit",
+                (c, u) -> get("/api/disciplinas?limit=50&sort=nome"));
+        registrar("disciplinas.busca", "GET /api/disciplinas/busca",
+                (c, u) -> get("/api/disciplinas/busca?limit=20&q=" + codificar(Dados.sortear(Dados.PALAVRAS_EMENTA, u.aleatorio)
+                        + " " + Dados.sortear(Dados.PALAVRAS_EMENTA, u.aleatorio))));
+
+        // ----- Turmas -----
+        registrar("turmas.buscar", "GET /api/turmas/{id}",
+                (c, u) -> get("/api/turmas/" + c.id(u, Dados.Colecao.TURMAS)));
+        registrar("turmas.listar", "GET /api/turmas?limit",
+                (c, u) -> get("/api/turmas?limit=50&sort=-ano"));
+        registrar("turmas.filtrar", "GET /api/turmas/filtro",
+                (c, u) -> get("/api/turmas/filtro?disciplinaId=" + c.id(u, Dados.Colecao.DISCIPLINAS)
+                        + "&ano=" + (2020 + u.aleatorio.nextInt(7)) + "&semestre=" + (1 + u.aleatorio.nextInt(2))));
+        registrar("turmas.atualizar", "PATCH /api/turmas/{id}",
+                (c, u) -> enviar("PATCH", "/api/turmas/" + c.id(u, Dados.Colecao.TURMAS),
+                        "{\"professor\":" + Dados.texto(c.dados.nomePessoa(u.aleatorio)) + "}"));
+
+        // ----- Currículos -----
+        registrar("curriculos.buscar", "GET /api/curriculos/{id}",
+                (c, u) -> get("/api/curriculos/" + c.id(u, Dados.Colecao.CURRICULOS)));
+        registrar("curriculos.expandido", "GET /api/curriculos/{id}/expandido",
+                (c, u) -> get("/api/curriculos/" + c.id(u, Dados.Colecao.CURRICULOS) + "/expandido"));
+        registrar("curriculos.filtrar", "GET /api/curriculos/filtro",
+                (c, u) -> get("/api/curriculos/filtro?cursoId=" + c.id(u, Dados.Colecao.CURSOS)));
+
+        // ----- Painel -----
+        registrar("painel", "GET /api/dashboard", (c, u) -> get("/api/dashboard"));
+    }
+
+    private void registrar(String nome, String rota, BiFunction<Cenario, Usuario, HttpRequest> requisicao) {
+        catalogo.put(nome, new Operacao(nome, rota, requisicao));
+    }
+
+    /**
+     * Sorteia a posição de um documento da coleção: uniforme ou, com acessos concentrados, 80% das vezes entre os
+     * primeiros 20% (os documentos "quentes", como os alunos mais consultados).
+     */
+    private int indice(Usuario usuario, Dados.Colecao colecao) {
+        int total = dados.tamanhos.de(colecao);
+        if (concentrado && usuario.aleatorio.nextInt(10) < 8) {
+            return usuario.aleatorio.nextInt(Math.max(1, total / 5));
+        }
+        return usuario.aleatorio.nextInt(total);
+    }
+
+    private String id(Usuario usuario, Dados.Colecao colecao) {
+        return dados.id(colecao, indice(usuario, colecao));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(url + caminho)).timeout(Duration.ofSeconds(60));
+    }
+
+    private HttpRequest get(String caminho) {
+        return requisicao(caminho).GET().build();
+    }
+
+    private HttpRequest enviar(String metodo, String caminho, String corpo) {
+        return requisicao(caminho)
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private static String codificar(String texto) {
+        return URLEncoder.encode(texto, StandardCharsets.UTF_8);
+    }
+}
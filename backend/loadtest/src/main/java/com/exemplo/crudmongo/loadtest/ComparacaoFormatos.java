@@ -0,0 +1,109 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+// Importações das classes do próprio Java (este módulo não depende de bibliotecas externas).
+import java.io.IOException; // Exceção lançada em falhas de leitura da resposta.
+import java.io.InputStream; // Representa o corpo da resposta, lido aos poucos para contar os bytes.
+import java.net.URI; // Representa o endereço das requisições.
+import java.net.http.HttpClient; // Cliente HTTP do Java, usado para disparar as requisições.
+import java.net.http.HttpRequest; // Representa uma requisição HTTP.
+import java.net.http.HttpResponse; // Representa uma resposta HTTP.
+import java.time.Duration; // Representa o timeout das requisições.
+import java.util.Arrays; // Utilitários para arrays (ordenação das latências).
+import java.util.List; // Interface de listas.
+import java.util.Locale; // Usado para formatar números com ponto decimal no JSON.
+
+/**
+ * Compara os formatos de resposta da API (JSON, CBOR e Smile) em cada rota: tamanho da resposta e tempo de resposta.
+ *
+ * Para cada rota e cada formato, envia as requisições uma de cada vez (sem concorrência), com o mesmo conteúdo
+ * pedido em todos os formatos. O tempo medido vai do envio até o último byte recebido; como a consulta ao banco é
+ * a mesma nos três formatos, a diferença entre eles vem da serialização e da transferência do corpo.
+ * As rotas de exportação (terminadas em /export) usam NDJSON no lugar do JSON e a sequência de CBOR (application/cbor-seq).
+ * As respostas não são compactadas (o cliente não envia Accept-Encoding).
+ *
+ * O resultado é impresso em uma tabela e em linhas JSON (prefixo "RESULTADO "), fáceis de comparar entre execuções.
+ *
+ * Uso: java -cp crudmongo-loadtest.jar com.exemplo.crudmongo.loadtest.ComparacaoFormatos [--url=http://localhost:8080]
+ *          [--caminhos=/api/alunos,/api/turmas] [--repeticoes=30] [--aquecimento=5]
+ */
+public class ComparacaoFormatos {
+
+    /**
+     * Um formato de resposta: o nome e o Accept enviado nas listagens e nas exportações.
+     */
+    private record Formato(String nome, String acceptListagem, String acceptExportacao) {
+    }
+
+    private static final List<Formato> FORMATOS = List.of(
+            new Formato("json", "application/json", "application/x-ndjson"),
+            new Formato("cbor", "application/cbor", "application/cbor-seq"),
+            new Formato("smile", "application/x-jackson-smile", "application/x-jackson-smile"));
+
+    public static void main(String[] args) throws Exception {
+        Argumentos argumentos = new Argumentos(args);
+        String url = argumentos.texto("url", "http://localhost:8080");
+        List<String> caminhos = List.of(argumentos.texto("caminhos",
+                "/api/alunos,/api/cursos,/api/disciplinas,/api/turmas,/api/curriculos,/api/alunos/export,/api/turmas/export").split(","));
+        int repeticoes = argumentos.inteiro("repeticoes", 30);
+        int aquecimento = argumentos.inteiro("aquecimento", 5);
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+        System.out.printf("%-28s %-6s %14s %8s %10s %10s%n", "rota", "formato", "bytes", "% json", "p50 (ms)", "p90 (ms)");
+        for (String caminho : caminhos) {
+            String rota = caminho.trim();
+            boolean exportacao = rota.endsWith("/export");
+            long bytesJson = 0;
+            for (Formato formato : FORMATOS) {
+                String accept = exportacao ? formato.acceptExportacao() : formato.acceptListagem();
+                HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url + rota))
+                        .header("Accept", accept)
+                        .timeout(Duration.ofSeconds(120))
+                        .GET().build();
+                for (int i = 0; i < aquecimento; i++) {
+                    medir(cliente, requisicao);
+                }
+                long[] latencias = new long[repeticoes];
+                long bytes = 0;
+                for (int i = 0; i < repeticoes; i++) {
+                    long antes = System.nanoTime();
+                    bytes = medir(cliente, requisicao);
+                    latencias[i] = System.nanoTime() - antes;
+                }
+                Arrays.sort(latencias);
+                if (formato.nome().equals("json")) {
+                    bytesJson = bytes;
+                }
+                double proporcao = bytesJson == 0 ? 0 : 100.0 * bytes / bytesJson;
+                double p50 = ComparacaoThreads.ms(ComparacaoThreads.percentil(latencias, 50));
+                double p90 = ComparacaoThreads.ms(ComparacaoThreads.percentil(latencias, 90));
+                System.out.printf("%-28s %-6s %14d %7.1f%% %10.2f %10.2f%n", rota, formato.nome(), bytes, proporcao, p50, p90);
+                System.out.println(String.format(Locale.ROOT,
+                        "RESULTADO {\"rota\":\"%s\",\"formato\":\"%s\",\"bytes\":%d,\"proporcaoJson\":%.1f,\"p50Ms\":%.3f,\"p90Ms\":%.3f}",
+                        rota, formato.nome(), bytes, proporcao, p50, p90));
+            }
+        }
+    }
+
+    /**
+     * Envia a requisição e lê a resposta inteira, devolvendo a quantidade de bytes do corpo.
+     * @throws IOException se a resposta não for 200 (ex: 406 quando o backend não aceita o formato).
+     */
+    private static long medir(HttpClient cliente, HttpRequest requisicao) throws IOException, InterruptedException {
+        HttpResponse<InputStream> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+        long bytes = 0;
+        try (InputStream corpo = resposta.body()) {
+            byte[] buffer = new byte[64 * 1024];
+            int lidos;
+            while ((lidos = corpo.read(buffer)) >= 0) {
+                bytes += lidos;
+            }
+        }
+        if (resposta.statusCode() != 200) {
+            throw new IOException("Resposta " + resposta.statusCode() + " em " + requisicao.uri()
+                    + " com Accept " + requisicao.headers().firstValue("Accept").orElse(""));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,147 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+// Importações das classes do próprio Java (este módulo não depende de bibliotecas externas).
+import java.net.URI; // Representa o endereço das requisições.
+import java.net.http.HttpClient; // Cliente HTTP do Java, usado para disparar as requisições.
+import java.net.http.HttpRequest; // Representa uma requisição HTTP.
+import java.net.http.HttpResponse; // Representa uma resposta HTTP.
+import java.time.Duration; // Representa intervalos de tempo (duração do teste, timeout).
+import java.util.ArrayList; // Implementação de lista.
+import java.util.Arrays; // Utilitários para arrays (ordenação das latências).
+import java.util.List; // Interface de listas.
+import java.util.Locale; // Usado para formatar números com ponto decimal no JSON.
+import java.util.concurrent.ExecutorService; // Executa os usuários simulados.
+import java.util.concurrent.Executors; // Cria o executor de virtual threads.
+import java.util.concurrent.atomic.AtomicLong; // Contador de erros compartilhado entre os usuários simulados.
+
+/**
+ * Teste de carga em "circuito fechado" usado para comparar os dois modos de execução do backend:
+ * o pool de threads de plataforma do Tomcat (spring.threads.virtual.enabled=false) e as virtual threads (true).
+ *
+ * Cada usuário simulado envia uma requisição, espera a resposta e envia a próxima, durante o tempo configurado.
+ * Com mais usuários do que threads no pool do Tomcat (200 por padrão), as requisições excedentes ficam na fila
+ * esperando uma thread livre, e isso aparece na latência p99. Com virtual threads, essa fila não existe.
+ *
+ * Os usuários simulados também rodam em virtual threads, para que o próprio cliente não seja o gargalo.
+ * O resultado é impresso em texto e em uma linha JSON (prefixo "RESULTADO "), fácil de comparar entre execuções.
+ *
+ * Uso: java -jar crudmongo-loadtest.jar [--url=http://localhost:8080] [--caminhos=/api/alunos?limit=20,/api/cursos]
+ *                                       [--concorrencia=1000] [--duracao=30] [--aquecimento=10] [--rotulo=virtual]
+ * O script comparar-threads.sh executa o backend nos dois modos e roda este teste em cada um.
+ */
+public class ComparacaoThreads {
+
+    public static void main(String[] args) throws Exception {
+        Argumentos argumentos = new Argumentos(args);
+        String url = argumentos.texto("url", "http://localhost:8080");
+        List<String> caminhos = List.of(argumentos.texto("caminhos", "/api/alunos?limit=20,/api/cursos?limit=20,/api/disciplinas?limit=20").split(","));
+        int concorrencia = argumentos.inteiro("concorrencia", 1000);
+        Duration duracao = Duration.ofSeconds(argumentos.inteiro("duracao", 30));
+        Duration aquecimento = Duration.ofSeconds(argumentos.inteiro("aquecimento", 10));
+        String rotulo = argumentos.texto("rotulo", "");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<URI> enderecos = caminhos.stream().map(caminho -> URI.create(url + caminho.trim())).toList();
+
+        System.out.printf("Aquecimento: %d s com %d usuários...%n", aquecimento.toSeconds(), concorrencia);
+        executar(cliente, enderecos, concorrencia, aquecimento);
+        System.out.printf("Medição: %d s com %d usuários...%n", duracao.toSeconds(), concorrencia);
+        Medicao medicao = executar(cliente, enderecos, concorrencia, duracao);
+
+        long[] latencias = medicao.latenciasOrdenadas();
+        double vazao = latencias.length / (medicao.duracaoNanos() / 1e9);
+        System.out.printf("Requisições: %d (erros: %d)%n", latencias.length, medicao.erros());
+        System.out.printf("Vazão: %.1f req/s%n", vazao);
+        System.out.printf("Latência (ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f máx=%.2f%n",
+                ms(percentil(latencias, 50)), ms(percentil(latencias, 90)), ms(percentil(latencias, 99)),
+                ms(percentil(latencias, 99.9)), ms(latencias.length == 0 ? 0 : latencias[latencias.length - 1]));
+        System.out.println(String.format(Locale.ROOT,
+                "RESULTADO {\"rotulo\":\"%s\",\"concorrencia\":%d,\"duracaoS\":%d,\"requisicoes\":%d,\"erros\":%d,"
+                        + "\"vazao\":%.1f,\"p50Ms\":%.3f,\"p90Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f}",
+                rotulo, concorrencia, duracao.toSeconds(), latencias.length, medicao.erros(), vazao,
+                ms(percentil(latencias, 50)), ms(percentil(latencias, 90)), ms(percentil(latencias, 99)), ms(percentil(latencias, 99.9))));
+    }
+
+    /**
+     * Roda os usuários simulados durante o tempo informado e junta as latências de todos eles.
+     */
+    private static Medicao executar(HttpClient cliente, List<URI> enderecos, int concorrencia, Duration duracao) throws InterruptedException {
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        AtomicLong erros = new AtomicLong();
+        List<long[]> latenciasPorUsuario = new ArrayList<>(concorrencia);
+        int[] quantidadePorUsuario = new int[concorrencia];
+
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < concorrencia; u++) {
+                int usuario = u;
+                long[] latencias = new long[1024];
+                latenciasPorUsuario.add(latencias);
+                usuarios.submit(() -> {
+                    long[] minhas = latencias;
+                    int n = 0;
+                    // Cada usuário começa em um endereço diferente, para distribuir a carga entre as rotas.
+                    int proximo = usuario % enderecos.size();
+                    while (System.nanoTime() < fim) {
+                        HttpRequest requisicao = HttpRequest.newBuilder(enderecos.get(proximo))
+                                .timeout(Duration.ofSeconds(60)).GET().build();
+                        proximo = (proximo + 1) % enderecos.size();
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 400) {
+                                erros.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        if (n == minhas.length) {
+                            minhas = Arrays.copyOf(minhas, n * 2);
+                            latenciasPorUsuario.set(usuario, minhas);
+                        }
+                        minhas[n++] = System.nanoTime() - antes;
+                        quantidadePorUsuario[usuario] = n;
+                    }
+                });
+            }
+        } // O close() do executor espera todos os usuários terminarem.
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        int total = Arrays.stream(quantidadePorUsuario).sum();
+        long[] todas = new long[total];
+        int posicao = 0;
+        for (int u = 0; u < concorrencia; u++) {
+            System.arraycopy(latenciasPorUsuario.get(u), 0, todas, posicao, quantidadePorUsuario[u]);
+            posicao += quantidadePorUsuario[u];
+        }
+        Arrays.sort(todas);
+        return new Medicao(todas, erros.get(), duracaoNanos);
+    }
+
+    /**
+     * Devolve o percentil (0 a 100) de um array de latências já ordenado.
+     */
+    static long percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+
+    static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Resultado de uma rodada: as latências (em nanossegundos, ordenadas), a quantidade de erros e a duração real.
+     */
+    private record Medicao(long[] latenciasOrdenadas, long erros, long duracaoNanos) {
+    }
+}
@@ -0,0 +1,270 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+// Importações das classes do próprio Java (este módulo não depende de bibliotecas externas).
+import java.util.LinkedHashSet; // Conjunto que mantém a ordem de inserção (disciplinas de um currículo, sem repetição).
+import java.util.Locale; // Usado para formatar números com ponto decimal no JSON.
+import java.util.Set; // Interface de conjuntos.
+import java.util.SplittableRandom; // Gerador de números aleatórios rápido, criado a partir de uma semente.
+
+/**
+ * Gera a massa de dados do teste de carga (cursos, disciplinas, alunos, turmas e currículos) a partir de uma semente.
+ *
+ * Cada documento é determinado só pela semente, pela coleção e pela sua posição: o gerador aleatório de cada um é criado
+ * a partir desses três valores. Assim, a mesma semente gera sempre os mesmos documentos, com os mesmos IDs, não importa
+ * a ordem ou o paralelismo da geração, e o teste de carga consegue saber o ID e o conteúdo de qualquer documento
+ * (ex: o nome de um aluno, para o autocompletar) sem consultar o banco.
+ *
+ * Os IDs têm o formato de um ObjectId (24 dígitos hexadecimais): 8 dígitos derivados da semente, 2 da coleção e
+ * 14 da posição. As referências (cursoId, disciplinaId, disciplinas dos currículos) apontam sempre para documentos
+ * existentes na massa.
+ */
+final class Dados {
+
+    /**
+     * As coleções da massa de dados, na ordem em que são gravadas (as referenciadas antes das que as referenciam).
+     */
+    enum Colecao {
+        CURSOS("cursos", 1), DISCIPLINAS("disciplinas", 2), ALUNOS("alunos", 3), TURMAS("turmas", 4), CURRICULOS("curriculos", 5);
+
+        // O trecho da rota da API (/api/{caminho}).
+        final String caminho;
+
+        // O código que entra no ID, para que os IDs de coleções diferentes nunca coincidam.
+        final int codigo;
+
+        Colecao(String caminho, int codigo) {
+            this.caminho = caminho;
+            this.codigo = codigo;
+        }
+    }
+
+    /**
+     * A quantidade de documentos de cada coleção. Só a de alunos precisa ser informada: as demais são proporcionais
+     * (ex: com 1M de alunos, 1.000 cursos, 5.000 disciplinas, 20.000 turmas e 4.000 currículos).
+     */
+    record Tamanhos(int alunos, int cursos, int disciplinas, int turmas, int curriculos) {
+
+        static Tamanhos de(Argumentos argumentos) {
+            int alunos = argumentos.quantidade("alunos", 10_000);
+            int cursos = argumentos.quantidade("cursos", limitar(alunos / 1_000, 10, 2_000));
+            int disciplinas = argumentos.quantidade("disciplinas", limitar(alunos / 200, 50, 20_000));
+            int turmas = argumentos.quantidade("turmas", disciplinas * 4);
+            int curriculos = argumentos.quantidade("curriculos", cursos * 4);
+            return new Tamanhos(alunos, cursos, disciplinas, turmas, curriculos);
+        }
+
+        int de(Colecao colecao) {
+            return switch (colecao) {
+                case CURSOS -> cursos;
+                case DISCIPLINAS -> disciplinas;
+                case ALUNOS -> alunos;
+                case TURMAS -> turmas;
+                case CURRICULOS -> curriculos;
+            };
+        }
+
+        private static int limitar(int valor, int minimo, int maximo) {
+            return Math.max(minimo, Math.min(valor, maximo));
+        }
+    }
+
+    private static final String[] PRENOMES = {"Ana", "Maria", "Júlia", "Beatriz", "Larissa", "Fernanda", "Camila", "Letícia",
+            "Amanda", "Gabriela", "Mariana", "Isabela", "Luana", "Bruna", "Patrícia", "Aline", "Rafaela", "Yasmin", "Lívia",
+            "Helena", "João", "Pedro", "Lucas", "Gabriel", "Mateus", "Rafael", "Gustavo", "Felipe", "Bruno", "Thiago",
+            "Rodrigo", "Leonardo", "Vinícius", "Eduardo", "Daniel", "André", "Marcelo", "Caio", "Henrique", "Otávio"};
+
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves",
+            "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes",
+            "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes",
+            "Freitas", "Cardoso", "Ramos", "Gonçalves", "Santana", "Teixeira", "Araújo", "Cavalcanti", "Moura", "Correia", "Pinto"};
+
+    private static final String[] CURSOS = {"Administração", "Arquitetura e Urbanismo", "Biomedicina", "Ciência da Computação",
+            "Ciências Contábeis", "Direito", "Educação Física", "Enfermagem", "Engenharia Civil", "Engenharia de Produção",
+            "Engenharia Elétrica", "Engenharia Mecânica", "Farmácia", "Fisioterapia", "Jornalismo", "Letras", "Matemática",
+            "Medicina", "Nutrição", "Odontologia", "Pedagogia", "Psicologia", "Sistemas de Informação", "Física", "Química"};
+
+    private static final String[] CAMPI = {"Campus Centro", "Campus Norte", "Campus Sul", "Campus Leste", "Campus Oeste",
+            "Campus Litoral", "Campus Serra", "Campus Vale"};
+
+    private static final String[] NIVEIS = {"Graduação", "Graduação", "Graduação", "Graduação", "Pós-Graduação"};
+
+    private static final String[] MODALIDADES = {"Presencial", "Presencial", "Presencial", "EAD", "Semipresencial"};
+
+    static final String[] TURNOS = {"Matutino", "Vespertino", "Noturno", "Integral"};
+
+    private static final String[] AREAS = {"Cálculo", "Álgebra Linear", "Estatística", "Física", "Química Geral",
+            "Programação", "Estruturas de Dados", "Banco de Dados", "Redes de Computadores", "Sistemas Operacionais",
+            "Anatomia", "Fisiologia", "Bioquímica", "Microbiologia", "Farmacologia", "Direito Constitucional", "Direito Civil",
+            "Direito Penal", "Contabilidade", "Economia", "Marketing", "Gestão de Pessoas", "Psicologia do Desenvolvimento",
+            "Didática", "Metodologia Científica", "Resistência dos Materiais", "Mecânica dos Fluidos", "Circuitos Elétricos",
+            "Desenho Técnico", "Língua Portuguesa", "Literatura Brasileira", "Ética Profissional"};
+
+    private static final String[] NIVEIS_DISCIPLINA = {"I", "II", "III", "IV", "Avançado", "Aplicado", "Experimental"};
+
+    private static final int[] CARGAS_HORARIAS = {30, 45, 60, 60, 60, 90};
+
+    // Vocabulário das ementas (usado também nos termos da busca textual de disciplinas).
+    static final String[] PALAVRAS_EMENTA = {"fundamentos", "conceitos", "métodos", "análise", "modelagem", "projeto",
+            "aplicações", "práticas", "laboratório", "teoria", "sistemas", "processos", "estruturas", "algoritmos",
+            "equações", "funções", "dados", "gestão", "ética", "pesquisa", "avaliação", "planejamento", "técnicas",
+            "introdução", "tópicos", "estudo", "casos", "ferramentas", "normas", "segurança", "qualidade", "desempenho",
+            "história", "legislação", "comunicação", "saúde", "ambiente", "tecnologia", "sociedade", "linguagens"};
+
+    // A semente da massa de dados.
+    private final long semente;
+
+    // O prefixo dos IDs, derivado da semente.
+    private final String prefixo;
+
+    // A quantidade de documentos de cada coleção.
+    final Tamanhos tamanhos;
+
+    Dados(long semente, Tamanhos tamanhos) {
+        this.semente = semente;
+        this.prefixo = String.format("%08x", (int) mistura(semente));
+        this.tamanhos = tamanhos;
+    }
+
+    /**
+     * O ID do documento da coleção na posição informada (de 0 a tamanho - 1).
+     */
+    String id(Colecao colecao, int indice) {
+        return prefixo + String.format("%02x%014x", colecao.codigo, indice);
+    }
+
+    /**
+     * O gerador aleatório do documento da coleção na posição informada: sempre o mesmo para os mesmos valores.
+     */
+    SplittableRandom aleatorio(Colecao colecao, long indice) {
+        return new SplittableRandom(mistura(semente ^ mistura(((long) colecao.codigo << 40) + indice)));
+    }
+
+    /**
+     * O JSON do documento da coleção na posição informada, com o ID (usado na gravação da massa de dados).
+     */
+    String documento(Colecao colecao, int indice) {
+        SplittableRandom aleatorio = aleatorio(colecao, indice);
+        String id = id(colecao, indice);
+        return switch (colecao) {
+            case CURSOS -> curso(id, indice, aleatorio);
+            case DISCIPLINAS -> disciplina(id, indice, aleatorio);
+            case ALUNOS -> aluno(id, aleatorio);
+            case TURMAS -> turma(id, indice, aleatorio);
+            case CURRICULOS -> curriculo(id, indice, aleatorio);
+        };
+    }
+
+    /**
+     * O nome do aluno na posição informada (o mesmo gravado na massa de dados).
+     */
+    String nomeAluno(int indice) {
+        return nomePessoa(aleatorio(Colecao.ALUNOS, indice));
+    }
+
+    /**
+     * Um aluno novo (sem ID), como no corpo de um POST. O nome é o primeiro valor sorteado, como na massa de dados.
+     */
+    String aluno(String id, SplittableRandom aleatorio) {
+        String nome = nomePessoa(aleatorio);
+        int ano = 2015 + aleatorio.nextInt(12);
+        return "{" + (id == null ? "" : "\"id\":\"" + id + "\",")
+                + "\"nome\":" + texto(nome)
+                + ",\"ira\":" + ira(aleatorio)
+                // Alguns cursos têm bem mais alunos que outros (a potência concentra os sorteios nos primeiros).
+                + ",\"cursoId\":\"" + id(Colecao.CURSOS, (int) (tamanhos.cursos() * Math.pow(aleatorio.nextDouble(), 1.5))) + "\""
+                + ",\"periodoIngressoId\":\"" + ano + "." + (1 + aleatorio.nextInt(2)) + "\"}";
+    }
+
+    private String curso(String id, int indice, SplittableRandom aleatorio) {
+        // Os nomes se repetem em outros campi quando há mais cursos do que nomes.
+        String nome = CURSOS[indice % CURSOS.length] + " - " + CAMPI[(indice / CURSOS.length) % CAMPI.length]
+                + (indice >= CURSOS.length * CAMPI.length ? " " + (indice / (CURSOS.length * CAMPI.length) + 1) : "");
+        return "{\"id\":\"" + id + "\""
+                + ",\"nome\":" + texto(nome)
+                + ",\"nivel\":" + texto(sortear(NIVEIS, aleatorio))
+                + ",\"modalidade\":" + texto(sortear(MODALIDADES, aleatorio))
+                + ",\"turno\":" + texto(sortear(TURNOS, aleatorio)) + "}";
+    }
+
+    private String disciplina(String id, int indice, SplittableRandom aleatorio) {
+        String nome = AREAS[indice % AREAS.length] + " " + NIVEIS_DISCIPLINA[(indice / AREAS.length) % NIVEIS_DISCIPLINA.length]
+                + (indice >= AREAS.length * NIVEIS_DISCIPLINA.length ? " " + (indice / (AREAS.length * NIVEIS_DISCIPLINA.length) + 1) : "");
+        StringBuilder ementa = new StringBuilder();
+        int palavras = 20 + aleatorio.nextInt(21);
+        for (int i = 0; i < palavras; i++) {
+            String palavra = sortear(PALAVRAS_EMENTA, aleatorio);
+            ementa.append(i == 0 ? Character.toUpperCase(palavra.charAt(0)) + palavra.substring(1) : " " + palavra);
+        }
+        ementa.append('.');
+        return "{\"id\":\"" + id + "\""
+                + ",\"nome\":" + texto(nome)
+                + ",\"cargaHoraria\":" + CARGAS_HORARIAS[aleatorio.nextInt(CARGAS_HORARIAS.length)]
+                + ",\"ementa\":" + texto(ementa.toString()) + "}";
+    }
+
+    private String turma(String id, int indice, SplittableRandom aleatorio) {
+        // As turmas são distribuídas igualmente entre as disciplinas.
+        return "{\"id\":\"" + id + "\""
+                + ",\"disciplinaId\":\"" + id(Colecao.DISCIPLINAS, indice % tamanhos.disciplinas()) + "\""
+                + ",\"ano\":" + (2020 + aleatorio.nextInt(7))
+                + ",\"semestre\":" + (1 + aleatorio.nextInt(2))
+                + ",\"professor\":" + texto(nomePessoa(aleatorio)) + "}";
+    }
+
+    private String curriculo(String id, int indice, SplittableRandom aleatorio) {
+        // Cada curso tem currículos de vários anos (um por posição da divisão pelo número de cursos).
+        return "{\"id\":\"" + id + "\""
+                + ",\"cursoId\":\"" + id(Colecao.CURSOS, indice % tamanhos.cursos()) + "\""
+                + ",\"ano\":" + (2026 - indice / tamanhos.cursos())
+                + ",\"semestre\":" + (1 + aleatorio.nextInt(2))
+                + ",\"disciplinasObrigatorias\":" + disciplinas(20 + aleatorio.nextInt(21), aleatorio)
+                + ",\"disciplinasOptativas\":" + disciplinas(5 + aleatorio.nextInt(11), aleatorio) + "}";
+    }
+
+    // Um array JSON com IDs de disciplinas distintas.
+    private String disciplinas(int quantidade, SplittableRandom aleatorio) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int i = 0; i < quantidade * 2 && ids.size() < Math.min(quantidade, tamanhos.disciplinas()); i++) {
+            ids.add("\"" + id(Colecao.DISCIPLINAS, aleatorio.nextInt(tamanhos.disciplinas())) + "\"");
+        }
+        return "[" + String.join(",", ids) + "]";
+    }
+
+    String nomePessoa(SplittableRandom aleatorio) {
+        return sortear(PRENOMES, aleatorio) + " " + sortear(SOBRENOMES, aleatorio) + " " + sortear(SOBRENOMES, aleatorio);
+    }
+
+    /**
+     * Um IRA com distribuição aproximadamente normal (média 7, desvio 1,5), entre 0 e 10, com duas casas decimais.
+     */
+    String ira(SplittableRandom aleatorio) {
+        // Soma de 12 uniformes - 6: aproximação de uma normal padrão (sem o estado extra do nextGaussian).
+        double normal = -6;
+        for (int i = 0; i < 12; i++) {
+            normal += aleatorio.nextDouble();
+        }
+        return String.format(Locale.ROOT, "%.2f", Math.max(0, Math.min(10, 7 + 1.5 * normal)));
+    }
+
+    static String sortear(String[] opcoes, SplittableRandom aleatorio) {
+        return opcoes[aleatorio.nextInt(opcoes.length)];
+    }
+
+    /**
+     * Um texto como string JSON (entre aspas, com os caracteres especiais escapados).
+     */
+    static String texto(String valor) {
+        return "\"" + valor.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Espalha os bits de um número (finalizador do SplitMix64): valores próximos geram resultados bem diferentes.
+     */
+    static long mistura(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
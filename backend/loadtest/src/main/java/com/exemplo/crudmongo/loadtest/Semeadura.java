@@ -0,0 +1,132 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+// Importações das classes do próprio Java (este módulo não depende de bibliotecas externas).
+import java.io.IOException; // Exceção lançada quando um lote é recusado pelo backend.
+import java.net.URI; // Representa o endereço das requisições.
+import java.net.http.HttpClient; // Cliente HTTP do Java, usado para enviar os lotes.
+import java.net.http.HttpRequest; // Representa uma requisição HTTP.
+import java.net.http.HttpResponse; // Representa uma resposta HTTP.
+import java.time.Duration; // Representa o timeout das requisições.
+import java.util.ArrayList; // Implementação de lista.
+import java.util.List; // Interface de listas.
+import java.util.Locale; // Usado para formatar números com ponto decimal no JSON.
+import java.util.concurrent.ExecutorService; // Executa o envio dos lotes em paralelo.
+import java.util.concurrent.Executors; // Cria o executor.
+import java.util.concurrent.Future; // Resultado de cada lote enviado.
+import java.util.concurrent.atomic.AtomicLong; // Contadores compartilhados entre os envios.
+import java.util.regex.Matcher; // Usado para ler o resumo devolvido pelo backend.
+import java.util.regex.Pattern; // Expressão regular que encontra a quantidade de falhas no resumo.
+
+/**
+ * Grava a massa de dados do teste de carga (ver Dados) por meio da API, nos endpoints POST /api/{colecao}/batch.
+ *
+ * A gravação passa pela API (e não direto pelo MongoDB) para que este módulo continue sem dependências e para que os
+ * documentos fiquem exatamente como a aplicação os grava. Como todos os documentos têm ID, cada item é um upsert:
+ * rodar a semeadura de novo com a mesma semente não duplica nada e desfaz as alterações feitas pelos testes de carga.
+ *
+ * As coleções são gravadas na ordem em que são referenciadas (cursos e disciplinas antes de alunos, turmas e currículos).
+ * Para testes com tamanhos diferentes, use um banco para cada tamanho (SPRING_DATA_MONGODB_URI do backend):
+ * a semeadura não apaga os documentos que sobraram de uma massa maior.
+ *
+ * Uso: java -cp crudmongo-loadtest.jar com.exemplo.crudmongo.loadtest.Semeadura [--url=http://localhost:8080]
+ *          [--semente=42] [--alunos=10k|1M|10M] [--cursos=...] [--disciplinas=...] [--turmas=...] [--curriculos=...]
+ *          [--lote=5000] [--paralelismo=4] [--colecoes=cursos,disciplinas,alunos,turmas,curriculos]
+ */
+public class Semeadura {
+
+    // Encontra a quantidade de falhas no resumo devolvido pelo endpoint de lote (ResultadoLote).
+    private static final Pattern FALHAS = Pattern.compile("\"falhas\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Argumentos argumentos = new Argumentos(args);
+        String url = argumentos.texto("url", "http://localhost:8080");
+        long semente = argumentos.longo("semente", 42);
+        Dados dados = new Dados(semente, Dados.Tamanhos.de(argumentos));
+        int lote = argumentos.inteiro("lote", 5_000);
+        int paralelismo = argumentos.inteiro("paralelismo", 4);
+        List<String> colecoes = List.of(argumentos.texto("colecoes", "cursos,disciplinas,alunos,turmas,curriculos").split(","));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        System.out.printf("Semente %d: %s%n", semente, dados.tamanhos);
+        long falhasTotais = 0;
+        for (Dados.Colecao colecao : Dados.Colecao.values()) {
+            if (colecoes.contains(colecao.caminho)) {
+                falhasTotais += gravar(cliente, url, dados, colecao, lote, paralelismo, semente);
+            }
+        }
+        if (falhasTotais > 0) {
+            System.err.printf("%d documentos não foram gravados.%n", falhasTotais);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Grava todos os documentos de uma coleção, em lotes enviados em paralelo.
+     * @return A quantidade de documentos que o backend não conseguiu gravar.
+     */
+    private static long gravar(HttpClient cliente, String url, Dados dados, Dados.Colecao colecao, int lote,
+                               int paralelismo, long semente) throws Exception {
+        int total = dados.tamanhos.de(colecao);
+        URI endereco = URI.create(url + "/api/" + colecao.caminho + "/batch");
+        AtomicLong gravados = new AtomicLong();
+        AtomicLong falhas = new AtomicLong();
+        long inicio = System.nanoTime();
+        // O progresso é impresso a cada 10% (ou a cada lote, nas coleções pequenas).
+        long passoProgresso = Math.max(lote, total / 10);
+
+        try (ExecutorService envios = Executors.newFixedThreadPool(paralelismo)) {
+            List<Future<?>> resultados = new ArrayList<>();
+            for (int primeiro = 0; primeiro < total; primeiro += lote) {
+                int de = primeiro;
+                int ate = Math.min(total, primeiro + lote);
+                resultados.add(envios.submit(() -> {
+                    falhas.addAndGet(enviar(cliente, endereco, dados, colecao, de, ate));
+                    long antes = gravados.getAndAdd(ate - de);
+                    if ((antes + ate - de) / passoProgresso > antes / passoProgresso || antes + ate - de == total) {
+                        System.out.printf("  %s: %d de %d%n", colecao.caminho, antes + ate - de, total);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> resultado : resultados) {
+                resultado.get(); // Propaga o primeiro erro de envio (ex: backend fora do ar).
+            }
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%s: %d documentos em %.1f s (%.0f/s), %d falhas%n",
+                colecao.caminho, total, segundos, total / segundos, falhas.get());
+        System.out.println(String.format(Locale.ROOT,
+                "RESULTADO {\"colecao\":\"%s\",\"semente\":%d,\"documentos\":%d,\"falhas\":%d,\"segundos\":%.1f,\"porSegundo\":%.0f}",
+                colecao.caminho, semente, total, falhas.get(), segundos, total / segundos));
+        return falhas.get();
+    }
+
+    /**
+     * Envia os documentos de 'de' (inclusive) a 'ate' (exclusive) em uma requisição.
+     * @return A quantidade de itens que falharam.
+     */
+    private static long enviar(HttpClient cliente, URI endereco, Dados dados, Dados.Colecao colecao, int de, int ate)
+            throws IOException, InterruptedException {
+        StringBuilder corpo = new StringBuilder(256 * (ate - de)).append('[');
+        for (int i = de; i < ate; i++) {
+            if (i > de) {
+                corpo.append(',');
+            }
+            corpo.append(dados.documento(colecao, i));
+        }
+        corpo.append(']');
+        HttpRequest requisicao = HttpRequest.newBuilder(endereco)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(10))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo.toString()))
+                .build();
+        HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IOException("Resposta " + resposta.statusCode() + " ao gravar " + colecao.caminho + " " + de + "-" + ate);
+        }
+        Matcher falhas = FALHAS.matcher(resposta.body());
+        return falhas.find() ? Long.parseLong(falhas.group(1)) : 0;
+    }
+}
@@ -0,0 +1,221 @@
+// Define o pacote onde esta classe está localizada. O pacote 'loadtest' reúne as ferramentas de teste de carga da API.
+package com.exemplo.crudmongo.loadtest;
+
+// Importações das classes do próprio Java (este módulo não depende de bibliotecas externas).
+import java.net.http.HttpClient; // Cliente HTTP do Java, usado para disparar as requisições.
+import java.net.http.HttpRequest; // Representa uma requisição HTTP.
+import java.net.http.HttpResponse; // Representa uma resposta HTTP.
+import java.time.Duration; // Representa intervalos de tempo (duração do teste, timeout).
+import java.util.ArrayList; // Implementação de lista.
+import java.util.Arrays; // Utilitários para arrays (ordenação das latências).
+import java.util.HashMap; // Implementação de mapa (latências de cada usuário por operação).
+import java.util.HashSet; // Implementação de conjunto (rotas já impressas).
+import java.util.LinkedHashMap; // Mapa que mantém a ordem de inserção (ordem das operações no relatório).
+import java.util.List; // Interface de listas.
+import java.util.Locale; // Usado para formatar números com ponto decimal no JSON.
+import java.util.Map; // Interface de mapas.
+import java.util.Set; // Interface de conjuntos.
+import java.util.SplittableRandom; // Gerador de números aleatórios de cada usuário simulado.
+import java.util.concurrent.ExecutorService; // Executa os usuários simulados.
+import java.util.concurrent.Executors; // Cria o executor de virtual threads.
+import java.util.regex.Matcher; // Usado para ler o ID do aluno criado.
+import java.util.regex.Pattern; // Expressão regular que encontra o ID na resposta.
+
+/**
+ * Teste de carga de ponta a ponta: replica um cenário (ver Cenario) contra todos os controllers do backend e mede a
+ * vazão e a latência de cada rota.
+ *
+ * O teste é em "circuito fechado", como o ComparacaoThreads: cada usuário simulado envia uma requisição, espera a
+ * resposta e envia a próxima. Cada usuário tem o seu gerador aleatório, criado a partir da semente, então a sequência
+ * de requisições é sempre a mesma para a mesma semente, o mesmo cenário e a mesma concorrência. Com --requisicoes, cada
+ * usuário envia exatamente essa quantidade e o conjunto inteiro de requisições se repete entre execuções; sem ela, o
+ * teste roda por --duracao segundos (e a quantidade enviada depende da velocidade do backend). O aquecimento usa uma
+ * sequência própria, para não alterar a da medição.
+ *
+ * A massa de dados precisa ter sido gravada antes com a Semeadura, com a mesma semente e os mesmos tamanhos.
+ * O resultado é impresso em uma tabela e em linhas JSON (prefixo "RESULTADO "), uma por rota e uma do total.
+ *
+ * Uso: java -cp crudmongo-loadtest.jar com.exemplo.crudmongo.loadtest.TesteCarga [--url=http://localhost:8080]
+ *          [--semente=42] [--alunos=10k|1M|10M] [--cenario=misto|leitura|escrita|semestre|arquivo.properties]
+ *          [--mix=alunos.buscar:70,alunos.atualizar:30] [--acessos=uniforme|concentrado] [--concorrencia=50]
+ *          [--duracao=60] [--requisicoes=0] [--aquecimento=10] [--rotulo=...]
+ * O script carga.sh grava a massa de dados e roda o teste nos tamanhos 10k, 1M e 10M.
+ */
+public class TesteCarga {
+
+    // Encontra o ID do documento criado na resposta do POST.
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Argumentos argumentos = new Argumentos(args);
+        String url = argumentos.texto("url", "http://localhost:8080");
+        long semente = argumentos.longo("semente", 42);
+        Dados dados = new Dados(semente, Dados.Tamanhos.de(argumentos));
+        String mistura = argumentos.texto("mix", argumentos.texto("cenario", "misto"));
+        boolean concentrado = argumentos.texto("acessos", "uniforme").equals("concentrado");
+        int concorrencia = argumentos.inteiro("concorrencia", 50);
+        Duration duracao = Duration.ofSeconds(argumentos.inteiro("duracao", 60));
+        int requisicoes = argumentos.inteiro("requisicoes", 0);
+        Duration aquecimento = Duration.ofSeconds(argumentos.inteiro("aquecimento", 10));
+        String rotulo = argumentos.texto("rotulo", "");
+
+        Cenario cenario = new Cenario(url, dados, mistura, concentrado);
+        HttpClient cliente = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("Semente %d, cenário '%s', acessos %s, %s%n", semente, mistura, concentrado ? "concentrado" : "uniforme", dados.tamanhos);
+        if (!aquecimento.isZero()) {
+            System.out.printf("Aquecimento: %d s com %d usuários...%n", aquecimento.toSeconds(), concorrencia);
+            // Sequência própria: a semente do aquecimento é derivada, e não a mesma da medição.
+            executar(cliente, cenario, Dados.mistura(semente ^ 0x5EED), concorrencia, aquecimento, 0);
+        }
+        System.out.println(requisicoes > 0
+                ? String.format("Medição: %d requisições por usuário, %d usuários...", requisicoes, concorrencia)
+                : String.format("Medição: %d s com %d usuários...", duracao.toSeconds(), concorrencia));
+        Resultado resultado = executar(cliente, cenario, semente, concorrencia, duracao, requisicoes);
+        relatar(resultado, cenario, rotulo, mistura, semente, concorrencia, dados);
+    }
+
+    /**
+     * Roda os usuários simulados até o fim do tempo (ou da quantidade de requisições) e junta as medições.
+     */
+    private static Resultado executar(HttpClient cliente, Cenario cenario, long semente, int concorrencia,
+                                      Duration duracao, int requisicoes) {
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        // As medições de cada usuário (por operação) ficam separadas e só são juntadas no fim, sem sincronização.
+        List<Map<String, Medicoes>> porUsuario = new ArrayList<>(concorrencia);
+        for (int u = 0; u < concorrencia; u++) {
+            porUsuario.add(new HashMap<>());
+        }
+
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < concorrencia; u++) {
+                Map<String, Medicoes> medicoes = porUsuario.get(u);
+                Cenario.Usuario usuario = new Cenario.Usuario(new SplittableRandom(Dados.mistura(semente + u)));
+                usuarios.submit(() -> {
+                    int enviadas = 0;
+                    while (requisicoes > 0 ? enviadas < requisicoes : System.nanoTime() < fim) {
+                        enviadas++;
+                        Cenario.Operacao operacao = cenario.sortear(usuario);
+                        HttpRequest requisicao = operacao.requisicao().apply(cenario, usuario);
+                        Medicoes medicao = medicoes.computeIfAbsent(operacao.nome(), nome -> new Medicoes());
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                            long latencia = System.nanoTime() - antes;
+                            if (resposta.statusCode() >= 400) {
+                                medicao.erros++;
+                                continue;
+                            }
+                            medicao.adicionar(latencia);
+                            if (operacao.nome().equals("alunos.criar")) {
+                                Matcher id = ID.matcher(resposta.body());
+                                if (id.find()) {
+                                    usuario.criados.add(id.group(1));
+                                }
+                            }
+                        } catch (Exception e) {
+                            medicao.erros++;
+                        }
+                    }
+                });
+            }
+        } // O close() do executor espera todos os usuários terminarem.
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        Map<String, Medicoes> total = new LinkedHashMap<>();
+        for (Map<String, Medicoes> medicoes : porUsuario) {
+            medicoes.forEach((nome, medicao) -> total.computeIfAbsent(nome, n -> new Medicoes()).juntar(medicao));
+        }
+        return new Resultado(total, duracaoNanos);
+    }
+
+    /**
+     * Imprime a tabela por rota e as linhas JSON.
+     */
+    private static void relatar(Resultado resultado, Cenario cenario, String rotulo, String mistura, long semente,
+                                int concorrencia, Dados dados) {
+        double segundos = resultado.duracaoNanos() / 1e9;
+        Medicoes todas = new Medicoes();
+        Set<String> impressas = new HashSet<>();
+        System.out.printf("%-38s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "rota", "req", "erros", "req/s", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9", "máx");
+        // A ordem do relatório é a do cenário (e não a de conclusão das requisições).
+        for (Cenario.Operacao operacao : cenario.operacoes()) {
+            Medicoes medicao = resultado.porOperacao().get(operacao.nome());
+            if (medicao == null || !impressas.add(operacao.nome())) {
+                continue;
+            }
+            todas.juntar(medicao);
+            imprimir(operacao.rota(), medicao, segundos, rotulo, mistura, semente, concorrencia, dados);
+        }
+        // Operações que entraram no lugar de outras (ex: criação no lugar da exclusão) e não estão no cenário.
+        resultado.porOperacao().forEach((nome, medicao) -> {
+            if (impressas.add(nome)) {
+                todas.juntar(medicao);
+                imprimir(nome, medicao, segundos, rotulo, mistura, semente, concorrencia, dados);
+            }
+        });
+        imprimir("TOTAL", todas, segundos, rotulo, mistura, semente, concorrencia, dados);
+    }
+
+    private static void imprimir(String rota, Medicoes medicao, double segundos, String rotulo, String mistura,
+                                 long semente, int concorrencia, Dados dados) {
+        long[] latencias = medicao.ordenadas();
+        double vazao = latencias.length / segundos;
+        double p50 = ComparacaoThreads.ms(ComparacaoThreads.percentil(latencias, 50));
+        double p90 = ComparacaoThreads.ms(ComparacaoThreads.percentil(latencias, 90));
+        double p99 = ComparacaoThreads.ms(ComparacaoThreads.percentil(latencias, 99));
+        double p999 = ComparacaoThreads.ms(ComparacaoThreads.percentil(latencias, 99.9));
+        double maximo = ComparacaoThreads.ms(latencias.length == 0 ? 0 : latencias[latencias.length - 1]);
+        System.out.printf("%-38s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                rota, latencias.length, medicao.erros, vazao, p50, p90, p99, p999, maximo);
+        System.out.println(String.format(Locale.ROOT,
+                "RESULTADO {\"rotulo\":\"%s\",\"cenario\":\"%s\",\"semente\":%d,\"alunos\":%d,\"concorrencia\":%d,"
+                        + "\"rota\":\"%s\",\"requisicoes\":%d,\"erros\":%d,\"vazao\":%.1f,"
+                        + "\"p50Ms\":%.3f,\"p90Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f}",
+                rotulo, mistura.replace("\"", "'"), semente, dados.tamanhos.alunos(), concorrencia,
+                rota, latencias.length, medicao.erros, vazao, p50, p90, p99, p999, maximo));
+    }
+
+    /**
+     * As latências (em nanossegundos) e a quantidade de erros de uma operação.
+     */
+    private static final class Medicoes {
+
+        private long[] latencias = new long[256];
+        private int quantidade;
+        private long erros;
+
+        void adicionar(long latencia) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = latencia;
+        }
+
+        void juntar(Medicoes outra) {
+            if (quantidade + outra.quantidade > latencias.length) {
+                latencias = Arrays.copyOf(latencias, Math.max(quantidade + outra.quantidade, latencias.length * 2));
+            }
+            System.arraycopy(outra.latencias, 0, latencias, quantidade, outra.quantidade);
+            quantidade += outra.quantidade;
+            erros += outra.erros;
+        }
+
+        long[] ordenadas() {
+            long[] ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+    }
+
+    /**
+     * Resultado de uma rodada: as medições de cada operação e a duração real.
+     */
+    private record Resultado(Map<String, Medicoes> porOperacao, long duracaoNanos) {
+    }
+}
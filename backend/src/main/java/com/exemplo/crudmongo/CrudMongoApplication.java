@@ -6,6 +6,8 @@ package com.exemplo.crudmongo;
 import org.springframework.boot.SpringApplication; // Classe principal que o Spring usa para iniciar a aplicação.
 import org.springframework.boot.autoconfigure.SpringBootApplication; // Anotação que habilita várias configurações automáticas do Spring Boot.
 
+import java.util.Map; // Importa a interface Map, usada para declarar as configurações padrão.
+
 /**
  * A anotação @SpringBootApplication é uma anotação de conveniência que adiciona:
  * 1. @Configuration: Marca a classe como uma fonte de definições de beans para o contexto da aplicação.
@@ -21,12 +23,31 @@ public class CrudMongoApplication {
      * @param args Argumentos de linha de comando que podem ser passados ao iniciar a aplicação (não estamos usando nenhum neste projeto).
      */
     public static void main(String[] args) {
-        // Esta linha estática é o que efetivamente inicia a aplicação Spring Boot.
-        // SpringApplication.run() faz todo o trabalho pesado:
+        // As linhas abaixo são o que efetivamente inicia a aplicação Spring Boot.
+        // O método run() faz todo o trabalho pesado:
         // 1. Cria o contexto da aplicação.
         // 2. Realiza o escaneamento de classes (component scan).
         // 3. Inicia o servidor web embutido (Tomcat, por padrão).
         // 4. E muito mais...
-        SpringApplication.run(CrudMongoApplication.class, args);
+        SpringApplication aplicacao = new SpringApplication(CrudMongoApplication.class);
+        // Configurações padrão da aplicação. Elas valem apenas quando a mesma propriedade não é definida
+        // de outra forma (variável de ambiente, argumento de linha de comando, application.properties...).
+        aplicacao.setDefaultProperties(Map.of(
+                // Modo de execução com virtual threads (Java 21): cada requisição roda em uma virtual thread, que é liberada
+                // enquanto espera a resposta do MongoDB. Assim, o número de requisições simultâneas não fica limitado ao pool
+                // de threads do Tomcat. Vale também para as tarefas assíncronas (exportações em NDJSON) e agendadas.
+                // Para voltar ao pool de threads de plataforma: SPRING_THREADS_VIRTUAL_ENABLED=false.
+                "spring.threads.virtual.enabled", "true",
+                // Métricas: além de /actuator/health, expõe /actuator/prometheus para o Prometheus coletar as métricas.
+                "management.endpoints.web.exposure.include", "health,prometheus",
+                // Histogramas de latência (buckets) de cada rota, de cada método dos serviços (MetricasServicos) e de cada
+                // comando do MongoDB. Com eles, os percentis (p50, p99...) podem ser calculados no Prometheus e agregados
+                // entre várias instâncias.
+                "management.metrics.distribution.percentiles-histogram.http.server.requests", "true",
+                "management.metrics.distribution.percentiles-histogram.crudmongo.servico", "true",
+                "management.metrics.distribution.percentiles-histogram.mongodb.driver.commands", "true",
+                // Identifica a aplicação em todas as métricas (útil quando o Prometheus coleta vários serviços).
+                "management.metrics.tags.application", "crudmongo"));
+        aplicacao.run(args);
     }
 }
\ No newline at end of file
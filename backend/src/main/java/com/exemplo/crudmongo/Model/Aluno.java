@@ -4,8 +4,12 @@ package com.exemplo.crudmongo.Model;
 // Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
 import lombok.Data; // Importa a anotação @Data da biblioteca Lombok. Ela gera automaticamente os métodos getters, setters, toString, equals e hashCode, o que economiza muito código.
 import org.springframework.data.annotation.Id; // Importa a anotação @Id do Spring Data, usada para marcar o campo que será o identificador único do documento no MongoDB.
+import org.springframework.data.annotation.LastModifiedDate; // Importa a anotação que preenche automaticamente a data da última alteração.
+import org.springframework.data.annotation.Version; // Importa a anotação @Version, que marca o campo de versão do documento.
 import org.springframework.data.mongodb.core.mapping.Document; // Importa a anotação @Document, que mapeia esta classe Java para uma coleção no MongoDB.
 
+import java.time.Instant; // Importa a classe Instant para representar a data/hora da última alteração.
+
 /**
  * A anotação @Data do Lombok gera automaticamente em tempo de compilação:
  * - Getters para todos os campos (ex: getId(), getNome())
@@ -45,6 +49,15 @@ public class Aluno {
     // Campo para armazenar o ID do período de ingresso do aluno (ex: "2024.1").
     private String periodoIngressoId;
 
+    // Versão do documento. O Spring Data a incrementa automaticamente a cada gravação.
+    // Ela identifica o estado atual do documento e é usada para gerar o ETag das respostas.
+    @Version
+    private Long versao;
+
+    // Data e hora da última alteração do documento, preenchida automaticamente (ver MongoConfig).
+    @LastModifiedDate
+    private Instant ultimaModificacao;
+
     // Não é necessário escrever manualmente os métodos getters e setters aqui
     // porque a anotação @Data do Lombok já faz isso por nós.
 }
\ No newline at end of file
@@ -4,8 +4,11 @@ package com.exemplo.crudmongo.Model;
 // Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
 import lombok.Data; // Importa a anotação @Data da biblioteca Lombok para gerar código repetitivo automaticamente.
 import org.springframework.data.annotation.Id; // Importa a anotação @Id do Spring Data para marcar a chave primária.
+import org.springframework.data.annotation.LastModifiedDate; // Importa a anotação que preenche automaticamente a data da última alteração.
+import org.springframework.data.annotation.Version; // Importa a anotação @Version, que marca o campo de versão do documento.
 import org.springframework.data.mongodb.core.mapping.Document; // Importa a anotação @Document para mapear a classe a uma coleção do MongoDB.
 
+import java.time.Instant; // Importa a classe Instant para representar a data/hora da última alteração.
 import java.util.List; // Importa a interface 'List' para trabalhar com listas de objetos, neste caso, listas de Strings.
 
 /**
@@ -49,6 +52,15 @@ public class Curriculo {
     // Campo que armazena uma lista de Strings. Cada String é o ID de uma disciplina optativa.
     private List<String> disciplinasOptativas;
 
+    // Versão do documento. O Spring Data a incrementa automaticamente a cada gravação.
+    // Ela identifica o estado atual do documento e é usada para gerar o ETag das respostas.
+    @Version
+    private Long versao;
+
+    // Data e hora da última alteração do documento, preenchida automaticamente (ver MongoConfig).
+    @LastModifiedDate
+    private Instant ultimaModificacao;
+
     // Observação: Não é necessário escrever manualmente os métodos getters, setters, etc.,
     // porque a anotação @Data do Lombok já cuida disso para nós.
 }
\ No newline at end of file
@@ -4,8 +4,12 @@ package com.exemplo.crudmongo.Model;
 // Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
 import lombok.Data; // Importa a anotação @Data da biblioteca Lombok.
 import org.springframework.data.annotation.Id; // Importa a anotação @Id do Spring Data para marcar a chave primária.
+import org.springframework.data.annotation.LastModifiedDate; // Importa a anotação que preenche automaticamente a data da última alteração.
+import org.springframework.data.annotation.Version; // Importa a anotação @Version, que marca o campo de versão do documento.
 import org.springframework.data.mongodb.core.mapping.Document; // Importa a anotação @Document para mapear a classe a uma coleção do MongoDB.
 
+import java.time.Instant; // Importa a classe Instant para representar a data/hora da última alteração.
+
 /**
  * A anotação @Data do Lombok é uma forma poderosa de reduzir código repetitivo (boilerplate).
  * Ela gera automaticamente em tempo de compilação:
@@ -44,6 +48,15 @@ public class Curso {
     // Campo para armazenar o turno em que o curso é oferecido (ex: "Matutino", "Vespertino", "Noturno", "Integral").
     private String turno;
 
+    // Versão do documento. O Spring Data a incrementa automaticamente a cada gravação.
+    // Ela identifica o estado atual do documento e é usada para gerar o ETag das respostas.
+    @Version
+    private Long versao;
+
+    // Data e hora da última alteração do documento, preenchida automaticamente (ver MongoConfig).
+    @LastModifiedDate
+    private Instant ultimaModificacao;
+
     // Observação: Não é necessário escrever manualmente os métodos getters e setters aqui
     // porque a anotação @Data do Lombok já faz todo esse trabalho por nós.
 }
\ No newline at end of file
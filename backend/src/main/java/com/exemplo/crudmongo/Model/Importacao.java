@@ -0,0 +1,83 @@
+// Define o pacote onde esta classe está localizada. Pacotes são usados para organizar as classes do projeto.
+package com.exemplo.crudmongo.Model;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import com.fasterxml.jackson.annotation.JsonIgnore; // Importa a anotação que esconde um campo do JSON de resposta.
+import lombok.Data; // Importa a anotação @Data da biblioteca Lombok para gerar código repetitivo automaticamente.
+import org.springframework.data.annotation.Id; // Importa a anotação @Id do Spring Data para marcar a chave primária.
+import org.springframework.data.mongodb.core.mapping.Document; // Importa a anotação @Document para mapear a classe a uma coleção do MongoDB.
+
+import java.time.Instant; // Importa a classe Instant para representar datas/horas.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Uma importação de arquivo CSV (ver ImportadorCsv).
+ *
+ * O documento é o ponto de controle (checkpoint) da importação: ele é regravado depois de cada bloco gravado no banco,
+ * com a quantidade de linhas já processadas. Se a importação for interrompida, ela recomeça a partir dessa linha.
+ */
+@Data
+@Document(collection = "importacoes")
+public class Importacao {
+
+    // Situações possíveis de uma importação.
+    public static final String PENDENTE = "pendente"; // Na fila, esperando a importação anterior terminar.
+    public static final String EXECUTANDO = "executando"; // Sendo gravada no banco.
+    public static final String CONCLUIDA = "concluida"; // Todas as linhas do arquivo foram processadas.
+    public static final String FALHA = "falha"; // Parou por um erro (ver o campo 'erro'); pode ser retomada.
+
+    @Id
+    private String id; // Campo para armazenar o ID único da importação.
+
+    // A coleção de destino ("alunos" ou "turmas").
+    private String colecao;
+
+    // A situação atual (ver as constantes acima).
+    private String status;
+
+    // Caminho do arquivo recebido, guardado em disco até a importação terminar. Não aparece na resposta da API.
+    @JsonIgnore
+    private String arquivo;
+
+    // Tamanho do arquivo recebido, em bytes.
+    private long tamanhoArquivo;
+
+    // Percentual do arquivo já processado (estimado pelos bytes lidos).
+    private double progresso;
+
+    // Linhas de dados já processadas (sem contar o cabeçalho). É o checkpoint: a retomada pula essas linhas.
+    private long linhasProcessadas;
+
+    // Linhas gravadas no banco.
+    private long linhasGravadas;
+
+    // Linhas que já estavam no banco (gravadas antes de uma interrupção e processadas de novo na retomada).
+    private long linhasJaExistentes;
+
+    // Linhas recusadas pela validação ou pelo banco.
+    private long linhasInvalidas;
+
+    // As primeiras mensagens de linhas recusadas, no formato "linha N: motivo".
+    private List<String> erros = new ArrayList<>();
+
+    // Motivo da falha, quando o status é 'falha'.
+    private String erro;
+
+    // Tamanho atual do bloco enviado ao banco (ajustado conforme o tempo de gravação de cada bloco).
+    private int tamanhoBloco;
+
+    // Início dos IDs gerados para as linhas (9 bytes em hexadecimal); o restante do ID é o número da linha.
+    // Assim, a mesma linha recebe sempre o mesmo ID, e uma linha gravada antes de uma interrupção não é duplicada na retomada.
+    @JsonIgnore
+    private String prefixoIds;
+
+    // Data/hora em que a importação foi recebida.
+    private Instant criadaEm;
+
+    // Data/hora do último checkpoint.
+    private Instant atualizadaEm;
+
+    // Data/hora em que a importação terminou (com sucesso ou falha).
+    private Instant concluidaEm;
+}
@@ -0,0 +1,76 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.github.benmanes.caffeine.cache.Caffeine; // Importa o Caffeine, a biblioteca de cache em memória usada pelo Spring Cache.
+import org.springframework.cache.CacheManager; // Importa a interface que gerencia os caches da aplicação.
+import org.springframework.cache.annotation.EnableCaching; // Importa a anotação que ativa o suporte a @Cacheable/@CacheEvict.
+import org.springframework.cache.caffeine.CaffeineCacheManager; // Importa o gerenciador de caches baseado no Caffeine.
+import org.springframework.context.annotation.Bean; // Importa a anotação @Bean para registrar objetos no Spring.
+import org.springframework.context.annotation.Configuration; // Importa a anotação @Configuration.
+import org.springframework.core.env.Environment; // Importa o Environment, usado para ler as configurações de cada cache.
+
+import java.time.Duration; // Importa a classe Duration para representar o tempo de vida (TTL) das entradas.
+import java.util.Map; // Importa a interface de mapas, usada para declarar os valores padrão de cada cache.
+
+/**
+ * Configuração do cache de leitura usado pelo buscarPorId dos serviços.
+ *
+ * Cada entidade tem o seu próprio cache, com tempo de vida (TTL) e tamanho máximo independentes.
+ * Quando o tamanho máximo é atingido, o Caffeine descarta as entradas menos usadas.
+ * As escritas (salvar, atualizar, excluir) invalidam a entrada correspondente, então o cache nunca
+ * devolve um dado que esta instância já sabe que mudou.
+ *
+ * Os valores podem ser ajustados pelas propriedades:
+ *   crudmongo.cache.{nome}.ttl            (ex: 10m, 30s)
+ *   crudmongo.cache.{nome}.tamanho-maximo (quantidade de entradas)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Nomes dos caches, um por coleção. São usados nas anotações @Cacheable/@CacheEvict dos serviços.
+    public static final String ALUNOS = "alunos";
+    public static final String CURSOS = "cursos";
+    public static final String DISCIPLINAS = "disciplinas";
+    public static final String TURMAS = "turmas";
+    public static final String CURRICULOS = "curriculos";
+
+    // Tempo de vida padrão de cada cache. Cursos e disciplinas quase nunca mudam, então podem ficar mais tempo.
+    private static final Map<String, Duration> TTL_PADRAO = Map.of(
+            ALUNOS, Duration.ofMinutes(1),
+            CURSOS, Duration.ofMinutes(30),
+            DISCIPLINAS, Duration.ofMinutes(30),
+            TURMAS, Duration.ofMinutes(5),
+            CURRICULOS, Duration.ofMinutes(5));
+
+    // Quantidade máxima padrão de entradas de cada cache.
+    private static final Map<String, Long> TAMANHO_PADRAO = Map.of(
+            ALUNOS, 10_000L,
+            CURSOS, 1_000L,
+            DISCIPLINAS, 5_000L,
+            TURMAS, 5_000L,
+            CURRICULOS, 1_000L);
+
+    /**
+     * Cria o gerenciador de caches com um cache Caffeine para cada entidade.
+     * @param environment As configurações da aplicação.
+     * @return O CacheManager usado pelo Spring Cache.
+     */
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Não guardamos "não encontrado": um documento criado logo depois deve aparecer imediatamente.
+        cacheManager.setAllowNullValues(false);
+        for (String nome : TTL_PADRAO.keySet()) {
+            Duration ttl = environment.getProperty("crudmongo.cache." + nome + ".ttl", Duration.class, TTL_PADRAO.get(nome));
+            long tamanhoMaximo = environment.getProperty("crudmongo.cache." + nome + ".tamanho-maximo", Long.class, TAMANHO_PADRAO.get(nome));
+            cacheManager.registerCustomCache(nome, Caffeine.newBuilder()
+                    .expireAfterWrite(ttl)
+                    .maximumSize(tamanhoMaximo)
+                    .recordStats() // Mantém os contadores de acertos, falhas e descartes (ver CacheController).
+                    .build());
+        }
+        return cacheManager;
+    }
+}
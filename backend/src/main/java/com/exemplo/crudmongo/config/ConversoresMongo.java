@@ -0,0 +1,289 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos convertidos por esta classe.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import org.bson.Document; // Importa a classe Document, que representa um documento BSON do MongoDB.
+import org.bson.types.ObjectId; // Importa o ObjectId, o tipo do _id gerado pelo MongoDB.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.context.annotation.Bean; // Importa a anotação @Bean, que registra o retorno do método no Spring.
+import org.springframework.context.annotation.Configuration; // Importa a anotação @Configuration.
+import org.springframework.core.convert.converter.Converter; // Importa a interface dos conversores do Spring.
+import org.springframework.data.convert.ReadingConverter; // Importa a anotação que marca um conversor de leitura (banco -> objeto).
+import org.springframework.data.convert.WritingConverter; // Importa a anotação que marca um conversor de escrita (objeto -> banco).
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions; // Importa o registro de conversores personalizados do Spring Data MongoDB.
+
+import java.time.Instant; // Importa a classe Instant, usada nas datas de última alteração.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.Date; // Importa a classe Date, o tipo das datas no driver do MongoDB.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Conversores escritos à mão entre os documentos do MongoDB (org.bson.Document) e os cinco modelos.
+ *
+ * Sem eles, o MappingMongoConverter do Spring Data monta cada objeto pelos metadados de mapeamento: para cada
+ * propriedade, procura o valor no documento, escolhe uma conversão e o grava por um PropertyAccessor. Nas listagens e
+ * exportações grandes, esse trabalho aparece no profiling. Aqui, cada campo é lido e gravado diretamente pelo getter e
+ * pelo setter gerados pelo Lombok.
+ *
+ * Os conversores produzem os mesmos documentos do mapeamento genérico (mesmos nomes de campos, _id como ObjectId quando
+ * o ID é um ObjectId válido, datas como Date, campos nulos omitidos), com uma diferença: o campo '_class' não é gravado,
+ * já que cada coleção guarda um único tipo. A leitura aceita os documentos antigos (com '_class') e números gravados
+ * com outro tipo (ex: IRA como inteiro), como o mapeamento genérico.
+ *
+ * A propriedade 'crudmongo.mongo.conversores-manuais' (padrão: true) liga os conversores; com false, volta o
+ * mapeamento genérico. Ao incluir um campo em um modelo, inclua-o também aqui.
+ */
+@Configuration
+public class ConversoresMongo {
+
+    /**
+     * Registra os conversores no Spring Data MongoDB (vale para o MongoTemplate e para o ReactiveMongoTemplate).
+     * @param ativos Propriedade 'crudmongo.mongo.conversores-manuais'.
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(@Value("${crudmongo.mongo.conversores-manuais:true}") boolean ativos) {
+        return new MongoCustomConversions(ativos ? conversores() : List.of());
+    }
+
+    /**
+     * Os conversores de leitura e de escrita dos cinco modelos.
+     */
+    public static List<Converter<?, ?>> conversores() {
+        return List.of(
+                new LeituraAluno(), new EscritaAluno(),
+                new LeituraCurso(), new EscritaCurso(),
+                new LeituraDisciplina(), new EscritaDisciplina(),
+                new LeituraTurma(), new EscritaTurma(),
+                new LeituraCurriculo(), new EscritaCurriculo());
+    }
+
+    // ----- Aluno -----
+
+    @ReadingConverter
+    public static class LeituraAluno implements Converter<Document, Aluno> {
+        @Override
+        public Aluno convert(Document documento) {
+            Aluno aluno = new Aluno();
+            aluno.setId(texto(documento.get("_id")));
+            aluno.setNome(texto(documento.get("nome")));
+            aluno.setIra(decimal(documento.get("ira")));
+            aluno.setCursoId(texto(documento.get("cursoId")));
+            aluno.setPeriodoIngressoId(texto(documento.get("periodoIngressoId")));
+            aluno.setVersao(longo(documento.get("versao")));
+            aluno.setUltimaModificacao(instante(documento.get("ultimaModificacao")));
+            return aluno;
+        }
+    }
+
+    @WritingConverter
+    public static class EscritaAluno implements Converter<Aluno, Document> {
+        @Override
+        public Document convert(Aluno aluno) {
+            Document documento = new Document();
+            colocar(documento, "_id", id(aluno.getId()));
+            colocar(documento, "nome", aluno.getNome());
+            colocar(documento, "ira", aluno.getIra());
+            colocar(documento, "cursoId", aluno.getCursoId());
+            colocar(documento, "periodoIngressoId", aluno.getPeriodoIngressoId());
+            colocar(documento, "versao", aluno.getVersao());
+            colocar(documento, "ultimaModificacao", data(aluno.getUltimaModificacao()));
+            return documento;
+        }
+    }
+
+    // ----- Curso -----
+
+    @ReadingConverter
+    public static class LeituraCurso implements Converter<Document, Curso> {
+        @Override
+        public Curso convert(Document documento) {
+            Curso curso = new Curso();
+            curso.setId(texto(documento.get("_id")));
+            curso.setNome(texto(documento.get("nome")));
+            curso.setNivel(texto(documento.get("nivel")));
+            curso.setModalidade(texto(documento.get("modalidade")));
+            curso.setTurno(texto(documento.get("turno")));
+            curso.setVersao(longo(documento.get("versao")));
+            curso.setUltimaModificacao(instante(documento.get("ultimaModificacao")));
+            return curso;
+        }
+    }
+
+    @WritingConverter
+    public static class EscritaCurso implements Converter<Curso, Document> {
+        @Override
+        public Document convert(Curso curso) {
+            Document documento = new Document();
+            colocar(documento, "_id", id(curso.getId()));
+            colocar(documento, "nome", curso.getNome());
+            colocar(documento, "nivel", curso.getNivel());
+            colocar(documento, "modalidade", curso.getModalidade());
+            colocar(documento, "turno", curso.getTurno());
+            colocar(documento, "versao", curso.getVersao());
+            colocar(documento, "ultimaModificacao", data(curso.getUltimaModificacao()));
+            return documento;
+        }
+    }
+
+    // ----- Disciplina -----
+
+    @ReadingConverter
+    public static class LeituraDisciplina implements Converter<Document, Disciplina> {
+        @Override
+        public Disciplina convert(Document documento) {
+            Disciplina disciplina = new Disciplina();
+            disciplina.setId(texto(documento.get("_id")));
+            disciplina.setNome(texto(documento.get("nome")));
+            disciplina.setCargaHoraria(inteiro(documento.get("cargaHoraria")));
+            disciplina.setEmenta(texto(documento.get("ementa")));
+            disciplina.setVersao(longo(documento.get("versao")));
+            disciplina.setUltimaModificacao(instante(documento.get("ultimaModificacao")));
+            return disciplina;
+        }
+    }
+
+    @WritingConverter
+    public static class EscritaDisciplina implements Converter<Disciplina, Document> {
+        @Override
+        public Document convert(Disciplina disciplina) {
+            Document documento = new Document();
+            colocar(documento, "_id", id(disciplina.getId()));
+            colocar(documento, "nome", disciplina.getNome());
+            colocar(documento, "cargaHoraria", disciplina.getCargaHoraria());
+            colocar(documento, "ementa", disciplina.getEmenta());
+            colocar(documento, "versao", disciplina.getVersao());
+            colocar(documento, "ultimaModificacao", data(disciplina.getUltimaModificacao()));
+            return documento;
+        }
+    }
+
+    // ----- Turma -----
+
+    @ReadingConverter
+    public static class LeituraTurma implements Converter<Document, Turma> {
+        @Override
+        public Turma convert(Document documento) {
+            Turma turma = new Turma();
+            turma.setId(texto(documento.get("_id")));
+            turma.setDisciplinaId(texto(documento.get("disciplinaId")));
+            turma.setAno(inteiro(documento.get("ano")));
+            turma.setSemestre(inteiro(documento.get("semestre")));
+            turma.setProfessor(texto(documento.get("professor")));
+            turma.setVersao(longo(documento.get("versao")));
+            turma.setUltimaModificacao(instante(documento.get("ultimaModificacao")));
+            return turma;
+        }
+    }
+
+    @WritingConverter
+    public static class EscritaTurma implements Converter<Turma, Document> {
+        @Override
+        public Document convert(Turma turma) {
+            Document documento = new Document();
+            colocar(documento, "_id", id(turma.getId()));
+            colocar(documento, "disciplinaId", turma.getDisciplinaId());
+            colocar(documento, "ano", turma.getAno());
+            colocar(documento, "semestre", turma.getSemestre());
+            colocar(documento, "professor", turma.getProfessor());
+            colocar(documento, "versao", turma.getVersao());
+            colocar(documento, "ultimaModificacao", data(turma.getUltimaModificacao()));
+            return documento;
+        }
+    }
+
+    // ----- Curriculo -----
+
+    @ReadingConverter
+    public static class LeituraCurriculo implements Converter<Document, Curriculo> {
+        @Override
+        public Curriculo convert(Document documento) {
+            Curriculo curriculo = new Curriculo();
+            curriculo.setId(texto(documento.get("_id")));
+            curriculo.setCursoId(texto(documento.get("cursoId")));
+            curriculo.setAno(inteiro(documento.get("ano")));
+            curriculo.setSemestre(inteiro(documento.get("semestre")));
+            curriculo.setDisciplinasObrigatorias(textos(documento.get("disciplinasObrigatorias")));
+            curriculo.setDisciplinasOptativas(textos(documento.get("disciplinasOptativas")));
+            curriculo.setVersao(longo(documento.get("versao")));
+            curriculo.setUltimaModificacao(instante(documento.get("ultimaModificacao")));
+            return curriculo;
+        }
+    }
+
+    @WritingConverter
+    public static class EscritaCurriculo implements Converter<Curriculo, Document> {
+        @Override
+        public Document convert(Curriculo curriculo) {
+            Document documento = new Document();
+            colocar(documento, "_id", id(curriculo.getId()));
+            colocar(documento, "cursoId", curriculo.getCursoId());
+            colocar(documento, "ano", curriculo.getAno());
+            colocar(documento, "semestre", curriculo.getSemestre());
+            colocar(documento, "disciplinasObrigatorias", curriculo.getDisciplinasObrigatorias());
+            colocar(documento, "disciplinasOptativas", curriculo.getDisciplinasOptativas());
+            colocar(documento, "versao", curriculo.getVersao());
+            colocar(documento, "ultimaModificacao", data(curriculo.getUltimaModificacao()));
+            return documento;
+        }
+    }
+
+    // ----- Conversões dos valores, iguais às do mapeamento genérico -----
+
+    /**
+     * Grava o campo só quando o valor não é nulo (o mapeamento genérico também omite os campos nulos).
+     */
+    private static void colocar(Document documento, String campo, Object valor) {
+        if (valor != null) {
+            documento.put(campo, valor);
+        }
+    }
+
+    /**
+     * O ID é gravado como ObjectId quando for um ObjectId válido em hexadecimal; caso contrário, como texto.
+     */
+    private static Object id(String id) {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    // Lê um texto; um ObjectId (ex: o _id) vira o seu valor em hexadecimal.
+    private static String texto(Object valor) {
+        return valor == null ? null : valor.toString();
+    }
+
+    private static Double decimal(Object valor) {
+        return valor == null ? null : ((Number) valor).doubleValue();
+    }
+
+    private static Integer inteiro(Object valor) {
+        return valor == null ? null : ((Number) valor).intValue();
+    }
+
+    private static Long longo(Object valor) {
+        return valor == null ? null : ((Number) valor).longValue();
+    }
+
+    private static Instant instante(Object valor) {
+        return valor == null ? null : ((Date) valor).toInstant();
+    }
+
+    private static Date data(Instant instante) {
+        return instante == null ? null : Date.from(instante);
+    }
+
+    private static List<String> textos(Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        List<?> lista = (List<?>) valor;
+        List<String> textos = new ArrayList<>(lista.size());
+        for (Object item : lista) {
+            textos.add(texto(item));
+        }
+        return textos;
+    }
+}
@@ -0,0 +1,54 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory; // Importa a fábrica de geradores/leitores CBOR do Jackson.
+import com.fasterxml.jackson.dataformat.smile.SmileFactory; // Importa a fábrica de geradores/leitores Smile do Jackson.
+import org.springframework.context.annotation.Bean; // Importa a anotação @Bean, que registra o retorno do método no Spring.
+import org.springframework.context.annotation.Configuration; // Importa a anotação @Configuration, que marca a classe como fonte de configurações do Spring.
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter; // Importa o conversor HTTP que escreve e lê CBOR.
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder; // Importa o construtor de ObjectMapper configurado pelo Spring Boot.
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter; // Importa o conversor HTTP que escreve e lê Smile.
+
+/**
+ * Formatos binários aceitos pela API, além do JSON: CBOR (application/cbor) e Smile (application/x-jackson-smile).
+ *
+ * O cliente escolhe o formato pelo cabeçalho Accept; sem ele (ou com Accept: application/json ou *&#47;*), a resposta
+ * continua em JSON. Os dois formatos representam os mesmos dados do JSON, mas o documento fica menor e é escrito
+ * sem converter números e datas em texto, o que economiza CPU nas listagens grandes.
+ *
+ * Os conversores são criados com o Jackson2ObjectMapperBuilder do Spring Boot, então seguem as mesmas configurações
+ * do JSON (datas, módulos, propriedades spring.jackson.*). Como o Spring MVC já registra conversores desses
+ * tipos quando as bibliotecas estão no classpath, os beans abaixo os substituem na mesma posição, depois do JSON,
+ * que por isso continua sendo o formato padrão.
+ */
+@Configuration
+public class FormatosBinarios {
+
+    // Tipo de conteúdo (Content-Type) do Smile.
+    public static final String SMILE = "application/x-jackson-smile";
+
+    // Tipo de conteúdo (Content-Type) do CBOR.
+    public static final String CBOR = "application/cbor";
+
+    // Tipo de conteúdo de uma sequência de documentos CBOR (RFC 8742), usado nas exportações.
+    public static final String CBOR_SEQ = "application/cbor-seq";
+
+    /**
+     * Conversor das respostas (e requisições) em CBOR.
+     * @param builder O construtor de ObjectMapper do Spring Boot (um novo a cada injeção).
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Conversor das respostas (e requisições) em Smile.
+     * @param builder O construtor de ObjectMapper do Spring Boot (um novo a cada injeção).
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
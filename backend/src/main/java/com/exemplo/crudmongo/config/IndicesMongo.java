@@ -0,0 +1,106 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos cujas coleções recebem índices.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import com.exemplo.crudmongo.repository.BuscaTextual; // Importa a busca textual, que define o idioma do índice de texto.
+import org.slf4j.Logger; // Importa a interface de log.
+import org.slf4j.LoggerFactory; // Importa a fábrica de loggers.
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Evento publicado quando a aplicação terminou de subir.
+import org.springframework.context.event.EventListener; // Importa a anotação @EventListener para reagir a eventos do Spring.
+import org.springframework.data.domain.Sort; // Importa a classe Sort para definir a direção de cada campo do índice.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que dá acesso às operações de índice.
+import org.springframework.data.mongodb.core.index.Index; // Importa a classe que descreve um índice.
+import org.springframework.data.mongodb.core.index.TextIndexDefinition; // Importa a definição de um índice de texto.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+/**
+ * Componente que cria, na inicialização, os índices usados pelas consultas da aplicação.
+ * O Spring Boot não cria índices automaticamente por padrão, então eles são declarados aqui em um único lugar.
+ * A criação é idempotente: se o índice já existe com a mesma definição, o MongoDB simplesmente ignora o comando.
+ *
+ * O teste PlanosDasConsultasTest executa as consultas da aplicação que dependem destes índices e confere, em todo
+ * build, que os campos do filtro e da ordenação de cada uma formam o começo de um destes índices. Contra um MongoDB de
+ * verdade, ele também confere com o comando 'explain' que nenhuma delas lê a coleção inteira (COLLSCAN).
+ */
+@Component
+public class IndicesMongo {
+
+    // Logger usado para registrar a criação dos índices e eventuais falhas.
+    private static final Logger log = LoggerFactory.getLogger(IndicesMongo.class);
+
+    // O MongoTemplate é usado para acessar as operações de índice de cada coleção.
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Construtor da classe IndicesMongo.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     */
+    public IndicesMongo(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Cria os índices assim que a aplicação estiver pronta.
+     * Uma falha aqui (ex: banco fora do ar) não impede a aplicação de subir; apenas é registrada no log.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void criarIndices() {
+        try {
+            // Índices de ordenação da paginação por cursor: (campo, _id), para que cada página seja uma leitura direta no índice.
+            criarIndiceDeOrdenacao(Aluno.class, "nome");
+            criarIndiceDeOrdenacao(Aluno.class, "ira");
+            criarIndiceDeOrdenacao(Curso.class, "nome");
+            criarIndiceDeOrdenacao(Disciplina.class, "nome");
+            criarIndiceDeOrdenacao(Turma.class, "ano");
+            criarIndiceDeOrdenacao(Curriculo.class, "ano");
+
+            // Índices compostos das consultas de filtro dos repositórios (ver AlunoRepository, TurmaRepository e CurriculoRepository).
+            // A ordem dos campos segue a das consultas: primeiro os filtros de igualdade, depois o campo de intervalo/ordenação.
+            mongoTemplate.indexOps(Aluno.class).ensureIndex(new Index()
+                    .on("cursoId", Sort.Direction.ASC).on("ira", Sort.Direction.DESC).named("cursoId_ira"));
+            mongoTemplate.indexOps(Turma.class).ensureIndex(new Index()
+                    .on("disciplinaId", Sort.Direction.ASC).on("ano", Sort.Direction.ASC).on("semestre", Sort.Direction.ASC)
+                    .named("disciplinaId_ano_semestre"));
+            mongoTemplate.indexOps(Curriculo.class).ensureIndex(new Index()
+                    .on("cursoId", Sort.Direction.ASC).on("ano", Sort.Direction.ASC).on("semestre", Sort.Direction.ASC)
+                    .named("cursoId_ano_semestre"));
+            // Índice das estatísticas de IRA por período de ingresso (ver EstatisticasIra). As estatísticas por curso usam o cursoId_ira.
+            mongoTemplate.indexOps(Aluno.class).ensureIndex(new Index()
+                    .on("periodoIngressoId", Sort.Direction.ASC).on("ira", Sort.Direction.DESC).named("periodoIngressoId_ira"));
+            log.info("Índices dos filtros garantidos em alunos, turmas e curriculos");
+
+            try {
+                // Índice de texto da busca de disciplinas (ver BuscaTextual). O nome pesa mais que a ementa na relevância,
+                // e o idioma português define os radicais e as palavras ignoradas.
+                mongoTemplate.indexOps(Disciplina.class).ensureIndex(TextIndexDefinition.builder()
+                        .onField("nome", 3F)
+                        .onField("ementa")
+                        .withDefaultLanguage(BuscaTextual.IDIOMA)
+                        .named("texto_nome_ementa")
+                        .build());
+            } catch (RuntimeException e) {
+                // Sem o índice de texto só a busca fica indisponível; os demais índices continuam valendo.
+                log.warn("Não foi possível criar o índice de texto das disciplinas: {}", e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível criar os índices do MongoDB: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cria um índice composto (campo, _id) usado pela paginação por cursor.
+     */
+    private void criarIndiceDeOrdenacao(Class<?> tipo, String campo) {
+        Index indice = new Index()
+                .on(campo, Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("ordenacao_" + campo);
+        mongoTemplate.indexOps(tipo).ensureIndex(indice);
+        log.info("Índice 'ordenacao_{}' garantido na coleção {}", campo, mongoTemplate.getCollectionName(tipo));
+    }
+}
\ No newline at end of file
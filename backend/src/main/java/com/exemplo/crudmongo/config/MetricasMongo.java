@@ -0,0 +1,133 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.mongodb.event.CommandFailedEvent; // Evento publicado quando um comando do MongoDB falha.
+import com.mongodb.event.CommandListener; // Interface dos ouvintes de comandos do driver do MongoDB.
+import com.mongodb.event.CommandStartedEvent; // Evento publicado quando um comando é enviado ao MongoDB.
+import com.mongodb.event.CommandSucceededEvent; // Evento publicado quando um comando termina com sucesso.
+import io.micrometer.core.instrument.DistributionSummary; // Importa o DistributionSummary, que registra a distribuição de um valor.
+import io.micrometer.core.instrument.MeterRegistry; // Importa o registro de métricas do Micrometer.
+import org.bson.BsonArray; // Representa um array BSON (os lotes de documentos das respostas).
+import org.bson.BsonDocument; // Representa um documento BSON (os comandos e as respostas).
+import org.bson.BsonValue; // Representa um valor BSON qualquer.
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer; // Personaliza as configurações dos clientes do MongoDB criados pelo Spring Boot.
+import org.springframework.context.annotation.Bean; // Importa a anotação @Bean, que registra o retorno do método no Spring.
+import org.springframework.context.annotation.Configuration; // Importa a anotação @Configuration.
+
+import java.util.Map; // Importa a interface Map.
+import java.util.Set; // Importa a interface Set, usada para a lista de comandos medidos.
+import java.util.concurrent.ConcurrentHashMap; // Mapa seguro para acesso concorrente (os eventos chegam de várias threads).
+
+/**
+ * Métricas dos comandos enviados ao MongoDB.
+ *
+ * O Spring Boot (Actuator) já registra, para os clientes síncrono e reativo:
+ * - mongodb.driver.commands: a duração de cada comando, com as tags 'command', 'collection' e 'status';
+ * - mongodb.driver.pool.*: o tamanho do pool de conexões, as conexões em uso e as threads esperando uma conexão.
+ *
+ * Esta classe completa essas métricas com a quantidade de documentos de cada comando ('crudmongo.mongo.documentos',
+ * com as tags 'comando' e 'colecao'): documentos devolvidos por find, aggregate e getMore, e documentos gravados,
+ * alterados ou excluídos por insert, update e delete. Uma consulta lenta que devolve muitos documentos pede paginação
+ * ou projeção; uma consulta lenta que devolve poucos documentos costuma pedir um índice.
+ */
+@Configuration
+public class MetricasMongo {
+
+    // Comandos cujos documentos são contados. Os demais (ex: ping, createIndexes) são ignorados.
+    private static final Set<String> COMANDOS = Set.of(
+            "find", "aggregate", "getMore", "insert", "update", "delete", "findAndModify", "count", "distinct");
+
+    /**
+     * Inclui o ouvinte de comandos nos clientes do MongoDB (síncrono e reativo).
+     * @param registro O MeterRegistry fornecido pelo Spring Boot (Actuator).
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer contagemDocumentosMongo(MeterRegistry registro) {
+        return configuracoes -> configuracoes.addCommandListener(new ContagemDocumentos(registro));
+    }
+
+    /**
+     * Ouvinte que registra a quantidade de documentos de cada comando.
+     * O comando e a coleção só aparecem no evento de início; eles ficam guardados até a resposta, pelo ID da requisição.
+     */
+    static class ContagemDocumentos implements CommandListener {
+
+        // Registro onde as métricas são criadas.
+        private final MeterRegistry registro;
+        // Comandos em andamento: ID da requisição -> comando e coleção.
+        private final Map<Integer, Comando> emAndamento = new ConcurrentHashMap<>();
+
+        ContagemDocumentos(MeterRegistry registro) {
+            this.registro = registro;
+        }
+
+        @Override
+        public void commandStarted(CommandStartedEvent evento) {
+            String nome = evento.getCommandName();
+            if (!COMANDOS.contains(nome)) {
+                return;
+            }
+            BsonDocument comando = evento.getCommand();
+            // A coleção é o valor do próprio nome do comando (ex: {find: "alunos"}); no getMore, fica no campo 'collection'.
+            BsonValue colecao = comando.get(nome.equals("getMore") ? "collection" : nome);
+            emAndamento.put(evento.getRequestId(),
+                    new Comando(nome, colecao != null && colecao.isString() ? colecao.asString().getValue() : "desconhecida"));
+        }
+
+        @Override
+        public void commandSucceeded(CommandSucceededEvent evento) {
+            Comando comando = emAndamento.remove(evento.getRequestId());
+            if (comando == null) {
+                return;
+            }
+            DistributionSummary.builder("crudmongo.mongo.documentos")
+                    .description("Documentos devolvidos ou gravados por comando do MongoDB")
+                    .baseUnit("documentos")
+                    .tag("comando", comando.nome())
+                    .tag("colecao", comando.colecao())
+                    .register(registro)
+                    .record(documentos(comando.nome(), evento.getResponse()));
+        }
+
+        @Override
+        public void commandFailed(CommandFailedEvent evento) {
+            // A falha já é registrada em mongodb.driver.commands (status FAILED); aqui basta descartar o comando.
+            emAndamento.remove(evento.getRequestId());
+        }
+
+        /**
+         * Conta os documentos da resposta de um comando.
+         */
+        private static long documentos(String comando, BsonDocument resposta) {
+            switch (comando) {
+                case "find", "aggregate", "getMore" -> {
+                    // Consultas: o lote de documentos fica em cursor.firstBatch (ou cursor.nextBatch, no getMore).
+                    BsonDocument cursor = resposta.getDocument("cursor", null);
+                    if (cursor == null) {
+                        return 0;
+                    }
+                    BsonArray lote = cursor.getArray(comando.equals("getMore") ? "nextBatch" : "firstBatch", null);
+                    return lote == null ? 0 : lote.size();
+                }
+                case "findAndModify" -> {
+                    BsonValue valor = resposta.get("value");
+                    return valor == null || valor.isNull() ? 0 : 1;
+                }
+                case "distinct" -> {
+                    BsonArray valores = resposta.getArray("values", null);
+                    return valores == null ? 0 : valores.size();
+                }
+                default -> {
+                    // insert, update, delete e count: a quantidade fica no campo 'n'.
+                    BsonValue n = resposta.get("n");
+                    return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+                }
+            }
+        }
+    }
+
+    // Comando em andamento.
+    private record Comando(String nome, String colecao) {
+    }
+}
@@ -0,0 +1,63 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import io.micrometer.core.instrument.MeterRegistry; // Importa o registro de métricas do Micrometer.
+import io.micrometer.core.instrument.Timer; // Importa o Timer, que mede a duração e a quantidade de chamadas.
+import org.aspectj.lang.ProceedingJoinPoint; // Representa a chamada interceptada (permite executá-la).
+import org.aspectj.lang.annotation.Around; // Importa a anotação @Around, que envolve a execução do método.
+import org.aspectj.lang.annotation.Aspect; // Importa a anotação @Aspect, que marca a classe como um aspecto (AOP).
+import org.springframework.core.Ordered; // Importa as constantes de precedência.
+import org.springframework.core.annotation.Order; // Importa a anotação @Order, que define a ordem entre os interceptadores.
+import org.springframework.stereotype.Component; // Importa a anotação @Component, que registra a classe no Spring.
+
+/**
+ * Mede a duração de cada método público dos serviços (classes anotadas com @Service).
+ *
+ * Cada chamada é registrada no Timer 'crudmongo.servico' (crudmongo_servico_seconds no Prometheus), com as tags
+ * 'classe', 'metodo' e 'excecao' (o nome da exceção lançada, ou 'none'). Junto com a latência das rotas
+ * (http.server.requests) e a dos comandos do MongoDB (mongodb.driver.commands), mostra em qual camada o tempo é gasto.
+ *
+ * O aspecto tem a maior precedência, ou seja, envolve também o cache (@Cacheable): as chamadas atendidas pelo cache
+ * entram na medição, e a diferença entre esta métrica e a do MongoDB mostra o efeito do cache.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasServicos {
+
+    // Registro onde os Timers são criados.
+    private final MeterRegistry registro;
+
+    /**
+     * Construtor da classe MetricasServicos.
+     * @param registro O MeterRegistry fornecido pelo Spring Boot (Actuator).
+     */
+    public MetricasServicos(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    /**
+     * Executa o método do serviço e registra a sua duração.
+     * @param chamada A chamada interceptada.
+     * @return O retorno do método.
+     */
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+        Timer.Sample inicio = Timer.start(registro);
+        String excecao = "none";
+        try {
+            return chamada.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            inicio.stop(Timer.builder("crudmongo.servico")
+                    .description("Duração dos métodos dos serviços")
+                    .tag("classe", chamada.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", chamada.getSignature().getName())
+                    .tag("excecao", excecao)
+                    .register(registro));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos cujas coleções são versionadas.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import org.slf4j.Logger; // Importa a interface de log.
+import org.slf4j.LoggerFactory; // Importa a fábrica de loggers.
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Evento publicado quando a aplicação terminou de subir.
+import org.springframework.context.annotation.Configuration; // Importa a anotação @Configuration.
+import org.springframework.context.event.EventListener; // Importa a anotação @EventListener para reagir a eventos do Spring.
+import org.springframework.data.mongodb.config.EnableMongoAuditing; // Ativa o preenchimento automático de campos como @LastModifiedDate.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado para a atualização em massa.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria para montar o filtro.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que descreve a alteração a ser aplicada.
+
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Configurações do Spring Data MongoDB.
+ *
+ * @EnableMongoAuditing faz o Spring preencher o campo 'ultimaModificacao' (@LastModifiedDate) a cada gravação.
+ */
+@Configuration
+@EnableMongoAuditing
+public class MongoConfig {
+
+    // Logger usado para registrar a migração.
+    private static final Logger log = LoggerFactory.getLogger(MongoConfig.class);
+
+    // Entidades que possuem o campo 'versao' (@Version).
+    private static final List<Class<?>> ENTIDADES_VERSIONADAS =
+            List.of(Aluno.class, Curso.class, Disciplina.class, Turma.class, Curriculo.class);
+
+    // O MongoTemplate é usado para atualizar os documentos antigos.
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Construtor da classe MongoConfig.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     */
+    public MongoConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Documentos gravados antes da existência do campo 'versao' não o possuem.
+     * Para o Spring Data, um documento com versão nula é "novo", e gravá-lo de novo tentaria inseri-lo outra vez.
+     * Por isso, na inicialização, esses documentos recebem a versão 0. Documentos que já têm o campo não são alterados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarVersoes() {
+        try {
+            for (Class<?> entidade : ENTIDADES_VERSIONADAS) {
+                long alterados = mongoTemplate.updateMulti(
+                        new Query(Criteria.where("versao").exists(false)),
+                        new Update().set("versao", 0L),
+                        entidade).getModifiedCount();
+                if (alterados > 0) {
+                    log.info("{} documento(s) de {} receberam a versão inicial", alterados, mongoTemplate.getCollectionName(entidade));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível inicializar as versões dos documentos: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+// Define o pacote onde esta classe está localizada. O pacote 'config' reúne as configurações da aplicação.
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.context.annotation.Configuration; // Importa a anotação @Configuration, que marca a classe como fonte de configurações do Spring.
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer; // Importa o configurador das requisições assíncronas do Spring MVC.
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer; // Importa a interface usada para personalizar o Spring MVC.
+
+/**
+ * Configurações do Spring MVC usadas pela API.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // Tempo máximo (em milissegundos) de uma resposta assíncrona, como as exportações em NDJSON.
+    private final long timeoutAssincrono;
+
+    /**
+     * Construtor da classe WebConfig.
+     * @param timeoutAssincrono Propriedade 'crudmongo.exportacao.timeout-ms' (padrão: 30 minutos).
+     */
+    public WebConfig(@Value("${crudmongo.exportacao.timeout-ms:1800000}") long timeoutAssincrono) {
+        this.timeoutAssincrono = timeoutAssincrono;
+    }
+
+    /**
+     * As exportações são escritas fora da thread do Tomcat (StreamingResponseBody) e podem levar minutos
+     * em coleções grandes. O tempo limite padrão do container (30 segundos) cortaria a resposta no meio.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeoutAssincrono);
+    }
+}
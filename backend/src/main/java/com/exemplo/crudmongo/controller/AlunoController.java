@@ -3,12 +3,31 @@ package com.exemplo.crudmongo.controller;
 
 // Importa as classes e anotações necessárias de outras partes do projeto e do Spring Framework.
 import com.exemplo.crudmongo.Model.Aluno;         // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.dto.EstatisticaIra; // Importa o DTO com as estatísticas de IRA de um grupo.
+import com.exemplo.crudmongo.dto.FaixaIra; // Importa o DTO de uma faixa da distribuição do IRA.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa os tipos de conteúdo dos formatos binários (CBOR e Smile).
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.PosicaoRanking; // Importa o DTO de uma posição do ranking de IRA.
+import com.exemplo.crudmongo.dto.SugestaoAluno; // Importa o DTO de uma sugestão do autocompletar.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
 import com.exemplo.crudmongo.service.AlunoService;    // Importa o serviço que contém a lógica de negócios para 'Aluno'.
+import com.exemplo.crudmongo.service.DocumentoNaoEncontradoException; // Importa a exceção lançada pelos serviços quando o ID não existe.
+import com.exemplo.crudmongo.service.ExportadorNdjson; // Importa o componente de exportação, para usar o tipo de conteúdo NDJSON.
+import org.springframework.dao.OptimisticLockingFailureException; // Exceção lançada pelo serviço quando a versão do If-Match não é mais a atual.
+import org.springframework.http.HttpHeaders;          // Nomes dos cabeçalhos HTTP, como o If-Match.
 import org.springframework.http.HttpStatus;           // Usado para definir códigos de status HTTP, como "201 CREATED".
+import org.springframework.http.MediaType;            // Representa tipos de conteúdo (Content-Type), como o NDJSON da exportação.
 import org.springframework.http.ResponseEntity;       // Uma classe do Spring que representa toda a resposta HTTP (status, cabeçalhos e corpo).
 import org.springframework.web.bind.annotation.*;     // Importa todas as anotações de mapeamento da web do Spring (RestController, GetMapping, etc.).
+import org.springframework.web.context.request.WebRequest; // Dá acesso aos cabeçalhos da requisição, usado na verificação do ETag (If-None-Match).
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Permite escrever o corpo da resposta aos poucos, fora da thread da requisição.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de leitura do corpo da requisição.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição, lido aos poucos na gravação em lote.
 import java.util.List; // Importa a interface 'List' para trabalhar com listas de objetos.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
+import java.util.Optional; // Importa a classe Optional para o resultado da busca por ID.
 
 /**
  * Esta é a classe Controller para a entidade Aluno.
@@ -17,7 +36,7 @@ import java.util.List; // Importa a interface 'List' para trabalhar com listas d
  */
 @RestController // Anotação que combina @Controller e @ResponseBody. Diz ao Spring que esta classe é um controller e que os retornos dos métodos devem ser convertidos para JSON e enviados no corpo da resposta.
 @RequestMapping("/api/alunos") // Define o caminho (URL) base para todos os endpoints nesta classe. Todas as requisições para este controller devem começar com "/api/alunos".
-@CrossOrigin(origins = "*") // Permite que requisições de qualquer origem (qualquer frontend, como o seu rodando em localhost:4200) possam acessar esta API. Importante para o desenvolvimento.
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) // O ETag é exposto para que o frontend possa reenviá-lo no If-Match. Permite que requisições de qualquer origem (qualquer frontend, como o seu rodando em localhost:4200) possam acessar esta API. Importante para o desenvolvimento.
 public class AlunoController {
 
     // Declaração final do serviço de aluno. 'final' significa que ele deve ser inicializado no construtor.
@@ -36,26 +55,196 @@ public class AlunoController {
     /**
      * Método para listar todos os alunos.
      * Responde a requisições HTTP GET para o caminho base "/api/alunos".
-     * @return Uma lista de todos os objetos Aluno em formato JSON.
+     * @param fields Os campos desejados, separados por vírgula (opcional, ex: fields=nome). Sem ele, vem o documento inteiro.
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a lista em JSON, ou em CBOR/Smile conforme o cabeçalho Accept (200 OK), 304 (Not Modified) se a lista não mudou
+     *         desde o ETag enviado pelo cliente, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping // Mapeia requisições HTTP GET para este método.
-    public List<Aluno> listarTodosAlunos() {
-        // Chama o método 'listarTodos' do serviço para buscar os dados.
-        return alunoService.listarTodos();
+    public ResponseEntity<List<Object>> listarTodosAlunos(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Aluno.class, fields);
+            // O ETag vem do contador de alterações da coleção: se não mudou, responde 304 sem consultar a coleção.
+            String etag = ETags.colecao(alunoService.versaoColecao(), fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            // Chama o serviço para buscar os dados e monta a resposta apenas com os campos pedidos.
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(projecao.representar(alunoService.listarTodos(projecao)));
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para listar os alunos em páginas, com paginação por cursor.
+     * Responde a requisições HTTP GET para "/api/alunos" que informam o parâmetro 'limit'
+     * (ex: /api/alunos?limit=50&after=...&sort=nome). Sem o 'limit', vale a listagem completa acima.
+     * @param limit A quantidade máxima de itens da página.
+     * @param after O cursor 'proximoCursor' devolvido pela página anterior (opcional).
+     * @param sort O campo de ordenação, com '-' na frente para ordem decrescente (opcional, padrão: id).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a página (200 OK), 304 (Not Modified) se ela não mudou, ou 400 (Bad Request) se a ordenação, o cursor ou os campos forem inválidos.
+     */
+    @GetMapping(params = "limit") // Só é escolhido quando a requisição tem o parâmetro 'limit'.
+    public ResponseEntity<Pagina<Object>> listarAlunosPaginado(@RequestParam Integer limit,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) String sort,
+                                                               @RequestParam(required = false) String fields,
+                                                               WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Aluno.class, fields);
+            String etag = ETags.colecao(alunoService.versaoColecao(), limit, after, sort, fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(alunoService.listarPagina(limit, after, sort, projecao).mapear(projecao::representar));
+        } catch (IllegalArgumentException e) { // Ordenação não suportada, cursor inválido ou campo inexistente.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para filtrar os alunos de um curso, do maior para o menor IRA.
+     * Responde a requisições HTTP GET para "/api/alunos/filtro" (ex: /api/alunos/filtro?cursoId=123&iraMin=7.5).
+     * A filtragem é feita no banco, usando índice, em vez de baixar todos os alunos e filtrar no frontend.
+     * @param cursoId O ID do curso (obrigatório).
+     * @param iraMin O IRA mínimo (opcional).
+     * @param limit A quantidade máxima de alunos devolvidos (opcional, padrão 100, máximo 1000).
+     * @return Uma lista com os alunos encontrados.
+     */
+    @GetMapping("/filtro")
+    public List<Aluno> filtrarAlunos(@RequestParam String cursoId,
+                                     @RequestParam(required = false) Double iraMin,
+                                     @RequestParam(required = false) Integer limit) {
+        return alunoService.filtrar(cursoId, iraMin, limit);
+    }
+
+    /**
+     * Método para sugerir alunos enquanto o usuário digita o nome (autocompletar).
+     * Responde a requisições HTTP GET para "/api/alunos/autocomplete" (ex: /api/alunos/autocomplete?q=joao).
+     * A busca é feita em um índice em memória, sem ir ao banco, e encontra o texto no início do nome ou de
+     * qualquer palavra dele, sem diferenciar maiúsculas de minúsculas nem acentos ("joao" encontra "João").
+     * @param q O texto digitado.
+     * @param limit A quantidade máxima de sugestões (opcional, padrão 10, máximo 50).
+     * @return As sugestões encontradas.
+     */
+    @GetMapping("/autocomplete")
+    public List<SugestaoAluno> autocompletarAlunos(@RequestParam String q,
+                                                   @RequestParam(required = false) Integer limit) {
+        return alunoService.autocompletar(q, limit);
+    }
+
+    /**
+     * Método para consultar o ranking de IRA de um curso.
+     * Responde a requisições HTTP GET para "/api/alunos/ranking" (ex: /api/alunos/ranking?cursoId=123&k=10).
+     * O ranking é mantido em memória e atualizado a cada gravação de aluno, então a leitura não vai ao banco.
+     * @param cursoId O ID do curso (obrigatório).
+     * @param k A quantidade de posições (opcional, padrão 10, máximo 1000).
+     * @return As posições do ranking, do maior para o menor IRA.
+     */
+    @GetMapping("/ranking")
+    public List<PosicaoRanking> rankingAlunos(@RequestParam String cursoId,
+                                              @RequestParam(required = false) Integer k) {
+        return alunoService.ranking(cursoId, k);
+    }
+
+    /**
+     * Método para consultar as estatísticas do IRA por curso ou por período de ingresso.
+     * Responde a requisições HTTP GET para "/api/alunos/estatisticas/ira" (ex: /api/alunos/estatisticas/ira?agruparPor=curso).
+     * O cálculo é feito no banco, em vez de baixar todos os alunos e calcular no cliente.
+     * @param agruparPor 'curso' (padrão) ou 'periodoIngresso'.
+     * @param grupo O ID de um curso/período específico (opcional).
+     * @param materializado Se true, lê a coleção de resumo, atualizada a cada poucos segundos (opcional, padrão false).
+     * @return Um ResponseEntity com as estatísticas de cada grupo (200 OK), ou 400 (Bad Request) se o agrupamento não existir.
+     */
+    @GetMapping("/estatisticas/ira")
+    public ResponseEntity<List<EstatisticaIra>> estatisticasIra(@RequestParam(defaultValue = "curso") String agruparPor,
+                                                                @RequestParam(required = false) String grupo,
+                                                                @RequestParam(defaultValue = "false") boolean materializado) {
+        try {
+            return ResponseEntity.ok(alunoService.estatisticasIra(agruparPor, grupo, materializado));
+        } catch (IllegalArgumentException e) { // Agrupamento não suportado.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para consultar a distribuição do IRA em faixas.
+     * Responde a requisições HTTP GET para "/api/alunos/estatisticas/ira/distribuicao" (ex: ?cursoId=123&limites=0,5,7,10).
+     * @param cursoId O ID de um curso (opcional; sem ele, considera todos os alunos).
+     * @param limites Os limites das faixas, em ordem crescente (opcional, padrão de 0 a 10, de 1 em 1).
+     * @return Um ResponseEntity com a quantidade de alunos em cada faixa (200 OK), ou 400 (Bad Request) se os limites forem inválidos.
+     */
+    @GetMapping("/estatisticas/ira/distribuicao")
+    public ResponseEntity<List<FaixaIra>> distribuicaoIra(@RequestParam(required = false) String cursoId,
+                                                          @RequestParam(defaultValue = "0,1,2,3,4,5,6,7,8,9,10") List<Double> limites) {
+        try {
+            return ResponseEntity.ok(alunoService.distribuicaoIra(cursoId, limites));
+        } catch (IllegalArgumentException e) { // Menos de dois limites ou fora de ordem.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para exportar os alunos em NDJSON (application/x-ndjson), um documento por linha.
+     * Com "Accept: application/cbor-seq" (ou application/cbor) ou "Accept: application/x-jackson-smile", os documentos
+     * são escritos em CBOR ou Smile, um após o outro.
+     * Responde a requisições HTTP GET para "/api/alunos/export".
+     * A resposta é enviada aos poucos, conforme os documentos são lidos do banco, então a memória do servidor
+     * não cresce com o tamanho da coleção.
+     * @param batchSize Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param accept O cabeçalho Accept, que escolhe o formato (opcional, padrão NDJSON).
+     * @return Um ResponseEntity cujo corpo é escrito de forma contínua (streaming), ou 400 (Bad Request) se algum campo não existir.
+     */
+    @GetMapping(value = "/export", produces = {ExportadorNdjson.NDJSON, FormatosBinarios.CBOR_SEQ, FormatosBinarios.CBOR, FormatosBinarios.SMILE})
+    public ResponseEntity<StreamingResponseBody> exportarAlunos(@RequestParam(required = false) Integer batchSize,
+                                                                @RequestParam(required = false) String fields,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Aluno.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        ExportadorNdjson.Formato formato = ExportadorNdjson.Formato.de(accept);
+        StreamingResponseBody corpo = saida -> alunoService.exportar(saida, batchSize, projecao, formato);
+        return ResponseEntity.ok()
+                .contentType(formato.tipo())
+                .body(corpo);
     }
 
     /**
      * Método para buscar um único aluno pelo seu ID.
      * Responde a requisições HTTP GET para "/api/alunos/{id}", onde {id} é uma variável.
      * @param id O ID do aluno, extraído da URL pela anotação @PathVariable.
-     * @return Um ResponseEntity contendo o Aluno encontrado (com status 200 OK) ou um status 404 (Not Found) se nenhum aluno com esse ID for encontrado.
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @return Um ResponseEntity com o documento e seu ETag (200 OK), 304 (Not Modified) se o ETag enviado em If-None-Match
+     *         ainda for o atual, 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping("/{id}") // Mapeia requisições GET para um subcaminho que contém uma variável 'id'.
-    public ResponseEntity<Aluno> buscarAlunoPorId(@PathVariable String id) {
-        // Chama o serviço para buscar um aluno pelo ID.
-        return alunoService.buscarPorId(id)
-                .map(ResponseEntity::ok) // Se o serviço retornar um Aluno, cria uma resposta com status 200 OK e o aluno no corpo.
-                .orElse(ResponseEntity.notFound().build()); // Se o serviço não retornar nada, cria uma resposta com status 404 Not Found.
+    public ResponseEntity<Object> buscarAlunoPorId(@PathVariable String id,
+                                                   @RequestParam(required = false) String fields) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Aluno.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        // Chama o serviço para buscar por ID.
+        Optional<Aluno> encontrado = alunoService.buscarPorId(id, projecao);
+        if (encontrado.isEmpty()) {
+            return ResponseEntity.notFound().build(); // Se não encontrou, responde 404 Not Found.
+        }
+        Aluno aluno = encontrado.get();
+        // O ETag vem da versão do documento. Se o cliente enviar o mesmo valor em If-None-Match,
+        // o Spring responde 304 (Not Modified) automaticamente, sem serializar o corpo.
+        return ResponseEntity.ok()
+                .eTag(ETags.documento(aluno.getVersao(), projecao))
+                .lastModified(aluno.getUltimaModificacao() == null ? -1 : aluno.getUltimaModificacao().toEpochMilli())
+                .body(projecao.representar(aluno));
     }
 
     /**
@@ -72,40 +261,96 @@ public class AlunoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novoAluno);
     }
 
+    /**
+     * Método para criar ou atualizar vários alunos de uma vez.
+     * Responde a requisições HTTP POST para "/api/alunos/batch", cujo corpo é um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam, se não existir).
+     * O array é lido aos poucos e gravado em blocos, então não é preciso fazer uma requisição por documento.
+     * @param corpo O corpo da requisição (array JSON), lido como fluxo em vez de ser convertido de uma só vez.
+     * @param batchSize Quantos itens são enviados ao banco por chamada (opcional).
+     * @return Um ResponseEntity com o resumo e o resultado de cada item (200 OK), ou 400 (Bad Request) se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLote> criarAlunosEmLote(InputStream corpo,
+                                                           @RequestParam(required = false) Integer batchSize) throws IOException {
+        try {
+            return ResponseEntity.ok(alunoService.salvarEmLote(corpo, batchSize));
+        } catch (IllegalArgumentException e) { // O corpo não é um array JSON.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Método para atualizar um aluno existente.
      * Responde a requisições HTTP PUT para "/api/alunos/{id}".
      * @param id O ID do aluno a ser atualizado, vindo da URL.
      * @param aluno O objeto Aluno com os dados atualizados, vindo do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com o aluno atualizado (status 200 OK) ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @PutMapping("/{id}") // Mapeia requisições HTTP PUT para este método.
-    public ResponseEntity<Aluno> atualizarAluno(@PathVariable String id, @RequestBody Aluno aluno) {
+    public ResponseEntity<Aluno> atualizarAluno(@PathVariable String id, @RequestBody Aluno aluno,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Chama o serviço para atualizar o aluno.
-            Aluno alunoAtualizado = alunoService.atualizar(id, aluno);
+            Aluno alunoAtualizado = alunoService.atualizar(id, ETags.versoes(ifMatch), aluno);
             // Retorna o aluno com os dados atualizados e status 200 OK.
-            return ResponseEntity.ok(alunoAtualizado);
-        } catch (RuntimeException e) { // Captura a exceção que o serviço pode lançar se o aluno não for encontrado.
+            return ResponseEntity.ok().eTag(ETags.documento(alunoAtualizado.getVersao(), Projecao.COMPLETA)).body(alunoAtualizado);
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção que o serviço lança se o aluno não for encontrado.
             // Retorna uma resposta 404 Not Found.
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Método para alterar apenas alguns campos de um aluno.
+     * Responde a requisições HTTP PATCH para "/api/alunos/{id}".
+     * Só os campos enviados no corpo são gravados; os demais continuam como estão no banco.
+     * @param id O ID do aluno a ser alterado, vindo da URL.
+     * @param campos Os campos a serem alterados e seus novos valores, vindos do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
+     * @return Um ResponseEntity com o aluno atualizado (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se algum campo não existir, não puder ser alterado ou tiver um valor inválido.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Aluno> alterarAluno(@PathVariable String id, @RequestBody Map<String, Object> campos,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Aluno alterado = alunoService.atualizarParcialmente(id, ETags.versoes(ifMatch), campos);
+            return ResponseEntity.ok().eTag(ETags.documento(alterado.getVersao(), Projecao.COMPLETA)).body(alterado);
+        } catch (IllegalArgumentException e) { // Campo inexistente, protegido ou com valor de tipo incompatível.
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Método para deletar um aluno.
      * Responde a requisições HTTP DELETE para "/api/alunos/{id}".
      * @param id O ID do aluno a ser deletado, vindo da URL.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a exclusão só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com status 204 (No Content) em caso de sucesso, ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @DeleteMapping("/{id}") // Mapeia requisições HTTP DELETE para este método.
-    public ResponseEntity<Void> excluirAluno(@PathVariable String id) {
+    public ResponseEntity<Void> excluirAluno(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Chama o serviço para excluir o aluno.
-            alunoService.excluir(id);
+            alunoService.excluir(id, ETags.versoes(ifMatch));
             // Retorna uma resposta vazia com status 204 No Content, indicando sucesso na exclusão.
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) { // Captura a exceção se o aluno a ser deletado não for encontrado.
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção se o aluno a ser deletado não for encontrado.
             // Retorna uma resposta 404 Not Found.
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,76 @@
+// Define o pacote onde esta classe está localizada.
+package com.exemplo.crudmongo.controller;
+
+// Importa as classes e anotações necessárias.
+import com.exemplo.crudmongo.service.CarregadoresEmLote; // Importa a fábrica dos carregadores em lote, de onde vêm os contadores das buscas agrupadas.
+import com.github.benmanes.caffeine.cache.stats.CacheStats; // Importa as estatísticas mantidas pelo Caffeine.
+import org.springframework.cache.Cache; // Importa a interface de um cache do Spring.
+import org.springframework.cache.CacheManager; // Importa a interface que gerencia os caches da aplicação.
+import org.springframework.cache.caffeine.CaffeineCache; // Importa a implementação de cache baseada no Caffeine.
+import org.springframework.web.bind.annotation.*; // Importa as anotações de mapeamento da web do Spring.
+
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção.
+import java.util.Map; // Importa a interface de mapas (chave/valor).
+import java.util.TreeMap; // Importa o mapa ordenado, para que os caches apareçam em ordem alfabética.
+
+/**
+ * Controller que expõe os contadores dos caches de leitura.
+ * Útil para verificar se o cache está realmente evitando idas ao banco (taxa de acerto alta).
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    // Gerenciador dos caches, de onde as estatísticas são lidas.
+    private final CacheManager cacheManager;
+
+    // Carregadores em lote usados nas buscas por ID que não estão no cache.
+    private final CarregadoresEmLote carregadoresEmLote;
+
+    /**
+     * Construtor do CacheController.
+     * @param cacheManager O CacheManager configurado em CacheConfig.
+     * @param carregadoresEmLote A fábrica dos carregadores em lote.
+     */
+    public CacheController(CacheManager cacheManager, CarregadoresEmLote carregadoresEmLote) {
+        this.cacheManager = cacheManager;
+        this.carregadoresEmLote = carregadoresEmLote;
+    }
+
+    /**
+     * Método para consultar as estatísticas de cada cache.
+     * Responde a requisições HTTP GET para "/api/cache/estatisticas".
+     * @return Um mapa com, para cada cache: acertos, falhas, taxa de acerto, descartes e tamanho atual.
+     */
+    @GetMapping("/estatisticas")
+    public Map<String, Map<String, Object>> estatisticas() {
+        Map<String, Map<String, Object>> resposta = new TreeMap<>();
+        for (String nome : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nome);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> valores = new LinkedHashMap<>();
+            valores.put("acertos", stats.hitCount());
+            valores.put("falhas", stats.missCount());
+            valores.put("taxaAcerto", stats.hitRate());
+            valores.put("descartes", stats.evictionCount());
+            valores.put("tamanho", caffeineCache.getNativeCache().estimatedSize());
+            resposta.put(nome, valores);
+        }
+        return resposta;
+    }
+
+    /**
+     * Método para consultar os contadores dos carregadores em lote.
+     * Responde a requisições HTTP GET para "/api/cache/carregadores".
+     * @return Um mapa com, para cada carregador: buscas recebidas, buscas que aproveitaram uma consulta em andamento,
+     * consultas enviadas ao banco e buscas ainda em andamento.
+     */
+    @GetMapping("/carregadores")
+    public Map<String, Map<String, Object>> carregadores() {
+        return carregadoresEmLote.estatisticas();
+    }
+}
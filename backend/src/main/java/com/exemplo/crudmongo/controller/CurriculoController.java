@@ -3,12 +3,28 @@ package com.exemplo.crudmongo.controller;
 
 // Importações de classes e anotações necessárias de outras partes do projeto e do Spring Framework.
 import com.exemplo.crudmongo.Model.Curriculo;     // Importa o modelo de dados 'Curriculo'.
+import com.exemplo.crudmongo.dto.CurriculoExpandido; // Importa o DTO do currículo com as referências resolvidas.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa os tipos de conteúdo dos formatos binários (CBOR e Smile).
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
 import com.exemplo.crudmongo.service.CurriculoService; // Importa o serviço que lida com a lógica de negócios para 'Curriculo'.
+import com.exemplo.crudmongo.service.DocumentoNaoEncontradoException; // Importa a exceção lançada quando o ID não existe.
+import com.exemplo.crudmongo.service.ExportadorNdjson; // Importa o componente de exportação, para usar o tipo de conteúdo NDJSON.
+import org.springframework.dao.OptimisticLockingFailureException; // Exceção lançada pelo serviço quando a versão do If-Match não é mais a atual.
+import org.springframework.http.HttpHeaders;          // Nomes dos cabeçalhos HTTP, como o If-Match.
 import org.springframework.http.HttpStatus;           // Usado para definir códigos de status HTTP, como "201 CREATED".
+import org.springframework.http.MediaType;            // Representa tipos de conteúdo (Content-Type), como o NDJSON da exportação.
 import org.springframework.http.ResponseEntity;       // Representa toda a resposta HTTP (status, cabeçalhos, corpo).
 import org.springframework.web.bind.annotation.*;     // Importa as anotações do Spring para web, como @RestController, @GetMapping, etc.
+import org.springframework.web.context.request.WebRequest; // Dá acesso aos cabeçalhos da requisição, usado na verificação do ETag (If-None-Match).
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Permite escrever o corpo da resposta aos poucos, fora da thread da requisição.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de leitura do corpo da requisição.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição, lido aos poucos na gravação em lote.
 import java.util.List; // Importa a interface para trabalhar com listas de objetos.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
+import java.util.Optional; // Importa a classe Optional para o resultado da busca por ID.
 
 /**
  * Esta é a classe Controller para a entidade Curriculo.
@@ -17,7 +33,7 @@ import java.util.List; // Importa a interface para trabalhar com listas de objet
  */
 @RestController // Anotação que marca a classe como um controller REST. Os métodos aqui retornarão dados (como JSON) diretamente no corpo da resposta.
 @RequestMapping("/api/curriculos") // Define o caminho (URL) base para todos os endpoints deste controller. Todas as requisições devem começar com "/api/curriculos".
-@CrossOrigin(origins = "*") // Permite que requisições de qualquer origem (qualquer frontend) acessem esta API. Essencial para o desenvolvimento com Angular em um servidor separado.
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) // O ETag é exposto para que o frontend possa reenviá-lo no If-Match. Permite que requisições de qualquer origem (qualquer frontend) acessem esta API. Essencial para o desenvolvimento com Angular em um servidor separado.
 public class CurriculoController {
 
     // Declaração final do serviço de currículo, que será injetado pelo Spring.
@@ -36,25 +52,152 @@ public class CurriculoController {
     /**
      * Método para listar todos os currículos.
      * Responde a requisições HTTP GET para o caminho base "/api/curriculos".
-     * @return Uma lista de todos os objetos Curriculo em formato JSON.
+     * @param fields Os campos desejados, separados por vírgula (opcional, ex: fields=nome). Sem ele, vem o documento inteiro.
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a lista em JSON, ou em CBOR/Smile conforme o cabeçalho Accept (200 OK), 304 (Not Modified) se a lista não mudou
+     *         desde o ETag enviado pelo cliente, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping
-    public List<Curriculo> listarTodosCurriculos() {
-        // Delega a chamada para o serviço, que buscará os dados no banco.
-        return curriculoService.listarTodos();
+    public ResponseEntity<List<Object>> listarTodosCurriculos(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Curriculo.class, fields);
+            // O ETag vem do contador de alterações da coleção: se não mudou, responde 304 sem consultar a coleção.
+            String etag = ETags.colecao(curriculoService.versaoColecao(), fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            // Chama o serviço para buscar os dados e monta a resposta apenas com os campos pedidos.
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(projecao.representar(curriculoService.listarTodos(projecao)));
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para listar os currículos em páginas, com paginação por cursor.
+     * Responde a requisições HTTP GET para "/api/curriculos" que informam o parâmetro 'limit'
+     * (ex: /api/curriculos?limit=50&after=...&sort=nome). Sem o 'limit', vale a listagem completa acima.
+     * @param limit A quantidade máxima de itens da página.
+     * @param after O cursor 'proximoCursor' devolvido pela página anterior (opcional).
+     * @param sort O campo de ordenação, com '-' na frente para ordem decrescente (opcional, padrão: id).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a página (200 OK), 304 (Not Modified) se ela não mudou, ou 400 (Bad Request) se a ordenação, o cursor ou os campos forem inválidos.
+     */
+    @GetMapping(params = "limit") // Só é escolhido quando a requisição tem o parâmetro 'limit'.
+    public ResponseEntity<Pagina<Object>> listarCurriculosPaginado(@RequestParam Integer limit,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(required = false) String sort,
+                                                                   @RequestParam(required = false) String fields,
+                                                                   WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Curriculo.class, fields);
+            String etag = ETags.colecao(curriculoService.versaoColecao(), limit, after, sort, fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(curriculoService.listarPagina(limit, after, sort, projecao).mapear(projecao::representar));
+        } catch (IllegalArgumentException e) { // Ordenação não suportada, cursor inválido ou campo inexistente.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para filtrar os currículos de um curso, opcionalmente por ano e semestre de vigência.
+     * Responde a requisições HTTP GET para "/api/curriculos/filtro" (ex: /api/curriculos/filtro?cursoId=123&ano=2024&semestre=1).
+     * A filtragem é feita no banco, usando índice, em vez de baixar todos os currículos e filtrar no frontend.
+     * @param cursoId O ID do curso (obrigatório).
+     * @param ano O ano de vigência (opcional).
+     * @param semestre O semestre de vigência (opcional, exige o ano).
+     * @param limit A quantidade máxima de currículos devolvidos (opcional, padrão 100, máximo 1000).
+     * @return Um ResponseEntity com a lista de currículos (200 OK) ou 400 (Bad Request) se o semestre vier sem o ano.
+     */
+    @GetMapping("/filtro")
+    public ResponseEntity<List<Curriculo>> filtrarCurriculos(@RequestParam String cursoId,
+                                                             @RequestParam(required = false) Integer ano,
+                                                             @RequestParam(required = false) Integer semestre,
+                                                             @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(curriculoService.filtrar(cursoId, ano, semestre, limit));
+        } catch (IllegalArgumentException e) { // Semestre informado sem o ano.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para exportar os currículos em NDJSON (application/x-ndjson), um documento por linha.
+     * Com "Accept: application/cbor-seq" (ou application/cbor) ou "Accept: application/x-jackson-smile", os documentos
+     * são escritos em CBOR ou Smile, um após o outro.
+     * Responde a requisições HTTP GET para "/api/curriculos/export".
+     * A resposta é enviada aos poucos, conforme os documentos são lidos do banco, então a memória do servidor
+     * não cresce com o tamanho da coleção.
+     * @param batchSize Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param accept O cabeçalho Accept, que escolhe o formato (opcional, padrão NDJSON).
+     * @return Um ResponseEntity cujo corpo é escrito de forma contínua (streaming), ou 400 (Bad Request) se algum campo não existir.
+     */
+    @GetMapping(value = "/export", produces = {ExportadorNdjson.NDJSON, FormatosBinarios.CBOR_SEQ, FormatosBinarios.CBOR, FormatosBinarios.SMILE})
+    public ResponseEntity<StreamingResponseBody> exportarCurriculos(@RequestParam(required = false) Integer batchSize,
+                                                                    @RequestParam(required = false) String fields,
+                                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Curriculo.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        ExportadorNdjson.Formato formato = ExportadorNdjson.Formato.de(accept);
+        StreamingResponseBody corpo = saida -> curriculoService.exportar(saida, batchSize, projecao, formato);
+        return ResponseEntity.ok()
+                .contentType(formato.tipo())
+                .body(corpo);
     }
 
     /**
      * Método para buscar um único currículo pelo seu ID.
      * Responde a requisições HTTP GET para "/api/curriculos/{id}", onde {id} é uma variável na URL.
      * @param id O ID do currículo, extraído da URL pela anotação @PathVariable.
-     * @return Um ResponseEntity com o Curriculo encontrado e status 200 OK, ou um status 404 (Not Found) se não for encontrado.
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @return Um ResponseEntity com o documento e seu ETag (200 OK), 304 (Not Modified) se o ETag enviado em If-None-Match
+     *         ainda for o atual, 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Curriculo> buscarCurriculoPorId(@PathVariable String id) {
-        return curriculoService.buscarPorId(id)
-                .map(ResponseEntity::ok) // Se o serviço encontrar o currículo, retorna uma resposta 200 OK com o currículo.
-                .orElse(ResponseEntity.notFound().build()); // Caso contrário, retorna uma resposta 404 Not Found.
+    public ResponseEntity<Object> buscarCurriculoPorId(@PathVariable String id,
+                                                       @RequestParam(required = false) String fields) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Curriculo.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        // Chama o serviço para buscar por ID.
+        Optional<Curriculo> encontrado = curriculoService.buscarPorId(id, projecao);
+        if (encontrado.isEmpty()) {
+            return ResponseEntity.notFound().build(); // Se não encontrou, responde 404 Not Found.
+        }
+        Curriculo curriculo = encontrado.get();
+        // O ETag vem da versão do documento. Se o cliente enviar o mesmo valor em If-None-Match,
+        // o Spring responde 304 (Not Modified) automaticamente, sem serializar o corpo.
+        return ResponseEntity.ok()
+                .eTag(ETags.documento(curriculo.getVersao(), projecao))
+                .lastModified(curriculo.getUltimaModificacao() == null ? -1 : curriculo.getUltimaModificacao().toEpochMilli())
+                .body(projecao.representar(curriculo));
+    }
+
+    /**
+     * Método para buscar um currículo com as disciplinas já resolvidas (nome e carga horária no lugar dos IDs).
+     * Responde a requisições HTTP GET para "/api/curriculos/{id}/expandido".
+     * Substitui a busca de cada disciplina por uma única consulta no banco.
+     * @param id O ID do currículo, extraído da URL.
+     * @param expandirCurso Se verdadeiro, inclui também o curso completo (opcional, padrão: false).
+     * @return Um ResponseEntity com o currículo expandido (200 OK), ou 404 (Not Found) se o ID não existir.
+     */
+    @GetMapping("/{id}/expandido")
+    public ResponseEntity<CurriculoExpandido> buscarCurriculoExpandido(@PathVariable String id,
+                                                                       @RequestParam(defaultValue = "false") boolean expandirCurso) {
+        return curriculoService.buscarExpandido(id, expandirCurso)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -71,39 +214,169 @@ public class CurriculoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novoCurriculo);
     }
 
+    /**
+     * Método para criar ou atualizar vários currículos de uma vez.
+     * Responde a requisições HTTP POST para "/api/curriculos/batch", cujo corpo é um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam, se não existir).
+     * O array é lido aos poucos e gravado em blocos, então não é preciso fazer uma requisição por documento.
+     * @param corpo O corpo da requisição (array JSON), lido como fluxo em vez de ser convertido de uma só vez.
+     * @param batchSize Quantos itens são enviados ao banco por chamada (opcional).
+     * @return Um ResponseEntity com o resumo e o resultado de cada item (200 OK), ou 400 (Bad Request) se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLote> criarCurriculosEmLote(InputStream corpo,
+                                                               @RequestParam(required = false) Integer batchSize) throws IOException {
+        try {
+            return ResponseEntity.ok(curriculoService.salvarEmLote(corpo, batchSize));
+        } catch (IllegalArgumentException e) { // O corpo não é um array JSON.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Método para atualizar um currículo existente.
      * Responde a requisições HTTP PUT para "/api/curriculos/{id}".
      * @param id O ID do currículo a ser atualizado, vindo da URL.
      * @param curriculo O objeto Curriculo com os dados atualizados, vindo do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com o currículo atualizado e status 200 OK, ou 404 Not Found se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Curriculo> atualizarCurriculo(@PathVariable String id, @RequestBody Curriculo curriculo) {
+    public ResponseEntity<Curriculo> atualizarCurriculo(@PathVariable String id, @RequestBody Curriculo curriculo,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço de atualização.
-            Curriculo curriculoAtualizado = curriculoService.atualizar(id, curriculo);
-            return ResponseEntity.ok(curriculoAtualizado);
-        } catch (RuntimeException e) { // Captura a exceção que o serviço lança se o currículo não for encontrado.
+            Curriculo curriculoAtualizado = curriculoService.atualizar(id, ETags.versoes(ifMatch), curriculo);
+            return ResponseEntity.ok().eTag(ETags.documento(curriculoAtualizado.getVersao(), Projecao.COMPLETA)).body(curriculoAtualizado);
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção que o serviço lança se o currículo não for encontrado.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Método para alterar apenas alguns campos de um currículo.
+     * Responde a requisições HTTP PATCH para "/api/curriculos/{id}".
+     * Só os campos enviados no corpo são gravados; os demais continuam como estão no banco.
+     * @param id O ID do currículo a ser alterado, vindo da URL.
+     * @param campos Os campos a serem alterados e seus novos valores, vindos do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
+     * @return Um ResponseEntity com o currículo atualizado (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se algum campo não existir, não puder ser alterado ou tiver um valor inválido.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Curriculo> alterarCurriculo(@PathVariable String id, @RequestBody Map<String, Object> campos,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Curriculo alterado = curriculoService.atualizarParcialmente(id, ETags.versoes(ifMatch), campos);
+            return ResponseEntity.ok().eTag(ETags.documento(alterado.getVersao(), Projecao.COMPLETA)).body(alterado);
+        } catch (IllegalArgumentException e) { // Campo inexistente, protegido ou com valor de tipo incompatível.
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Método para adicionar uma disciplina a uma das listas do currículo.
+     * Responde a requisições HTTP POST para "/api/curriculos/{id}/disciplinas/{tipo}/{disciplinaId}",
+     * onde {tipo} é "obrigatorias" ou "optativas". Só a lista é alterada, sem reenviar o currículo inteiro.
+     * Se a disciplina já estiver na lista, nada muda.
+     * @param id O ID do currículo, vindo da URL.
+     * @param tipo A lista a ser alterada, vinda da URL.
+     * @param disciplinaId O ID da disciplina, vindo da URL.
+     * @return Um ResponseEntity com o currículo atualizado (200 OK), 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se o tipo for inválido.
+     */
+    @PostMapping("/{id}/disciplinas/{tipo}/{disciplinaId}")
+    public ResponseEntity<Curriculo> adicionarDisciplina(@PathVariable String id, @PathVariable String tipo,
+                                                         @PathVariable String disciplinaId) {
+        return adicionarDisciplinas(id, tipo, List.of(disciplinaId));
+    }
+
+    /**
+     * Método para adicionar várias disciplinas de uma vez a uma das listas do currículo.
+     * Responde a requisições HTTP POST para "/api/curriculos/{id}/disciplinas/{tipo}", com um array de IDs no corpo.
+     * @param id O ID do currículo, vindo da URL.
+     * @param tipo A lista a ser alterada ("obrigatorias" ou "optativas"), vinda da URL.
+     * @param disciplinas Os IDs das disciplinas, vindos do corpo da requisição.
+     * @return Um ResponseEntity com o currículo atualizado (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se o tipo for inválido ou a lista estiver vazia.
+     */
+    @PostMapping("/{id}/disciplinas/{tipo}")
+    public ResponseEntity<Curriculo> adicionarDisciplinas(@PathVariable String id, @PathVariable String tipo,
+                                                          @RequestBody List<String> disciplinas) {
+        try {
+            Curriculo alterado = curriculoService.adicionarDisciplinas(id, tipo, disciplinas);
+            return ResponseEntity.ok().eTag(ETags.documento(alterado.getVersao(), Projecao.COMPLETA)).body(alterado);
+        } catch (IllegalArgumentException e) { // Tipo de lista inválido ou nenhuma disciplina informada.
+            return ResponseEntity.badRequest().build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Método para remover uma disciplina de uma das listas do currículo.
+     * Responde a requisições HTTP DELETE para "/api/curriculos/{id}/disciplinas/{tipo}/{disciplinaId}".
+     * @param id O ID do currículo, vindo da URL.
+     * @param tipo A lista a ser alterada ("obrigatorias" ou "optativas"), vinda da URL.
+     * @param disciplinaId O ID da disciplina, vindo da URL.
+     * @return Um ResponseEntity com o currículo atualizado (200 OK), 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se o tipo for inválido.
+     */
+    @DeleteMapping("/{id}/disciplinas/{tipo}/{disciplinaId}")
+    public ResponseEntity<Curriculo> removerDisciplina(@PathVariable String id, @PathVariable String tipo,
+                                                       @PathVariable String disciplinaId) {
+        return removerDisciplinas(id, tipo, List.of(disciplinaId));
+    }
+
+    /**
+     * Método para remover várias disciplinas de uma vez de uma das listas do currículo.
+     * Responde a requisições HTTP DELETE para "/api/curriculos/{id}/disciplinas/{tipo}?ids=a,b,c".
+     * @param id O ID do currículo, vindo da URL.
+     * @param tipo A lista a ser alterada ("obrigatorias" ou "optativas"), vinda da URL.
+     * @param ids Os IDs das disciplinas, separados por vírgula.
+     * @return Um ResponseEntity com o currículo atualizado (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se o tipo for inválido ou a lista estiver vazia.
+     */
+    @DeleteMapping("/{id}/disciplinas/{tipo}")
+    public ResponseEntity<Curriculo> removerDisciplinas(@PathVariable String id, @PathVariable String tipo,
+                                                        @RequestParam List<String> ids) {
+        try {
+            Curriculo alterado = curriculoService.removerDisciplinas(id, tipo, ids);
+            return ResponseEntity.ok().eTag(ETags.documento(alterado.getVersao(), Projecao.COMPLETA)).body(alterado);
+        } catch (IllegalArgumentException e) { // Tipo de lista inválido ou nenhuma disciplina informada.
+            return ResponseEntity.badRequest().build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Método para deletar um currículo.
      * Responde a requisições HTTP DELETE para "/api/curriculos/{id}".
      * @param id O ID do currículo a ser deletado, vindo da URL.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a exclusão só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com status 204 (No Content) indicando sucesso, ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirCurriculo(@PathVariable String id) {
+    public ResponseEntity<Void> excluirCurriculo(@PathVariable String id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço de exclusão.
-            curriculoService.excluir(id);
+            curriculoService.excluir(id, ETags.versoes(ifMatch));
             // Retorna uma resposta vazia com o status "Sem Conteúdo", que é o padrão para um DELETE bem-sucedido.
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) { // Captura a exceção se o currículo a ser deletado não for encontrado.
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção se o currículo a ser deletado não for encontrado.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
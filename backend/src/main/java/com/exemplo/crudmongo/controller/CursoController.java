@@ -3,12 +3,27 @@ package com.exemplo.crudmongo.controller;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Curso;         // Importa o modelo de dados 'Curso'.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa os tipos de conteúdo dos formatos binários (CBOR e Smile).
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
 import com.exemplo.crudmongo.service.CursoService;    // Importa o serviço que contém a lógica de negócios para 'Curso'.
+import com.exemplo.crudmongo.service.DocumentoNaoEncontradoException; // Importa a exceção lançada pelos serviços quando o ID não existe.
+import com.exemplo.crudmongo.service.ExportadorNdjson; // Importa o componente de exportação, para usar o tipo de conteúdo NDJSON.
+import org.springframework.dao.OptimisticLockingFailureException; // Exceção lançada pelo serviço quando a versão do If-Match não é mais a atual.
+import org.springframework.http.HttpHeaders;          // Nomes dos cabeçalhos HTTP, como o If-Match.
 import org.springframework.http.HttpStatus;           // Usado para definir códigos de status HTTP, como "201 CREATED".
+import org.springframework.http.MediaType;            // Representa tipos de conteúdo (Content-Type), como o NDJSON da exportação.
 import org.springframework.http.ResponseEntity;       // Representa a resposta HTTP completa (status, cabeçalhos, corpo).
 import org.springframework.web.bind.annotation.*;     // Importa as anotações do Spring para web.
+import org.springframework.web.context.request.WebRequest; // Dá acesso aos cabeçalhos da requisição, usado na verificação do ETag (If-None-Match).
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Permite escrever o corpo da resposta aos poucos, fora da thread da requisição.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de leitura do corpo da requisição.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição, lido aos poucos na gravação em lote.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
+import java.util.Optional; // Importa a classe Optional para o resultado da busca por ID.
 
 /**
  * Esta é a classe Controller para a entidade Curso.
@@ -18,7 +33,7 @@ import java.util.List; // Importa a interface para trabalhar com listas.
  */
 @RestController // Anotação que marca a classe como um controller REST, onde os métodos retornam dados (como JSON) diretamente no corpo da resposta.
 @RequestMapping("/api/cursos") // Define o caminho (URL) base para todos os endpoints deste controller. Todas as requisições devem começar com "/api/cursos".
-@CrossOrigin(origins = "*") // Permite que requisições de qualquer origem (como o seu frontend em localhost:4200) acessem esta API.
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) // O ETag é exposto para que o frontend possa reenviá-lo no If-Match. Permite que requisições de qualquer origem (como o seu frontend em localhost:4200) acessem esta API.
 public class CursoController {
 
     // Declaração final do serviço de curso, que será "injetado" pelo Spring.
@@ -36,27 +51,115 @@ public class CursoController {
 
     /**
      * Método para listar todos os cursos.
-     * Responde a requisições HTTP GET para "/api/cursos".
-     * @return Uma lista de todos os objetos Curso em formato JSON.
+     * Responde a requisições HTTP GET para o caminho base "/api/cursos".
+     * @param fields Os campos desejados, separados por vírgula (opcional, ex: fields=nome). Sem ele, vem o documento inteiro.
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a lista em JSON, ou em CBOR/Smile conforme o cabeçalho Accept (200 OK), 304 (Not Modified) se a lista não mudou
+     *         desde o ETag enviado pelo cliente, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping
-    public List<Curso> listarTodosCursos() {
-        // Chama o método do serviço para buscar todos os cursos no banco de dados.
-        return cursoService.listarTodos();
+    public ResponseEntity<List<Object>> listarTodosCursos(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Curso.class, fields);
+            // O ETag vem do contador de alterações da coleção: se não mudou, responde 304 sem consultar a coleção.
+            String etag = ETags.colecao(cursoService.versaoColecao(), fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            // Chama o serviço para buscar os dados e monta a resposta apenas com os campos pedidos.
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(projecao.representar(cursoService.listarTodos(projecao)));
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para listar os cursos em páginas, com paginação por cursor.
+     * Responde a requisições HTTP GET para "/api/cursos" que informam o parâmetro 'limit'
+     * (ex: /api/cursos?limit=50&after=...&sort=nome). Sem o 'limit', vale a listagem completa acima.
+     * @param limit A quantidade máxima de itens da página.
+     * @param after O cursor 'proximoCursor' devolvido pela página anterior (opcional).
+     * @param sort O campo de ordenação, com '-' na frente para ordem decrescente (opcional, padrão: id).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a página (200 OK), 304 (Not Modified) se ela não mudou, ou 400 (Bad Request) se a ordenação, o cursor ou os campos forem inválidos.
+     */
+    @GetMapping(params = "limit") // Só é escolhido quando a requisição tem o parâmetro 'limit'.
+    public ResponseEntity<Pagina<Object>> listarCursosPaginado(@RequestParam Integer limit,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) String sort,
+                                                               @RequestParam(required = false) String fields,
+                                                               WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Curso.class, fields);
+            String etag = ETags.colecao(cursoService.versaoColecao(), limit, after, sort, fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(cursoService.listarPagina(limit, after, sort, projecao).mapear(projecao::representar));
+        } catch (IllegalArgumentException e) { // Ordenação não suportada, cursor inválido ou campo inexistente.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para exportar os cursos em NDJSON (application/x-ndjson), um documento por linha.
+     * Com "Accept: application/cbor-seq" (ou application/cbor) ou "Accept: application/x-jackson-smile", os documentos
+     * são escritos em CBOR ou Smile, um após o outro.
+     * Responde a requisições HTTP GET para "/api/cursos/export".
+     * A resposta é enviada aos poucos, conforme os documentos são lidos do banco, então a memória do servidor
+     * não cresce com o tamanho da coleção.
+     * @param batchSize Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param accept O cabeçalho Accept, que escolhe o formato (opcional, padrão NDJSON).
+     * @return Um ResponseEntity cujo corpo é escrito de forma contínua (streaming), ou 400 (Bad Request) se algum campo não existir.
+     */
+    @GetMapping(value = "/export", produces = {ExportadorNdjson.NDJSON, FormatosBinarios.CBOR_SEQ, FormatosBinarios.CBOR, FormatosBinarios.SMILE})
+    public ResponseEntity<StreamingResponseBody> exportarCursos(@RequestParam(required = false) Integer batchSize,
+                                                                @RequestParam(required = false) String fields,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Curso.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        ExportadorNdjson.Formato formato = ExportadorNdjson.Formato.de(accept);
+        StreamingResponseBody corpo = saida -> cursoService.exportar(saida, batchSize, projecao, formato);
+        return ResponseEntity.ok()
+                .contentType(formato.tipo())
+                .body(corpo);
     }
 
     /**
      * Método para buscar um único curso pelo seu ID.
      * Responde a requisições HTTP GET para "/api/cursos/{id}".
      * @param id O ID do curso, extraído da URL pela anotação @PathVariable.
-     * @return Um ResponseEntity contendo o Curso encontrado com status 200 OK, ou um status 404 (Not Found) se o ID não existir.
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @return Um ResponseEntity com o documento e seu ETag (200 OK), 304 (Not Modified) se o ETag enviado em If-None-Match
+     *         ainda for o atual, 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Curso> buscarCursoPorId(@PathVariable String id) {
-        // Chama o serviço para buscar por ID e mapeia o resultado para uma resposta HTTP.
-        return cursoService.buscarPorId(id)
-                .map(ResponseEntity::ok) // Se encontrou, cria uma resposta 200 OK com o curso.
-                .orElse(ResponseEntity.notFound().build()); // Se não encontrou, cria uma resposta 404.
+    public ResponseEntity<Object> buscarCursoPorId(@PathVariable String id,
+                                                   @RequestParam(required = false) String fields) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Curso.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        // Chama o serviço para buscar por ID.
+        Optional<Curso> encontrado = cursoService.buscarPorId(id, projecao);
+        if (encontrado.isEmpty()) {
+            return ResponseEntity.notFound().build(); // Se não encontrou, responde 404 Not Found.
+        }
+        Curso curso = encontrado.get();
+        // O ETag vem da versão do documento. Se o cliente enviar o mesmo valor em If-None-Match,
+        // o Spring responde 304 (Not Modified) automaticamente, sem serializar o corpo.
+        return ResponseEntity.ok()
+                .eTag(ETags.documento(curso.getVersao(), projecao))
+                .lastModified(curso.getUltimaModificacao() == null ? -1 : curso.getUltimaModificacao().toEpochMilli())
+                .body(projecao.representar(curso));
     }
 
     /**
@@ -73,39 +176,95 @@ public class CursoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novoCurso);
     }
 
+    /**
+     * Método para criar ou atualizar vários cursos de uma vez.
+     * Responde a requisições HTTP POST para "/api/cursos/batch", cujo corpo é um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam, se não existir).
+     * O array é lido aos poucos e gravado em blocos, então não é preciso fazer uma requisição por documento.
+     * @param corpo O corpo da requisição (array JSON), lido como fluxo em vez de ser convertido de uma só vez.
+     * @param batchSize Quantos itens são enviados ao banco por chamada (opcional).
+     * @return Um ResponseEntity com o resumo e o resultado de cada item (200 OK), ou 400 (Bad Request) se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLote> criarCursosEmLote(InputStream corpo,
+                                                           @RequestParam(required = false) Integer batchSize) throws IOException {
+        try {
+            return ResponseEntity.ok(cursoService.salvarEmLote(corpo, batchSize));
+        } catch (IllegalArgumentException e) { // O corpo não é um array JSON.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Método para atualizar um curso existente.
      * Responde a requisições HTTP PUT para "/api/cursos/{id}".
      * @param id O ID do curso a ser atualizado, vindo da URL.
      * @param curso O objeto Curso com os dados atualizados, vindo do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com o curso atualizado (status 200 OK), ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Curso> atualizarCurso(@PathVariable String id, @RequestBody Curso curso) {
+    public ResponseEntity<Curso> atualizarCurso(@PathVariable String id, @RequestBody Curso curso,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço para atualizar o curso.
-            Curso cursoAtualizado = cursoService.atualizar(id, curso);
-            return ResponseEntity.ok(cursoAtualizado);
-        } catch (RuntimeException e) { // Captura a exceção se o serviço informar que o curso não foi encontrado.
+            Curso cursoAtualizado = cursoService.atualizar(id, ETags.versoes(ifMatch), curso);
+            return ResponseEntity.ok().eTag(ETags.documento(cursoAtualizado.getVersao(), Projecao.COMPLETA)).body(cursoAtualizado);
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção se o serviço informar que o curso não foi encontrado.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Método para alterar apenas alguns campos de um curso.
+     * Responde a requisições HTTP PATCH para "/api/cursos/{id}".
+     * Só os campos enviados no corpo são gravados; os demais continuam como estão no banco.
+     * @param id O ID do curso a ser alterado, vindo da URL.
+     * @param campos Os campos a serem alterados e seus novos valores, vindos do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
+     * @return Um ResponseEntity com o curso atualizado (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se algum campo não existir, não puder ser alterado ou tiver um valor inválido.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Curso> alterarCurso(@PathVariable String id, @RequestBody Map<String, Object> campos,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Curso alterado = cursoService.atualizarParcialmente(id, ETags.versoes(ifMatch), campos);
+            return ResponseEntity.ok().eTag(ETags.documento(alterado.getVersao(), Projecao.COMPLETA)).body(alterado);
+        } catch (IllegalArgumentException e) { // Campo inexistente, protegido ou com valor de tipo incompatível.
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Método para deletar um curso.
      * Responde a requisições HTTP DELETE para "/api/cursos/{id}".
      * @param id O ID do curso a ser deletado, vindo da URL.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a exclusão só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com status 204 (No Content) em caso de sucesso, ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirCurso(@PathVariable String id) {
+    public ResponseEntity<Void> excluirCurso(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço para excluir o curso.
-            cursoService.excluir(id);
+            cursoService.excluir(id, ETags.versoes(ifMatch));
             // Retorna uma resposta vazia com status "Sem Conteúdo", que é o padrão para um DELETE bem-sucedido.
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) { // Captura a exceção se o curso a ser deletado não for encontrado.
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção se o curso a ser deletado não for encontrado.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
@@ -3,12 +3,28 @@ package com.exemplo.crudmongo.controller;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Disciplina;    // Importa o modelo de dados 'Disciplina'.
+import com.exemplo.crudmongo.dto.DisciplinaEncontrada; // Importa o DTO dos resultados da busca textual.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa os tipos de conteúdo dos formatos binários (CBOR e Smile).
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
 import com.exemplo.crudmongo.service.DisciplinaService; // Importa o serviço que contém a lógica de negócios para 'Disciplina'.
+import com.exemplo.crudmongo.service.DocumentoNaoEncontradoException; // Importa a exceção lançada pelos serviços quando o ID não existe.
+import com.exemplo.crudmongo.service.ExportadorNdjson; // Importa o componente de exportação, para usar o tipo de conteúdo NDJSON.
+import org.springframework.dao.OptimisticLockingFailureException; // Exceção lançada pelo serviço quando a versão do If-Match não é mais a atual.
+import org.springframework.http.HttpHeaders;          // Nomes dos cabeçalhos HTTP, como o If-Match.
 import org.springframework.http.HttpStatus;           // Usado para definir códigos de status HTTP, como "201 CREATED".
+import org.springframework.http.MediaType;            // Representa tipos de conteúdo (Content-Type), como o NDJSON da exportação.
 import org.springframework.http.ResponseEntity;       // Representa a resposta HTTP completa (status, cabeçalhos, corpo).
 import org.springframework.web.bind.annotation.*;     // Importa as anotações do Spring para desenvolvimento web.
+import org.springframework.web.context.request.WebRequest; // Dá acesso aos cabeçalhos da requisição, usado na verificação do ETag (If-None-Match).
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Permite escrever o corpo da resposta aos poucos, fora da thread da requisição.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de leitura do corpo da requisição.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição, lido aos poucos na gravação em lote.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
+import java.util.Optional; // Importa a classe Optional para o resultado da busca por ID.
 
 /**
  * Esta é a classe Controller para a entidade Disciplina.
@@ -18,7 +34,7 @@ import java.util.List; // Importa a interface para trabalhar com listas.
  */
 @RestController // Anotação que marca a classe como um controller REST. Isso significa que os métodos aqui retornarão dados (geralmente em formato JSON) diretamente no corpo da resposta.
 @RequestMapping("/api/disciplinas") // Define o caminho (URL) base para todos os endpoints neste controller. Todas as requisições devem começar com "/api/disciplinas".
-@CrossOrigin(origins = "*") // Permite que requisições de qualquer origem (qualquer frontend, como o seu rodando em localhost:4200) possam acessar esta API, evitando problemas de CORS (Cross-Origin Resource Sharing).
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) // O ETag é exposto para que o frontend possa reenviá-lo no If-Match. Permite que requisições de qualquer origem (qualquer frontend, como o seu rodando em localhost:4200) possam acessar esta API, evitando problemas de CORS (Cross-Origin Resource Sharing).
 public class DisciplinaController {
 
     // Declaração final do serviço de disciplina. O 'final' garante que ele seja inicializado no construtor.
@@ -37,26 +53,135 @@ public class DisciplinaController {
     /**
      * Método para listar todas as disciplinas.
      * Responde a requisições HTTP GET para o caminho base "/api/disciplinas".
-     * @return Uma lista de todos os objetos Disciplina em formato JSON.
+     * @param fields Os campos desejados, separados por vírgula (opcional, ex: fields=nome). Sem ele, vem o documento inteiro.
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a lista em JSON, ou em CBOR/Smile conforme o cabeçalho Accept (200 OK), 304 (Not Modified) se a lista não mudou
+     *         desde o ETag enviado pelo cliente, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping
-    public List<Disciplina> listarTodasDisciplinas() {
-        // Delega a responsabilidade de buscar os dados para a camada de serviço.
-        return disciplinaService.listarTodas();
+    public ResponseEntity<List<Object>> listarTodasDisciplinas(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Disciplina.class, fields);
+            // O ETag vem do contador de alterações da coleção: se não mudou, responde 304 sem consultar a coleção.
+            String etag = ETags.colecao(disciplinaService.versaoColecao(), fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            // Chama o serviço para buscar os dados e monta a resposta apenas com os campos pedidos.
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(projecao.representar(disciplinaService.listarTodas(projecao)));
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para listar as disciplinas em páginas, com paginação por cursor.
+     * Responde a requisições HTTP GET para "/api/disciplinas" que informam o parâmetro 'limit'
+     * (ex: /api/disciplinas?limit=50&after=...&sort=nome). Sem o 'limit', vale a listagem completa acima.
+     * @param limit A quantidade máxima de itens da página.
+     * @param after O cursor 'proximoCursor' devolvido pela página anterior (opcional).
+     * @param sort O campo de ordenação, com '-' na frente para ordem decrescente (opcional, padrão: id).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a página (200 OK), 304 (Not Modified) se ela não mudou, ou 400 (Bad Request) se a ordenação, o cursor ou os campos forem inválidos.
+     */
+    @GetMapping(params = "limit") // Só é escolhido quando a requisição tem o parâmetro 'limit'.
+    public ResponseEntity<Pagina<Object>> listarDisciplinasPaginado(@RequestParam Integer limit,
+                                                                    @RequestParam(required = false) String after,
+                                                                    @RequestParam(required = false) String sort,
+                                                                    @RequestParam(required = false) String fields,
+                                                                    WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Disciplina.class, fields);
+            String etag = ETags.colecao(disciplinaService.versaoColecao(), limit, after, sort, fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(disciplinaService.listarPagina(limit, after, sort, projecao).mapear(projecao::representar));
+        } catch (IllegalArgumentException e) { // Ordenação não suportada, cursor inválido ou campo inexistente.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para buscar disciplinas por palavras do nome ou da ementa.
+     * Responde a requisições HTTP GET para "/api/disciplinas/busca" (ex: /api/disciplinas/busca?q=algoritmos%20grafos).
+     * A busca usa o índice de texto do MongoDB, com as regras do português (radicais e palavras ignoradas),
+     * em vez de baixar todas as disciplinas e procurar no navegador. Os resultados não trazem a ementa.
+     * @param q Os termos da busca. Aceita frases entre aspas e termos excluídos com '-'.
+     * @param limit A quantidade máxima de resultados da página (opcional, padrão 20, máximo 100).
+     * @param after O cursor devolvido pela página anterior (opcional).
+     * @return Um ResponseEntity com a página de resultados (200 OK), ou 400 (Bad Request) se os termos estiverem vazios ou o cursor for inválido.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<Pagina<DisciplinaEncontrada>> buscarDisciplinas(@RequestParam String q,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         @RequestParam(required = false) String after) {
+        try {
+            return ResponseEntity.ok(disciplinaService.buscarTexto(q, limit, after));
+        } catch (IllegalArgumentException e) { // Termos vazios ou cursor inválido.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para exportar as disciplinas em NDJSON (application/x-ndjson), um documento por linha.
+     * Com "Accept: application/cbor-seq" (ou application/cbor) ou "Accept: application/x-jackson-smile", os documentos
+     * são escritos em CBOR ou Smile, um após o outro.
+     * Responde a requisições HTTP GET para "/api/disciplinas/export".
+     * A resposta é enviada aos poucos, conforme os documentos são lidos do banco, então a memória do servidor
+     * não cresce com o tamanho da coleção.
+     * @param batchSize Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param accept O cabeçalho Accept, que escolhe o formato (opcional, padrão NDJSON).
+     * @return Um ResponseEntity cujo corpo é escrito de forma contínua (streaming), ou 400 (Bad Request) se algum campo não existir.
+     */
+    @GetMapping(value = "/export", produces = {ExportadorNdjson.NDJSON, FormatosBinarios.CBOR_SEQ, FormatosBinarios.CBOR, FormatosBinarios.SMILE})
+    public ResponseEntity<StreamingResponseBody> exportarDisciplinas(@RequestParam(required = false) Integer batchSize,
+                                                                     @RequestParam(required = false) String fields,
+                                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Disciplina.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        ExportadorNdjson.Formato formato = ExportadorNdjson.Formato.de(accept);
+        StreamingResponseBody corpo = saida -> disciplinaService.exportar(saida, batchSize, projecao, formato);
+        return ResponseEntity.ok()
+                .contentType(formato.tipo())
+                .body(corpo);
     }
 
     /**
      * Método para buscar uma única disciplina pelo seu ID.
      * Responde a requisições HTTP GET para "/api/disciplinas/{id}", onde {id} é um valor dinâmico.
      * @param id O ID da disciplina, que é extraído da URL pela anotação @PathVariable.
-     * @return Um ResponseEntity contendo a Disciplina encontrada com status 200 OK, ou um status 404 (Not Found) se nenhuma disciplina com o ID for encontrada.
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @return Um ResponseEntity com o documento e seu ETag (200 OK), 304 (Not Modified) se o ETag enviado em If-None-Match
+     *         ainda for o atual, 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Disciplina> buscarDisciplinaPorId(@PathVariable String id) {
+    public ResponseEntity<Object> buscarDisciplinaPorId(@PathVariable String id,
+                                                        @RequestParam(required = false) String fields) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Disciplina.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
         // Chama o serviço para buscar por ID.
-        return disciplinaService.buscarPorId(id)
-                .map(ResponseEntity::ok) // Se o serviço encontrou a disciplina, cria uma resposta 200 OK com a disciplina no corpo.
-                .orElse(ResponseEntity.notFound().build()); // Caso contrário, cria uma resposta 404 Not Found.
+        Optional<Disciplina> encontrado = disciplinaService.buscarPorId(id, projecao);
+        if (encontrado.isEmpty()) {
+            return ResponseEntity.notFound().build(); // Se não encontrou, responde 404 Not Found.
+        }
+        Disciplina disciplina = encontrado.get();
+        // O ETag vem da versão do documento. Se o cliente enviar o mesmo valor em If-None-Match,
+        // o Spring responde 304 (Not Modified) automaticamente, sem serializar o corpo.
+        return ResponseEntity.ok()
+                .eTag(ETags.documento(disciplina.getVersao(), projecao))
+                .lastModified(disciplina.getUltimaModificacao() == null ? -1 : disciplina.getUltimaModificacao().toEpochMilli())
+                .body(projecao.representar(disciplina));
     }
 
     /**
@@ -73,39 +198,95 @@ public class DisciplinaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novaDisciplina);
     }
 
+    /**
+     * Método para criar ou atualizar várias disciplinas de uma vez.
+     * Responde a requisições HTTP POST para "/api/disciplinas/batch", cujo corpo é um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam, se não existir).
+     * O array é lido aos poucos e gravado em blocos, então não é preciso fazer uma requisição por documento.
+     * @param corpo O corpo da requisição (array JSON), lido como fluxo em vez de ser convertido de uma só vez.
+     * @param batchSize Quantos itens são enviados ao banco por chamada (opcional).
+     * @return Um ResponseEntity com o resumo e o resultado de cada item (200 OK), ou 400 (Bad Request) se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLote> criarDisciplinasEmLote(InputStream corpo,
+                                                                @RequestParam(required = false) Integer batchSize) throws IOException {
+        try {
+            return ResponseEntity.ok(disciplinaService.salvarEmLote(corpo, batchSize));
+        } catch (IllegalArgumentException e) { // O corpo não é um array JSON.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Método para atualizar uma disciplina existente.
      * Responde a requisições HTTP PUT para "/api/disciplinas/{id}".
      * @param id O ID da disciplina a ser atualizada, vindo da URL.
      * @param disciplina O objeto Disciplina com os dados atualizados, vindo do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com a disciplina atualizada (status 200 OK), ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Disciplina> atualizarDisciplina(@PathVariable String id, @RequestBody Disciplina disciplina) {
+    public ResponseEntity<Disciplina> atualizarDisciplina(@PathVariable String id, @RequestBody Disciplina disciplina,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço para realizar a atualização.
-            Disciplina disciplinaAtualizada = disciplinaService.atualizar(id, disciplina);
-            return ResponseEntity.ok(disciplinaAtualizada);
-        } catch (RuntimeException e) { // Captura uma exceção genérica caso o serviço informe que a disciplina não foi encontrada.
+            Disciplina disciplinaAtualizada = disciplinaService.atualizar(id, ETags.versoes(ifMatch), disciplina);
+            return ResponseEntity.ok().eTag(ETags.documento(disciplinaAtualizada.getVersao(), Projecao.COMPLETA)).body(disciplinaAtualizada);
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção lançada caso o serviço informe que a disciplina não foi encontrada.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Método para alterar apenas alguns campos de uma disciplina.
+     * Responde a requisições HTTP PATCH para "/api/disciplinas/{id}".
+     * Só os campos enviados no corpo são gravados; os demais continuam como estão no banco.
+     * @param id O ID da disciplina a ser alterada, vindo da URL.
+     * @param campos Os campos a serem alterados e seus novos valores, vindos do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
+     * @return Um ResponseEntity com a disciplina atualizada (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se algum campo não existir, não puder ser alterado ou tiver um valor inválido.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Disciplina> alterarDisciplina(@PathVariable String id, @RequestBody Map<String, Object> campos,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Disciplina alterada = disciplinaService.atualizarParcialmente(id, ETags.versoes(ifMatch), campos);
+            return ResponseEntity.ok().eTag(ETags.documento(alterada.getVersao(), Projecao.COMPLETA)).body(alterada);
+        } catch (IllegalArgumentException e) { // Campo inexistente, protegido ou com valor de tipo incompatível.
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Método para deletar uma disciplina.
      * Responde a requisições HTTP DELETE para "/api/disciplinas/{id}".
      * @param id O ID da disciplina a ser deletada, vindo da URL.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a exclusão só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com status 204 (No Content) indicando sucesso na exclusão, ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirDisciplina(@PathVariable String id) {
+    public ResponseEntity<Void> excluirDisciplina(@PathVariable String id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço para realizar a exclusão.
-            disciplinaService.excluir(id);
+            disciplinaService.excluir(id, ETags.versoes(ifMatch));
             // Retorna uma resposta vazia com o status "Sem Conteúdo", que é o padrão para uma operação de DELETE bem-sucedida.
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) { // Captura a exceção se a disciplina a ser deletada não for encontrada.
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção se a disciplina a ser deletada não for encontrada.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,131 @@
+// Define o pacote onde esta classe está localizada.
+package com.exemplo.crudmongo.controller;
+
+// Importa as classes necessárias.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa o tipo de conteúdo do Smile.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields'.
+import org.springframework.http.HttpHeaders; // Importa os nomes dos cabeçalhos HTTP, como o Accept.
+import org.springframework.http.InvalidMediaTypeException; // Importa a exceção lançada quando o cabeçalho Accept é inválido.
+import org.springframework.http.MediaType; // Importa a classe que representa um tipo de conteúdo.
+import org.springframework.util.DigestUtils; // Importa utilitários de hash do Spring.
+import org.springframework.util.MimeTypeUtils; // Importa utilitários de tipos de conteúdo, usados para ordenar o cabeçalho Accept.
+import org.springframework.web.context.request.WebRequest; // Importa o acesso aos cabeçalhos da requisição.
+
+import java.nio.charset.StandardCharsets; // Importa o charset UTF-8.
+import java.util.ArrayList; // Importa a implementação de lista usada para acumular as versões do If-Match.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Métodos utilitários para montar os ETags das respostas.
+ *
+ * O ETag é um identificador da versão de uma resposta. O navegador (ou o frontend) o envia de volta no cabeçalho
+ * If-None-Match; se ele ainda for o mesmo, o servidor responde 304 (Not Modified) sem corpo.
+ * Os ETags gerados aqui são "fortes": mudam sempre que o conteúdo da resposta muda.
+ */
+final class ETags {
+
+    private ETags() {
+        // Classe utilitária: não deve ser instanciada.
+    }
+
+    /**
+     * ETag de um único documento, derivado da sua versão.
+     * Formato: "v{versao}" ou "v{versao}-{hash}" quando a resposta usa o parâmetro 'fields',
+     * já que cada conjunto de campos é uma representação diferente do mesmo documento.
+     * @param versao A versão do documento (campo 'versao').
+     * @param projecao A projeção (parâmetro 'fields') usada na resposta.
+     * @return O ETag, já entre aspas.
+     */
+    static String documento(Long versao, Projecao projecao) {
+        String etag = "v" + (versao == null ? 0L : versao);
+        if (!projecao.completa()) {
+            etag += "-" + resumo(projecao.toString());
+        }
+        return "\"" + etag + "\"";
+    }
+
+    /**
+     * ETag de uma listagem, derivado do contador de alterações da coleção e dos parâmetros que mudam o conteúdo da resposta.
+     * @param versaoColecao O contador de alterações da coleção.
+     * @param parametros Os parâmetros da requisição que influenciam o resultado (fields, limit, after, sort...).
+     * @return O ETag, já entre aspas.
+     */
+    static String colecao(long versaoColecao, Object... parametros) {
+        StringBuilder chave = new StringBuilder();
+        for (Object parametro : parametros) {
+            chave.append(parametro).append('|');
+        }
+        return "\"c" + versaoColecao + "-" + resumo(chave.toString()) + "\"";
+    }
+
+    /**
+     * Identifica o formato da resposta pedido no cabeçalho Accept: "json" (padrão), "cbor" ou "smile".
+     * Entra nos parâmetros do ETag das listagens, já que cada formato é uma representação diferente do mesmo conteúdo
+     * e precisa de um ETag próprio (as respostas também levam "Vary: Accept").
+     * @param request A requisição.
+     * @return O nome do formato.
+     */
+    static String formato(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return "json";
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "json"; // O próprio Spring recusa o cabeçalho inválido ao escrever a resposta.
+        }
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            if (aceito.isCompatibleWith(MediaType.APPLICATION_CBOR) && !aceito.isWildcardSubtype()) {
+                return "cbor";
+            }
+            if (aceito.isCompatibleWith(MediaType.parseMediaType(FormatosBinarios.SMILE)) && !aceito.isWildcardSubtype()) {
+                return "smile";
+            }
+            return "json";
+        }
+        return "json";
+    }
+
+    /**
+     * Lê as versões do documento a partir do cabeçalho If-Match, que traz um ou mais ETags gerados por documento(),
+     * separados por vírgula (ex: "v3", "v4"). A operação é feita se a versão atual for qualquer uma delas.
+     * O If-Match usa a comparação forte (RFC 9110): ETags fracos (W/"...") nunca correspondem.
+     * O sufixo da projeção (se houver) é ignorado: ele não muda a versão do documento.
+     * @param ifMatch O valor do cabeçalho If-Match (pode ser nulo).
+     * @return As versões aceitas; nulo se o cabeçalho não foi enviado ou é "*" (qualquer versão);
+     *         ou uma lista vazia se nenhum dos valores for um ETag forte de documento (e, portanto, nunca corresponder à versão atual).
+     */
+    static List<Long> versoes(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versoes = new ArrayList<>();
+        for (String valor : ifMatch.split(",")) {
+            String etag = valor.trim();
+            // Só ETags fortes, entre aspas: "v{versao}" ou "v{versao}-{hash}".
+            if (etag.length() < 3 || !etag.startsWith("\"v") || !etag.endsWith("\"")) {
+                continue;
+            }
+            etag = etag.substring(2, etag.length() - 1);
+            int fim = etag.indexOf('-');
+            String numero = fim < 0 ? etag : etag.substring(0, fim);
+            if (!numero.isEmpty() && numero.length() <= 18 && numero.chars().allMatch(Character::isDigit)) {
+                versoes.add(Long.parseLong(numero));
+            }
+        }
+        return versoes;
+    }
+
+    /**
+     * Gera um resumo curto (hash) de um texto.
+     */
+    private static String resumo(String texto) {
+        return DigestUtils.md5DigestAsHex(texto.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+}
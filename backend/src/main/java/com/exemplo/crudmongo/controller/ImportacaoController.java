@@ -0,0 +1,102 @@
+// Define o pacote onde esta classe está localizada.
+package com.exemplo.crudmongo.controller;
+
+// Importa as classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Importacao; // Importa o modelo com a situação de uma importação.
+import com.exemplo.crudmongo.service.DocumentoNaoEncontradoException; // Importa a exceção lançada quando a importação não existe.
+import com.exemplo.crudmongo.service.ImportadorCsv; // Importa o serviço que executa as importações.
+import org.springframework.http.HttpStatus; // Importa os códigos de status HTTP.
+import org.springframework.http.ResponseEntity; // Importa a classe que representa toda a resposta HTTP.
+import org.springframework.web.bind.annotation.*; // Importa as anotações de mapeamento da web do Spring.
+
+import java.io.InputStream; // Importa a classe de fluxo de entrada, usada para receber o arquivo sem carregá-lo na memória.
+import java.net.URI; // Importa a classe URI, usada no cabeçalho Location.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Controller das importações de arquivos CSV (alunos e turmas).
+ * O arquivo é enviado no corpo da requisição (Content-Type text/csv) e processado em segundo plano;
+ * a situação da importação é acompanhada pelo endereço devolvido no cabeçalho Location.
+ */
+@RestController
+@RequestMapping("/api/importacoes")
+@CrossOrigin(origins = "*")
+public class ImportacaoController {
+
+    // Serviço que recebe e executa as importações.
+    private final ImportadorCsv importadorCsv;
+
+    /**
+     * Construtor do ImportacaoController.
+     * @param importadorCsv O serviço de importação.
+     */
+    public ImportacaoController(ImportadorCsv importadorCsv) {
+        this.importadorCsv = importadorCsv;
+    }
+
+    /**
+     * Método para enviar um arquivo CSV.
+     * Responde a requisições HTTP POST para "/api/importacoes/alunos" ou "/api/importacoes/turmas".
+     * Exemplo: curl -X POST -H 'Content-Type: text/csv' --data-binary @alunos.csv http://localhost:8080/api/importacoes/alunos
+     * @param colecao A coleção de destino, vinda da URL.
+     * @param corpo O conteúdo do arquivo, lido à medida que chega.
+     * @return Um ResponseEntity com a importação criada (202 Accepted) e o cabeçalho Location para acompanhá-la,
+     * ou 400 (Bad Request) se a coleção não for suportada, o arquivo estiver vazio ou faltar alguma coluna obrigatória.
+     */
+    @PostMapping("/{colecao}")
+    public ResponseEntity<Importacao> importar(@PathVariable String colecao, InputStream corpo) {
+        try {
+            Importacao importacao = importadorCsv.receber(colecao, corpo);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/importacoes/" + importacao.getId()))
+                    .body(importacao);
+        } catch (IllegalArgumentException e) { // Coleção não suportada ou cabeçalho inválido.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para listar as importações mais recentes.
+     * Responde a requisições HTTP GET para "/api/importacoes".
+     * @param limit Parâmetro opcional 'limit' (padrão 20, máximo 100).
+     * @return As importações, da mais recente para a mais antiga.
+     */
+    @GetMapping
+    public List<Importacao> listar(@RequestParam(defaultValue = "20") int limit) {
+        return importadorCsv.listar(Math.max(1, Math.min(limit, 100)));
+    }
+
+    /**
+     * Método para consultar a situação de uma importação (status, progresso, linhas gravadas e recusadas).
+     * Responde a requisições HTTP GET para "/api/importacoes/{id}".
+     * @param id O ID da importação, vindo da URL.
+     * @return Um ResponseEntity com a importação (200 OK), ou 404 (Not Found) se ela não existir.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Importacao> buscar(@PathVariable String id) {
+        Importacao importacao = importadorCsv.buscar(id);
+        if (importacao == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(importacao);
+    }
+
+    /**
+     * Método para retomar uma importação que falhou, a partir do último checkpoint.
+     * Responde a requisições HTTP POST para "/api/importacoes/{id}/retomar".
+     * (As importações interrompidas pela parada da aplicação são retomadas sozinhas quando ela sobe.)
+     * @param id O ID da importação, vindo da URL.
+     * @return Um ResponseEntity com a importação (202 Accepted), 404 (Not Found) se ela não existir,
+     * ou 409 (Conflict) se ela não estiver com o status 'falha' ou o arquivo não existir mais.
+     */
+    @PostMapping("/{id}/retomar")
+    public ResponseEntity<Importacao> retomar(@PathVariable String id) {
+        try {
+            return ResponseEntity.accepted().body(importadorCsv.retomar(id));
+        } catch (IllegalStateException e) { // A importação não falhou ou o arquivo foi apagado.
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (DocumentoNaoEncontradoException e) { // A importação não existe.
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+// Define o pacote onde esta classe está localizada.
+package com.exemplo.crudmongo.controller;
+
+// Importa as classes e anotações necessárias.
+import com.exemplo.crudmongo.dto.Painel; // Importa o DTO da resposta do painel.
+import com.exemplo.crudmongo.service.PainelService; // Importa o serviço que monta o painel.
+import org.springframework.web.bind.annotation.*; // Importa as anotações de mapeamento da web do Spring.
+
+/**
+ * Controller do painel da página inicial.
+ * Substitui as cinco chamadas (alunos, cursos, disciplinas, turmas, curriculos) que a página faria
+ * apenas para mostrar as contagens e os itens recentes de cada coleção.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class PainelController {
+
+    // Serviço que consulta as coleções em paralelo.
+    private final PainelService painelService;
+
+    /**
+     * Construtor do PainelController.
+     * @param painelService O serviço do painel.
+     */
+    public PainelController(PainelService painelService) {
+        this.painelService = painelService;
+    }
+
+    /**
+     * Método para montar o painel.
+     * Responde a requisições HTTP GET para "/api/dashboard".
+     * A resposta é sempre 200 OK: as seções que falharam ou passaram do tempo limite vêm com o campo 'erro'
+     * preenchido e o campo 'completo' igual a false, para que a página mostre o que foi possível carregar.
+     * @param contagemExata Parâmetro opcional 'contagemExata': se true, conta os documentos um a um em vez de usar a estimativa.
+     * @return O painel com a contagem e os itens recentes de cada coleção.
+     */
+    @GetMapping
+    public Painel painel(@RequestParam(defaultValue = "false") boolean contagemExata) {
+        return painelService.montar(contagemExata);
+    }
+}
@@ -3,12 +3,27 @@ package com.exemplo.crudmongo.controller;
 
 // Importações de classes e anotações necessárias de outras partes do projeto e do Spring Framework.
 import com.exemplo.crudmongo.Model.Turma;         // Importa o modelo de dados 'Turma'.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa os tipos de conteúdo dos formatos binários (CBOR e Smile).
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import com.exemplo.crudmongo.service.DocumentoNaoEncontradoException; // Importa a exceção lançada pelos serviços quando o ID não existe.
 import com.exemplo.crudmongo.service.TurmaService;    // Importa o serviço que contém a lógica de negócios para 'Turma'.
+import com.exemplo.crudmongo.service.ExportadorNdjson; // Importa o componente de exportação, para usar o tipo de conteúdo NDJSON.
+import org.springframework.dao.OptimisticLockingFailureException; // Exceção lançada pelo serviço quando a versão do If-Match não é mais a atual.
+import org.springframework.http.HttpHeaders;          // Nomes dos cabeçalhos HTTP, como o If-Match.
 import org.springframework.http.HttpStatus;           // Usado para definir códigos de status HTTP, como "201 CREATED".
+import org.springframework.http.MediaType;            // Representa tipos de conteúdo (Content-Type), como o NDJSON da exportação.
 import org.springframework.http.ResponseEntity;       // Representa a resposta HTTP completa (status, cabeçalhos, corpo).
 import org.springframework.web.bind.annotation.*;     // Importa as anotações do Spring para desenvolvimento web.
+import org.springframework.web.context.request.WebRequest; // Dá acesso aos cabeçalhos da requisição, usado na verificação do ETag (If-None-Match).
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Permite escrever o corpo da resposta aos poucos, fora da thread da requisição.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de leitura do corpo da requisição.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição, lido aos poucos na gravação em lote.
 import java.util.List; // Importa a interface para trabalhar com listas de objetos.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
+import java.util.Optional; // Importa a classe Optional para o resultado da busca por ID.
 
 /**
  * Esta é a classe Controller para a entidade Turma.
@@ -18,7 +33,7 @@ import java.util.List; // Importa a interface para trabalhar com listas de objet
  */
 @RestController // Anotação que marca a classe como um controller REST. Os métodos aqui retornarão dados (geralmente em formato JSON) diretamente no corpo da resposta HTTP.
 @RequestMapping("/api/turmas") // Define o caminho (URL) base para todos os endpoints neste controller. Todas as requisições devem começar com "/api/turmas".
-@CrossOrigin(origins = "*") // Permite que requisições de qualquer origem (como o seu frontend em localhost:4200) acessem esta API, evitando problemas de CORS (Cross-Origin Resource Sharing) durante o desenvolvimento.
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) // O ETag é exposto para que o frontend possa reenviá-lo no If-Match. Permite que requisições de qualquer origem (como o seu frontend em localhost:4200) acessem esta API, evitando problemas de CORS (Cross-Origin Resource Sharing) durante o desenvolvimento.
 public class TurmaController {
 
     // Declaração final do serviço de turma, que será "injetado" pelo Spring.
@@ -37,26 +52,136 @@ public class TurmaController {
     /**
      * Método para listar todas as turmas.
      * Responde a requisições HTTP GET para o caminho base "/api/turmas".
-     * @return Uma lista de todos os objetos Turma em formato JSON.
+     * @param fields Os campos desejados, separados por vírgula (opcional, ex: fields=nome). Sem ele, vem o documento inteiro.
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a lista em JSON, ou em CBOR/Smile conforme o cabeçalho Accept (200 OK), 304 (Not Modified) se a lista não mudou
+     *         desde o ETag enviado pelo cliente, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping
-    public List<Turma> listarTodasTurmas() {
-        // Delega a responsabilidade de buscar os dados para a camada de serviço.
-        return turmaService.listarTodas();
+    public ResponseEntity<List<Object>> listarTodasTurmas(@RequestParam(required = false) String fields, WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Turma.class, fields);
+            // O ETag vem do contador de alterações da coleção: se não mudou, responde 304 sem consultar a coleção.
+            String etag = ETags.colecao(turmaService.versaoColecao(), fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            // Chama o serviço para buscar os dados e monta a resposta apenas com os campos pedidos.
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(projecao.representar(turmaService.listarTodas(projecao)));
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para listar as turmas em páginas, com paginação por cursor.
+     * Responde a requisições HTTP GET para "/api/turmas" que informam o parâmetro 'limit'
+     * (ex: /api/turmas?limit=50&after=...&sort=nome). Sem o 'limit', vale a listagem completa acima.
+     * @param limit A quantidade máxima de itens da página.
+     * @param after O cursor 'proximoCursor' devolvido pela página anterior (opcional).
+     * @param sort O campo de ordenação, com '-' na frente para ordem decrescente (opcional, padrão: id).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param request A requisição, usada para comparar o cabeçalho If-None-Match com o ETag atual.
+     * @return Um ResponseEntity com a página (200 OK), 304 (Not Modified) se ela não mudou, ou 400 (Bad Request) se a ordenação, o cursor ou os campos forem inválidos.
+     */
+    @GetMapping(params = "limit") // Só é escolhido quando a requisição tem o parâmetro 'limit'.
+    public ResponseEntity<Pagina<Object>> listarTurmasPaginado(@RequestParam Integer limit,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) String sort,
+                                                               @RequestParam(required = false) String fields,
+                                                               WebRequest request) {
+        try {
+            Projecao projecao = Projecao.de(Turma.class, fields);
+            String etag = ETags.colecao(turmaService.versaoColecao(), limit, after, sort, fields, ETags.formato(request));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(turmaService.listarPagina(limit, after, sort, projecao).mapear(projecao::representar));
+        } catch (IllegalArgumentException e) { // Ordenação não suportada, cursor inválido ou campo inexistente.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para filtrar as turmas de uma disciplina, opcionalmente por ano e semestre.
+     * Responde a requisições HTTP GET para "/api/turmas/filtro" (ex: /api/turmas/filtro?disciplinaId=123&ano=2024&semestre=1).
+     * A filtragem é feita no banco, usando índice, em vez de baixar todas as turmas e filtrar no frontend.
+     * @param disciplinaId O ID da disciplina (obrigatório).
+     * @param ano O ano da oferta (opcional).
+     * @param semestre O semestre da oferta (opcional, exige o ano).
+     * @param limit A quantidade máxima de turmas devolvidas (opcional, padrão 100, máximo 1000).
+     * @return Um ResponseEntity com a lista de turmas (200 OK) ou 400 (Bad Request) se o semestre vier sem o ano.
+     */
+    @GetMapping("/filtro")
+    public ResponseEntity<List<Turma>> filtrarTurmas(@RequestParam String disciplinaId,
+                                                     @RequestParam(required = false) Integer ano,
+                                                     @RequestParam(required = false) Integer semestre,
+                                                     @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(turmaService.filtrar(disciplinaId, ano, semestre, limit));
+        } catch (IllegalArgumentException e) { // Semestre informado sem o ano.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Método para exportar as turmas em NDJSON (application/x-ndjson), um documento por linha.
+     * Com "Accept: application/cbor-seq" (ou application/cbor) ou "Accept: application/x-jackson-smile", os documentos
+     * são escritos em CBOR ou Smile, um após o outro.
+     * Responde a requisições HTTP GET para "/api/turmas/export".
+     * A resposta é enviada aos poucos, conforme os documentos são lidos do banco, então a memória do servidor
+     * não cresce com o tamanho da coleção.
+     * @param batchSize Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @param accept O cabeçalho Accept, que escolhe o formato (opcional, padrão NDJSON).
+     * @return Um ResponseEntity cujo corpo é escrito de forma contínua (streaming), ou 400 (Bad Request) se algum campo não existir.
+     */
+    @GetMapping(value = "/export", produces = {ExportadorNdjson.NDJSON, FormatosBinarios.CBOR_SEQ, FormatosBinarios.CBOR, FormatosBinarios.SMILE})
+    public ResponseEntity<StreamingResponseBody> exportarTurmas(@RequestParam(required = false) Integer batchSize,
+                                                                @RequestParam(required = false) String fields,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Turma.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        ExportadorNdjson.Formato formato = ExportadorNdjson.Formato.de(accept);
+        StreamingResponseBody corpo = saida -> turmaService.exportar(saida, batchSize, projecao, formato);
+        return ResponseEntity.ok()
+                .contentType(formato.tipo())
+                .body(corpo);
     }
 
     /**
      * Método para buscar uma única turma pelo seu ID.
      * Responde a requisições HTTP GET para "/api/turmas/{id}".
      * @param id O ID da turma, que é extraído da URL pela anotação @PathVariable.
-     * @return Um ResponseEntity contendo a Turma encontrada com status 200 OK, ou um status 404 (Not Found) se nenhuma turma com esse ID for encontrada.
+     * @param fields Os campos desejados, separados por vírgula (opcional).
+     * @return Um ResponseEntity com o documento e seu ETag (200 OK), 304 (Not Modified) se o ETag enviado em If-None-Match
+     *         ainda for o atual, 404 (Not Found) se o ID não existir, ou 400 (Bad Request) se algum campo não existir.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Turma> buscarTurmaPorId(@PathVariable String id) {
-        // Chama o serviço para buscar por ID e mapeia o resultado para uma resposta HTTP.
-        return turmaService.buscarPorId(id)
-                .map(ResponseEntity::ok) // Se encontrou, cria uma resposta 200 OK com a turma.
-                .orElse(ResponseEntity.notFound().build()); // Caso contrário, cria uma resposta 404.
+    public ResponseEntity<Object> buscarTurmaPorId(@PathVariable String id,
+                                                   @RequestParam(required = false) String fields) {
+        Projecao projecao;
+        try {
+            projecao = Projecao.de(Turma.class, fields);
+        } catch (IllegalArgumentException e) { // Algum campo do parâmetro 'fields' não existe.
+            return ResponseEntity.badRequest().build();
+        }
+        // Chama o serviço para buscar por ID.
+        Optional<Turma> encontrado = turmaService.buscarPorId(id, projecao);
+        if (encontrado.isEmpty()) {
+            return ResponseEntity.notFound().build(); // Se não encontrou, responde 404 Not Found.
+        }
+        Turma turma = encontrado.get();
+        // O ETag vem da versão do documento. Se o cliente enviar o mesmo valor em If-None-Match,
+        // o Spring responde 304 (Not Modified) automaticamente, sem serializar o corpo.
+        return ResponseEntity.ok()
+                .eTag(ETags.documento(turma.getVersao(), projecao))
+                .lastModified(turma.getUltimaModificacao() == null ? -1 : turma.getUltimaModificacao().toEpochMilli())
+                .body(projecao.representar(turma));
     }
 
     /**
@@ -73,39 +198,95 @@ public class TurmaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novaTurma);
     }
 
+    /**
+     * Método para criar ou atualizar várias turmas de uma vez.
+     * Responde a requisições HTTP POST para "/api/turmas/batch", cujo corpo é um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam, se não existir).
+     * O array é lido aos poucos e gravado em blocos, então não é preciso fazer uma requisição por documento.
+     * @param corpo O corpo da requisição (array JSON), lido como fluxo em vez de ser convertido de uma só vez.
+     * @param batchSize Quantos itens são enviados ao banco por chamada (opcional).
+     * @return Um ResponseEntity com o resumo e o resultado de cada item (200 OK), ou 400 (Bad Request) se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLote> criarTurmasEmLote(InputStream corpo,
+                                                           @RequestParam(required = false) Integer batchSize) throws IOException {
+        try {
+            return ResponseEntity.ok(turmaService.salvarEmLote(corpo, batchSize));
+        } catch (IllegalArgumentException e) { // O corpo não é um array JSON.
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Método para atualizar uma turma existente.
      * Responde a requisições HTTP PUT para "/api/turmas/{id}".
      * @param id O ID da turma a ser atualizada, vindo da URL.
      * @param turma O objeto Turma com os dados atualizados, vindo do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com a turma atualizada (status 200 OK), ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Turma> atualizarTurma(@PathVariable String id, @RequestBody Turma turma) {
+    public ResponseEntity<Turma> atualizarTurma(@PathVariable String id, @RequestBody Turma turma,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço para realizar a atualização.
-            Turma turmaAtualizada = turmaService.atualizar(id, turma);
-            return ResponseEntity.ok(turmaAtualizada);
-        } catch (RuntimeException e) { // Captura uma exceção caso o serviço informe que a turma não foi encontrada.
+            Turma turmaAtualizada = turmaService.atualizar(id, ETags.versoes(ifMatch), turma);
+            return ResponseEntity.ok().eTag(ETags.documento(turmaAtualizada.getVersao(), Projecao.COMPLETA)).body(turmaAtualizada);
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura uma exceção caso o serviço informe que a turma não foi encontrada.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Método para alterar apenas alguns campos de uma turma.
+     * Responde a requisições HTTP PATCH para "/api/turmas/{id}".
+     * Só os campos enviados no corpo são gravados; os demais continuam como estão no banco.
+     * @param id O ID da turma a ser alterada, vindo da URL.
+     * @param campos Os campos a serem alterados e seus novos valores, vindos do corpo da requisição.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a alteração só é feita se a versão ainda for a mesma.
+     * @return Um ResponseEntity com a turma atualizada (200 OK), 404 (Not Found) se o ID não existir,
+     *         ou 400 (Bad Request) se algum campo não existir, não puder ser alterado ou tiver um valor inválido.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Turma> alterarTurma(@PathVariable String id, @RequestBody Map<String, Object> campos,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Turma alterada = turmaService.atualizarParcialmente(id, ETags.versoes(ifMatch), campos);
+            return ResponseEntity.ok().eTag(ETags.documento(alterada.getVersao(), Projecao.COMPLETA)).body(alterada);
+        } catch (IllegalArgumentException e) { // Campo inexistente, protegido ou com valor de tipo incompatível.
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // O serviço informa que o ID não foi encontrado.
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Método para deletar uma turma.
      * Responde a requisições HTTP DELETE para "/api/turmas/{id}".
      * @param id O ID da turma a ser deletada, vindo da URL.
+     * @param ifMatch O ETag do documento lido pelo cliente (opcional). Se for enviado, a exclusão só é feita se a versão ainda for a mesma.
      * @return Um ResponseEntity com status 204 (No Content) indicando sucesso, ou 404 (Not Found) se o ID não existir.
+     *         Responde 412 (Precondition Failed) se a versão enviada em If-Match não for mais a atual.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirTurma(@PathVariable String id) {
+    public ResponseEntity<Void> excluirTurma(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Tenta chamar o serviço para realizar a exclusão.
-            turmaService.excluir(id);
+            turmaService.excluir(id, ETags.versoes(ifMatch));
             // Retorna uma resposta vazia com o status "Sem Conteúdo", que é o padrão para uma operação de DELETE bem-sucedida.
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) { // Captura a exceção se a turma a ser deletada não for encontrada.
+        } catch (OptimisticLockingFailureException e) { // O documento foi alterado por outra requisição depois da versão enviada em If-Match.
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DocumentoNaoEncontradoException e) { // Captura a exceção se a turma a ser deletada não for encontrada.
             // Retorna um erro 404.
             return ResponseEntity.notFound().build();
         }
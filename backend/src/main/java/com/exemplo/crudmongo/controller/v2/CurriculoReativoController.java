@@ -0,0 +1,77 @@
+// Define o pacote onde esta classe está localizada. O subpacote 'v2' reúne os controllers da API reativa (/api/v2).
+package com.exemplo.crudmongo.controller.v2;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Curriculo; // Importa o modelo de dados 'Curriculo', o mesmo usado pela API /api.
+import com.exemplo.crudmongo.repository.reativo.CurriculoReativoRepository; // Importa o repositório reativo de 'Curriculo'.
+import com.exemplo.crudmongo.repository.LimiteFiltro; // Importa o padrão e o máximo de resultados dos filtros.
+import org.springframework.data.domain.Sort; // Importa a classe Sort para ordenar a listagem pelo _id.
+import org.springframework.http.MediaType; // Importa o tipo de conteúdo das respostas em fluxo (NDJSON).
+import org.springframework.http.ResponseEntity; // Representa a resposta HTTP completa (status, cabeçalhos, corpo).
+import org.springframework.web.bind.annotation.*; // Importa as anotações do Spring para web.
+import reactor.core.publisher.Flux; // Importa o Flux, o fluxo reativo de 0..N elementos.
+import reactor.core.publisher.Mono; // Importa o Mono, o resultado reativo de 0..1 elemento.
+
+/**
+ * Controller da API reativa (somente leitura) para a entidade Curriculo.
+ *
+ * As listagens devolvem um Flux ligado diretamente ao cursor do driver reativo do MongoDB, sempre em NDJSON
+ * (application/x-ndjson, um documento por linha). Cada documento é enviado ao cliente assim que chega do banco, e o
+ * próximo só é pedido ao driver depois que o anterior foi escrito no socket (backpressure). Um array JSON
+ * (application/json) não é oferecido: para escrevê-lo, o Spring MVC juntaria o Flux inteiro em uma lista na memória
+ * antes de responder.
+ *
+ * As escritas continuam na API /api/curriculos, que cuida do cache, das versões e dos ETags.
+ */
+@RestController
+@RequestMapping("/api/v2/curriculos")
+@CrossOrigin(origins = "*")
+public class CurriculoReativoController {
+
+    // Repositório reativo de 'Curriculo', "injetado" pelo Spring.
+    private final CurriculoReativoRepository curriculoRepository;
+
+    /**
+     * Construtor do CurriculoReativoController.
+     * @param curriculoRepository O repositório reativo gerenciado pelo Spring.
+     */
+    public CurriculoReativoController(CurriculoReativoRepository curriculoRepository) {
+        this.curriculoRepository = curriculoRepository;
+    }
+
+    /**
+     * Método para listar todos os currículos, em fluxo.
+     * Responde a requisições HTTP GET para "/api/v2/curriculos".
+     * @return Um Flux com os currículos, ordenados pelo ID.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Curriculo> listarCurriculos() {
+        return curriculoRepository.findAll(Sort.by("id"));
+    }
+
+    /**
+     * Método para buscar os currículos de um curso, em fluxo.
+     * Responde a requisições HTTP GET para "/api/v2/curriculos/filtro?cursoId=...".
+     * @param cursoId O ID do curso.
+     * @param limit A quantidade máxima de documentos devolvidos (opcional, padrão 100, máximo 1000, como na API /api).
+     * @return Um Flux com os currículos encontrados.
+     */
+    @GetMapping(value = "/filtro", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Curriculo> filtrarCurriculos(@RequestParam String cursoId,
+                                     @RequestParam(required = false) Integer limit) {
+        return curriculoRepository.findByCursoId(cursoId, LimiteFiltro.de(limit));
+    }
+
+    /**
+     * Método para buscar um currículo pelo ID.
+     * Responde a requisições HTTP GET para "/api/v2/curriculos/{id}".
+     * @param id O ID, extraído da URL.
+     * @return Um Mono com a resposta: 200 (OK) com o documento, ou 404 (Not Found) se o ID não existir.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Curriculo>> buscarCurriculoPorId(@PathVariable String id) {
+        return curriculoRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,63 @@
+// Define o pacote onde esta classe está localizada. O subpacote 'v2' reúne os controllers da API reativa (/api/v2).
+package com.exemplo.crudmongo.controller.v2;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Curso; // Importa o modelo de dados 'Curso', o mesmo usado pela API /api.
+import com.exemplo.crudmongo.repository.reativo.CursoReativoRepository; // Importa o repositório reativo de 'Curso'.
+import org.springframework.data.domain.Sort; // Importa a classe Sort para ordenar a listagem pelo _id.
+import org.springframework.http.MediaType; // Importa o tipo de conteúdo das respostas em fluxo (NDJSON).
+import org.springframework.http.ResponseEntity; // Representa a resposta HTTP completa (status, cabeçalhos, corpo).
+import org.springframework.web.bind.annotation.*; // Importa as anotações do Spring para web.
+import reactor.core.publisher.Flux; // Importa o Flux, o fluxo reativo de 0..N elementos.
+import reactor.core.publisher.Mono; // Importa o Mono, o resultado reativo de 0..1 elemento.
+
+/**
+ * Controller da API reativa (somente leitura) para a entidade Curso.
+ *
+ * As listagens devolvem um Flux ligado diretamente ao cursor do driver reativo do MongoDB, sempre em NDJSON
+ * (application/x-ndjson, um documento por linha). Cada documento é enviado ao cliente assim que chega do banco, e o
+ * próximo só é pedido ao driver depois que o anterior foi escrito no socket (backpressure). Um array JSON
+ * (application/json) não é oferecido: para escrevê-lo, o Spring MVC juntaria o Flux inteiro em uma lista na memória
+ * antes de responder.
+ *
+ * As escritas continuam na API /api/cursos, que cuida do cache, das versões e dos ETags.
+ */
+@RestController
+@RequestMapping("/api/v2/cursos")
+@CrossOrigin(origins = "*")
+public class CursoReativoController {
+
+    // Repositório reativo de 'Curso', "injetado" pelo Spring.
+    private final CursoReativoRepository cursoRepository;
+
+    /**
+     * Construtor do CursoReativoController.
+     * @param cursoRepository O repositório reativo gerenciado pelo Spring.
+     */
+    public CursoReativoController(CursoReativoRepository cursoRepository) {
+        this.cursoRepository = cursoRepository;
+    }
+
+    /**
+     * Método para listar todos os cursos, em fluxo.
+     * Responde a requisições HTTP GET para "/api/v2/cursos".
+     * @return Um Flux com os cursos, ordenados pelo ID.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Curso> listarCursos() {
+        return cursoRepository.findAll(Sort.by("id"));
+    }
+
+    /**
+     * Método para buscar um curso pelo ID.
+     * Responde a requisições HTTP GET para "/api/v2/cursos/{id}".
+     * @param id O ID, extraído da URL.
+     * @return Um Mono com a resposta: 200 (OK) com o documento, ou 404 (Not Found) se o ID não existir.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Curso>> buscarCursoPorId(@PathVariable String id) {
+        return cursoRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+// Define o pacote onde esta classe está localizada. O subpacote 'v2' reúne os controllers da API reativa (/api/v2).
+package com.exemplo.crudmongo.controller.v2;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Turma; // Importa o modelo de dados 'Turma', o mesmo usado pela API /api.
+import com.exemplo.crudmongo.repository.reativo.TurmaReativoRepository; // Importa o repositório reativo de 'Turma'.
+import com.exemplo.crudmongo.repository.LimiteFiltro; // Importa o padrão e o máximo de resultados dos filtros.
+import org.springframework.data.domain.Sort; // Importa a classe Sort para ordenar a listagem pelo _id.
+import org.springframework.http.MediaType; // Importa o tipo de conteúdo das respostas em fluxo (NDJSON).
+import org.springframework.http.ResponseEntity; // Representa a resposta HTTP completa (status, cabeçalhos, corpo).
+import org.springframework.web.bind.annotation.*; // Importa as anotações do Spring para web.
+import reactor.core.publisher.Flux; // Importa o Flux, o fluxo reativo de 0..N elementos.
+import reactor.core.publisher.Mono; // Importa o Mono, o resultado reativo de 0..1 elemento.
+
+/**
+ * Controller da API reativa (somente leitura) para a entidade Turma.
+ *
+ * As listagens devolvem um Flux ligado diretamente ao cursor do driver reativo do MongoDB, sempre em NDJSON
+ * (application/x-ndjson, um documento por linha). Cada documento é enviado ao cliente assim que chega do banco, e o
+ * próximo só é pedido ao driver depois que o anterior foi escrito no socket (backpressure). Um array JSON
+ * (application/json) não é oferecido: para escrevê-lo, o Spring MVC juntaria o Flux inteiro em uma lista na memória
+ * antes de responder.
+ *
+ * As escritas continuam na API /api/turmas, que cuida do cache, das versões e dos ETags.
+ */
+@RestController
+@RequestMapping("/api/v2/turmas")
+@CrossOrigin(origins = "*")
+public class TurmaReativoController {
+
+    // Repositório reativo de 'Turma', "injetado" pelo Spring.
+    private final TurmaReativoRepository turmaRepository;
+
+    /**
+     * Construtor do TurmaReativoController.
+     * @param turmaRepository O repositório reativo gerenciado pelo Spring.
+     */
+    public TurmaReativoController(TurmaReativoRepository turmaRepository) {
+        this.turmaRepository = turmaRepository;
+    }
+
+    /**
+     * Método para listar todas as turmas, em fluxo.
+     * Responde a requisições HTTP GET para "/api/v2/turmas".
+     * @return Um Flux com as turmas, ordenadas pelo ID.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Turma> listarTurmas() {
+        return turmaRepository.findAll(Sort.by("id"));
+    }
+
+    /**
+     * Método para buscar as turmas de uma disciplina, em fluxo.
+     * Responde a requisições HTTP GET para "/api/v2/turmas/filtro?disciplinaId=...".
+     * @param disciplinaId O ID da disciplina.
+     * @param limit A quantidade máxima de documentos devolvidos (opcional, padrão 100, máximo 1000, como na API /api).
+     * @return Um Flux com as turmas encontradas.
+     */
+    @GetMapping(value = "/filtro", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Turma> filtrarTurmas(@RequestParam String disciplinaId,
+                                     @RequestParam(required = false) Integer limit) {
+        return turmaRepository.findByDisciplinaId(disciplinaId, LimiteFiltro.de(limit));
+    }
+
+    /**
+     * Método para buscar uma turma pelo ID.
+     * Responde a requisições HTTP GET para "/api/v2/turmas/{id}".
+     * @param id O ID, extraído da URL.
+     * @return Um Mono com a resposta: 200 (OK) com o documento, ou 404 (Not Found) se o ID não existir.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Turma>> buscarTurmaPorId(@PathVariable String id) {
+        return turmaRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,44 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de classes e bibliotecas necessárias.
+import com.exemplo.crudmongo.Model.Curso; // Importa o modelo de dados 'Curso', incluído quando a expansão do curso é pedida.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+import java.util.List; // Importa a interface 'List' para armazenar as disciplinas.
+
+/**
+ * Representa um currículo com as referências já resolvidas: no lugar dos IDs das disciplinas,
+ * vêm os resumos das disciplinas (e, opcionalmente, o curso completo).
+ * Assim, o frontend monta a tela do currículo com uma única requisição.
+ */
+@Data
+public class CurriculoExpandido {
+
+    // ID do currículo.
+    private String id;
+
+    // ID do curso ao qual o currículo pertence.
+    private String cursoId;
+
+    // O curso do currículo. Só é preenchido quando a expansão do curso é pedida (expandirCurso=true).
+    private Curso curso;
+
+    // Ano de vigência do currículo.
+    private Integer ano;
+
+    // Semestre de vigência do currículo.
+    private Integer semestre;
+
+    // Disciplinas obrigatórias, na mesma ordem em que aparecem no currículo.
+    private List<DisciplinaResumo> disciplinasObrigatorias;
+
+    // Disciplinas optativas, na mesma ordem em que aparecem no currículo.
+    private List<DisciplinaResumo> disciplinasOptativas;
+
+    // IDs referenciados pelo currículo que não existem mais na coleção de disciplinas.
+    private List<String> disciplinasNaoEncontradas;
+
+    // Versão do documento do currículo.
+    private Long versao;
+}
@@ -0,0 +1,28 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+import org.springframework.data.mongodb.core.mapping.TextScore; // Importa a anotação que recebe a relevância calculada pela busca textual.
+
+/**
+ * Resultado da busca textual de disciplinas (GET /api/disciplinas/busca).
+ * Traz apenas os campos necessários para listar os resultados: a ementa, que é o campo mais pesado,
+ * não é lida do banco.
+ */
+@Data
+public class DisciplinaEncontrada {
+
+    // ID da disciplina.
+    private String id;
+
+    // Nome da disciplina.
+    private String nome;
+
+    // Carga horária total da disciplina, em horas.
+    private Integer cargaHoraria;
+
+    // Relevância do resultado calculada pelo MongoDB (quanto maior, mais relevante).
+    @TextScore
+    private Float relevancia;
+}
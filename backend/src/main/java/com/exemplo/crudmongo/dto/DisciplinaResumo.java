@@ -0,0 +1,25 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.AllArgsConstructor; // Importa a anotação @AllArgsConstructor do Lombok, que gera um construtor com todos os campos.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+/**
+ * Resumo de uma disciplina, com apenas os campos necessários para exibi-la dentro de um currículo.
+ * Também é usado como projeção no DisciplinaRepository: o Spring Data lê do banco somente os campos
+ * desta classe (a ementa, que é o campo mais pesado, fica de fora).
+ */
+@Data
+@AllArgsConstructor
+public class DisciplinaResumo {
+
+    // ID da disciplina.
+    private String id;
+
+    // Nome da disciplina (ex: "Cálculo I").
+    private String nome;
+
+    // Carga horária total da disciplina, em horas.
+    private Integer cargaHoraria;
+}
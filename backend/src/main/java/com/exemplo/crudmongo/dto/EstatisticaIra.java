@@ -0,0 +1,40 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+import java.time.Instant; // Importa a classe que representa um instante no tempo (UTC).
+
+/**
+ * Estatísticas do IRA dos alunos de um grupo (um curso ou um período de ingresso),
+ * calculadas no MongoDB por um pipeline de agregação (ver EstatisticasIra).
+ */
+@Data
+public class EstatisticaIra {
+
+    // O ID do grupo (cursoId ou periodoIngressoId). Nulo para os alunos sem curso/período informado.
+    private String grupo;
+
+    // Quantidade de alunos do grupo com IRA informado.
+    private long quantidade;
+
+    // Média do IRA.
+    private Double media;
+
+    // Menor e maior IRA.
+    private Double minimo;
+    private Double maximo;
+
+    // Desvio padrão do IRA (populacional).
+    private Double desvioPadrao;
+
+    // Percentis 25, 50 (mediana), 75 e 90 do IRA.
+    private Double p25;
+    private Double mediana;
+    private Double p75;
+    private Double p90;
+
+    // Momento do cálculo. Preenchido apenas nas estatísticas lidas da coleção de resumo (materializado=true).
+    private Instant atualizadoEm;
+}
@@ -0,0 +1,25 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.AllArgsConstructor; // Importa a anotação @AllArgsConstructor do Lombok, que gera um construtor com todos os campos.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+/**
+ * Uma faixa da distribuição do IRA (resultado do estágio $bucket).
+ * A faixa vai de 'inicio' (incluído) até 'fim' (não incluído, exceto na última faixa, que inclui o 'fim').
+ * Os alunos com IRA fora de todas as faixas são contados em uma faixa sem início e sem fim.
+ */
+@Data
+@AllArgsConstructor
+public class FaixaIra {
+
+    // Limite inferior da faixa.
+    private Double inicio;
+
+    // Limite superior da faixa.
+    private Double fim;
+
+    // Quantidade de alunos com IRA dentro da faixa.
+    private long quantidade;
+}
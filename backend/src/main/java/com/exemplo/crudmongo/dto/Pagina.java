@@ -0,0 +1,43 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.AllArgsConstructor; // Importa a anotação @AllArgsConstructor do Lombok, que gera um construtor com todos os campos.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+import java.util.List; // Importa a interface 'List' para armazenar os itens da página.
+import java.util.function.Function; // Importa a interface funcional usada para transformar os itens da página.
+
+/**
+ * Representa uma página de resultados obtida com paginação por cursor (keyset).
+ * Em vez de usar números de página (que obrigam o banco a pular N documentos),
+ * cada página devolve um cursor opaco que aponta para o último item entregue.
+ * A próxima página é buscada a partir desse ponto, então o custo é o mesmo não importa a profundidade.
+ *
+ * @param <T> O tipo dos itens da página (ex: Aluno, Curso...).
+ */
+@Data
+@AllArgsConstructor
+public class Pagina<T> {
+
+    // Os itens desta página, já na ordem solicitada.
+    private List<T> itens;
+
+    // Cursor a ser enviado no parâmetro 'after' para buscar a próxima página.
+    // Fica nulo quando não existem mais itens.
+    private String proximoCursor;
+
+    // Quantidade máxima de itens que foi usada para montar esta página.
+    private int limite;
+
+    /**
+     * Cria uma nova página com os mesmos metadados, mas com os itens transformados.
+     * Útil no controller para converter as entidades em outra representação sem perder o cursor.
+     * @param funcao A função aplicada a cada item.
+     * @return Uma nova Pagina com os itens convertidos.
+     */
+    public <R> Pagina<R> mapear(Function<? super T, ? extends R> funcao) {
+        List<R> convertidos = itens.stream().<R>map(funcao).toList();
+        return new Pagina<>(convertidos, proximoCursor, limite);
+    }
+}
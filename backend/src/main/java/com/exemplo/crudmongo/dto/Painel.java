@@ -0,0 +1,61 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção, para que as seções saiam sempre na mesma ordem.
+import java.util.List; // Importa a interface 'List' para os itens recentes de cada coleção.
+import java.util.Map; // Importa a interface Map, que guarda as seções pelo nome da coleção.
+
+/**
+ * Resposta do endpoint GET /api/dashboard: a contagem e os itens mais recentes de cada coleção.
+ * Cada coleção é consultada em paralelo. Se alguma consulta falhar ou passar do tempo limite,
+ * a seção dela vem com o campo 'erro' preenchido e as demais seções são devolvidas normalmente.
+ */
+@Data
+public class Painel {
+
+    // Indica se todas as seções foram preenchidas (nenhuma falhou ou passou do tempo limite).
+    private boolean completo = true;
+
+    // Tempo total da montagem do painel, em milissegundos.
+    private long tempoMs;
+
+    // As seções do painel, pelo nome da coleção (alunos, cursos, disciplinas, turmas, curriculos).
+    private Map<String, Secao> secoes = new LinkedHashMap<>();
+
+    /**
+     * Adiciona uma seção ao painel.
+     * @param nome O nome da coleção.
+     * @param secao A seção.
+     */
+    public void adicionar(String nome, Secao secao) {
+        secoes.put(nome, secao);
+        if (secao.getErro() != null) {
+            completo = false;
+        }
+    }
+
+    /**
+     * Dados de uma coleção no painel.
+     */
+    @Data
+    public static class Secao {
+
+        // Quantidade de documentos da coleção.
+        private Long total;
+
+        // Indica se o total é uma estimativa (lida dos metadados da coleção, sem percorrer os documentos).
+        private boolean totalEstimado;
+
+        // Os documentos inseridos mais recentemente.
+        private List<?> recentes;
+
+        // Motivo de a seção não ter sido preenchida (falha ou tempo esgotado). Nulo quando deu tudo certo.
+        private String erro;
+
+        // Tempo da consulta da seção, em milissegundos.
+        private long tempoMs;
+    }
+}
@@ -0,0 +1,26 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.AllArgsConstructor; // Importa a anotação @AllArgsConstructor do Lombok, que gera um construtor com todos os campos.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+/**
+ * Uma posição do ranking de IRA de um curso (endpoint GET /api/alunos/ranking).
+ */
+@Data
+@AllArgsConstructor
+public class PosicaoRanking {
+
+    // Posição no ranking (começando em 1).
+    private int posicao;
+
+    // ID do aluno.
+    private String id;
+
+    // Nome do aluno.
+    private String nome;
+
+    // IRA do aluno.
+    private Double ira;
+}
@@ -0,0 +1,74 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.AllArgsConstructor; // Importa a anotação @AllArgsConstructor do Lombok, que gera um construtor com todos os campos.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+import java.util.ArrayList; // Importa a implementação de lista usada para acumular os resultados.
+import java.util.List; // Importa a interface 'List' para armazenar o resultado de cada item.
+
+/**
+ * Resumo de uma gravação em lote (endpoints POST /api/{entidade}/batch).
+ * Traz os totais e o resultado de cada item enviado, na mesma ordem do array da requisição.
+ */
+@Data
+public class ResultadoLote {
+
+    // Resultados possíveis de cada item.
+    public static final String INSERIDO = "inserido";
+    public static final String ATUALIZADO = "atualizado";
+    public static final String FALHA = "falha";
+
+    // Quantidade de itens lidos do corpo da requisição.
+    private int total;
+
+    // Quantidade de documentos novos gravados.
+    private int inseridos;
+
+    // Quantidade de documentos existentes que foram substituídos.
+    private int atualizados;
+
+    // Quantidade de itens que não foram gravados.
+    private int falhas;
+
+    // Erro que interrompeu a leitura do corpo (ex: JSON malformado). Os itens anteriores a ele já foram gravados.
+    private String erro;
+
+    // O resultado de cada item, na ordem do array enviado.
+    private List<Item> itens = new ArrayList<>();
+
+    /**
+     * Registra o resultado de um item e atualiza os totais.
+     * @param item O resultado do item.
+     */
+    public void adicionar(Item item) {
+        itens.add(item);
+        total++;
+        switch (item.getResultado()) {
+            case INSERIDO -> inseridos++;
+            case ATUALIZADO -> atualizados++;
+            default -> falhas++;
+        }
+    }
+
+    /**
+     * Resultado da gravação de um item do lote.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+
+        // Posição do item no array da requisição (começando em 0).
+        private int indice;
+
+        // ID do documento gravado (gerado pelo servidor quando o item não tinha ID).
+        private String id;
+
+        // "inserido", "atualizado" ou "falha".
+        private String resultado;
+
+        // Motivo da falha (nulo quando o item foi gravado).
+        private String erro;
+    }
+}
@@ -0,0 +1,23 @@
+// Define o pacote onde esta classe está localizada. DTOs (Data Transfer Objects) são objetos usados apenas para transportar dados nas respostas da API.
+package com.exemplo.crudmongo.dto;
+
+// Importações de bibliotecas externas que adicionam funcionalidades à nossa classe.
+import lombok.AllArgsConstructor; // Importa a anotação @AllArgsConstructor do Lombok, que gera um construtor com todos os campos.
+import lombok.Data; // Importa a anotação @Data do Lombok para gerar getters, setters, toString, equals e hashCode.
+
+/**
+ * Uma sugestão do autocompletar de alunos (endpoint GET /api/alunos/autocomplete).
+ */
+@Data
+@AllArgsConstructor
+public class SugestaoAluno {
+
+    // ID do aluno.
+    private String id;
+
+    // Nome do aluno, como está gravado.
+    private String nome;
+
+    // ID do curso do aluno, para ajudar a distinguir alunos com o mesmo nome.
+    private String cursoId;
+}
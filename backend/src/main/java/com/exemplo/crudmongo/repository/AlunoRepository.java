@@ -3,9 +3,12 @@ package com.exemplo.crudmongo.repository;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno' para que o repositório saiba com qual tipo de entidade ele está trabalhando.
+import org.springframework.data.domain.Limit; // Importa a classe Limit, que limita a quantidade de resultados de uma consulta.
 import org.springframework.data.mongodb.repository.MongoRepository; // Importa a interface principal do Spring Data MongoDB.
 import org.springframework.stereotype.Repository; // Importa a anotação @Repository, que marca a interface como um componente de persistência do Spring.
 
+import java.util.List; // Importa a interface para trabalhar com listas.
+
 /**
  * A anotação @Repository indica ao Spring que esta interface é um "Repositório",
  * um componente responsável pelo acesso e manipulação de dados.
@@ -24,7 +27,6 @@ import org.springframework.stereotype.Repository; // Importa a anotação @Repos
  */
 public interface AlunoRepository extends MongoRepository<Aluno, String> {
 
-    // A interface está vazia, mas já é extremamente poderosa!
     // Métodos herdados do MongoRepository incluem:
     // - save(Aluno aluno): Salva ou atualiza um aluno.
     // - findById(String id): Busca um aluno pelo seu ID.
@@ -33,10 +35,14 @@ public interface AlunoRepository extends MongoRepository<Aluno, String> {
     // - count(): Conta quantos alunos existem.
     // - e muitos outros...
 
-    // Você pode adicionar métodos de consulta customizados aqui se precisar no futuro.
-    // O Spring Data MongoDB criará a consulta automaticamente com base no nome do método.
-    // Exemplos:
-    // List<Aluno> findByNomeContainingIgnoreCase(String nome); // Encontraria alunos cujo nome contém o texto fornecido, ignorando maiúsculas/minúsculas.
-    // List<Aluno> findByCursoId(String cursoId); // Encontraria todos os alunos de um determinado curso.
-    // List<Aluno> findByIraGreaterThan(Double ira); // Encontraria todos os alunos com IRA maior que o valor fornecido.
+    // Métodos de consulta customizados. O Spring Data MongoDB cria a consulta automaticamente com base no nome do método.
+    // Todos usam o índice composto (cursoId, ira) criado em IndicesMongo: o cursoId fixa o início do índice
+    // e o IRA já está ordenado dentro dele, então nem o filtro nem a ordenação precisam ler a coleção inteira.
+    // O parâmetro Limit limita a quantidade de documentos devolvidos.
+
+    // Encontra os alunos de um curso, do maior para o menor IRA.
+    List<Aluno> findByCursoIdOrderByIraDesc(String cursoId, Limit limite);
+
+    // Encontra os alunos de um curso com IRA maior ou igual ao valor fornecido, do maior para o menor IRA.
+    List<Aluno> findByCursoIdAndIraGreaterThanEqualOrderByIraDesc(String cursoId, Double iraMinimo, Limit limite);
 }
\ No newline at end of file
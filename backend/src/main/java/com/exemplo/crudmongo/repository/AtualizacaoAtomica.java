@@ -0,0 +1,166 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes e anotações necessárias.
+import com.fasterxml.jackson.databind.JavaType; // Importa a representação de tipos do Jackson, usada para converter os valores do PATCH.
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa o ObjectMapper do Spring, para converter os valores como no corpo de um PUT.
+import org.bson.Document; // Importa a classe Document, que representa o filtro já convertido para o formato do banco.
+import org.springframework.dao.OptimisticLockingFailureException; // Importa a exceção lançada quando a versão esperada não é a atual.
+import org.springframework.data.annotation.LastModifiedDate; // Importa a anotação da data da última alteração.
+import org.springframework.data.mongodb.core.FindAndModifyOptions; // Importa as opções do findAndModify (devolver o documento já alterado).
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que executa as operações atômicas.
+import org.springframework.data.mongodb.core.convert.QueryMapper; // Importa o conversor de filtros (nomes dos campos e tipos do id).
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity; // Importa os metadados de mapeamento de uma entidade.
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty; // Importa os metadados de mapeamento de um campo.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria para montar o filtro pelo id.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta ao MongoDB.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que representa os operadores de alteração ($set, $inc...).
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.util.List; // Importa a interface List, usada para gravar listas vazias no lugar de nulas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
+import java.util.Optional; // Importa a classe Optional para representar um resultado que pode não existir.
+
+/**
+ * Componente com as escritas que resolvem tudo em uma única ida ao banco.
+ *
+ * Em vez de buscar o documento, alterá-lo na memória e salvá-lo de novo (duas idas ao banco e o documento inteiro
+ * reescrito), as alterações são enviadas como operadores ($set, $inc, $currentDate) em um findAndModify, que o MongoDB
+ * aplica de forma atômica e devolve o documento já alterado. A exclusão usa um único deleteOne, e a quantidade
+ * de documentos removidos indica se o id existia.
+ *
+ * Todas as operações aceitam as versões esperadas do documento (vindas do cabeçalho If-Match, que pode listar mais de
+ * um ETag). Elas entram no próprio filtro da operação ({ _id, versao: { $in: [...] } }), então a verificação e a alteração acontecem juntas, sem bloquear o documento:
+ * se outra requisição alterou o documento antes, o filtro não encontra nada e a operação é recusada (controle de
+ * concorrência otimista). Só nesse caso é feita uma segunda consulta, para diferenciar "versão antiga" de "id inexistente".
+ */
+@Component
+public class AtualizacaoAtomica {
+
+    // O MongoTemplate é usado para executar as operações.
+    private final MongoTemplate mongoTemplate;
+
+    // O ObjectMapper do Spring, usado para converter os valores recebidos no PATCH para o tipo de cada campo.
+    private final ObjectMapper objectMapper;
+
+    // Converte os filtros para os nomes e tipos gravados no banco (usado no deleteOne).
+    private final QueryMapper queryMapper;
+
+    /**
+     * Construtor da classe AtualizacaoAtomica.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     * @param objectMapper O ObjectMapper fornecido pelo Spring.
+     */
+    public AtualizacaoAtomica(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    /**
+     * Aplica as alterações ao documento com o id informado, em uma única operação atômica.
+     * Além das alterações pedidas, a versão do documento é incrementada e a data da última alteração é atualizada.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param id O id do documento.
+     * @param versoesEsperadas As versões aceitas pelo cliente (If-Match), ou nulo para alterar qualquer que seja a versão atual.
+     * @param update As alterações a serem aplicadas (normalmente $set dos campos).
+     * @return Um Optional com o documento já alterado, ou vazio se o id não existir.
+     * @throws OptimisticLockingFailureException se o documento existir, mas a versão atual não for a esperada.
+     */
+    public <T> Optional<T> atualizar(Class<T> tipo, String id, List<Long> versoesEsperadas, Update update) {
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(tipo);
+        if (entidade.hasVersionProperty()) {
+            update.inc(entidade.getRequiredVersionProperty().getFieldName(), 1L);
+        }
+        for (MongoPersistentProperty propriedade : entidade) {
+            if (propriedade.isAnnotationPresent(LastModifiedDate.class)) {
+                update.currentDate(propriedade.getFieldName());
+            }
+        }
+        T alterado = mongoTemplate.findAndModify(
+                filtro(entidade, id, versoesEsperadas),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                tipo);
+        if (alterado == null) {
+            verificarConflito(tipo, id, versoesEsperadas);
+        }
+        return Optional.ofNullable(alterado);
+    }
+
+    /**
+     * Aplica uma atualização parcial (PATCH): só os campos enviados são alterados.
+     * Os valores são convertidos para o tipo de cada campo da entidade, do mesmo jeito que no corpo de um PUT.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param id O id do documento.
+     * @param versoesEsperadas As versões aceitas pelo cliente (If-Match), ou nulo para alterar qualquer que seja a versão atual.
+     * @param campos Os campos a serem alterados e seus novos valores (ex: { "ira": 8.7 }).
+     * @return Um Optional com o documento já alterado, ou vazio se o id não existir.
+     * @throws IllegalArgumentException se nenhum campo for enviado, se algum campo não existir na entidade,
+     *         se for um campo controlado pelo servidor (id, versão, data de alteração) ou se o valor for de tipo incompatível.
+     * @throws OptimisticLockingFailureException se o documento existir, mas a versão atual não for a esperada.
+     */
+    public <T> Optional<T> atualizarCampos(Class<T> tipo, String id, List<Long> versoesEsperadas, Map<String, Object> campos) {
+        if (campos == null || campos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum campo informado para alteração");
+        }
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(tipo);
+        Update update = new Update();
+        campos.forEach((nome, valor) -> {
+            MongoPersistentProperty propriedade = entidade.getPersistentProperty(nome);
+            if (propriedade == null) {
+                throw new IllegalArgumentException("Campo inexistente em " + tipo.getSimpleName() + ": " + nome);
+            }
+            if (propriedade.isIdProperty() || propriedade.isVersionProperty() || propriedade.isAnnotationPresent(LastModifiedDate.class)) {
+                throw new IllegalArgumentException("O campo " + nome + " é controlado pelo servidor e não pode ser alterado");
+            }
+            JavaType tipoDoCampo = objectMapper.getTypeFactory().constructType(propriedade.getField().getGenericType());
+            Object convertido = objectMapper.convertValue(valor, tipoDoCampo);
+            // Listas enviadas como null são gravadas vazias: operadores como $addToSet e $pullAll falham em um campo nulo.
+            update.set(propriedade.getFieldName(), convertido == null && propriedade.isCollectionLike() ? List.of() : convertido);
+        });
+        return atualizar(tipo, id, versoesEsperadas, update);
+    }
+
+    /**
+     * Remove o documento com o id informado com um único deleteOne.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param id O id do documento.
+     * @param versoesEsperadas As versões aceitas pelo cliente (If-Match), ou nulo para excluir qualquer que seja a versão atual.
+     * @return true se o documento existia e foi removido, false se o id não existir.
+     * @throws OptimisticLockingFailureException se o documento existir, mas a versão atual não for a esperada.
+     */
+    public boolean excluir(Class<?> tipo, String id, List<Long> versoesEsperadas) {
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(tipo);
+        // O MongoTemplate.remove() enviaria um deleteMany; aqui o filtro é convertido para os nomes e tipos do banco
+        // (ex: id -> _id como ObjectId) e enviado direto à coleção como deleteOne.
+        Document filtro = queryMapper.getMappedObject(filtro(entidade, id, versoesEsperadas).getQueryObject(), entidade);
+        if (mongoTemplate.getCollection(entidade.getCollection()).deleteOne(filtro).getDeletedCount() > 0) {
+            return true;
+        }
+        verificarConflito(tipo, id, versoesEsperadas);
+        return false;
+    }
+
+    /**
+     * Monta o filtro da operação: o id e, se informadas, as versões esperadas (uma lista vazia não encontra nenhum documento).
+     */
+    private static Query filtro(MongoPersistentEntity<?> entidade, String id, List<Long> versoesEsperadas) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (versoesEsperadas != null && entidade.hasVersionProperty()) {
+            criteria = criteria.and(entidade.getRequiredVersionProperty().getName()).in(versoesEsperadas);
+        }
+        return new Query(criteria);
+    }
+
+    /**
+     * Chamado quando a operação não encontrou o documento. Se havia versões esperadas e o id existe,
+     * o documento foi alterado por outra requisição depois que o cliente o leu.
+     */
+    private void verificarConflito(Class<?> tipo, String id, List<Long> versoesEsperadas) {
+        if (versoesEsperadas != null && mongoTemplate.exists(new Query(Criteria.where("id").is(id)), tipo)) {
+            throw new OptimisticLockingFailureException(
+                    tipo.getSimpleName() + " " + id + " foi alterado por outra requisição (versões esperadas: " + versoesEsperadas + ")");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.data.domain.Sort; // Importa a classe Sort, usada no desempate dos resultados.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que executa a consulta textual.
+import org.springframework.data.mongodb.core.query.TextCriteria; // Importa o critério de busca textual ($text).
+import org.springframework.data.mongodb.core.mapping.TextScore; // Importa a anotação do campo que recebe a relevância.
+import org.springframework.data.mongodb.core.query.TextQuery; // Importa a consulta textual, que pode ordenar pela relevância.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.lang.reflect.Field; // Importa a classe que representa um campo, usada para montar a projeção.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Componente responsável pelas buscas textuais ($text) sobre os índices de texto criados em IndicesMongo.
+ *
+ * O MongoDB aplica as regras do idioma português aos termos: radicais (ex: "algoritmos" encontra "algoritmo")
+ * e palavras vazias ("de", "para"...) ignoradas. Os resultados vêm do mais relevante para o menos relevante.
+ *
+ * A relevância não pode ser usada em um filtro de intervalo, então aqui não há paginação por chave (ver PaginacaoKeyset):
+ * o cursor guarda quantos resultados já foram entregues. Por isso a profundidade da busca é limitada
+ * (propriedade 'crudmongo.busca.resultados-maximos', padrão 1000).
+ */
+@Component
+public class BuscaTextual {
+
+    // Idioma padrão do índice de texto. As buscas não repetem o idioma: o MongoDB usa o do índice.
+    public static final String IDIOMA = "portuguese";
+
+    // Quantidade de itens usada quando o cliente não informa o parâmetro 'limit'.
+    public static final int LIMITE_PADRAO = 20;
+
+    // Maior quantidade de itens aceita em uma única página.
+    public static final int LIMITE_MAXIMO = 100;
+
+    // O MongoTemplate é usado para executar a consulta.
+    private final MongoTemplate mongoTemplate;
+
+    // Posição máxima que uma busca pode alcançar, somando todas as páginas.
+    private final int resultadosMaximos;
+
+    /**
+     * Construtor da classe BuscaTextual.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     * @param resultadosMaximos Propriedade 'crudmongo.busca.resultados-maximos'.
+     */
+    public BuscaTextual(MongoTemplate mongoTemplate,
+                        @Value("${crudmongo.busca.resultados-maximos:1000}") int resultadosMaximos) {
+        this.mongoTemplate = mongoTemplate;
+        this.resultadosMaximos = resultadosMaximos;
+    }
+
+    /**
+     * Busca uma página de resultados.
+     * @param tipo A classe da entidade pesquisada (ex: Disciplina.class), que define a coleção.
+     * @param resultado A classe do resultado. Só os campos dela são lidos do banco; um campo anotado com
+     *                  @TextScore recebe a relevância.
+     * @param termos Os termos da busca. Aceita frases entre aspas e termos excluídos com '-' (sintaxe do $text).
+     * @param limite A quantidade de itens desejada.
+     * @param cursor O cursor devolvido pela página anterior, ou nulo para a primeira página.
+     * @return Uma Pagina com os resultados, do mais relevante para o menos relevante.
+     * @throws IllegalArgumentException se os termos estiverem vazios ou o cursor for inválido.
+     */
+    public <T> Pagina<T> buscar(Class<?> tipo, Class<T> resultado, String termos, Integer limite, String cursor) {
+        if (termos == null || termos.isBlank()) {
+            throw new IllegalArgumentException("Informe os termos da busca");
+        }
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        int inicio = decodificar(cursor);
+        tamanho = Math.min(tamanho, resultadosMaximos - inicio);
+        if (tamanho <= 0) {
+            return new Pagina<>(List.of(), null, 0);
+        }
+
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(termos));
+        // Lê só os campos do resultado; o campo anotado com @TextScore recebe a relevância ({ $meta: "textScore" }).
+        for (Field campo : resultado.getDeclaredFields()) {
+            if (campo.isAnnotationPresent(TextScore.class)) {
+                query.includeScore(campo.getName());
+            } else {
+                query.fields().include(campo.getName());
+            }
+        }
+        query.sortByScore()
+                // O _id desempata resultados com a mesma relevância, para que as páginas não se repitam.
+                .with(Sort.by("id"))
+                .skip(inicio)
+                // Pedimos um item a mais só para saber se existe uma próxima página.
+                .limit(tamanho + 1);
+        List<T> itens = mongoTemplate.find(query, resultado, mongoTemplate.getCollectionName(tipo));
+
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens = itens.subList(0, tamanho);
+            proximoCursor = Integer.toString(inicio + tamanho);
+        }
+        return new Pagina<>(itens, proximoCursor, tamanho);
+    }
+
+    /**
+     * Converte o cursor (a quantidade de resultados já entregues) em número.
+     */
+    private int decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int inicio = Integer.parseInt(cursor);
+            if (inicio < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return inicio;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
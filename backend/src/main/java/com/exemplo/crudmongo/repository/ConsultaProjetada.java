@@ -0,0 +1,57 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes e anotações necessárias.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que permite consultas com projeção.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria para montar os filtros da consulta.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta ao MongoDB.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Optional; // Importa a classe Optional para representar um resultado que pode não existir.
+
+/**
+ * Componente com as consultas de leitura que aceitam uma Projecao (parâmetro 'fields').
+ * Os métodos do MongoRepository sempre trazem o documento inteiro; aqui a projeção é enviada ao MongoDB,
+ * então o banco só lê e transmite os campos pedidos.
+ */
+@Component
+public class ConsultaProjetada {
+
+    // O MongoTemplate é usado para executar as consultas com projeção.
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Construtor da classe ConsultaProjetada.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     */
+    public ConsultaProjetada(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Lista todos os documentos da coleção, trazendo apenas os campos da projeção.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param projecao Os campos a serem lidos.
+     * @return Uma lista de entidades, preenchidas apenas nos campos projetados.
+     */
+    public <T> List<T> listar(Class<T> tipo, Projecao projecao) {
+        Query query = new Query();
+        projecao.aplicar(query);
+        return mongoTemplate.find(query, tipo);
+    }
+
+    /**
+     * Busca um documento pelo id, trazendo apenas os campos da projeção.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param id O id do documento.
+     * @param projecao Os campos a serem lidos.
+     * @return Um Optional com a entidade (preenchida apenas nos campos projetados), ou vazio se não existir.
+     */
+    public <T> Optional<T> buscarPorId(Class<T> tipo, String id, Projecao projecao) {
+        Query query = new Query(Criteria.where("id").is(id));
+        // A versão é sempre lida, pois é com ela que o controller monta o ETag da resposta.
+        projecao.aplicar(query, "versao");
+        return Optional.ofNullable(mongoTemplate.findOne(query, tipo));
+    }
+}
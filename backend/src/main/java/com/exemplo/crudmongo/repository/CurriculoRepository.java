@@ -3,9 +3,12 @@ package com.exemplo.crudmongo.repository;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Curriculo; // Importa o modelo de dados 'Curriculo' para que o repositório saiba com qual tipo de entidade ele está trabalhando.
+import org.springframework.data.domain.Limit; // Importa a classe Limit, que limita a quantidade de resultados de uma consulta.
 import org.springframework.data.mongodb.repository.MongoRepository; // Importa a interface principal do Spring Data MongoDB.
 import org.springframework.stereotype.Repository; // Importa a anotação @Repository, que marca a interface como um componente de persistência do Spring.
 
+import java.util.List; // Importa a interface para trabalhar com listas.
+
 /**
  * A anotação @Repository indica ao Spring que esta interface é um "Repositório",
  * um componente responsável pelo acesso e manipulação de dados.
@@ -24,7 +27,6 @@ import org.springframework.stereotype.Repository; // Importa a anotação @Repos
  */
 public interface CurriculoRepository extends MongoRepository<Curriculo, String> {
 
-    // A interface está vazia, mas já é extremamente poderosa!
     // Métodos herdados do MongoRepository incluem:
     // - save(Curriculo curriculo): Salva ou atualiza um currículo.
     // - findById(String id): Busca um currículo pelo seu ID.
@@ -32,9 +34,17 @@ public interface CurriculoRepository extends MongoRepository<Curriculo, String>
     // - deleteById(String id): Deleta um currículo pelo seu ID.
     // - e muitos outros...
 
-    // Você pode adicionar métodos de consulta customizados aqui se precisar no futuro.
-    // O Spring Data MongoDB criará a consulta automaticamente com base no nome do método.
-    // Exemplos:
-    // List<Curriculo> findByCursoId(String cursoId); // Encontraria todos os currículos de um determinado curso.
-    // List<Curriculo> findByAno(Integer ano); // Encontraria todos os currículos de um determinado ano.
+    // Métodos de consulta customizados. O Spring Data MongoDB cria a consulta automaticamente com base no nome do método.
+    // Todos usam o índice composto (cursoId, ano, semestre) criado em IndicesMongo. Por isso os filtros
+    // seguem a ordem do índice: cursoId é obrigatório, e o semestre só é usado junto com o ano.
+    // O parâmetro Limit limita a quantidade de documentos devolvidos.
+
+    // Encontra os currículos de um curso.
+    List<Curriculo> findByCursoId(String cursoId, Limit limite);
+
+    // Encontra os currículos de um curso com vigência em um ano.
+    List<Curriculo> findByCursoIdAndAno(String cursoId, Integer ano, Limit limite);
+
+    // Encontra os currículos de um curso com vigência em um ano e semestre específicos.
+    List<Curriculo> findByCursoIdAndAnoAndSemestre(String cursoId, Integer ano, Integer semestre, Limit limite);
 }
\ No newline at end of file
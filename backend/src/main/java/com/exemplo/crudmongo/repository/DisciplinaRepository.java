@@ -3,9 +3,13 @@ package com.exemplo.crudmongo.repository;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Disciplina; // Importa o modelo de dados 'Disciplina' para que o repositório saiba com qual tipo de entidade ele está trabalhando.
+import com.exemplo.crudmongo.dto.DisciplinaResumo; // Importa o resumo de disciplina, usado como projeção.
 import org.springframework.data.mongodb.repository.MongoRepository; // Importa a interface principal do Spring Data MongoDB.
 import org.springframework.stereotype.Repository; // Importa a anotação @Repository, que marca a interface como um componente de persistência do Spring.
 
+import java.util.Collection; // Importa a interface Collection para receber os IDs buscados.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
 /**
  * A anotação @Repository indica ao Spring que esta interface é um "Repositório",
  * um componente responsável pelo acesso e manipulação de dados.
@@ -24,7 +28,6 @@ import org.springframework.stereotype.Repository; // Importa a anotação @Repos
  */
 public interface DisciplinaRepository extends MongoRepository<Disciplina, String> {
 
-    // A interface está vazia, mas já é extremamente poderosa!
     // Métodos herdados do MongoRepository incluem:
     // - save(Disciplina disciplina): Salva ou atualiza uma disciplina.
     // - findById(String id): Busca uma disciplina pelo seu ID.
@@ -32,9 +35,10 @@ public interface DisciplinaRepository extends MongoRepository<Disciplina, String
     // - deleteById(String id): Deleta uma disciplina pelo seu ID.
     // - e muitos outros...
 
-    // Você pode adicionar métodos de consulta customizados aqui se precisar no futuro.
-    // O Spring Data MongoDB criará a consulta automaticamente com base no nome do método.
-    // Exemplos:
-    // List<Disciplina> findByNomeContainingIgnoreCase(String nome); // Encontraria disciplinas cujo nome contém o texto fornecido, ignorando maiúsculas/minúsculas.
-    // List<Disciplina> findByCargaHorariaGreaterThan(Integer cargaHoraria); // Encontraria todas as disciplinas com carga horária maior que o valor fornecido.
+    // Método de consulta customizado. O Spring Data MongoDB cria a consulta automaticamente com base no nome do método.
+
+    // Busca várias disciplinas de uma vez pelos seus IDs, em uma única consulta { _id: { $in: [...] } }.
+    // O retorno é o resumo da disciplina: o Spring Data lê do banco apenas os campos de DisciplinaResumo.
+    // A ordem não é garantida e IDs inexistentes são simplesmente ignorados.
+    List<DisciplinaResumo> findByIdIn(Collection<String> ids);
 }
\ No newline at end of file
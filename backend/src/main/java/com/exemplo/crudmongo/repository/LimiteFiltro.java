@@ -0,0 +1,32 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes necessárias.
+import org.springframework.data.domain.Limit; // Importa a classe Limit, recebida pelos métodos de filtro dos repositórios.
+
+/**
+ * Quantidade de resultados dos filtros dos repositórios (ex: findByCursoIdOrderByIraDesc), a mesma nas APIs /api e /api/v2.
+ * O filtro não é paginado, então o máximo impede que uma única requisição traga a coleção inteira.
+ */
+public final class LimiteFiltro {
+
+    // Quantidade de resultados padrão e máxima dos filtros.
+    public static final int PADRAO = 100;
+    public static final int MAXIMO = 1000;
+
+    private LimiteFiltro() {
+        // Classe utilitária: não deve ser instanciada.
+    }
+
+    /**
+     * Converte o limite pedido pelo cliente em um Limit, respeitando o padrão e o máximo dos filtros.
+     * @param limite A quantidade pedida (opcional). Valores menores que 1 viram 1.
+     * @return O Limit a ser passado ao repositório.
+     */
+    public static Limit de(Integer limite) {
+        if (limite == null) {
+            return Limit.of(PADRAO);
+        }
+        return Limit.of(Math.max(1, Math.min(limite, MAXIMO)));
+    }
+}
@@ -0,0 +1,60 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes necessárias.
+import org.springframework.data.domain.Sort; // Importa a classe Sort do Spring Data, que representa a direção de ordenação (ASC ou DESC).
+
+import java.util.Set; // Importa a interface Set para representar o conjunto de campos permitidos.
+
+/**
+ * Representa a chave de ordenação usada na paginação por cursor.
+ * O formato aceito na URL é o nome do campo, opcionalmente precedido de '-' para ordem decrescente.
+ * Exemplos: "nome", "-ira", "id".
+ *
+ * @param campo O nome da propriedade Java usada na ordenação (ex: "nome", "id").
+ * @param direcao A direção da ordenação.
+ */
+public record Ordenacao(String campo, Sort.Direction direcao) {
+
+    // Ordenação padrão: pelo próprio _id, que é único e sempre indexado pelo MongoDB.
+    public static final Ordenacao POR_ID = new Ordenacao("id", Sort.Direction.ASC);
+
+    /**
+     * Interpreta o parâmetro 'sort' recebido na requisição.
+     * @param sort O texto recebido (ex: "-ira"). Se for nulo ou vazio, usa a ordenação por id.
+     * @param permitidos Os campos que possuem índice para ordenação nesta coleção.
+     * @return A Ordenacao correspondente.
+     * @throws IllegalArgumentException se o campo não estiver entre os permitidos.
+     */
+    public static Ordenacao de(String sort, Set<String> permitidos) {
+        if (sort == null || sort.isBlank()) {
+            return POR_ID;
+        }
+        String texto = sort.trim();
+        Sort.Direction direcao = Sort.Direction.ASC;
+        if (texto.startsWith("-")) {
+            direcao = Sort.Direction.DESC;
+            texto = texto.substring(1);
+        }
+        // Só aceitamos campos com índice, senão a paginação deixaria de ter custo constante.
+        if (!texto.equals("id") && !permitidos.contains(texto)) {
+            throw new IllegalArgumentException("Ordenação não suportada: " + sort);
+        }
+        return new Ordenacao(texto, direcao);
+    }
+
+    /**
+     * Indica se a ordenação é feita apenas pelo id (sem campo de desempate).
+     */
+    public boolean porId() {
+        return campo.equals("id");
+    }
+
+    /**
+     * Representação textual usada dentro do cursor, para garantir que ele só seja reutilizado com a mesma ordenação.
+     */
+    @Override
+    public String toString() {
+        return (direcao.isDescending() ? "-" : "") + campo;
+    }
+}
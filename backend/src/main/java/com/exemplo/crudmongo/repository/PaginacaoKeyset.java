@@ -0,0 +1,162 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import org.bson.Document; // Importa a classe Document do driver do MongoDB, usada aqui para serializar o cursor.
+import org.springframework.beans.BeanWrapper; // Importa a interface que permite ler propriedades de um objeto pelo nome.
+import org.springframework.beans.PropertyAccessorFactory; // Importa a fábrica de BeanWrapper.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.data.domain.Sort; // Importa a classe Sort para montar a ordenação da consulta.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que permite montar consultas mais elaboradas que os métodos do MongoRepository.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria para montar os filtros da consulta.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta ao MongoDB.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.nio.charset.StandardCharsets; // Importa o charset UTF-8.
+import java.util.Base64; // Importa o codificador Base64, usado para deixar o cursor opaco e seguro para URLs.
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+/**
+ * Componente responsável pela paginação por cursor (keyset pagination).
+ *
+ * Na paginação tradicional (skip/limit) o MongoDB precisa percorrer e descartar todos os documentos
+ * anteriores à página pedida, então a página 1000 é muito mais cara que a página 1.
+ * Aqui cada página começa exatamente depois do último item da página anterior, usando uma condição
+ * do tipo "(campo, _id) > (último valor, último _id)" que o índice composto resolve diretamente.
+ * Assim, o custo de uma página não depende da sua profundidade.
+ */
+@Component
+public class PaginacaoKeyset {
+
+    // Quantidade de itens usada quando o cliente não informa o parâmetro 'limit'.
+    public static final int LIMITE_PADRAO = 20;
+
+    // O MongoTemplate é usado para montar a consulta com filtros, ordenação e limite.
+    private final MongoTemplate mongoTemplate;
+
+    // Maior quantidade de itens aceita em uma única página, para evitar respostas gigantes.
+    private final int limiteMaximo;
+
+    /**
+     * Construtor da classe PaginacaoKeyset.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     * @param limiteMaximo O limite máximo de itens por página (propriedade 'crudmongo.paginacao.limite-maximo').
+     */
+    public PaginacaoKeyset(MongoTemplate mongoTemplate,
+                           @Value("${crudmongo.paginacao.limite-maximo:500}") int limiteMaximo) {
+        this.mongoTemplate = mongoTemplate;
+        this.limiteMaximo = limiteMaximo;
+    }
+
+    /**
+     * Busca uma página de documentos.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param filtro Um filtro adicional a ser aplicado (pode ser nulo).
+     * @param ordenacao A chave de ordenação da página.
+     * @param limite A quantidade de itens desejada (será ajustada para o intervalo permitido).
+     * @param cursor O cursor devolvido pela página anterior, ou nulo para a primeira página.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Uma Pagina com os itens e o cursor da próxima página.
+     * @throws IllegalArgumentException se o cursor for inválido ou tiver sido gerado com outra ordenação.
+     */
+    public <T> Pagina<T> buscar(Class<T> tipo, Criteria filtro, Ordenacao ordenacao, Integer limite, String cursor, Projecao projecao) {
+        int tamanho = ajustarLimite(limite);
+
+        Query query = new Query();
+        Criteria aposCursor = cursor == null || cursor.isBlank() ? null : aposCursor(ordenacao, decodificar(cursor, ordenacao));
+        if (filtro != null && aposCursor != null) {
+            query.addCriteria(new Criteria().andOperator(filtro, aposCursor));
+        } else if (filtro != null) {
+            query.addCriteria(filtro);
+        } else if (aposCursor != null) {
+            query.addCriteria(aposCursor);
+        }
+
+        // O _id entra sempre como desempate, garantindo uma ordem total mesmo quando o campo se repete.
+        Sort sort = ordenacao.porId()
+                ? Sort.by(ordenacao.direcao(), "id")
+                : Sort.by(ordenacao.direcao(), ordenacao.campo()).and(Sort.by(ordenacao.direcao(), "id"));
+        // Pedimos um item a mais só para saber se existe uma próxima página.
+        query.with(sort).limit(tamanho + 1);
+        // O campo de ordenação precisa ser lido mesmo que não tenha sido pedido, pois é ele que vai no cursor.
+        projecao.aplicar(query, ordenacao.campo());
+
+        List<T> encontrados = mongoTemplate.find(query, tipo);
+        if (encontrados.size() <= tamanho) {
+            return new Pagina<>(encontrados, null, tamanho);
+        }
+        List<T> itens = encontrados.subList(0, tamanho);
+        return new Pagina<>(itens, codificar(itens.get(tamanho - 1), ordenacao), tamanho);
+    }
+
+    /**
+     * Garante que o limite fique entre 1 e o máximo configurado.
+     */
+    private int ajustarLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        return Math.max(1, Math.min(limite, limiteMaximo));
+    }
+
+    /**
+     * Monta a condição "vem depois do cursor" para a ordenação informada.
+     * No MongoDB, valores nulos (ou ausentes) vêm antes de qualquer outro valor na ordem crescente
+     * e depois de todos na ordem decrescente, por isso eles recebem tratamento separado.
+     */
+    private Criteria aposCursor(Ordenacao ordenacao, Document cursor) {
+        boolean decrescente = ordenacao.direcao().isDescending();
+        Object ultimoId = cursor.get("id");
+        Criteria idDepois = decrescente ? Criteria.where("id").lt(ultimoId) : Criteria.where("id").gt(ultimoId);
+        if (ordenacao.porId()) {
+            return idDepois;
+        }
+
+        String campo = ordenacao.campo();
+        Object ultimoValor = cursor.get("v");
+        if (ultimoValor == null) {
+            Criteria empateNulo = new Criteria().andOperator(Criteria.where(campo).is(null), idDepois);
+            return decrescente ? empateNulo : new Criteria().orOperator(empateNulo, Criteria.where(campo).ne(null));
+        }
+
+        Criteria valorDepois = decrescente ? Criteria.where(campo).lt(ultimoValor) : Criteria.where(campo).gt(ultimoValor);
+        Criteria empate = new Criteria().andOperator(Criteria.where(campo).is(ultimoValor), idDepois);
+        return decrescente
+                ? new Criteria().orOperator(valorDepois, empate, Criteria.where(campo).is(null))
+                : new Criteria().orOperator(valorDepois, empate);
+    }
+
+    /**
+     * Gera o cursor a partir do último item da página.
+     * O cursor guarda a ordenação, o valor do campo de ordenação e o id, em JSON codificado em Base64.
+     */
+    private String codificar(Object ultimo, Ordenacao ordenacao) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(ultimo);
+        Document cursor = new Document("o", ordenacao.toString());
+        if (!ordenacao.porId()) {
+            cursor.append("v", wrapper.getPropertyValue(ordenacao.campo()));
+        }
+        cursor.append("id", wrapper.getPropertyValue("id"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o cursor recebido no parâmetro 'after'.
+     */
+    private Document decodificar(String cursor, Ordenacao ordenacao) {
+        Document documento;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            documento = Document.parse(json);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        // Um cursor só faz sentido com a mesma ordenação que o gerou.
+        if (!ordenacao.toString().equals(String.valueOf(documento.get("o"))) || documento.get("id") == null) {
+            throw new IllegalArgumentException("Cursor não corresponde à ordenação '" + ordenacao + "'");
+        }
+        return documento;
+    }
+}
@@ -0,0 +1,130 @@
+// Define o pacote onde esta classe está localizada. Repositórios são responsáveis pela comunicação com o banco de dados.
+package com.exemplo.crudmongo.repository;
+
+// Importações de classes necessárias.
+import org.springframework.beans.BeanWrapper; // Importa a interface que permite ler propriedades de um objeto pelo nome.
+import org.springframework.beans.PropertyAccessorFactory; // Importa a fábrica de BeanWrapper.
+import org.springframework.data.mongodb.core.query.Field; // Importa a classe que representa a projeção (campos retornados) de uma consulta.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta ao MongoDB.
+import org.springframework.util.ReflectionUtils; // Importa utilitários de reflexão do Spring, usados para validar os nomes dos campos.
+
+import java.util.ArrayList; // Importa a implementação de lista usada internamente.
+import java.util.Arrays; // Importa utilitários para trabalhar com arrays.
+import java.util.Collections; // Importa utilitários de coleções (listas imutáveis).
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção, para que o JSON saia na ordem pedida.
+import java.util.LinkedHashSet; // Importa o conjunto que mantém a ordem de inserção e descarta repetições.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface de mapas (chave/valor).
+import java.util.Set; // Importa a interface de conjuntos.
+
+/**
+ * Representa o parâmetro 'fields' das rotas de leitura (sparse fieldsets).
+ * Exemplo: GET /api/disciplinas?fields=nome,cargaHoraria
+ *
+ * A lista de campos vira uma projeção do MongoDB, então o banco só lê e envia pela rede os campos pedidos,
+ * e a resposta JSON só contém esses campos (o 'id' é sempre incluído).
+ * Quando o parâmetro não é informado, a projeção é "completa" e tudo funciona como antes.
+ */
+public final class Projecao {
+
+    // Projeção que devolve o documento inteiro.
+    public static final Projecao COMPLETA = new Projecao(Collections.emptyList());
+
+    // Os campos pedidos, na ordem em que vieram na requisição. Vazio significa "todos".
+    private final List<String> campos;
+
+    private Projecao(List<String> campos) {
+        this.campos = campos;
+    }
+
+    /**
+     * Interpreta o parâmetro 'fields' recebido na requisição.
+     * @param tipo A classe da entidade (ex: Disciplina.class), usada para validar os nomes.
+     * @param fields Os campos separados por vírgula (ex: "nome,ementa"). Nulo ou vazio significa "todos".
+     * @return A Projecao correspondente.
+     * @throws IllegalArgumentException se algum campo não existir na entidade.
+     */
+    public static Projecao de(Class<?> tipo, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return COMPLETA;
+        }
+        Set<String> pedidos = new LinkedHashSet<>();
+        pedidos.add("id");
+        for (String campo : fields.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (ReflectionUtils.findField(tipo, nome) == null) {
+                throw new IllegalArgumentException("Campo inexistente em " + tipo.getSimpleName() + ": " + nome);
+            }
+            pedidos.add(nome);
+        }
+        return new Projecao(List.copyOf(pedidos));
+    }
+
+    /**
+     * Indica se a projeção devolve o documento inteiro.
+     */
+    public boolean completa() {
+        return campos.isEmpty();
+    }
+
+    /**
+     * Os campos pedidos (sempre começando pelo 'id'). Vazio quando a projeção é completa.
+     */
+    public List<String> campos() {
+        return campos;
+    }
+
+    /**
+     * Aplica a projeção em uma consulta do MongoDB.
+     * @param query A consulta que receberá a projeção.
+     * @param camposInternos Campos extras que a própria aplicação precisa ler (ex: o campo de ordenação da paginação),
+     *                       mesmo que o cliente não os tenha pedido. Eles não aparecem na resposta.
+     */
+    public void aplicar(Query query, String... camposInternos) {
+        if (completa()) {
+            return;
+        }
+        Field projecao = query.fields();
+        campos.forEach(projecao::include);
+        Arrays.stream(camposInternos).forEach(projecao::include);
+    }
+
+    /**
+     * Monta a representação de uma entidade que será enviada na resposta.
+     * @param entidade A entidade lida do banco.
+     * @return A própria entidade, se a projeção for completa, ou um mapa apenas com os campos pedidos.
+     */
+    public Object representar(Object entidade) {
+        if (completa() || entidade == null) {
+            return entidade;
+        }
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entidade);
+        Map<String, Object> representacao = new LinkedHashMap<>();
+        for (String campo : campos) {
+            representacao.put(campo, wrapper.getPropertyValue(campo));
+        }
+        return representacao;
+    }
+
+    /**
+     * Aplica o método representar(...) em cada item de uma lista.
+     */
+    public List<Object> representar(List<?> entidades) {
+        List<Object> representacoes = new ArrayList<>(entidades.size());
+        for (Object entidade : entidades) {
+            representacoes.add(representar(entidade));
+        }
+        return representacoes;
+    }
+
+    /**
+     * Texto que identifica a projeção (ex: "id,nome"), usado para diferenciar representações da mesma entidade.
+     */
+    @Override
+    public String toString() {
+        return String.join(",", campos);
+    }
+}
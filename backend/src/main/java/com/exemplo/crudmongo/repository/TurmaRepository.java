@@ -3,9 +3,12 @@ package com.exemplo.crudmongo.repository;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Turma; // Importa o modelo de dados 'Turma' para que o repositório saiba com qual tipo de entidade ele está trabalhando.
+import org.springframework.data.domain.Limit; // Importa a classe Limit, que limita a quantidade de resultados de uma consulta.
 import org.springframework.data.mongodb.repository.MongoRepository; // Importa a interface principal do Spring Data MongoDB.
 import org.springframework.stereotype.Repository; // Importa a anotação @Repository, que marca a interface como um componente de persistência do Spring.
 
+import java.util.List; // Importa a interface para trabalhar com listas.
+
 /**
  * A anotação @Repository indica ao Spring que esta interface é um "Repositório",
  * um componente responsável pelo acesso e manipulação de dados.
@@ -24,7 +27,6 @@ import org.springframework.stereotype.Repository; // Importa a anotação @Repos
  */
 public interface TurmaRepository extends MongoRepository<Turma, String> {
 
-    // A interface está vazia, mas já é extremamente poderosa!
     // Métodos herdados do MongoRepository incluem:
     // - save(Turma turma): Salva ou atualiza uma turma.
     // - findById(String id): Busca uma turma pelo seu ID.
@@ -32,9 +34,17 @@ public interface TurmaRepository extends MongoRepository<Turma, String> {
     // - deleteById(String id): Deleta uma turma pelo seu ID.
     // - e muitos outros...
 
-    // Você pode adicionar métodos de consulta customizados aqui se precisar no futuro.
-    // O Spring Data MongoDB criará a consulta automaticamente com base no nome do método.
-    // Exemplos:
-    // List<Turma> findByDisciplinaId(String disciplinaId); // Encontraria todas as turmas de uma determinada disciplina.
-    // List<Turma> findByAnoAndSemestre(Integer ano, Integer semestre); // Encontraria todas as turmas de um ano e semestre específicos.
+    // Métodos de consulta customizados. O Spring Data MongoDB cria a consulta automaticamente com base no nome do método.
+    // Todos usam o índice composto (disciplinaId, ano, semestre) criado em IndicesMongo. Por isso os filtros
+    // seguem a ordem do índice: disciplinaId é obrigatório, e o semestre só é usado junto com o ano.
+    // O parâmetro Limit limita a quantidade de documentos devolvidos.
+
+    // Encontra as turmas de uma disciplina.
+    List<Turma> findByDisciplinaId(String disciplinaId, Limit limite);
+
+    // Encontra as turmas de uma disciplina ofertadas em um ano.
+    List<Turma> findByDisciplinaIdAndAno(String disciplinaId, Integer ano, Limit limite);
+
+    // Encontra as turmas de uma disciplina ofertadas em um ano e semestre específicos.
+    List<Turma> findByDisciplinaIdAndAnoAndSemestre(String disciplinaId, Integer ano, Integer semestre, Limit limite);
 }
\ No newline at end of file
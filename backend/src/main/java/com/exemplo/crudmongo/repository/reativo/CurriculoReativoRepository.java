@@ -0,0 +1,23 @@
+// Define o pacote onde esta interface está localizada. O subpacote 'reativo' reúne os repositórios usados pela API /api/v2.
+package com.exemplo.crudmongo.repository.reativo;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Curriculo; // Importa o modelo de dados 'Curriculo', o mesmo usado pela API bloqueante.
+import org.springframework.data.domain.Limit; // Importa a classe Limit, que limita a quantidade de resultados de uma consulta.
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository; // Importa a interface de repositório reativo do Spring Data MongoDB.
+import org.springframework.stereotype.Repository; // Importa a anotação @Repository, que marca a interface como um componente de persistência do Spring.
+import reactor.core.publisher.Flux; // Importa o Flux, o fluxo reativo de 0..N elementos do Project Reactor.
+
+/**
+ * Versão reativa do CurriculoRepository, usada pela API /api/v2.
+ * Os métodos devolvem Mono (0..1 elemento) ou Flux (0..N elementos) em vez de bloquear a thread até o banco responder.
+ * Os documentos chegam do driver Reactive Streams do MongoDB conforme são pedidos (backpressure),
+ * então um cliente lento não faz o servidor carregar a coleção inteira na memória.
+ */
+@Repository
+public interface CurriculoReativoRepository extends ReactiveMongoRepository<Curriculo, String> {
+
+    // Método de consulta customizado. O Spring Data MongoDB cria a consulta automaticamente com base no nome do método.
+    // Encontra os currículos de um curso. Usa o mesmo índice da versão bloqueante (ver IndicesMongo).
+    Flux<Curriculo> findByCursoId(String cursoId, Limit limite);
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+// Define o pacote onde esta interface está localizada. O subpacote 'reativo' reúne os repositórios usados pela API /api/v2.
+package com.exemplo.crudmongo.repository.reativo;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Curso; // Importa o modelo de dados 'Curso', o mesmo usado pela API bloqueante.
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository; // Importa a interface de repositório reativo do Spring Data MongoDB.
+import org.springframework.stereotype.Repository; // Importa a anotação @Repository, que marca a interface como um componente de persistência do Spring.
+
+/**
+ * Versão reativa do CursoRepository, usada pela API /api/v2.
+ * Os métodos devolvem Mono (0..1 elemento) ou Flux (0..N elementos) em vez de bloquear a thread até o banco responder.
+ * Os documentos chegam do driver Reactive Streams do MongoDB conforme são pedidos (backpressure),
+ * então um cliente lento não faz o servidor carregar a coleção inteira na memória.
+ */
+@Repository
+public interface CursoReativoRepository extends ReactiveMongoRepository<Curso, String> {
+}
\ No newline at end of file
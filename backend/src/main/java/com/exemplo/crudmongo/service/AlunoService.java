@@ -3,11 +3,34 @@ package com.exemplo.crudmongo.service;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.config.CacheConfig; // Importa os nomes dos caches de leitura.
+import com.exemplo.crudmongo.dto.EstatisticaIra; // Importa o DTO com as estatísticas de IRA de um grupo.
+import com.exemplo.crudmongo.dto.FaixaIra; // Importa o DTO de uma faixa da distribuição do IRA.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.PosicaoRanking; // Importa o DTO de uma posição do ranking de IRA.
+import com.exemplo.crudmongo.dto.SugestaoAluno; // Importa o DTO de uma sugestão do autocompletar.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
 import com.exemplo.crudmongo.repository.AlunoRepository; // Importa o repositório que faz a comunicação com o banco de dados para a entidade Aluno.
+import com.exemplo.crudmongo.repository.AtualizacaoAtomica; // Importa o componente de alterações atômicas (findAndModify/deleteOne).
+import com.exemplo.crudmongo.repository.ConsultaProjetada; // Importa o componente de consultas com projeção de campos.
+import com.exemplo.crudmongo.repository.Ordenacao; // Importa a representação da chave de ordenação da paginação.
+import com.exemplo.crudmongo.repository.PaginacaoKeyset; // Importa o componente que faz a paginação por cursor.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import com.exemplo.crudmongo.repository.LimiteFiltro; // Importa o padrão e o máximo de resultados dos filtros.
+import org.springframework.cache.annotation.CacheEvict; // Importa a anotação que remove uma entrada do cache após uma escrita.
+import org.springframework.cache.annotation.Cacheable; // Importa a anotação que guarda o resultado de um método no cache.
+import org.springframework.dao.OptimisticLockingFailureException; // Importa a exceção de conflito de versão (controle de concorrência otimista).
+import org.springframework.data.domain.Limit; // Importa a classe Limit, usada para limitar os resultados dos filtros.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que representa o $set das alterações.
 import org.springframework.stereotype.Service; // Importa a anotação @Service, que marca a classe como um componente de serviço do Spring.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de escrita na exportação.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição na gravação em lote.
+import java.io.OutputStream; // Importa a classe que representa o fluxo de saída da exportação.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
 import java.util.Optional; // Importa a classe Optional, que é uma forma de evitar erros de NullPointerException.
+import java.util.Set; // Importa a interface Set para declarar os campos de ordenação permitidos.
 
 /**
  * A anotação @Service indica ao Spring que esta classe é um "Serviço".
@@ -20,84 +43,353 @@ public class AlunoService {
     // Declaração final do repositório de aluno. 'final' significa que ele deve ser inicializado no construtor.
     private final AlunoRepository alunoRepository;
 
+    // Componente que executa a paginação por cursor (keyset) sobre a coleção.
+    private final PaginacaoKeyset paginacaoKeyset;
+
+    // Componente que exporta a coleção em NDJSON diretamente de um cursor do MongoDB.
+    private final ExportadorNdjson exportadorNdjson;
+
+    // Componente que executa as leituras com projeção (parâmetro 'fields').
+    private final ConsultaProjetada consultaProjetada;
+
+    // Contador de alterações da coleção, usado no ETag das listagens.
+    private final VersaoColecoes versaoColecoes;
+
+    // Componente que grava vários documentos por chamada ao banco (BulkOperations).
+    private final EscritorEmLote escritorEmLote;
+
+    // Componente que executa as alterações e exclusões em uma única ida ao banco.
+    private final AtualizacaoAtomica atualizacaoAtomica;
+
+    // Componente que calcula as estatísticas de IRA no banco e mantém a coleção de resumo.
+    private final EstatisticasIra estatisticasIra;
+
+    // Ranking de IRA de cada curso, mantido em memória.
+    private final RankingIra rankingIra;
+
+    // Índice em memória do autocompletar de nomes.
+    private final AutocompletarAlunos autocompletarAlunos;
+
+    // Índices em memória sobre os alunos (ranking, autocompletar...), avisados a cada gravação.
+    private final List<IndiceAlunos> indices;
+
+    // Campos (além do id) que podem ser usados para ordenar a listagem paginada. Todos possuem índice (ver IndicesMongo).
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("nome", "ira");
+
+    // Quantidade padrão e máxima de posições do ranking. O RankingIra guarda todos os alunos de cada curso, então
+    // qualquer K tem resposta completa; o máximo apenas limita o tamanho da resposta, já que cada posição é copiada
+    // do índice em memória a cada requisição.
+    private static final int LIMITE_RANKING_PADRAO = 10;
+    private static final int LIMITE_RANKING_MAXIMO = 1000;
+
+    // Quantidade de sugestões padrão e máxima do autocompletar.
+    private static final int LIMITE_AUTOCOMPLETAR_PADRAO = 10;
+    private static final int LIMITE_AUTOCOMPLETAR_MAXIMO = 50;
+
     /**
      * Construtor da classe AlunoService.
      * O Spring utiliza este construtor para realizar a "Injeção de Dependência".
      * Ele automaticamente cria uma instância de AlunoRepository e a "injeta" aqui,
      * permitindo que o serviço utilize os métodos do repositório.
      * @param alunoRepository A instância de AlunoRepository fornecida pelo Spring.
+     * @param paginacaoKeyset O componente de paginação por cursor.
+     * @param exportadorNdjson O componente de exportação em NDJSON.
+     * @param consultaProjetada O componente de consultas com projeção.
+     * @param versaoColecoes O contador de alterações das coleções.
+     * @param escritorEmLote O componente de gravação em lote.
+     * @param atualizacaoAtomica O componente de alterações atômicas.
+     * @param estatisticasIra O componente das estatísticas de IRA.
+     * @param rankingIra O ranking de IRA em memória.
+     * @param autocompletarAlunos O índice do autocompletar de nomes.
+     * @param indices Os índices em memória sobre os alunos (todos os beans que implementam IndiceAlunos).
      */
-    public AlunoService(AlunoRepository alunoRepository) {
+    public AlunoService(AlunoRepository alunoRepository, PaginacaoKeyset paginacaoKeyset,
+                        ExportadorNdjson exportadorNdjson, ConsultaProjetada consultaProjetada,
+                        VersaoColecoes versaoColecoes, EscritorEmLote escritorEmLote,
+                        AtualizacaoAtomica atualizacaoAtomica, EstatisticasIra estatisticasIra,
+                        RankingIra rankingIra, AutocompletarAlunos autocompletarAlunos,
+                        List<IndiceAlunos> indices) {
         this.alunoRepository = alunoRepository;
+        this.paginacaoKeyset = paginacaoKeyset;
+        this.exportadorNdjson = exportadorNdjson;
+        this.consultaProjetada = consultaProjetada;
+        this.versaoColecoes = versaoColecoes;
+        this.escritorEmLote = escritorEmLote;
+        this.atualizacaoAtomica = atualizacaoAtomica;
+        this.estatisticasIra = estatisticasIra;
+        this.rankingIra = rankingIra;
+        this.autocompletarAlunos = autocompletarAlunos;
+        this.indices = indices;
     }
 
     /**
      * Método para listar todos os alunos.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields'). Se for completa, traz o documento inteiro.
      * @return Uma lista com todos os alunos encontrados no banco de dados.
      */
-    public List<Aluno> listarTodos() {
+    public List<Aluno> listarTodos(Projecao projecao) {
+        if (!projecao.completa()) {
+            // Com projeção, o MongoDB só lê e envia os campos pedidos.
+            return consultaProjetada.listar(Aluno.class, projecao);
+        }
         // Chama o método findAll() do repositório, que o Spring Data MongoDB implementa automaticamente.
         return alunoRepository.findAll();
     }
 
+    /**
+     * Método para listar os alunos em páginas, usando paginação por cursor (keyset).
+     * Diferente do listarTodos(), nunca carrega a coleção inteira na memória e o custo de cada página
+     * é o mesmo, não importa o quão "funda" ela esteja.
+     * @param limite A quantidade máxima de itens da página.
+     * @param cursor O cursor devolvido pela página anterior (ou nulo para a primeira página).
+     * @param sort O campo de ordenação, opcionalmente precedido de '-' para ordem decrescente.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Uma Pagina com os itens e o cursor da próxima página.
+     * @throws IllegalArgumentException se a ordenação ou o cursor forem inválidos.
+     */
+    public Pagina<Aluno> listarPagina(Integer limite, String cursor, String sort, Projecao projecao) {
+        Ordenacao ordenacao = Ordenacao.de(sort, CAMPOS_ORDENACAO);
+        return paginacaoKeyset.buscar(Aluno.class, null, ordenacao, limite, cursor, projecao);
+    }
+
+    /**
+     * Método para filtrar os alunos de um curso, opcionalmente com IRA mínimo, do maior para o menor IRA.
+     * A consulta usa o índice (cursoId, ira), então o custo depende da quantidade de resultados e não do tamanho da coleção.
+     * @param cursoId O ID do curso (obrigatório).
+     * @param iraMinimo O IRA mínimo (opcional).
+     * @param limite A quantidade máxima de alunos devolvidos (opcional).
+     * @return A lista de alunos encontrados.
+     */
+    public List<Aluno> filtrar(String cursoId, Double iraMinimo, Integer limite) {
+        Limit limit = LimiteFiltro.de(limite);
+        if (iraMinimo == null) {
+            return alunoRepository.findByCursoIdOrderByIraDesc(cursoId, limit);
+        }
+        return alunoRepository.findByCursoIdAndIraGreaterThanEqualOrderByIraDesc(cursoId, iraMinimo, limit);
+    }
+
+    /**
+     * Método para exportar os alunos em NDJSON (um documento JSON por linha) ou em CBOR/Smile.
+     * Os documentos vão do cursor do banco direto para o fluxo de saída, sem montar uma lista na memória.
+     * @param saida O fluxo de saída onde os documentos serão escritos.
+     * @param tamanhoLote Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param projecao Os campos a serem exportados (parâmetro 'fields').
+     * @param formato O formato da exportação (NDJSON, CBOR ou Smile).
+     * @throws IOException se a escrita falhar (ex: o cliente fechou a conexão).
+     */
+    public void exportar(OutputStream saida, Integer tamanhoLote, Projecao projecao, ExportadorNdjson.Formato formato) throws IOException {
+        exportadorNdjson.exportar(Aluno.class, saida, tamanhoLote, projecao, formato);
+    }
+
+    /**
+     * Método para criar ou atualizar vários alunos de uma vez, a partir de um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam).
+     * O array é lido aos poucos e gravado em blocos, com uma chamada ao banco por bloco.
+     * @param corpo O corpo da requisição, com o array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao banco por chamada (opcional).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public ResultadoLote salvarEmLote(InputStream corpo, Integer tamanhoBloco) throws IOException {
+        ResultadoLote resultado = escritorEmLote.gravar(Aluno.class, CacheConfig.ALUNOS, corpo, tamanhoBloco);
+        if (resultado.getInseridos() + resultado.getAtualizados() > 0) {
+            estatisticasIra.marcarTudo();
+            // O lote devolve só os IDs: os documentos gravados são relidos uma vez e repassados aos índices.
+            List<String> ids = resultado.getItens().stream()
+                    .filter(item -> !ResultadoLote.FALHA.equals(item.getResultado()))
+                    .map(ResultadoLote.Item::getId)
+                    .toList();
+            alunoRepository.findAllById(ids).forEach(this::avisarGravacao);
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para consultar o contador de alterações da coleção.
+     * Ele muda a cada escrita feita pela aplicação, então serve para saber se uma listagem mudou sem precisar relê-la.
+     * @return O valor atual do contador.
+     */
+    public long versaoColecao() {
+        return versaoColecoes.versao(Aluno.class);
+    }
+
     /**
      * Método para buscar um único aluno pelo seu ID.
      * @param id O ID do aluno a ser buscado.
      * @return Um Optional contendo o Aluno se ele for encontrado, ou um Optional vazio caso contrário.
      * Usar Optional ajuda a evitar retornos nulos (null).
      */
+    @Cacheable(cacheNames = CacheConfig.ALUNOS, key = "#id", unless = "#result == null") // Consulta o cache antes de ir ao banco; só resultados encontrados são guardados.
     public Optional<Aluno> buscarPorId(String id) {
         // Chama o método findById() do repositório.
         return alunoRepository.findById(id);
     }
 
+    /**
+     * Método para buscar um único aluno pelo seu ID, lendo apenas os campos pedidos.
+     * @param id O ID a ser buscado.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Um Optional com o resultado (preenchido apenas nos campos projetados), ou vazio se não existir.
+     */
+    @Cacheable(cacheNames = CacheConfig.ALUNOS, key = "#id", condition = "#projecao.completa()", unless = "#result == null") // Só o documento inteiro é guardado no cache.
+    public Optional<Aluno> buscarPorId(String id, Projecao projecao) {
+        if (projecao.completa()) {
+            return buscarPorId(id);
+        }
+        return consultaProjetada.buscarPorId(Aluno.class, id, projecao);
+    }
+
     /**
      * Método para salvar um novo aluno ou atualizar um existente.
      * @param aluno O objeto Aluno a ser salvo no banco de dados.
      * @return O objeto Aluno salvo (com o ID, caso seja um novo aluno).
      */
+    @CacheEvict(cacheNames = CacheConfig.ALUNOS, key = "#result.id") // Invalida a entrada em cache do documento gravado.
     public Aluno salvar(Aluno aluno) {
         // Aqui seria um bom lugar para adicionar validações ou lógica de negócios antes de salvar.
         // Por exemplo, verificar se o email do aluno já existe.
+        // Se o aluno já vier com ID, o save() pode substituir um documento existente, de outro curso/período.
+        boolean novo = aluno.getId() == null;
         // Chama o método save() do repositório para persistir o objeto.
-        return alunoRepository.save(aluno);
+        Aluno salvo = alunoRepository.save(aluno);
+        // Registra a alteração no contador da coleção (usado no ETag das listagens).
+        versaoColecoes.incrementar(Aluno.class);
+        // Marca os grupos afetados para o resumo das estatísticas de IRA.
+        if (novo) {
+            estatisticasIra.marcarAlterado(salvo);
+        } else {
+            estatisticasIra.marcarTudo();
+        }
+        avisarGravacao(salvo);
+        return salvo;
     }
 
     /**
      * Método para atualizar os dados de um aluno existente.
      * @param id O ID do aluno a ser atualizado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
      * @param alunoAtualizado Um objeto Aluno com os novos dados.
      * @return O objeto Aluno com os dados atualizados.
-     * @throws RuntimeException se nenhum aluno for encontrado com o ID fornecido.
+     * @throws DocumentoNaoEncontradoException se nenhum aluno for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public Aluno atualizar(String id, Aluno alunoAtualizado) {
-        // Primeiro, busca o aluno pelo ID. O retorno é um Optional.
-        return alunoRepository.findById(id)
-                .map(alunoExistente -> { // O método map() é executado apenas se o aluno for encontrado.
-                    // Atualiza os campos do aluno que já existe no banco com os dados do aluno que veio na requisição.
-                    alunoExistente.setNome(alunoAtualizado.getNome());
-                    alunoExistente.setIra(alunoAtualizado.getIra());
-                    alunoExistente.setCursoId(alunoAtualizado.getCursoId());
-                    alunoExistente.setPeriodoIngressoId(alunoAtualizado.getPeriodoIngressoId());
-                    // Salva o aluno com os dados atualizados e o retorna.
-                    return alunoRepository.save(alunoExistente);
-                })
-                // Se o findById() não encontrar nada, o orElseThrow() é executado.
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado com o id: " + id)); // Lança uma exceção informando que o aluno não foi encontrado.
+    @CacheEvict(cacheNames = CacheConfig.ALUNOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Aluno atualizar(String id, List<Long> versoesEsperadas, Aluno alunoAtualizado) {
+        // Monta um $set com os campos que vieram na requisição. O MongoDB aplica a alteração e devolve o documento
+        // já atualizado em uma única operação (findAndModify), sem precisar buscá-lo antes.
+        Update update = new Update()
+                .set("nome", alunoAtualizado.getNome())
+                .set("ira", alunoAtualizado.getIra())
+                .set("cursoId", alunoAtualizado.getCursoId())
+                .set("periodoIngressoId", alunoAtualizado.getPeriodoIngressoId());
+        Aluno salvo = atualizacaoAtomica.atualizar(Aluno.class, id, versoesEsperadas, update)
+                // Se nenhum documento tiver o ID informado, o orElseThrow() é executado.
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Aluno não encontrado com o id: " + id)); // Lança uma exceção informando que o aluno não foi encontrado.
+        versaoColecoes.incrementar(Aluno.class);
+        // O curso e o período anteriores não são conhecidos (o findAndModify devolve só o documento novo).
+        estatisticasIra.marcarTudo();
+        avisarGravacao(salvo);
+        return salvo;
+    }
+
+    /**
+     * Método para alterar apenas alguns campos de um aluno (PATCH).
+     * Só os campos enviados são gravados, em uma única operação no banco; os demais continuam como estão.
+     * @param id O ID do documento a ser alterado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @param campos Os campos a serem alterados e seus novos valores (ex: { "ira": 8.7 }).
+     * @return O documento com os dados atualizados.
+     * @throws IllegalArgumentException se algum campo não existir, não puder ser alterado ou tiver um valor incompatível.
+     * @throws DocumentoNaoEncontradoException se nenhum documento for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.ALUNOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Aluno atualizarParcialmente(String id, List<Long> versoesEsperadas, Map<String, Object> campos) {
+        Aluno salvo = atualizacaoAtomica.atualizarCampos(Aluno.class, id, versoesEsperadas, campos)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Aluno não encontrado com o id: " + id));
+        versaoColecoes.incrementar(Aluno.class);
+        if (campos.containsKey("cursoId") || campos.containsKey("periodoIngressoId")) {
+            estatisticasIra.marcarTudo(); // O aluno pode ter saído de um grupo que não é mais conhecido.
+        } else if (campos.containsKey("ira")) {
+            estatisticasIra.marcarAlterado(salvo);
+        }
+        avisarGravacao(salvo);
+        return salvo;
     }
 
     /**
      * Método para excluir um aluno do banco de dados.
      * @param id O ID do aluno a ser excluído.
-     * @throws RuntimeException se nenhum aluno for encontrado com o ID fornecido.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @throws DocumentoNaoEncontradoException se nenhum aluno for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public void excluir(String id) {
-        // Primeiro, verifica se um aluno com o ID fornecido realmente existe.
-        if (!alunoRepository.existsById(id)) {
+    @CacheEvict(cacheNames = CacheConfig.ALUNOS, key = "#id") // Invalida a entrada em cache do documento removido.
+    public void excluir(String id, List<Long> versoesEsperadas) {
+        // Remove o documento com um único deleteOne. Se nenhum documento foi removido, é porque o ID não existe.
+        if (!atualizacaoAtomica.excluir(Aluno.class, id, versoesEsperadas)) {
             // Se não existe, lança uma exceção para informar o erro.
-            throw new RuntimeException("Aluno não encontrado com o id: " + id);
+            throw new DocumentoNaoEncontradoException("Aluno não encontrado com o id: " + id);
         }
-        // Se existe, chama o método deleteById() do repositório para remover o aluno.
-        alunoRepository.deleteById(id);
+        versaoColecoes.incrementar(Aluno.class);
+        estatisticasIra.marcarTudo();
+        indices.forEach(indice -> indice.excluido(id));
+    }
+
+    /**
+     * Método para consultar as estatísticas do IRA (média, mínimo, máximo, desvio padrão e percentis) por grupo.
+     * O cálculo é feito no MongoDB (pipeline de agregação), sem trazer os alunos para a aplicação.
+     * @param agruparPor 'curso' ou 'periodoIngresso'.
+     * @param grupo O ID de um curso/período específico (opcional).
+     * @param materializado Se verdadeiro, lê a coleção de resumo (mais rápido, mas atualizada periodicamente).
+     * @return As estatísticas de cada grupo.
+     * @throws IllegalArgumentException se o agrupamento não for suportado.
+     */
+    public List<EstatisticaIra> estatisticasIra(String agruparPor, String grupo, boolean materializado) {
+        EstatisticasIra.Agrupamento agrupamento = EstatisticasIra.Agrupamento.de(agruparPor);
+        return materializado ? estatisticasIra.lerResumo(agrupamento, grupo) : estatisticasIra.calcular(agrupamento, grupo);
+    }
+
+    /**
+     * Método para consultar a distribuição do IRA em faixas.
+     * @param cursoId O ID de um curso (opcional).
+     * @param limites Os limites das faixas, em ordem crescente.
+     * @return A quantidade de alunos em cada faixa.
+     * @throws IllegalArgumentException se os limites forem inválidos.
+     */
+    public List<FaixaIra> distribuicaoIra(String cursoId, List<Double> limites) {
+        return estatisticasIra.distribuicao(cursoId, limites);
+    }
+
+    /**
+     * Método para consultar os alunos de maior IRA de um curso.
+     * O ranking é lido do índice em memória (RankingIra), sem consultar o banco.
+     * @param cursoId O ID do curso.
+     * @param k A quantidade de posições (opcional, padrão 10, máximo 1000).
+     * @return As posições do ranking.
+     */
+    public List<PosicaoRanking> ranking(String cursoId, Integer k) {
+        int quantidade = k == null ? LIMITE_RANKING_PADRAO : Math.max(1, Math.min(k, LIMITE_RANKING_MAXIMO));
+        return rankingIra.topK(cursoId, quantidade);
+    }
+
+    /**
+     * Método para sugerir alunos pelo início do nome (ou de qualquer palavra do nome), para o autocompletar.
+     * A busca é feita no índice em memória e não diferencia maiúsculas de minúsculas nem letras acentuadas.
+     * @param texto O texto digitado.
+     * @param limite A quantidade máxima de sugestões (opcional, padrão 10, máximo 50).
+     * @return As sugestões encontradas.
+     */
+    public List<SugestaoAluno> autocompletar(String texto, Integer limite) {
+        int quantidade = limite == null ? LIMITE_AUTOCOMPLETAR_PADRAO : Math.max(1, Math.min(limite, LIMITE_AUTOCOMPLETAR_MAXIMO));
+        return autocompletarAlunos.sugerir(texto, quantidade);
+    }
+
+    /**
+     * Avisa os índices em memória sobre a gravação de um aluno.
+     */
+    private void avisarGravacao(Aluno salvo) {
+        indices.forEach(indice -> indice.gravado(salvo));
     }
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.dto.SugestaoAluno; // Importa o DTO de uma sugestão do autocompletar.
+import org.slf4j.Logger; // Importa a interface de log.
+import org.slf4j.LoggerFactory; // Importa a fábrica de loggers.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Importa o evento disparado quando a aplicação termina de subir.
+import org.springframework.context.event.EventListener; // Importa a anotação que registra um método como ouvinte de eventos.
+import org.springframework.data.domain.Sort; // Importa a classe de ordenação do Spring Data.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado na carga inicial e na busca de fallback.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria, que monta os filtros das consultas.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.text.Normalizer; // Importa o normalizador Unicode, usado para separar os acentos das letras.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção, usado para tirar sugestões repetidas.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Locale; // Importa a classe de localidade, usada na conversão para minúsculas.
+import java.util.Map; // Importa a interface Map.
+import java.util.Set; // Importa a interface Set.
+import java.util.concurrent.ConcurrentHashMap; // Importa o mapa concorrente dos alunos indexados.
+import java.util.concurrent.ConcurrentSkipListMap; // Importa o mapa ordenado e concorrente que guarda as chaves de busca.
+import java.util.concurrent.atomic.AtomicInteger; // Importa o contador atômico das chaves ocupadas.
+import java.util.regex.Pattern; // Importa a classe Pattern, usada para remover os acentos e na busca de fallback.
+import java.util.stream.Stream; // Importa a classe Stream, usada para percorrer o cursor da carga inicial.
+
+/**
+ * Índice em memória para o autocompletar de nomes de alunos.
+ *
+ * Cada nome é normalizado (sem acentos, em minúsculas, com um só espaço entre as palavras) e guardado em um
+ * mapa ordenado (ConcurrentSkipListMap), uma vez a partir de cada palavra: "Maria da Silva" pode ser encontrada
+ * por "mar", "da s" ou "silva". Todas as chaves que começam com o texto digitado ficam lado a lado no mapa,
+ * então a busca é um subMap seguido da leitura das primeiras sugestões, sem percorrer o índice inteiro.
+ *
+ * O índice é montado ao subir a aplicação, percorrendo a coleção com um cursor (só os campos necessários),
+ * e acompanha as gravações feitas pelo AlunoService (ver IndiceAlunos). Cada aluno guarda a versão do documento,
+ * e uma gravação mais antiga que a já indexada é ignorada.
+ *
+ * A memória é limitada de duas formas: cada nome ocupa no máximo MAXIMO_CHAVES_POR_NOME chaves (as primeiras
+ * palavras), e o índice inteiro no máximo 'crudmongo.autocompletar.capacidade' chaves. Quando o índice está cheio,
+ * os alunos novos deixam de ser indexados e o índice passa a ser parcial: as buscas continuam sendo respondidas da
+ * memória, e o banco só é consultado quando a memória não encontra sugestões suficientes. Enquanto a carga inicial
+ * não termina, as buscas consultam o banco.
+ */
+@Component
+public class AutocompletarAlunos implements IndiceAlunos {
+
+    // Logger usado para registrar a carga inicial e o índice cheio.
+    private static final Logger log = LoggerFactory.getLogger(AutocompletarAlunos.class);
+
+    // Padrão das marcas de acentuação separadas pela normalização NFD.
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    // Padrão de espaços em branco repetidos.
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // Separa o nome normalizado do ID na chave, para que alunos com o mesmo nome tenham chaves diferentes.
+    private static final char SEPARADOR = '\u0000';
+
+    // Tamanho máximo do trecho do nome guardado em cada chave.
+    private static final int TAMANHO_MAXIMO_CHAVE = 64;
+
+    // Quantidade máxima de chaves de um nome: o nome inteiro e a partir de cada uma das palavras seguintes, até este limite.
+    private static final int MAXIMO_CHAVES_POR_NOME = 6;
+
+    /**
+     * Um aluno indexado: a sugestão devolvida, as chaves que ele ocupa no mapa e a versão do documento.
+     */
+    private record Indexado(SugestaoAluno sugestao, List<String> chaves, long versao) {
+    }
+
+    // Template do MongoDB, usado na carga inicial e na busca de fallback.
+    private final MongoTemplate mongoTemplate;
+
+    // Quantidade máxima de chaves no índice.
+    private final int capacidade;
+
+    // As chaves de busca (nome normalizado a partir de uma palavra + ID), em ordem alfabética.
+    private final ConcurrentSkipListMap<String, SugestaoAluno> chaves = new ConcurrentSkipListMap<>();
+
+    // Os alunos indexados, pelo ID.
+    private final ConcurrentHashMap<String, Indexado> porId = new ConcurrentHashMap<>();
+
+    // Alunos excluídos durante a carga inicial, para que a carga não os coloque de volta.
+    private final Set<String> excluidosDuranteCarga = ConcurrentHashMap.newKeySet();
+
+    // Indica se a carga inicial já terminou.
+    private volatile boolean pronto;
+
+    // Quantidade de chaves no índice. Reservada dentro do compute de cada aluno, antes de as chaves entrarem no mapa,
+    // para que a capacidade nunca seja ultrapassada (e sem o size() do mapa, que percorre todas as chaves).
+    private final AtomicInteger ocupadas = new AtomicInteger();
+
+    // Indica que algum aluno ficou de fora por falta de capacidade: as buscas com poucas sugestões consultam também o banco.
+    private volatile boolean parcial;
+
+    /**
+     * Construtor da classe AutocompletarAlunos.
+     * @param mongoTemplate O MongoTemplate configurado pelo Spring.
+     * @param capacidade Propriedade 'crudmongo.autocompletar.capacidade'.
+     */
+    public AutocompletarAlunos(MongoTemplate mongoTemplate,
+                               @Value("${crudmongo.autocompletar.capacidade:1000000}") int capacidade) {
+        this.mongoTemplate = mongoTemplate;
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Monta o índice quando a aplicação estiver pronta, percorrendo a coleção de alunos com um cursor.
+     * Uma falha aqui (ex: banco fora do ar) não impede a aplicação de subir: o autocompletar continua consultando o banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        Query consulta = new Query();
+        consulta.fields().include("nome", "cursoId", "versao");
+        try (Stream<Aluno> alunos = mongoTemplate.stream(consulta, Aluno.class)) {
+            alunos.forEach(aluno -> {
+                if (!excluidosDuranteCarga.contains(aluno.getId())) {
+                    gravado(aluno);
+                }
+            });
+            pronto = true;
+            excluidosDuranteCarga.clear();
+            log.info("Autocompletar de alunos carregado: {} alunos, {} chaves ({} ms)", porId.size(), ocupadas.get(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível carregar o autocompletar de alunos; ele consultará o banco: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Devolve os alunos cujo nome (ou alguma palavra do nome em diante) começa com o texto informado,
+     * sem diferenciar maiúsculas de minúsculas nem letras acentuadas.
+     * @param texto O texto digitado.
+     * @param limite A quantidade máxima de sugestões.
+     * @return As sugestões, em ordem alfabética do trecho encontrado.
+     */
+    public List<SugestaoAluno> sugerir(String texto, int limite) {
+        String prefixo = normalizar(texto);
+        if (prefixo.isEmpty()) {
+            return List.of();
+        }
+        if (!pronto) {
+            return doBanco(texto.trim(), limite);
+        }
+        if (prefixo.length() > TAMANHO_MAXIMO_CHAVE) {
+            prefixo = prefixo.substring(0, TAMANHO_MAXIMO_CHAVE);
+        }
+        // Um aluno pode aparecer em mais de uma chave (ex: "ana" em "ana maria" e em "maria ana"): o mapa tira as repetições.
+        Map<String, SugestaoAluno> sugestoes = new LinkedHashMap<>();
+        for (SugestaoAluno sugestao : chaves.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values()) {
+            sugestoes.putIfAbsent(sugestao.getId(), sugestao);
+            if (sugestoes.size() == limite) {
+                break;
+            }
+        }
+        if (parcial && sugestoes.size() < limite) {
+            // O índice não tem todos os alunos: completa as sugestões com a busca no banco (pelo início do nome).
+            for (SugestaoAluno sugestao : doBanco(texto.trim(), limite)) {
+                if (sugestoes.size() == limite) {
+                    break;
+                }
+                sugestoes.putIfAbsent(sugestao.getId(), sugestao);
+            }
+        }
+        return new ArrayList<>(sugestoes.values());
+    }
+
+    /**
+     * Registra a gravação de um aluno, trocando as chaves antigas dele pelas novas.
+     * @param aluno O documento como ficou no banco (com a versão atual).
+     */
+    @Override
+    public void gravado(Aluno aluno) {
+        long versao = aluno.getVersao() == null ? -1 : aluno.getVersao();
+        SugestaoAluno sugestao = new SugestaoAluno(aluno.getId(), aluno.getNome(), aluno.getCursoId());
+        // O compute é atômico por ID: duas gravações do mesmo aluno não se misturam.
+        porId.compute(aluno.getId(), (id, atual) -> {
+            if (atual != null && atual.versao() > versao) {
+                return atual; // A gravação que chegou é mais antiga do que a que já está no índice.
+            }
+            List<String> novas = chavesDe(aluno.getNome(), id);
+            int diferenca = novas.size() - (atual == null ? 0 : atual.chaves().size());
+            if (!reservar(diferenca)) {
+                // Índice cheio: o aluno fica de fora (e, se já estava indexado, sai, para não sugerir um nome antigo).
+                if (atual != null) {
+                    atual.chaves().forEach(chaves::remove);
+                    ocupadas.addAndGet(-atual.chaves().size());
+                }
+                marcarParcial();
+                return null;
+            }
+            if (atual != null) {
+                atual.chaves().forEach(chaves::remove);
+            }
+            novas.forEach(chave -> chaves.put(chave, sugestao));
+            return new Indexado(sugestao, novas, versao);
+        });
+    }
+
+    /**
+     * Registra a exclusão de um aluno.
+     * @param id O ID do aluno excluído.
+     */
+    @Override
+    public void excluido(String id) {
+        if (!pronto) {
+            excluidosDuranteCarga.add(id);
+        }
+        porId.computeIfPresent(id, (chave, atual) -> {
+            atual.chaves().forEach(chaves::remove);
+            ocupadas.addAndGet(-atual.chaves().size());
+            return null;
+        });
+    }
+
+    /**
+     * Normaliza um texto para a busca: sem acentos, em minúsculas e com um só espaço entre as palavras.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Monta as chaves de um nome: o nome normalizado a partir de cada palavra, seguido do ID.
+     */
+    private static List<String> chavesDe(String nome, String id) {
+        String normalizado = normalizar(nome);
+        List<String> resultado = new ArrayList<>();
+        if (normalizado.isEmpty()) {
+            return resultado;
+        }
+        int inicio = 0;
+        while (inicio >= 0 && resultado.size() < MAXIMO_CHAVES_POR_NOME) {
+            String trecho = normalizado.substring(inicio);
+            if (trecho.length() > TAMANHO_MAXIMO_CHAVE) {
+                trecho = trecho.substring(0, TAMANHO_MAXIMO_CHAVE);
+            }
+            resultado.add(trecho + SEPARADOR + id);
+            int espaco = normalizado.indexOf(' ', inicio);
+            inicio = espaco < 0 ? -1 : espaco + 1;
+        }
+        return resultado;
+    }
+
+    /**
+     * Reserva (ou libera, se negativa) uma quantidade de chaves, sem ultrapassar a capacidade.
+     * @return false se não houver espaço para a reserva.
+     */
+    private boolean reservar(int quantidade) {
+        if (quantidade <= 0) {
+            ocupadas.addAndGet(quantidade);
+            return true;
+        }
+        int atual;
+        do {
+            atual = ocupadas.get();
+            if (atual + quantidade > capacidade) {
+                return false;
+            }
+        } while (!ocupadas.compareAndSet(atual, atual + quantidade));
+        return true;
+    }
+
+    /**
+     * Marca o índice como parcial (registrando no log só na primeira vez).
+     */
+    private void marcarParcial() {
+        if (!parcial) {
+            parcial = true;
+            log.warn("Autocompletar de alunos atingiu {} chaves; os alunos seguintes não serão indexados e as buscas "
+                    + "com poucas sugestões consultarão também o banco", capacidade);
+        }
+    }
+
+    /**
+     * Busca as sugestões no banco, pelo início do nome (sem diferenciar maiúsculas de minúsculas).
+     * Usada enquanto o índice não está disponível; aqui os acentos são considerados.
+     */
+    private List<SugestaoAluno> doBanco(String texto, int limite) {
+        Query consulta = new Query(Criteria.where("nome").regex("^" + Pattern.quote(texto), "i"))
+                .with(Sort.by("nome"))
+                .limit(limite);
+        consulta.fields().include("nome", "cursoId");
+        List<SugestaoAluno> sugestoes = new ArrayList<>();
+        for (Aluno aluno : mongoTemplate.find(consulta, Aluno.class)) {
+            sugestoes.add(new SugestaoAluno(aluno.getId(), aluno.getNome(), aluno.getCursoId()));
+        }
+        return sugestoes;
+    }
+}
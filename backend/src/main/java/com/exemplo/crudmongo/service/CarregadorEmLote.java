@@ -0,0 +1,324 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes necessárias.
+import org.springframework.cache.Cache; // Importa o cache de leitura da entidade, preenchido pelo carregador.
+import org.springframework.dao.QueryTimeoutException; // Importa a exceção repassada a quem chamou quando a busca passa do tempo máximo.
+
+import java.util.ArrayList; // Importa a implementação de lista usada para acumular os IDs do lote.
+import java.util.Collection; // Importa a interface Collection, que representa os IDs enviados na consulta $in.
+import java.util.HashMap; // Importa a implementação de mapa usada para indexar os resultados pelo ID.
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção, usado nas estatísticas.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.Optional; // Importa a classe Optional, o resultado de cada busca.
+import java.util.concurrent.CompletableFuture; // Importa o CompletableFuture, que representa uma busca em andamento.
+import java.util.concurrent.CompletionException; // Importa a exceção que embrulha as falhas da busca.
+import java.util.concurrent.ConcurrentHashMap; // Importa o mapa concorrente das buscas em andamento.
+import java.util.concurrent.ScheduledExecutorService; // Importa o agendador que dispara o lote ao fim da janela.
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo.
+import java.util.concurrent.TimeoutException; // Importa a exceção de uma busca que passou do tempo máximo.
+import java.util.concurrent.atomic.AtomicLongArray; // Importa o vetor de contadores das gerações dos IDs.
+import java.util.concurrent.atomic.LongAdder; // Importa o contador usado nas estatísticas.
+import java.util.concurrent.locks.ReentrantLock; // Importa a trava do lote atual (não prende a virtual thread, ao contrário do synchronized).
+import java.util.function.Function; // Importa a interface funcional das funções de busca.
+
+/**
+ * Agrupa buscas por ID que chegam ao mesmo tempo em uma única consulta ao banco (no estilo do DataLoader).
+ *
+ * - Sem nenhuma consulta em andamento, a busca é enviada na hora (uma busca isolada não espera nada).
+ * - As buscas que chegam enquanto uma consulta está em andamento formam o próximo lote, enviado com uma só consulta
+ *   { _id: { $in: [...] } } assim que a consulta anterior responde, ou ao fim da janela, o que vier primeiro.
+ * - Buscas pelo mesmo ID enquanto a primeira ainda está em andamento não geram outra consulta:
+ *   todas esperam o mesmo resultado (single-flight).
+ * - Quando o lote atinge o tamanho máximo, ele é enviado na hora, sem esperar.
+ * - Os documentos encontrados são guardados no cache de leitura da entidade (se houver), e as buscas seguintes são
+ *   respondidas por ele.
+ * - Depois de gravar um documento, os serviços chamam invalidar(id), que avança a geração do ID: a busca em andamento
+ *   por aquele ID (que pode ter lido o documento antes da gravação) deixa de ser compartilhada, e o resultado dela,
+ *   por ser de uma geração anterior, não fica no cache.
+ *
+ * Quem chama fica bloqueado até o lote ser resolvido (ou até o tempo máximo da busca), então o uso é o mesmo de um findById.
+ * As instâncias são criadas por CarregadoresEmLote, uma para cada entidade.
+ */
+public final class CarregadorEmLote<T> {
+
+    // Nome do carregador (o nome da coleção), usado nas estatísticas.
+    private final String nome;
+
+    // Função que busca vários documentos pelos IDs (normalmente repository::findAllById, que usa $in).
+    private final Function<Collection<String>, Iterable<T>> buscarVarios;
+
+    // Função que lê o ID de um documento, para entregar cada resultado a quem o pediu.
+    private final Function<T, String> idDe;
+
+    // Tempo máximo de espera, em microssegundos, de um lote enquanto outra consulta está em andamento.
+    private final long janelaMicros;
+
+    // Quantidade máxima de IDs por consulta.
+    private final int tamanhoMaximo;
+
+    // Tempo máximo de uma busca, em milissegundos. Depois dele, quem espera recebe uma QueryTimeoutException.
+    private final long tempoMaximoMs;
+
+    // Agendador que envia o lote ao fim da janela.
+    private final ScheduledExecutorService agendador;
+
+    // Cache de leitura da entidade (ver CacheConfig), ou nulo se não houver.
+    private final Cache cache;
+
+    // Gerações dos IDs: cada invalidar(id) avança a geração do ID. Uma busca guarda a geração de quando começou, e o
+    // resultado só fica no cache se ela não tiver mudado. Os IDs são distribuídos em um vetor de tamanho fixo (pelo
+    // hash), para não guardar uma entrada por ID gravado; dois IDs na mesma posição apenas deixam de usar o cache
+    // com mais frequência, nunca guardam um documento antigo.
+    private final AtomicLongArray geracoes = new AtomicLongArray(4096);
+
+    // Buscas em andamento, por ID. Quem pede um ID que já está aqui apenas espera o mesmo resultado.
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<T>>> emAndamento = new ConcurrentHashMap<>();
+
+    // Trava que protege o lote atual.
+    private final ReentrantLock trava = new ReentrantLock();
+
+    // Buscas do lote que ainda não foi enviado ao banco.
+    private List<Pedido<T>> loteAtual = new ArrayList<>();
+
+    // Quantidade de consultas em andamento (protegida pela trava).
+    private int consultasEmAndamento;
+
+    // Contadores das estatísticas.
+    private final LongAdder buscas = new LongAdder();
+    private final LongAdder compartilhadas = new LongAdder();
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder invalidadas = new LongAdder();
+    private final LongAdder naoGuardadas = new LongAdder();
+
+    CarregadorEmLote(String nome, Function<Collection<String>, Iterable<T>> buscarVarios, Function<T, String> idDe,
+                     long janelaMicros, int tamanhoMaximo, long tempoMaximoMs, ScheduledExecutorService agendador,
+                     Cache cache) {
+        this.nome = nome;
+        this.buscarVarios = buscarVarios;
+        this.idDe = idDe;
+        this.janelaMicros = janelaMicros;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tempoMaximoMs = tempoMaximoMs;
+        this.agendador = agendador;
+        this.cache = cache;
+    }
+
+    /**
+     * Busca um documento pelo ID: no cache e, se não estiver lá, no banco, junto com as outras buscas do mesmo lote.
+     * @param id O ID do documento.
+     * @return Um Optional com o documento, ou vazio se ele não existir.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<T> carregar(String id) {
+        if (cache != null) {
+            Cache.ValueWrapper guardado = cache.get(id);
+            if (guardado != null) {
+                return Optional.of((T) guardado.get());
+            }
+        }
+        buscas.increment();
+        // A geração é lida antes da consulta: se uma gravação acontecer depois daqui, o resultado não fica no cache.
+        long geracao = geracoes.get(posicao(id));
+        CompletableFuture<Optional<T>> nova = new CompletableFuture<>();
+        CompletableFuture<Optional<T>> existente = emAndamento.putIfAbsent(id, nova);
+        if (existente != null) {
+            // Já existe uma busca por este ID em andamento: espera o resultado dela.
+            compartilhadas.increment();
+            return aguardar(existente);
+        }
+        // Se a consulta não responder a tempo, a busca falha para todos que a esperam e sai do mapa,
+        // para que as buscas seguintes não fiquem presas a ela.
+        nova.orTimeout(tempoMaximoMs, TimeUnit.MILLISECONDS).whenComplete((resultado, erro) -> {
+            if (erro != null) {
+                emAndamento.remove(id, nova);
+            }
+        });
+
+        List<Pedido<T>> pronto = null;
+        trava.lock();
+        try {
+            loteAtual.add(new Pedido<>(id, geracao, nova));
+            if (loteAtual.size() >= tamanhoMaximo || consultasEmAndamento == 0) {
+                // Lote cheio, ou nenhuma consulta em andamento: não há motivo para esperar.
+                pronto = retirarLoteAtual();
+            } else if (loteAtual.size() == 1) {
+                // Primeiro ID de um lote que espera a consulta em andamento: a espera é limitada pela janela.
+                List<Pedido<T>> esperando = loteAtual;
+                agendador.schedule(() -> enviarLoteAtual(esperando), janelaMicros, TimeUnit.MICROSECONDS);
+            }
+        } finally {
+            trava.unlock();
+        }
+        if (pronto != null) {
+            enviar(pronto);
+        }
+        return aguardar(nova);
+    }
+
+    /**
+     * Avança a geração do ID e descarta a busca em andamento por ele, se houver. Deve ser chamado depois de cada
+     * gravação do documento, antes de a entrada ser removida do cache.
+     * Quem já esperava a busca continua recebendo o resultado dela, mas ele não fica no cache; as buscas seguintes
+     * fazem uma consulta nova, em vez de receber o documento lido antes da gravação.
+     * @param id O ID do documento gravado.
+     */
+    public void invalidar(String id) {
+        // A geração avança antes de o serviço remover a entrada do cache (@CacheEvict, depois da gravação).
+        geracoes.incrementAndGet(posicao(id));
+        if (emAndamento.remove(id) != null) {
+            invalidadas.increment();
+        }
+    }
+
+    /**
+     * Devolve os contadores do carregador: buscas que não estavam no cache, buscas que aproveitaram uma busca em
+     * andamento, consultas realmente enviadas ao banco, buscas descartadas por uma gravação e resultados que não
+     * ficaram no cache por serem de uma geração anterior.
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("buscas", buscas.sum());
+        valores.put("compartilhadas", compartilhadas.sum());
+        valores.put("consultas", consultas.sum());
+        valores.put("invalidadas", invalidadas.sum());
+        valores.put("naoGuardadas", naoGuardadas.sum());
+        valores.put("emAndamento", emAndamento.size());
+        return valores;
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    /**
+     * Chamado pelo agendador ao fim da janela: envia o lote, se ele ainda estiver esperando.
+     */
+    private void enviarLoteAtual(List<Pedido<T>> esperando) {
+        List<Pedido<T>> lote;
+        trava.lock();
+        try {
+            if (loteAtual != esperando) {
+                return; // O lote já foi enviado (a consulta anterior respondeu ou ele atingiu o tamanho máximo).
+            }
+            lote = retirarLoteAtual();
+        } finally {
+            trava.unlock();
+        }
+        enviar(lote);
+    }
+
+    /**
+     * Retira o lote atual para envio e conta a consulta como em andamento. Deve ser chamado com a trava.
+     */
+    private List<Pedido<T>> retirarLoteAtual() {
+        List<Pedido<T>> lote = loteAtual;
+        loteAtual = new ArrayList<>();
+        consultasEmAndamento++;
+        return lote;
+    }
+
+    /**
+     * Executa a consulta do lote em uma virtual thread (para não ocupar o agendador) e entrega os resultados.
+     */
+    private void enviar(List<Pedido<T>> lote) {
+        Thread.ofVirtual().name("carregador-" + nome).start(() -> {
+            consultas.increment();
+            Map<String, T> encontrados = new HashMap<>();
+            RuntimeException falha = null;
+            try {
+                for (T documento : buscarVarios.apply(lote.stream().map(Pedido::id).distinct().toList())) {
+                    encontrados.put(idDe.apply(documento), documento);
+                }
+            } catch (RuntimeException e) {
+                falha = e;
+            } finally {
+                enviarProximoLote();
+            }
+            for (Pedido<T> pedido : lote) {
+                // A busca sai do mapa antes de ser concluída: pedidos que chegarem depois disto fazem uma consulta nova.
+                // Só a própria busca é removida: depois de um invalidar(), o mapa pode já ter uma busca nova pelo mesmo ID.
+                emAndamento.remove(pedido.id(), pedido.busca());
+                if (falha != null) {
+                    pedido.busca().completeExceptionally(falha);
+                    continue;
+                }
+                T documento = encontrados.get(pedido.id());
+                if (documento != null) {
+                    guardar(pedido, documento);
+                }
+                pedido.busca().complete(Optional.ofNullable(documento));
+            }
+        });
+    }
+
+    /**
+     * Chamado quando uma consulta responde: envia o lote que se formou enquanto ela estava em andamento, se houver.
+     */
+    private void enviarProximoLote() {
+        List<Pedido<T>> proximo = null;
+        trava.lock();
+        try {
+            consultasEmAndamento--;
+            if (!loteAtual.isEmpty()) {
+                proximo = retirarLoteAtual();
+            }
+        } finally {
+            trava.unlock();
+        }
+        if (proximo != null) {
+            enviar(proximo);
+        }
+    }
+
+    /**
+     * Guarda o documento no cache, se nenhuma gravação do ID tiver acontecido desde o início da busca.
+     * A geração é conferida de novo depois de guardar: se uma gravação acontecer entre as duas leituras, a entrada é
+     * removida aqui ou pela própria gravação (que avança a geração antes de limpar o cache).
+     */
+    private void guardar(Pedido<T> pedido, T documento) {
+        if (cache == null) {
+            return;
+        }
+        int posicao = posicao(pedido.id());
+        if (geracoes.get(posicao) != pedido.geracao()) {
+            naoGuardadas.increment();
+            return;
+        }
+        cache.put(pedido.id(), documento);
+        if (geracoes.get(posicao) != pedido.geracao()) {
+            cache.evict(pedido.id());
+            naoGuardadas.increment();
+        }
+    }
+
+    /**
+     * A posição do ID no vetor de gerações.
+     */
+    private int posicao(String id) {
+        return Math.floorMod(id.hashCode(), geracoes.length());
+    }
+
+    /**
+     * Espera o resultado de uma busca, repassando a exceção original se a consulta falhar.
+     * A espera é limitada pelo tempo máximo da busca (ver carregar()).
+     */
+    private Optional<T> aguardar(CompletableFuture<Optional<T>> busca) {
+        try {
+            return busca.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new QueryTimeoutException("Busca em " + nome + " sem resposta em " + tempoMaximoMs + " ms", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Uma busca do lote: o ID pedido, a geração do ID quando a busca começou e o resultado entregue a quem o pediu.
+    private record Pedido<T>(String id, long geracao, CompletableFuture<Optional<T>> busca) {
+    }
+}
@@ -0,0 +1,102 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import jakarta.annotation.PreDestroy; // Importa a anotação que marca o método chamado quando a aplicação é encerrada.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.cache.CacheManager; // Importa o gerenciador de caches, que fornece o cache de cada carregador.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.util.Collection; // Importa a interface Collection, que representa os IDs enviados na consulta $in.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.TreeMap; // Importa o mapa ordenado, para que os carregadores apareçam em ordem alfabética.
+import java.util.concurrent.CopyOnWriteArrayList; // Importa a lista segura para leitura concorrente dos carregadores criados.
+import java.util.concurrent.Executors; // Importa a fábrica de executores.
+import java.util.concurrent.ScheduledExecutorService; // Importa o agendador compartilhado pelos carregadores.
+import java.util.function.Function; // Importa a interface funcional das funções de busca.
+
+/**
+ * Cria os carregadores em lote (CarregadorEmLote) usados pelos serviços e guarda a configuração comum a eles.
+ *
+ * Propriedades:
+ *   crudmongo.carregador.janela-micros  Tempo máximo de espera de um lote enquanto outra consulta está em andamento
+ *                                       (padrão: 2000 = 2 ms). Sem consulta em andamento, a busca é enviada na hora.
+ *   crudmongo.carregador.tamanho-maximo Quantidade máxima de IDs por consulta $in (padrão: 100).
+ *   crudmongo.carregador.tempo-maximo-ms Tempo máximo de espera por uma busca (padrão: 10000 = 10 s).
+ */
+@Component
+public class CarregadoresEmLote {
+
+    // Agendador único, com uma thread, que apenas dispara o envio dos lotes; as consultas rodam em virtual threads.
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "carregadores-em-lote");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Carregadores criados, para as estatísticas.
+    private final List<CarregadorEmLote<?>> carregadores = new CopyOnWriteArrayList<>();
+
+    // Tempo máximo de espera de um lote enquanto outra consulta está em andamento, em microssegundos.
+    private final long janelaMicros;
+
+    // Quantidade máxima de IDs por consulta.
+    private final int tamanhoMaximo;
+
+    // Tempo máximo de espera por uma busca, em milissegundos.
+    private final long tempoMaximoMs;
+
+    // Gerenciador dos caches de leitura (ver CacheConfig).
+    private final CacheManager cacheManager;
+
+    /**
+     * Construtor da classe CarregadoresEmLote.
+     * @param janelaMicros Propriedade 'crudmongo.carregador.janela-micros'.
+     * @param tamanhoMaximo Propriedade 'crudmongo.carregador.tamanho-maximo'.
+     * @param tempoMaximoMs Propriedade 'crudmongo.carregador.tempo-maximo-ms'.
+     * @param cacheManager O gerenciador dos caches de leitura.
+     */
+    public CarregadoresEmLote(@Value("${crudmongo.carregador.janela-micros:2000}") long janelaMicros,
+                              @Value("${crudmongo.carregador.tamanho-maximo:100}") int tamanhoMaximo,
+                              @Value("${crudmongo.carregador.tempo-maximo-ms:10000}") long tempoMaximoMs,
+                              CacheManager cacheManager) {
+        this.janelaMicros = Math.max(0, janelaMicros);
+        this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+        this.tempoMaximoMs = Math.max(1, tempoMaximoMs);
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Cria um carregador para uma entidade. Os documentos lidos ficam no cache de mesmo nome, se houver um.
+     * @param nome O nome do carregador e do cache (ex: CacheConfig.CURSOS).
+     * @param buscarVarios A função que busca vários documentos pelos IDs (ex: repository::findAllById).
+     * @param idDe A função que lê o ID de um documento (ex: Curso::getId).
+     * @return O carregador.
+     */
+    public <T> CarregadorEmLote<T> criar(String nome, Function<Collection<String>, Iterable<T>> buscarVarios, Function<T, String> idDe) {
+        CarregadorEmLote<T> carregador = new CarregadorEmLote<>(nome, buscarVarios, idDe, janelaMicros, tamanhoMaximo, tempoMaximoMs,
+                agendador, cacheManager.getCache(nome));
+        carregadores.add(carregador);
+        return carregador;
+    }
+
+    /**
+     * Devolve as estatísticas de todos os carregadores, pelo nome.
+     */
+    public Map<String, Map<String, Object>> estatisticas() {
+        Map<String, Map<String, Object>> resposta = new TreeMap<>();
+        for (CarregadorEmLote<?> carregador : carregadores) {
+            resposta.put(carregador.nome(), carregador.estatisticas());
+        }
+        return resposta;
+    }
+
+    /**
+     * Encerra o agendador quando a aplicação é finalizada.
+     */
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
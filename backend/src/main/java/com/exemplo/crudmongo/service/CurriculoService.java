@@ -3,11 +3,39 @@ package com.exemplo.crudmongo.service;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Curriculo; // Importa o modelo de dados 'Curriculo'.
+import com.exemplo.crudmongo.config.CacheConfig; // Importa os nomes dos caches de leitura.
+import com.exemplo.crudmongo.dto.CurriculoExpandido; // Importa o DTO do currículo com as referências resolvidas.
+import com.exemplo.crudmongo.dto.DisciplinaResumo; // Importa o resumo de disciplina usado no currículo expandido.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
 import com.exemplo.crudmongo.repository.CurriculoRepository; // Importa o repositório que faz a comunicação com o banco de dados para a entidade Curriculo.
+import com.exemplo.crudmongo.repository.AtualizacaoAtomica; // Importa o componente de alterações atômicas (findAndModify/deleteOne).
+import com.exemplo.crudmongo.repository.DisciplinaRepository; // Importa o repositório de disciplinas, usado para resolver as referências do currículo.
+import com.exemplo.crudmongo.repository.ConsultaProjetada; // Importa o componente de consultas com projeção de campos.
+import com.exemplo.crudmongo.repository.Ordenacao; // Importa a representação da chave de ordenação da paginação.
+import com.exemplo.crudmongo.repository.PaginacaoKeyset; // Importa o componente que faz a paginação por cursor.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import com.exemplo.crudmongo.repository.LimiteFiltro; // Importa o padrão e o máximo de resultados dos filtros.
+import org.springframework.cache.annotation.CacheEvict; // Importa a anotação que remove uma entrada do cache após uma escrita.
+import org.springframework.cache.annotation.Cacheable; // Importa a anotação que guarda o resultado de um método no cache.
+import org.springframework.context.annotation.Lazy; // Importa a anotação que injeta o próprio serviço sem criar uma dependência circular.
+import org.springframework.dao.OptimisticLockingFailureException; // Importa a exceção de conflito de versão (controle de concorrência otimista).
+import org.springframework.data.domain.Limit; // Importa a classe Limit, usada para limitar os resultados dos filtros.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que representa o $set das alterações.
 import org.springframework.stereotype.Service; // Importa a anotação @Service, que marca a classe como um componente de serviço do Spring.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de escrita na exportação.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição na gravação em lote.
+import java.io.OutputStream; // Importa a classe que representa o fluxo de saída da exportação.
+import java.util.ArrayList; // Importa a implementação de lista usada para montar as disciplinas expandidas.
+import java.util.LinkedHashSet; // Importa o conjunto que remove IDs repetidos mantendo a ordem.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map para indexar as disciplinas encontradas pelo ID.
+import java.util.Objects; // Importa métodos utilitários para tratar valores nulos.
 import java.util.Optional; // Importa a classe Optional, que é uma forma elegante de lidar com valores que podem ser nulos, evitando NullPointerException.
+import java.util.Set; // Importa a interface Set para declarar os campos de ordenação permitidos.
+import java.util.function.Function; // Importa a interface funcional usada para indexar as disciplinas pelo ID.
+import java.util.stream.Collectors; // Importa os coletores de Stream.
 
 /**
  * A anotação @Service indica ao Spring que esta classe é um "Serviço".
@@ -20,84 +48,377 @@ public class CurriculoService {
     // Declaração final do repositório de currículo. 'final' significa que ele deve ser inicializado no construtor.
     private final CurriculoRepository curriculoRepository;
 
+    // Componente que executa a paginação por cursor (keyset) sobre a coleção.
+    private final PaginacaoKeyset paginacaoKeyset;
+
+    // Componente que exporta a coleção em NDJSON diretamente de um cursor do MongoDB.
+    private final ExportadorNdjson exportadorNdjson;
+
+    // Componente que executa as leituras com projeção (parâmetro 'fields').
+    private final ConsultaProjetada consultaProjetada;
+
+    // Contador de alterações da coleção, usado no ETag das listagens.
+    private final VersaoColecoes versaoColecoes;
+
+    // Componente que grava vários documentos por chamada ao banco (BulkOperations).
+    private final EscritorEmLote escritorEmLote;
+
+    // Componente que executa as alterações e exclusões em uma única ida ao banco.
+    private final AtualizacaoAtomica atualizacaoAtomica;
+
+    // Repositório de disciplinas, usado para buscar de uma vez todas as disciplinas referenciadas por um currículo.
+    private final DisciplinaRepository disciplinaRepository;
+
+    // Serviço de cursos, usado para expandir o curso do currículo (aproveitando o cache de cursos).
+    private final CursoService cursoService;
+
+    // Este mesmo serviço, pelo proxy do Spring. Uma chamada direta a this.buscarPorId() não passaria pelo @Cacheable.
+    private final CurriculoService proxy;
+
+    // Campos (além do id) que podem ser usados para ordenar a listagem paginada. Todos possuem índice (ver IndicesMongo).
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("ano");
+
     /**
      * Construtor da classe CurriculoService.
      * O Spring utiliza este construtor para realizar a "Injeção de Dependência".
      * Ele automaticamente cria uma instância de CurriculoRepository e a "injeta" aqui,
      * permitindo que o serviço utilize os métodos do repositório para acessar o banco de dados.
      * @param curriculoRepository A instância de CurriculoRepository fornecida pelo Spring.
+     * @param paginacaoKeyset O componente de paginação por cursor.
+     * @param exportadorNdjson O componente de exportação em NDJSON.
+     * @param consultaProjetada O componente de consultas com projeção.
+     * @param versaoColecoes O contador de alterações das coleções.
+     * @param escritorEmLote O componente de gravação em lote.
+     * @param atualizacaoAtomica O componente de alterações atômicas.
+     * @param disciplinaRepository O repositório de disciplinas.
+     * @param cursoService O serviço de cursos.
+     * @param proxy Este mesmo serviço, pelo proxy do Spring (resolvido só no primeiro uso, por causa do @Lazy).
      */
-    public CurriculoService(CurriculoRepository curriculoRepository) {
+    public CurriculoService(CurriculoRepository curriculoRepository, PaginacaoKeyset paginacaoKeyset,
+                            ExportadorNdjson exportadorNdjson, ConsultaProjetada consultaProjetada,
+                            VersaoColecoes versaoColecoes, EscritorEmLote escritorEmLote,
+                            AtualizacaoAtomica atualizacaoAtomica, DisciplinaRepository disciplinaRepository,
+                            CursoService cursoService, @Lazy CurriculoService proxy) {
         this.curriculoRepository = curriculoRepository;
+        this.paginacaoKeyset = paginacaoKeyset;
+        this.exportadorNdjson = exportadorNdjson;
+        this.consultaProjetada = consultaProjetada;
+        this.versaoColecoes = versaoColecoes;
+        this.escritorEmLote = escritorEmLote;
+        this.atualizacaoAtomica = atualizacaoAtomica;
+        this.disciplinaRepository = disciplinaRepository;
+        this.cursoService = cursoService;
+        this.proxy = proxy;
     }
 
     /**
      * Método para listar todos os currículos.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields'). Se for completa, traz o documento inteiro.
      * @return Uma lista com todos os currículos encontrados no banco de dados.
      */
-    public List<Curriculo> listarTodos() {
+    public List<Curriculo> listarTodos(Projecao projecao) {
+        if (!projecao.completa()) {
+            // Com projeção, o MongoDB só lê e envia os campos pedidos.
+            return consultaProjetada.listar(Curriculo.class, projecao);
+        }
         // Chama o método findAll() do repositório, que o Spring Data MongoDB implementa automaticamente.
         return curriculoRepository.findAll();
     }
 
+    /**
+     * Método para listar os currículos em páginas, usando paginação por cursor (keyset).
+     * Diferente do listarTodos(), nunca carrega a coleção inteira na memória e o custo de cada página
+     * é o mesmo, não importa o quão "funda" ela esteja.
+     * @param limite A quantidade máxima de itens da página.
+     * @param cursor O cursor devolvido pela página anterior (ou nulo para a primeira página).
+     * @param sort O campo de ordenação, opcionalmente precedido de '-' para ordem decrescente.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Uma Pagina com os itens e o cursor da próxima página.
+     * @throws IllegalArgumentException se a ordenação ou o cursor forem inválidos.
+     */
+    public Pagina<Curriculo> listarPagina(Integer limite, String cursor, String sort, Projecao projecao) {
+        Ordenacao ordenacao = Ordenacao.de(sort, CAMPOS_ORDENACAO);
+        return paginacaoKeyset.buscar(Curriculo.class, null, ordenacao, limite, cursor, projecao);
+    }
+
+    /**
+     * Método para filtrar os currículos de um curso, opcionalmente por ano e semestre de vigência.
+     * A consulta usa o índice (cursoId, ano, semestre), então o custo depende da quantidade de resultados
+     * e não do tamanho da coleção.
+     * @param cursoId O ID do curso (obrigatório).
+     * @param ano O ano de vigência (opcional).
+     * @param semestre O semestre de vigência (opcional, mas só pode ser usado junto com o ano).
+     * @param limite A quantidade máxima de currículos devolvidos (opcional).
+     * @return A lista de currículos encontrados.
+     * @throws IllegalArgumentException se o semestre for informado sem o ano.
+     */
+    public List<Curriculo> filtrar(String cursoId, Integer ano, Integer semestre, Integer limite) {
+        Limit limit = LimiteFiltro.de(limite);
+        if (ano == null) {
+            if (semestre != null) {
+                throw new IllegalArgumentException("O semestre só pode ser filtrado junto com o ano");
+            }
+            return curriculoRepository.findByCursoId(cursoId, limit);
+        }
+        if (semestre == null) {
+            return curriculoRepository.findByCursoIdAndAno(cursoId, ano, limit);
+        }
+        return curriculoRepository.findByCursoIdAndAnoAndSemestre(cursoId, ano, semestre, limit);
+    }
+
+    /**
+     * Método para exportar os currículos em NDJSON (um documento JSON por linha) ou em CBOR/Smile.
+     * Os documentos vão do cursor do banco direto para o fluxo de saída, sem montar uma lista na memória.
+     * @param saida O fluxo de saída onde os documentos serão escritos.
+     * @param tamanhoLote Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param projecao Os campos a serem exportados (parâmetro 'fields').
+     * @param formato O formato da exportação (NDJSON, CBOR ou Smile).
+     * @throws IOException se a escrita falhar (ex: o cliente fechou a conexão).
+     */
+    public void exportar(OutputStream saida, Integer tamanhoLote, Projecao projecao, ExportadorNdjson.Formato formato) throws IOException {
+        exportadorNdjson.exportar(Curriculo.class, saida, tamanhoLote, projecao, formato);
+    }
+
+    /**
+     * Método para criar ou atualizar vários currículos de uma vez, a partir de um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam).
+     * O array é lido aos poucos e gravado em blocos, com uma chamada ao banco por bloco.
+     * @param corpo O corpo da requisição, com o array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao banco por chamada (opcional).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public ResultadoLote salvarEmLote(InputStream corpo, Integer tamanhoBloco) throws IOException {
+        return escritorEmLote.gravar(Curriculo.class, CacheConfig.CURRICULOS, corpo, tamanhoBloco);
+    }
+
+    /**
+     * Método para consultar o contador de alterações da coleção.
+     * Ele muda a cada escrita feita pela aplicação, então serve para saber se uma listagem mudou sem precisar relê-la.
+     * @return O valor atual do contador.
+     */
+    public long versaoColecao() {
+        return versaoColecoes.versao(Curriculo.class);
+    }
+
     /**
      * Método para buscar um único currículo pelo seu ID.
      * @param id O ID do currículo a ser buscado.
      * @return Um Optional contendo o Curriculo se ele for encontrado, ou um Optional vazio caso contrário.
      */
+    @Cacheable(cacheNames = CacheConfig.CURRICULOS, key = "#id", unless = "#result == null") // Consulta o cache antes de ir ao banco; só resultados encontrados são guardados.
     public Optional<Curriculo> buscarPorId(String id) {
         // Chama o método findById() do repositório.
         return curriculoRepository.findById(id);
     }
 
+    /**
+     * Método para buscar um único currículo pelo seu ID, lendo apenas os campos pedidos.
+     * @param id O ID a ser buscado.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Um Optional com o resultado (preenchido apenas nos campos projetados), ou vazio se não existir.
+     */
+    public Optional<Curriculo> buscarPorId(String id, Projecao projecao) {
+        if (projecao.completa()) {
+            // O documento inteiro vem do buscarPorId(id), pelo proxy, que consulta e preenche o cache.
+            return proxy.buscarPorId(id);
+        }
+        return consultaProjetada.buscarPorId(Curriculo.class, id, projecao);
+    }
+
+    /**
+     * Método para buscar um currículo com as disciplinas (e, opcionalmente, o curso) já resolvidas.
+     * Todas as disciplinas obrigatórias e optativas são buscadas em uma única consulta $in,
+     * em vez de uma requisição por disciplina.
+     * @param id O ID do currículo.
+     * @param expandirCurso Se verdadeiro, inclui também o curso completo do currículo.
+     * @return Um Optional com o currículo expandido, ou vazio se o currículo não existir.
+     */
+    public Optional<CurriculoExpandido> buscarExpandido(String id, boolean expandirCurso) {
+        // Pelo proxy, como o curso pelo cursoService: o currículo também vem do cache quando já foi lido.
+        return proxy.buscarPorId(id).map(curriculo -> {
+            List<String> obrigatorias = curriculo.getDisciplinasObrigatorias() == null ? List.of() : curriculo.getDisciplinasObrigatorias();
+            List<String> optativas = curriculo.getDisciplinasOptativas() == null ? List.of() : curriculo.getDisciplinasOptativas();
+
+            // Junta os IDs das duas listas (sem repetições) e busca todos de uma vez.
+            Set<String> ids = new LinkedHashSet<>(obrigatorias);
+            ids.addAll(optativas);
+            Map<String, DisciplinaResumo> encontradas = ids.isEmpty() ? Map.of()
+                    : disciplinaRepository.findByIdIn(ids).stream()
+                            .collect(Collectors.toMap(DisciplinaResumo::getId, Function.identity()));
+
+            CurriculoExpandido expandido = new CurriculoExpandido();
+            expandido.setId(curriculo.getId());
+            expandido.setCursoId(curriculo.getCursoId());
+            expandido.setAno(curriculo.getAno());
+            expandido.setSemestre(curriculo.getSemestre());
+            expandido.setVersao(curriculo.getVersao());
+            // O $in não garante a ordem, então as listas são remontadas na ordem original do currículo.
+            expandido.setDisciplinasObrigatorias(resumos(obrigatorias, encontradas));
+            expandido.setDisciplinasOptativas(resumos(optativas, encontradas));
+            expandido.setDisciplinasNaoEncontradas(ids.stream().filter(idDisciplina -> !encontradas.containsKey(idDisciplina)).toList());
+            if (expandirCurso && curriculo.getCursoId() != null) {
+                expandido.setCurso(cursoService.buscarPorId(curriculo.getCursoId()).orElse(null));
+            }
+            return expandido;
+        });
+    }
+
     /**
      * Método para salvar um novo currículo ou atualizar um existente.
      * @param curriculo O objeto Curriculo a ser salvo no banco de dados.
      * @return O objeto Curriculo salvo (com o ID, caso seja um novo currículo).
      */
+    @CacheEvict(cacheNames = CacheConfig.CURRICULOS, key = "#result.id") // Invalida a entrada em cache do documento gravado.
     public Curriculo salvar(Curriculo curriculo) {
         // Aqui seria um bom lugar para adicionar validações ou lógica de negócios antes de salvar.
         // Por exemplo, verificar se o cursoId existe.
         // Chama o método save() do repositório para persistir o objeto.
-        return curriculoRepository.save(curriculo);
+        Curriculo salvo = curriculoRepository.save(curriculo);
+        // Registra a alteração no contador da coleção (usado no ETag das listagens).
+        versaoColecoes.incrementar(Curriculo.class);
+        return salvo;
     }
 
     /**
      * Método para atualizar os dados de um currículo existente.
      * @param id O ID do currículo a ser atualizado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
      * @param curriculoAtualizado Um objeto Curriculo com os novos dados.
      * @return O objeto Curriculo com os dados atualizados.
-     * @throws RuntimeException se nenhum currículo for encontrado com o ID fornecido.
-     */
-    public Curriculo atualizar(String id, Curriculo curriculoAtualizado) {
-        // Primeiro, busca o currículo pelo ID. O retorno é um Optional.
-        return curriculoRepository.findById(id)
-                .map(curriculoExistente -> { // O método map() é executado apenas se o currículo for encontrado.
-                    // Atualiza os campos do currículo que já existe no banco com os dados do currículo que veio na requisição.
-                    curriculoExistente.setCursoId(curriculoAtualizado.getCursoId());
-                    curriculoExistente.setAno(curriculoAtualizado.getAno());
-                    curriculoExistente.setSemestre(curriculoAtualizado.getSemestre());
-                    curriculoExistente.setDisciplinasObrigatorias(curriculoAtualizado.getDisciplinasObrigatorias());
-                    curriculoExistente.setDisciplinasOptativas(curriculoAtualizado.getDisciplinasOptativas());
-                    // Salva o currículo com os dados atualizados e o retorna.
-                    return curriculoRepository.save(curriculoExistente);
-                })
-                // Se o findById() não encontrar nada, o orElseThrow() é executado.
-                .orElseThrow(() -> new RuntimeException("Currículo não encontrado com o id: " + id)); // Lança uma exceção informando que o currículo não foi encontrado.
+     * @throws DocumentoNaoEncontradoException se nenhum currículo for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.CURRICULOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Curriculo atualizar(String id, List<Long> versoesEsperadas, Curriculo curriculoAtualizado) {
+        // Monta um $set com os campos que vieram na requisição. O MongoDB aplica a alteração e devolve o documento
+        // já atualizado em uma única operação (findAndModify), sem precisar buscá-lo antes.
+        Update update = new Update()
+                .set("cursoId", curriculoAtualizado.getCursoId())
+                .set("ano", curriculoAtualizado.getAno())
+                .set("semestre", curriculoAtualizado.getSemestre())
+                // Listas ausentes são gravadas vazias (e não nulas): $addToSet e $pullAll não funcionam em um campo nulo.
+                .set("disciplinasObrigatorias", Objects.requireNonNullElse(curriculoAtualizado.getDisciplinasObrigatorias(), List.of()))
+                .set("disciplinasOptativas", Objects.requireNonNullElse(curriculoAtualizado.getDisciplinasOptativas(), List.of()));
+        Curriculo salvo = atualizacaoAtomica.atualizar(Curriculo.class, id, versoesEsperadas, update)
+                // Se nenhum documento tiver o ID informado, o orElseThrow() é executado.
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Currículo não encontrado com o id: " + id)); // Lança uma exceção informando que o currículo não foi encontrado.
+        versaoColecoes.incrementar(Curriculo.class);
+        return salvo;
+    }
+
+    /**
+     * Método para alterar apenas alguns campos de um currículo (PATCH).
+     * Só os campos enviados são gravados, em uma única operação no banco; os demais continuam como estão.
+     * @param id O ID do documento a ser alterado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @param campos Os campos a serem alterados e seus novos valores (ex: { "disciplinasOptativas": [...] }).
+     * @return O documento com os dados atualizados.
+     * @throws IllegalArgumentException se algum campo não existir, não puder ser alterado ou tiver um valor incompatível.
+     * @throws DocumentoNaoEncontradoException se nenhum documento for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.CURRICULOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Curriculo atualizarParcialmente(String id, List<Long> versoesEsperadas, Map<String, Object> campos) {
+        Curriculo salvo = atualizacaoAtomica.atualizarCampos(Curriculo.class, id, versoesEsperadas, campos)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Currículo não encontrado com o id: " + id));
+        versaoColecoes.incrementar(Curriculo.class);
+        return salvo;
+    }
+
+    /**
+     * Método para adicionar disciplinas a uma das listas do currículo, sem reescrever o documento inteiro.
+     * Usa o operador $addToSet: os IDs que já estão na lista são ignorados, e a alteração é atômica,
+     * então duas edições simultâneas no mesmo currículo não apagam uma à outra.
+     * @param id O ID do currículo.
+     * @param tipo A lista a ser alterada: "obrigatorias" ou "optativas".
+     * @param disciplinas Os IDs das disciplinas a serem adicionadas.
+     * @return O currículo com os dados atualizados.
+     * @throws IllegalArgumentException se o tipo for inválido ou nenhuma disciplina for informada.
+     * @throws DocumentoNaoEncontradoException se nenhum currículo for encontrado com o ID fornecido.
+     */
+    @CacheEvict(cacheNames = CacheConfig.CURRICULOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Curriculo adicionarDisciplinas(String id, String tipo, List<String> disciplinas) {
+        Update update = new Update();
+        update.addToSet(campoDaLista(tipo)).each(validarDisciplinas(disciplinas).toArray());
+        Curriculo salvo = atualizacaoAtomica.atualizar(Curriculo.class, id, null, update)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Currículo não encontrado com o id: " + id));
+        versaoColecoes.incrementar(Curriculo.class);
+        return salvo;
+    }
+
+    /**
+     * Método para remover disciplinas de uma das listas do currículo, sem reescrever o documento inteiro.
+     * Usa o operador $pullAll: remove todas as ocorrências dos IDs informados, de forma atômica.
+     * @param id O ID do currículo.
+     * @param tipo A lista a ser alterada: "obrigatorias" ou "optativas".
+     * @param disciplinas Os IDs das disciplinas a serem removidas.
+     * @return O currículo com os dados atualizados.
+     * @throws IllegalArgumentException se o tipo for inválido ou nenhuma disciplina for informada.
+     * @throws DocumentoNaoEncontradoException se nenhum currículo for encontrado com o ID fornecido.
+     */
+    @CacheEvict(cacheNames = CacheConfig.CURRICULOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Curriculo removerDisciplinas(String id, String tipo, List<String> disciplinas) {
+        Update update = new Update().pullAll(campoDaLista(tipo), validarDisciplinas(disciplinas).toArray());
+        Curriculo salvo = atualizacaoAtomica.atualizar(Curriculo.class, id, null, update)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Currículo não encontrado com o id: " + id));
+        versaoColecoes.incrementar(Curriculo.class);
+        return salvo;
     }
 
     /**
      * Método para excluir um currículo do banco de dados.
      * @param id O ID do currículo a ser excluído.
-     * @throws RuntimeException se nenhum currículo for encontrado com o ID fornecido.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @throws DocumentoNaoEncontradoException se nenhum currículo for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public void excluir(String id) {
-        // Primeiro, verifica se um currículo com o ID fornecido realmente existe para evitar tentar deletar algo que não existe.
-        if (!curriculoRepository.existsById(id)) {
+    @CacheEvict(cacheNames = CacheConfig.CURRICULOS, key = "#id") // Invalida a entrada em cache do documento removido.
+    public void excluir(String id, List<Long> versoesEsperadas) {
+        // Remove o documento com um único deleteOne. Se nenhum documento foi removido, é porque o ID não existe.
+        if (!atualizacaoAtomica.excluir(Curriculo.class, id, versoesEsperadas)) {
             // Se não existe, lança uma exceção para informar o erro.
-            throw new RuntimeException("Currículo não encontrado com o id: " + id);
+            throw new DocumentoNaoEncontradoException("Currículo não encontrado com o id: " + id);
+        }
+        versaoColecoes.incrementar(Curriculo.class);
+    }
+
+    /**
+     * Monta a lista de resumos na ordem dos IDs informados, ignorando os IDs que não foram encontrados.
+     */
+    private static List<DisciplinaResumo> resumos(List<String> ids, Map<String, DisciplinaResumo> encontradas) {
+        List<DisciplinaResumo> resumos = new ArrayList<>(ids.size());
+        for (String idDisciplina : ids) {
+            DisciplinaResumo resumo = encontradas.get(idDisciplina);
+            if (resumo != null) {
+                resumos.add(resumo);
+            }
+        }
+        return resumos;
+    }
+
+    /**
+     * Converte o tipo de lista usado na URL ("obrigatorias" ou "optativas") no nome do campo do documento.
+     */
+    private static String campoDaLista(String tipo) {
+        return switch (tipo) {
+            case "obrigatorias" -> "disciplinasObrigatorias";
+            case "optativas" -> "disciplinasOptativas";
+            default -> throw new IllegalArgumentException("Tipo de disciplina inválido: " + tipo + " (use 'obrigatorias' ou 'optativas')");
+        };
+    }
+
+    /**
+     * Verifica se foi informada ao menos uma disciplina e se nenhum ID está vazio.
+     */
+    private static List<String> validarDisciplinas(List<String> disciplinas) {
+        if (disciplinas == null || disciplinas.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma disciplina informada");
+        }
+        if (disciplinas.stream().anyMatch(disciplina -> disciplina == null || disciplina.isBlank())) {
+            throw new IllegalArgumentException("ID de disciplina vazio");
         }
-        // Se existe, chama o método deleteById() do repositório para remover o currículo.
-        curriculoRepository.deleteById(id);
+        return disciplinas;
     }
 }
\ No newline at end of file
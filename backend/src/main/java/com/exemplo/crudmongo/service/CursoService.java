@@ -3,11 +3,27 @@ package com.exemplo.crudmongo.service;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Curso; // Importa o modelo de dados 'Curso'.
+import com.exemplo.crudmongo.config.CacheConfig; // Importa os nomes dos caches de leitura.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
 import com.exemplo.crudmongo.repository.CursoRepository; // Importa o repositório que faz a comunicação com o banco de dados para a entidade Curso.
+import com.exemplo.crudmongo.repository.AtualizacaoAtomica; // Importa o componente de alterações atômicas (findAndModify/deleteOne).
+import com.exemplo.crudmongo.repository.ConsultaProjetada; // Importa o componente de consultas com projeção de campos.
+import com.exemplo.crudmongo.repository.Ordenacao; // Importa a representação da chave de ordenação da paginação.
+import com.exemplo.crudmongo.repository.PaginacaoKeyset; // Importa o componente que faz a paginação por cursor.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import org.springframework.cache.annotation.CacheEvict; // Importa a anotação que remove uma entrada do cache após uma escrita.
+import org.springframework.dao.OptimisticLockingFailureException; // Importa a exceção de conflito de versão (controle de concorrência otimista).
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que representa o $set das alterações.
 import org.springframework.stereotype.Service; // Importa a anotação @Service, que marca a classe como um componente de serviço do Spring.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de escrita na exportação.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição na gravação em lote.
+import java.io.OutputStream; // Importa a classe que representa o fluxo de saída da exportação.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
 import java.util.Optional; // Importa a classe Optional, que é uma forma elegante de lidar com valores que podem ser nulos, evitando NullPointerException.
+import java.util.Set; // Importa a interface Set para declarar os campos de ordenação permitidos.
 
 /**
  * A anotação @Service indica ao Spring que esta classe é um "Serviço".
@@ -20,34 +36,149 @@ public class CursoService {
     // Declaração final do repositório de curso. 'final' significa que ele deve ser inicializado no construtor.
     private final CursoRepository cursoRepository;
 
+    // Componente que executa a paginação por cursor (keyset) sobre a coleção.
+    private final PaginacaoKeyset paginacaoKeyset;
+
+    // Componente que exporta a coleção em NDJSON diretamente de um cursor do MongoDB.
+    private final ExportadorNdjson exportadorNdjson;
+
+    // Componente que executa as leituras com projeção (parâmetro 'fields').
+    private final ConsultaProjetada consultaProjetada;
+
+    // Contador de alterações da coleção, usado no ETag das listagens.
+    private final VersaoColecoes versaoColecoes;
+
+    // Componente que grava vários documentos por chamada ao banco (BulkOperations).
+    private final EscritorEmLote escritorEmLote;
+
+    // Componente que executa as alterações e exclusões em uma única ida ao banco.
+    private final AtualizacaoAtomica atualizacaoAtomica;
+
+    // Carregador que junta as buscas por ID simultâneas em uma única consulta $in.
+    private final CarregadorEmLote<Curso> carregador;
+
+    // Campos (além do id) que podem ser usados para ordenar a listagem paginada. Todos possuem índice (ver IndicesMongo).
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("nome");
+
     /**
      * Construtor da classe CursoService.
      * O Spring utiliza este construtor para realizar a "Injeção de Dependência".
      * Ele automaticamente cria uma instância de CursoRepository e a "injeta" aqui,
      * permitindo que o serviço utilize os métodos do repositório para acessar o banco de dados.
      * @param cursoRepository A instância de CursoRepository fornecida pelo Spring.
+     * @param paginacaoKeyset O componente de paginação por cursor.
+     * @param exportadorNdjson O componente de exportação em NDJSON.
+     * @param consultaProjetada O componente de consultas com projeção.
+     * @param versaoColecoes O contador de alterações das coleções.
+     * @param escritorEmLote O componente de gravação em lote.
+     * @param atualizacaoAtomica O componente de alterações atômicas.
+     * @param carregadoresEmLote A fábrica dos carregadores em lote.
      */
-    public CursoService(CursoRepository cursoRepository) {
+    public CursoService(CursoRepository cursoRepository, PaginacaoKeyset paginacaoKeyset,
+                        ExportadorNdjson exportadorNdjson, ConsultaProjetada consultaProjetada,
+                        VersaoColecoes versaoColecoes, EscritorEmLote escritorEmLote,
+                        AtualizacaoAtomica atualizacaoAtomica,
+                        CarregadoresEmLote carregadoresEmLote) {
         this.cursoRepository = cursoRepository;
+        this.paginacaoKeyset = paginacaoKeyset;
+        this.exportadorNdjson = exportadorNdjson;
+        this.consultaProjetada = consultaProjetada;
+        this.versaoColecoes = versaoColecoes;
+        this.escritorEmLote = escritorEmLote;
+        this.atualizacaoAtomica = atualizacaoAtomica;
+        this.carregador = carregadoresEmLote.criar(CacheConfig.CURSOS, cursoRepository::findAllById, Curso::getId);
     }
 
     /**
      * Método para listar todos os cursos.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields'). Se for completa, traz o documento inteiro.
      * @return Uma lista com todos os cursos encontrados no banco de dados.
      */
-    public List<Curso> listarTodos() {
+    public List<Curso> listarTodos(Projecao projecao) {
+        if (!projecao.completa()) {
+            // Com projeção, o MongoDB só lê e envia os campos pedidos.
+            return consultaProjetada.listar(Curso.class, projecao);
+        }
         // Chama o método findAll() do repositório, que o Spring Data MongoDB implementa automaticamente.
         return cursoRepository.findAll();
     }
 
+    /**
+     * Método para listar os cursos em páginas, usando paginação por cursor (keyset).
+     * Diferente do listarTodos(), nunca carrega a coleção inteira na memória e o custo de cada página
+     * é o mesmo, não importa o quão "funda" ela esteja.
+     * @param limite A quantidade máxima de itens da página.
+     * @param cursor O cursor devolvido pela página anterior (ou nulo para a primeira página).
+     * @param sort O campo de ordenação, opcionalmente precedido de '-' para ordem decrescente.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Uma Pagina com os itens e o cursor da próxima página.
+     * @throws IllegalArgumentException se a ordenação ou o cursor forem inválidos.
+     */
+    public Pagina<Curso> listarPagina(Integer limite, String cursor, String sort, Projecao projecao) {
+        Ordenacao ordenacao = Ordenacao.de(sort, CAMPOS_ORDENACAO);
+        return paginacaoKeyset.buscar(Curso.class, null, ordenacao, limite, cursor, projecao);
+    }
+
+    /**
+     * Método para exportar os cursos em NDJSON (um documento JSON por linha) ou em CBOR/Smile.
+     * Os documentos vão do cursor do banco direto para o fluxo de saída, sem montar uma lista na memória.
+     * @param saida O fluxo de saída onde os documentos serão escritos.
+     * @param tamanhoLote Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param projecao Os campos a serem exportados (parâmetro 'fields').
+     * @param formato O formato da exportação (NDJSON, CBOR ou Smile).
+     * @throws IOException se a escrita falhar (ex: o cliente fechou a conexão).
+     */
+    public void exportar(OutputStream saida, Integer tamanhoLote, Projecao projecao, ExportadorNdjson.Formato formato) throws IOException {
+        exportadorNdjson.exportar(Curso.class, saida, tamanhoLote, projecao, formato);
+    }
+
+    /**
+     * Método para criar ou atualizar vários cursos de uma vez, a partir de um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam).
+     * O array é lido aos poucos e gravado em blocos, com uma chamada ao banco por bloco.
+     * @param corpo O corpo da requisição, com o array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao banco por chamada (opcional).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public ResultadoLote salvarEmLote(InputStream corpo, Integer tamanhoBloco) throws IOException {
+        return escritorEmLote.gravar(Curso.class, CacheConfig.CURSOS, corpo, tamanhoBloco, carregador::invalidar);
+    }
+
+    /**
+     * Método para consultar o contador de alterações da coleção.
+     * Ele muda a cada escrita feita pela aplicação, então serve para saber se uma listagem mudou sem precisar relê-la.
+     * @return O valor atual do contador.
+     */
+    public long versaoColecao() {
+        return versaoColecoes.versao(Curso.class);
+    }
+
     /**
      * Método para buscar um único curso pelo seu ID.
      * @param id O ID do curso a ser buscado.
      * @return Um Optional contendo o Curso se ele for encontrado, ou um Optional vazio caso contrário.
      */
     public Optional<Curso> buscarPorId(String id) {
-        // Chama o método findById() do repositório.
-        return cursoRepository.findById(id);
+        // Em vez de um findById por chamada, a busca passa pelo carregador em lote: as buscas que chegam
+        // ao mesmo tempo (em requisições diferentes) viram uma única consulta { _id: { $in: [...] } },
+        // e buscas pelo mesmo ID compartilham a consulta que já está em andamento.
+        // O cache de leitura fica a cargo do carregador, que só guarda resultados lidos depois da última gravação do ID.
+        return carregador.carregar(id);
+    }
+
+    /**
+     * Método para buscar um único curso pelo seu ID, lendo apenas os campos pedidos.
+     * @param id O ID a ser buscado.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Um Optional com o resultado (preenchido apenas nos campos projetados), ou vazio se não existir.
+     */
+    public Optional<Curso> buscarPorId(String id, Projecao projecao) {
+        if (projecao.completa()) {
+            return buscarPorId(id);
+        }
+        return consultaProjetada.buscarPorId(Curso.class, id, projecao);
     }
 
     /**
@@ -55,48 +186,80 @@ public class CursoService {
      * @param curso O objeto Curso a ser salvo no banco de dados.
      * @return O objeto Curso salvo (com o ID, caso seja um novo curso).
      */
+    @CacheEvict(cacheNames = CacheConfig.CURSOS, key = "#result.id") // Invalida a entrada em cache do documento gravado.
     public Curso salvar(Curso curso) {
         // Aqui seria um bom lugar para adicionar validações ou lógica de negócios antes de salvar.
         // Por exemplo, verificar se já existe um curso com o mesmo nome.
         // Chama o método save() do repositório para persistir o objeto.
-        return cursoRepository.save(curso);
+        Curso salvo = cursoRepository.save(curso);
+        // Descarta a busca em lote em andamento por este ID, que pode ter lido o documento antes da gravação.
+        carregador.invalidar(salvo.getId());
+        // Registra a alteração no contador da coleção (usado no ETag das listagens).
+        versaoColecoes.incrementar(Curso.class);
+        return salvo;
     }
 
     /**
      * Método para atualizar os dados de um curso existente.
      * @param id O ID do curso a ser atualizado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
      * @param cursoAtualizado Um objeto Curso com os novos dados.
      * @return O objeto Curso com os dados atualizados.
-     * @throws RuntimeException se nenhum curso for encontrado com o ID fornecido.
+     * @throws DocumentoNaoEncontradoException se nenhum curso for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.CURSOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Curso atualizar(String id, List<Long> versoesEsperadas, Curso cursoAtualizado) {
+        // Monta um $set com os campos que vieram na requisição. O MongoDB aplica a alteração e devolve o documento
+        // já atualizado em uma única operação (findAndModify), sem precisar buscá-lo antes.
+        Update update = new Update()
+                .set("nome", cursoAtualizado.getNome())
+                .set("nivel", cursoAtualizado.getNivel())
+                .set("modalidade", cursoAtualizado.getModalidade())
+                .set("turno", cursoAtualizado.getTurno());
+        Curso salvo = atualizacaoAtomica.atualizar(Curso.class, id, versoesEsperadas, update)
+                // Se nenhum documento tiver o ID informado, o orElseThrow() é executado.
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Curso não encontrado com o id: " + id)); // Lança uma exceção informando que o curso não foi encontrado.
+        carregador.invalidar(id);
+        versaoColecoes.incrementar(Curso.class);
+        return salvo;
+    }
+
+    /**
+     * Método para alterar apenas alguns campos de um curso (PATCH).
+     * Só os campos enviados são gravados, em uma única operação no banco; os demais continuam como estão.
+     * @param id O ID do documento a ser alterado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @param campos Os campos a serem alterados e seus novos valores (ex: { "turno": "Noturno" }).
+     * @return O documento com os dados atualizados.
+     * @throws IllegalArgumentException se algum campo não existir, não puder ser alterado ou tiver um valor incompatível.
+     * @throws DocumentoNaoEncontradoException se nenhum documento for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public Curso atualizar(String id, Curso cursoAtualizado) {
-        // Primeiro, busca o curso pelo ID. O retorno é um Optional.
-        return cursoRepository.findById(id)
-                .map(cursoExistente -> { // O método map() é executado apenas se o curso for encontrado.
-                    // Atualiza os campos do curso que já existe no banco com os dados do curso que veio na requisição.
-                    cursoExistente.setNome(cursoAtualizado.getNome());
-                    cursoExistente.setNivel(cursoAtualizado.getNivel());
-                    cursoExistente.setModalidade(cursoAtualizado.getModalidade());
-                    cursoExistente.setTurno(cursoAtualizado.getTurno());
-                    // Salva o curso com os dados atualizados e o retorna.
-                    return cursoRepository.save(cursoExistente);
-                })
-                // Se o findById() não encontrar nada, o orElseThrow() é executado.
-                .orElseThrow(() -> new RuntimeException("Curso não encontrado com o id: " + id)); // Lança uma exceção informando que o curso não foi encontrado.
+    @CacheEvict(cacheNames = CacheConfig.CURSOS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Curso atualizarParcialmente(String id, List<Long> versoesEsperadas, Map<String, Object> campos) {
+        Curso salvo = atualizacaoAtomica.atualizarCampos(Curso.class, id, versoesEsperadas, campos)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Curso não encontrado com o id: " + id));
+        carregador.invalidar(id);
+        versaoColecoes.incrementar(Curso.class);
+        return salvo;
     }
 
     /**
      * Método para excluir um curso do banco de dados.
      * @param id O ID do curso a ser excluído.
-     * @throws RuntimeException se nenhum curso for encontrado com o ID fornecido.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @throws DocumentoNaoEncontradoException se nenhum curso for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public void excluir(String id) {
-        // Primeiro, verifica se um curso com o ID fornecido realmente existe.
-        if (!cursoRepository.existsById(id)) {
+    @CacheEvict(cacheNames = CacheConfig.CURSOS, key = "#id") // Invalida a entrada em cache do documento removido.
+    public void excluir(String id, List<Long> versoesEsperadas) {
+        // Remove o documento com um único deleteOne. Se nenhum documento foi removido, é porque o ID não existe.
+        if (!atualizacaoAtomica.excluir(Curso.class, id, versoesEsperadas)) {
             // Se não existe, lança uma exceção para informar o erro.
-            throw new RuntimeException("Curso não encontrado com o id: " + id);
+            throw new DocumentoNaoEncontradoException("Curso não encontrado com o id: " + id);
         }
-        // Se existe, chama o método deleteById() do repositório para remover o curso.
-        cursoRepository.deleteById(id);
+        carregador.invalidar(id);
+        versaoColecoes.incrementar(Curso.class);
     }
 }
\ No newline at end of file
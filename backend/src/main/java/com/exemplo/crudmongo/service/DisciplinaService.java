@@ -3,11 +3,29 @@ package com.exemplo.crudmongo.service;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Disciplina; // Importa o modelo de dados 'Disciplina'.
+import com.exemplo.crudmongo.config.CacheConfig; // Importa os nomes dos caches de leitura.
+import com.exemplo.crudmongo.dto.DisciplinaEncontrada; // Importa o DTO dos resultados da busca textual.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
 import com.exemplo.crudmongo.repository.DisciplinaRepository; // Importa o repositório que faz a comunicação com o banco de dados para a entidade Disciplina.
+import com.exemplo.crudmongo.repository.BuscaTextual; // Importa o componente de busca textual.
+import com.exemplo.crudmongo.repository.AtualizacaoAtomica; // Importa o componente de alterações atômicas (findAndModify/deleteOne).
+import com.exemplo.crudmongo.repository.ConsultaProjetada; // Importa o componente de consultas com projeção de campos.
+import com.exemplo.crudmongo.repository.Ordenacao; // Importa a representação da chave de ordenação da paginação.
+import com.exemplo.crudmongo.repository.PaginacaoKeyset; // Importa o componente que faz a paginação por cursor.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import org.springframework.cache.annotation.CacheEvict; // Importa a anotação que remove uma entrada do cache após uma escrita.
+import org.springframework.dao.OptimisticLockingFailureException; // Importa a exceção de conflito de versão (controle de concorrência otimista).
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que representa o $set das alterações.
 import org.springframework.stereotype.Service; // Importa a anotação @Service, que marca a classe como um componente de serviço do Spring.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de escrita na exportação.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição na gravação em lote.
+import java.io.OutputStream; // Importa a classe que representa o fluxo de saída da exportação.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
 import java.util.Optional; // Importa a classe Optional, que é uma forma elegante de lidar com valores que podem ser nulos, evitando NullPointerException.
+import java.util.Set; // Importa a interface Set para declarar os campos de ordenação permitidos.
 
 /**
  * A anotação @Service indica ao Spring que esta classe é um "Serviço".
@@ -20,34 +38,166 @@ public class DisciplinaService {
     // Declaração final do repositório de disciplina. 'final' significa que ele deve ser inicializado no construtor.
     private final DisciplinaRepository disciplinaRepository;
 
+    // Componente que executa a paginação por cursor (keyset) sobre a coleção.
+    private final PaginacaoKeyset paginacaoKeyset;
+
+    // Componente que exporta a coleção em NDJSON diretamente de um cursor do MongoDB.
+    private final ExportadorNdjson exportadorNdjson;
+
+    // Componente que executa as leituras com projeção (parâmetro 'fields').
+    private final ConsultaProjetada consultaProjetada;
+
+    // Contador de alterações da coleção, usado no ETag das listagens.
+    private final VersaoColecoes versaoColecoes;
+
+    // Componente que grava vários documentos por chamada ao banco (BulkOperations).
+    private final EscritorEmLote escritorEmLote;
+
+    // Componente que executa as alterações e exclusões em uma única ida ao banco.
+    private final AtualizacaoAtomica atualizacaoAtomica;
+
+    // Carregador que junta as buscas por ID simultâneas em uma única consulta $in.
+    private final CarregadorEmLote<Disciplina> carregador;
+
+    // Componente que executa a busca textual sobre o nome e a ementa.
+    private final BuscaTextual buscaTextual;
+
+    // Campos (além do id) que podem ser usados para ordenar a listagem paginada. Todos possuem índice (ver IndicesMongo).
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("nome");
+
     /**
      * Construtor da classe DisciplinaService.
      * O Spring utiliza este construtor para realizar a "Injeção de Dependência".
      * Ele automaticamente cria uma instância de DisciplinaRepository e a "injeta" aqui,
      * permitindo que o serviço utilize os métodos do repositório para acessar o banco de dados.
      * @param disciplinaRepository A instância de DisciplinaRepository fornecida pelo Spring.
+     * @param paginacaoKeyset O componente de paginação por cursor.
+     * @param exportadorNdjson O componente de exportação em NDJSON.
+     * @param consultaProjetada O componente de consultas com projeção.
+     * @param versaoColecoes O contador de alterações das coleções.
+     * @param escritorEmLote O componente de gravação em lote.
+     * @param atualizacaoAtomica O componente de alterações atômicas.
+     * @param carregadoresEmLote A fábrica dos carregadores em lote.
+     * @param buscaTextual O componente de busca textual.
      */
-    public DisciplinaService(DisciplinaRepository disciplinaRepository) {
+    public DisciplinaService(DisciplinaRepository disciplinaRepository, PaginacaoKeyset paginacaoKeyset,
+                             ExportadorNdjson exportadorNdjson, ConsultaProjetada consultaProjetada,
+                             VersaoColecoes versaoColecoes, EscritorEmLote escritorEmLote,
+                             AtualizacaoAtomica atualizacaoAtomica,
+                             CarregadoresEmLote carregadoresEmLote, BuscaTextual buscaTextual) {
         this.disciplinaRepository = disciplinaRepository;
+        this.paginacaoKeyset = paginacaoKeyset;
+        this.exportadorNdjson = exportadorNdjson;
+        this.consultaProjetada = consultaProjetada;
+        this.versaoColecoes = versaoColecoes;
+        this.escritorEmLote = escritorEmLote;
+        this.atualizacaoAtomica = atualizacaoAtomica;
+        this.carregador = carregadoresEmLote.criar(CacheConfig.DISCIPLINAS, disciplinaRepository::findAllById, Disciplina::getId);
+        this.buscaTextual = buscaTextual;
     }
 
     /**
      * Método para listar todas as disciplinas.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields'). Se for completa, traz o documento inteiro.
      * @return Uma lista com todas as disciplinas encontradas no banco de dados.
      */
-    public List<Disciplina> listarTodas() {
+    public List<Disciplina> listarTodas(Projecao projecao) {
+        if (!projecao.completa()) {
+            // Com projeção, o MongoDB só lê e envia os campos pedidos.
+            return consultaProjetada.listar(Disciplina.class, projecao);
+        }
         // Chama o método findAll() do repositório, que o Spring Data MongoDB implementa automaticamente.
         return disciplinaRepository.findAll();
     }
 
+    /**
+     * Método para listar as disciplinas em páginas, usando paginação por cursor (keyset).
+     * Diferente do listarTodas(), nunca carrega a coleção inteira na memória e o custo de cada página
+     * é o mesmo, não importa o quão "funda" ela esteja.
+     * @param limite A quantidade máxima de itens da página.
+     * @param cursor O cursor devolvido pela página anterior (ou nulo para a primeira página).
+     * @param sort O campo de ordenação, opcionalmente precedido de '-' para ordem decrescente.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Uma Pagina com os itens e o cursor da próxima página.
+     * @throws IllegalArgumentException se a ordenação ou o cursor forem inválidos.
+     */
+    public Pagina<Disciplina> listarPagina(Integer limite, String cursor, String sort, Projecao projecao) {
+        Ordenacao ordenacao = Ordenacao.de(sort, CAMPOS_ORDENACAO);
+        return paginacaoKeyset.buscar(Disciplina.class, null, ordenacao, limite, cursor, projecao);
+    }
+
+    /**
+     * Método para buscar disciplinas por palavras do nome ou da ementa (índice de texto do MongoDB).
+     * @param termos Os termos da busca (ex: "estruturas de dados").
+     * @param limite A quantidade máxima de resultados da página.
+     * @param cursor O cursor devolvido pela página anterior (ou nulo para a primeira página).
+     * @return Uma Pagina com os resultados, do mais relevante para o menos relevante, sem a ementa.
+     * @throws IllegalArgumentException se os termos estiverem vazios ou o cursor for inválido.
+     */
+    public Pagina<DisciplinaEncontrada> buscarTexto(String termos, Integer limite, String cursor) {
+        return buscaTextual.buscar(Disciplina.class, DisciplinaEncontrada.class, termos, limite, cursor);
+    }
+
+    /**
+     * Método para exportar as disciplinas em NDJSON (um documento JSON por linha) ou em CBOR/Smile.
+     * Os documentos vão do cursor do banco direto para o fluxo de saída, sem montar uma lista na memória.
+     * @param saida O fluxo de saída onde os documentos serão escritos.
+     * @param tamanhoLote Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param projecao Os campos a serem exportados (parâmetro 'fields').
+     * @param formato O formato da exportação (NDJSON, CBOR ou Smile).
+     * @throws IOException se a escrita falhar (ex: o cliente fechou a conexão).
+     */
+    public void exportar(OutputStream saida, Integer tamanhoLote, Projecao projecao, ExportadorNdjson.Formato formato) throws IOException {
+        exportadorNdjson.exportar(Disciplina.class, saida, tamanhoLote, projecao, formato);
+    }
+
+    /**
+     * Método para criar ou atualizar vários disciplinas de uma vez, a partir de um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam).
+     * O array é lido aos poucos e gravado em blocos, com uma chamada ao banco por bloco.
+     * @param corpo O corpo da requisição, com o array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao banco por chamada (opcional).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public ResultadoLote salvarEmLote(InputStream corpo, Integer tamanhoBloco) throws IOException {
+        return escritorEmLote.gravar(Disciplina.class, CacheConfig.DISCIPLINAS, corpo, tamanhoBloco, carregador::invalidar);
+    }
+
+    /**
+     * Método para consultar o contador de alterações da coleção.
+     * Ele muda a cada escrita feita pela aplicação, então serve para saber se uma listagem mudou sem precisar relê-la.
+     * @return O valor atual do contador.
+     */
+    public long versaoColecao() {
+        return versaoColecoes.versao(Disciplina.class);
+    }
+
     /**
      * Método para buscar uma única disciplina pelo seu ID.
      * @param id O ID da disciplina a ser buscada.
      * @return Um Optional contendo a Disciplina se ela for encontrada, ou um Optional vazio caso contrário.
      */
     public Optional<Disciplina> buscarPorId(String id) {
-        // Chama o método findById() do repositório.
-        return disciplinaRepository.findById(id);
+        // Em vez de um findById por chamada, a busca passa pelo carregador em lote: as buscas que chegam
+        // ao mesmo tempo (em requisições diferentes) viram uma única consulta { _id: { $in: [...] } },
+        // e buscas pelo mesmo ID compartilham a consulta que já está em andamento.
+        // O cache de leitura fica a cargo do carregador, que só guarda resultados lidos depois da última gravação do ID.
+        return carregador.carregar(id);
+    }
+
+    /**
+     * Método para buscar uma única disciplina pelo seu ID, lendo apenas os campos pedidos.
+     * @param id O ID a ser buscado.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Um Optional com o resultado (preenchido apenas nos campos projetados), ou vazio se não existir.
+     */
+    public Optional<Disciplina> buscarPorId(String id, Projecao projecao) {
+        if (projecao.completa()) {
+            return buscarPorId(id);
+        }
+        return consultaProjetada.buscarPorId(Disciplina.class, id, projecao);
     }
 
     /**
@@ -55,46 +205,78 @@ public class DisciplinaService {
      * @param disciplina O objeto Disciplina a ser salvo no banco de dados.
      * @return O objeto Disciplina salvo (com o ID, caso seja uma nova disciplina).
      */
+    @CacheEvict(cacheNames = CacheConfig.DISCIPLINAS, key = "#result.id") // Invalida a entrada em cache do documento gravado.
     public Disciplina salvar(Disciplina disciplina) {
         // Aqui seria um bom lugar para adicionar validações ou lógica de negócios antes de salvar.
         // Chama o método save() do repositório para persistir o objeto.
-        return disciplinaRepository.save(disciplina);
+        Disciplina salvo = disciplinaRepository.save(disciplina);
+        // Descarta a busca em lote em andamento por este ID, que pode ter lido o documento antes da gravação.
+        carregador.invalidar(salvo.getId());
+        // Registra a alteração no contador da coleção (usado no ETag das listagens).
+        versaoColecoes.incrementar(Disciplina.class);
+        return salvo;
     }
 
     /**
      * Método para atualizar os dados de uma disciplina existente.
      * @param id O ID da disciplina a ser atualizada.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
      * @param disciplinaAtualizada Um objeto Disciplina com os novos dados.
      * @return O objeto Disciplina com os dados atualizados.
-     * @throws RuntimeException se nenhuma disciplina for encontrada com o ID fornecido.
+     * @throws DocumentoNaoEncontradoException se nenhuma disciplina for encontrada com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.DISCIPLINAS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Disciplina atualizar(String id, List<Long> versoesEsperadas, Disciplina disciplinaAtualizada) {
+        // Monta um $set com os campos que vieram na requisição. O MongoDB aplica a alteração e devolve o documento
+        // já atualizado em uma única operação (findAndModify), sem precisar buscá-lo antes.
+        Update update = new Update()
+                .set("nome", disciplinaAtualizada.getNome())
+                .set("cargaHoraria", disciplinaAtualizada.getCargaHoraria())
+                .set("ementa", disciplinaAtualizada.getEmenta());
+        Disciplina salvo = atualizacaoAtomica.atualizar(Disciplina.class, id, versoesEsperadas, update)
+                // Se nenhum documento tiver o ID informado, o orElseThrow() é executado.
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Disciplina não encontrada com o id: " + id)); // Lança uma exceção informando que a disciplina não foi encontrada.
+        carregador.invalidar(id);
+        versaoColecoes.incrementar(Disciplina.class);
+        return salvo;
+    }
+
+    /**
+     * Método para alterar apenas alguns campos de uma disciplina (PATCH).
+     * Só os campos enviados são gravados, em uma única operação no banco; os demais continuam como estão.
+     * @param id O ID do documento a ser alterado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @param campos Os campos a serem alterados e seus novos valores (ex: { "ementa": "..." }).
+     * @return O documento com os dados atualizados.
+     * @throws IllegalArgumentException se algum campo não existir, não puder ser alterado ou tiver um valor incompatível.
+     * @throws DocumentoNaoEncontradoException se nenhum documento for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public Disciplina atualizar(String id, Disciplina disciplinaAtualizada) {
-        // Primeiro, busca a disciplina pelo ID. O retorno é um Optional.
-        return disciplinaRepository.findById(id)
-                .map(disciplinaExistente -> { // O método map() é executado apenas se a disciplina for encontrada.
-                    // Atualiza os campos da disciplina que já existe no banco com os dados da disciplina que veio na requisição.
-                    disciplinaExistente.setNome(disciplinaAtualizada.getNome());
-                    disciplinaExistente.setCargaHoraria(disciplinaAtualizada.getCargaHoraria());
-                    disciplinaExistente.setEmenta(disciplinaAtualizada.getEmenta());
-                    // Salva a disciplina com os dados atualizados e a retorna.
-                    return disciplinaRepository.save(disciplinaExistente);
-                })
-                // Se o findById() não encontrar nada, o orElseThrow() é executado.
-                .orElseThrow(() -> new RuntimeException("Disciplina não encontrada com o id: " + id)); // Lança uma exceção informando que a disciplina não foi encontrada.
+    @CacheEvict(cacheNames = CacheConfig.DISCIPLINAS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Disciplina atualizarParcialmente(String id, List<Long> versoesEsperadas, Map<String, Object> campos) {
+        Disciplina salvo = atualizacaoAtomica.atualizarCampos(Disciplina.class, id, versoesEsperadas, campos)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Disciplina não encontrada com o id: " + id));
+        carregador.invalidar(id);
+        versaoColecoes.incrementar(Disciplina.class);
+        return salvo;
     }
 
     /**
      * Método para excluir uma disciplina do banco de dados.
      * @param id O ID da disciplina a ser excluída.
-     * @throws RuntimeException se nenhuma disciplina for encontrada com o ID fornecido.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @throws DocumentoNaoEncontradoException se nenhuma disciplina for encontrada com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public void excluir(String id) {
-        // Primeiro, verifica se uma disciplina com o ID fornecido realmente existe.
-        if (!disciplinaRepository.existsById(id)) {
+    @CacheEvict(cacheNames = CacheConfig.DISCIPLINAS, key = "#id") // Invalida a entrada em cache do documento removido.
+    public void excluir(String id, List<Long> versoesEsperadas) {
+        // Remove o documento com um único deleteOne. Se nenhum documento foi removido, é porque o ID não existe.
+        if (!atualizacaoAtomica.excluir(Disciplina.class, id, versoesEsperadas)) {
             // Se não existe, lança uma exceção para informar o erro.
-            throw new RuntimeException("Disciplina não encontrada com o id: " + id);
+            throw new DocumentoNaoEncontradoException("Disciplina não encontrada com o id: " + id);
         }
-        // Se existe, chama o método deleteById() do repositório para remover a disciplina.
-        disciplinaRepository.deleteById(id);
+        carregador.invalidar(id);
+        versaoColecoes.incrementar(Disciplina.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios da aplicação.
+package com.exemplo.crudmongo.service;
+
+/**
+ * Exceção lançada pelos serviços quando nenhum documento tem o ID informado (alunos, cursos, disciplinas, turmas,
+ * currículos e importações).
+ *
+ * Os controllers a convertem em 404 (Not Found). Por ser uma exceção própria, as demais falhas (ex: um erro do MongoDB)
+ * não são confundidas com um ID inexistente e continuam respondendo 500.
+ */
+public class DocumentoNaoEncontradoException extends RuntimeException {
+
+    /**
+     * Construtor da exceção.
+     * @param mensagem A mensagem de erro (ex: "Currículo não encontrado com o id: 123").
+     */
+    public DocumentoNaoEncontradoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,275 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
+import com.fasterxml.jackson.core.JsonParser; // Importa o leitor de JSON do Jackson, que lê o corpo da requisição aos poucos.
+import com.fasterxml.jackson.core.JsonProcessingException; // Importa a exceção lançada quando um item não pode ser convertido.
+import com.fasterxml.jackson.core.JsonToken; // Importa os tokens do JSON (início de array, início de objeto...).
+import com.fasterxml.jackson.databind.JsonNode; // Importa a representação em árvore de um item do array.
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa o ObjectMapper configurado pelo Spring (o mesmo usado nos controllers).
+import com.mongodb.bulk.BulkWriteError; // Importa o erro de uma operação individual do lote.
+import com.mongodb.bulk.BulkWriteResult; // Importa o resultado de uma execução em lote do driver.
+import com.mongodb.bulk.BulkWriteUpsert; // Importa a informação de um upsert que inseriu um documento novo.
+import org.bson.Document; // Importa a classe Document do driver do MongoDB, usada para montar o $set dos upserts.
+import org.bson.types.ObjectId; // Importa o ObjectId, usado para gerar o ID dos itens novos.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.cache.Cache; // Importa a interface de um cache, para invalidar as entradas gravadas.
+import org.springframework.cache.CacheManager; // Importa o gerenciador de caches da aplicação.
+import org.springframework.data.annotation.LastModifiedDate; // Importa a anotação da data da última alteração, tratada à parte nos upserts.
+import org.springframework.data.mapping.PersistentPropertyAccessor; // Importa o acessor que lê e escreve propriedades das entidades.
+import org.springframework.data.mongodb.BulkOperationException; // Importa a exceção lançada quando alguma operação do lote falha.
+import org.springframework.data.mongodb.core.BulkOperations; // Importa a API de operações em lote do Spring Data MongoDB.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que cria as operações em lote.
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity; // Importa os metadados de mapeamento de uma entidade.
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty; // Importa os metadados de mapeamento de um campo.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria para montar o filtro dos upserts.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, usada nos upserts.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.io.IOException; // Importa a exceção lançada em falhas de leitura do corpo.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição HTTP.
+import java.util.ArrayList; // Importa a implementação de lista usada para acumular os itens do bloco.
+import java.util.HashMap; // Importa a implementação de mapa usada para indexar os erros e upserts pelo índice.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.function.Consumer; // Importa a interface funcional chamada para cada documento gravado.
+
+/**
+ * Componente que grava muitos documentos de uma vez (endpoints POST /api/{entidade}/batch).
+ *
+ * O corpo da requisição (um array JSON) é lido item a item com o JsonParser do Jackson, sem montar uma lista
+ * com o array inteiro na memória. Os itens são agrupados em blocos e cada bloco é enviado ao MongoDB com uma única
+ * chamada de BulkOperations no modo UNORDERED: o banco executa as operações sem depender da ordem e uma falha em
+ * um item não impede a gravação dos demais.
+ *
+ * Itens sem ID são inseridos (o ID é gerado aqui, para poder devolvê-lo no resultado).
+ * Itens com ID fazem um upsert: substituem os campos do documento existente ou o criam, se ele não existir.
+ */
+@Component
+public class EscritorEmLote {
+
+    // O MongoTemplate é usado para criar as operações em lote.
+    private final MongoTemplate mongoTemplate;
+
+    // O ObjectMapper do Spring, para que os itens sejam lidos da mesma forma que no POST de um único documento.
+    private final ObjectMapper objectMapper;
+
+    // Os caches de leitura, invalidados para cada documento gravado.
+    private final CacheManager cacheManager;
+
+    // O contador de alterações das coleções (ETag das listagens).
+    private final VersaoColecoes versaoColecoes;
+
+    // Quantidade de itens enviados ao MongoDB por chamada, quando o cliente não informa o parâmetro 'batchSize'.
+    private final int tamanhoBlocoPadrao;
+
+    // Maior quantidade de itens por chamada aceita, para limitar a memória usada por requisição.
+    private final int tamanhoBlocoMaximo;
+
+    /**
+     * Construtor da classe EscritorEmLote.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     * @param objectMapper O ObjectMapper do Spring.
+     * @param cacheManager O gerenciador de caches (ver CacheConfig).
+     * @param versaoColecoes O contador de alterações das coleções.
+     * @param tamanhoBlocoPadrao Propriedade 'crudmongo.lote.tamanho-bloco'.
+     * @param tamanhoBlocoMaximo Propriedade 'crudmongo.lote.tamanho-bloco-maximo'.
+     */
+    public EscritorEmLote(MongoTemplate mongoTemplate,
+                          ObjectMapper objectMapper,
+                          CacheManager cacheManager,
+                          VersaoColecoes versaoColecoes,
+                          @Value("${crudmongo.lote.tamanho-bloco:1000}") int tamanhoBlocoPadrao,
+                          @Value("${crudmongo.lote.tamanho-bloco-maximo:10000}") int tamanhoBlocoMaximo) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.versaoColecoes = versaoColecoes;
+        this.tamanhoBlocoPadrao = tamanhoBlocoPadrao;
+        this.tamanhoBlocoMaximo = tamanhoBlocoMaximo;
+    }
+
+    /**
+     * Lê o array JSON do corpo da requisição e grava os itens em blocos.
+     * @param tipo A classe da entidade (ex: Aluno.class).
+     * @param nomeCache O nome do cache de leitura da entidade (ver CacheConfig).
+     * @param corpo O corpo da requisição, que deve conter um array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao MongoDB por chamada (opcional).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não começar com um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public <T> ResultadoLote gravar(Class<T> tipo, String nomeCache, InputStream corpo, Integer tamanhoBloco) throws IOException {
+        return gravar(tipo, nomeCache, corpo, tamanhoBloco, id -> { });
+    }
+
+    /**
+     * Lê o array JSON do corpo da requisição e grava os itens em blocos, avisando cada documento gravado.
+     * @param tipo A classe da entidade (ex: Curso.class).
+     * @param nomeCache O nome do cache de leitura da entidade (ver CacheConfig).
+     * @param corpo O corpo da requisição, que deve conter um array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao MongoDB por chamada (opcional).
+     * @param aoGravar Chamado com o ID de cada documento gravado, depois da gravação (ex: CarregadorEmLote::invalidar).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não começar com um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public <T> ResultadoLote gravar(Class<T> tipo, String nomeCache, InputStream corpo, Integer tamanhoBloco,
+                                    Consumer<String> aoGravar) throws IOException {
+        int bloco = tamanhoBloco == null ? tamanhoBlocoPadrao : Math.max(1, Math.min(tamanhoBloco, tamanhoBlocoMaximo));
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(tipo);
+        ResultadoLote resultado = new ResultadoLote();
+        Cache cache = cacheManager.getCache(nomeCache);
+        // Para cada documento gravado: avisa quem chamou e invalida a entrada em cache (mesmo efeito do @CacheEvict dos
+        // serviços). O aviso vem antes, como nos serviços, para que o carregador em lote avance a geração do ID antes de
+        // a entrada sair do cache (ver CarregadorEmLote.invalidar).
+        Consumer<String> invalidar = id -> {
+            aoGravar.accept(id);
+            if (cache != null) {
+                cache.evict(id);
+            }
+        };
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo da requisição deve ser um array JSON");
+            }
+            List<T> pendentes = new ArrayList<>(bloco);
+            int indice = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IllegalArgumentException("O array JSON não foi fechado");
+                    }
+                    // Cada item é lido como árvore primeiro: um item inválido vira uma falha, sem interromper a leitura do array.
+                    JsonNode item = parser.readValueAsTree();
+                    T documento;
+                    try {
+                        documento = objectMapper.treeToValue(item, tipo);
+                    } catch (JsonProcessingException e) {
+                        // Grava antes os itens pendentes, para que os resultados fiquem na ordem do array.
+                        gravarBloco(entidade, pendentes, indice - pendentes.size(), resultado, invalidar);
+                        pendentes.clear();
+                        resultado.adicionar(new ResultadoLote.Item(indice++, null, ResultadoLote.FALHA, e.getOriginalMessage()));
+                        continue;
+                    }
+                    pendentes.add(documento);
+                    indice++;
+                    if (pendentes.size() == bloco) {
+                        gravarBloco(entidade, pendentes, indice - pendentes.size(), resultado, invalidar);
+                        pendentes.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // O JSON está malformado a partir deste ponto: grava o que já foi lido e informa onde a leitura parou.
+                resultado.setErro("JSON inválido após o item " + indice + ": " + e.getOriginalMessage());
+            }
+            gravarBloco(entidade, pendentes, indice - pendentes.size(), resultado, invalidar);
+        }
+
+        if (resultado.getInseridos() + resultado.getAtualizados() > 0) {
+            versaoColecoes.incrementar(tipo);
+        }
+        return resultado;
+    }
+
+    /**
+     * Envia um bloco de documentos ao MongoDB em uma única chamada e registra o resultado de cada um.
+     * @param entidade Os metadados de mapeamento da entidade.
+     * @param documentos Os documentos do bloco, na ordem do array.
+     * @param primeiroIndice A posição, no array da requisição, do primeiro documento do bloco.
+     * @param resultado O resumo onde os resultados são registrados.
+     * @param invalidar Chamado com o ID de cada documento gravado com sucesso.
+     */
+    private <T> void gravarBloco(MongoPersistentEntity<?> entidade, List<T> documentos, int primeiroIndice,
+                                 ResultadoLote resultado, Consumer<String> invalidar) {
+        if (documentos.isEmpty()) {
+            return;
+        }
+        BulkOperations operacoes = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entidade.getType());
+        String[] ids = new String[documentos.size()];
+        boolean[] upsert = new boolean[documentos.size()];
+
+        for (int i = 0; i < documentos.size(); i++) {
+            PersistentPropertyAccessor<T> acessor = entidade.getPropertyAccessor(documentos.get(i));
+            Object id = acessor.getProperty(entidade.getRequiredIdProperty());
+            if (id == null) {
+                // Documento novo: o ID é gerado aqui para aparecer no resultado, e a versão começa em 0 (como no save()).
+                ids[i] = new ObjectId().toHexString();
+                acessor.setProperty(entidade.getRequiredIdProperty(), ids[i]);
+                if (entidade.hasVersionProperty()) {
+                    acessor.setProperty(entidade.getRequiredVersionProperty(), 0L);
+                }
+                operacoes.insert(acessor.getBean());
+            } else {
+                ids[i] = id.toString();
+                upsert[i] = true;
+                operacoes.upsert(new Query(Criteria.where("id").is(id)), atualizacao(entidade, acessor.getBean()));
+            }
+        }
+
+        Map<Integer, String> erros = new HashMap<>();
+        BulkWriteResult execucao;
+        try {
+            execucao = operacoes.execute();
+        } catch (BulkOperationException e) {
+            // No modo UNORDERED, as operações que não falharam foram aplicadas mesmo assim.
+            for (BulkWriteError erro : e.getErrors()) {
+                erros.put(erro.getIndex(), erro.getMessage());
+            }
+            execucao = e.getResult();
+        }
+        Map<Integer, Boolean> inseridosPorUpsert = new HashMap<>();
+        for (BulkWriteUpsert inserido : execucao.getUpserts()) {
+            inseridosPorUpsert.put(inserido.getIndex(), true);
+        }
+
+        for (int i = 0; i < documentos.size(); i++) {
+            String erro = erros.get(i);
+            String situacao;
+            if (erro != null) {
+                situacao = ResultadoLote.FALHA;
+            } else if (!upsert[i] || inseridosPorUpsert.containsKey(i)) {
+                situacao = ResultadoLote.INSERIDO;
+            } else {
+                situacao = ResultadoLote.ATUALIZADO;
+            }
+            resultado.adicionar(new ResultadoLote.Item(primeiroIndice + i, ids[i], situacao, erro));
+            if (erro == null) {
+                invalidar.accept(ids[i]);
+            }
+        }
+    }
+
+    /**
+     * Monta o update de um upsert: todos os campos do documento enviado substituem os atuais,
+     * a versão é incrementada e a data da última alteração passa a ser a do servidor.
+     */
+    private Update atualizacao(MongoPersistentEntity<?> entidade, Object documento) {
+        Document convertido = new Document();
+        mongoTemplate.getConverter().write(documento, convertido);
+        convertido.remove("_id");
+        convertido.remove("_class");
+        Update update = new Update();
+        for (MongoPersistentProperty propriedade : entidade) {
+            String campo = propriedade.getFieldName();
+            if (propriedade.isIdProperty()) {
+                continue;
+            }
+            if (propriedade.isVersionProperty()) {
+                update.inc(campo, 1L);
+            } else if (propriedade.isAnnotationPresent(LastModifiedDate.class)) {
+                update.currentDate(campo);
+            } else if (convertido.get(campo) == null && propriedade.isCollectionLike()) {
+                // Listas ausentes são gravadas vazias (e não nulas): $addToSet e $pullAll falham em um campo nulo.
+                update.set(campo, List.of());
+            } else {
+                update.set(campo, convertido.get(campo));
+            }
+        }
+        return update;
+    }
+}
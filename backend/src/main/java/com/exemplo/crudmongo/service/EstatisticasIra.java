@@ -0,0 +1,473 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno', dono do campo 'ira'.
+import com.exemplo.crudmongo.dto.EstatisticaIra; // Importa o DTO com as estatísticas de um grupo.
+import com.exemplo.crudmongo.dto.FaixaIra; // Importa o DTO de uma faixa da distribuição.
+import com.mongodb.client.MongoCollection; // Importa a coleção do driver do MongoDB, usada para executar os pipelines.
+import com.mongodb.client.model.ReplaceOneModel; // Importa a operação de substituição usada na gravação do resumo.
+import com.mongodb.client.model.ReplaceOptions; // Importa as opções da substituição (upsert).
+import jakarta.annotation.PreDestroy; // Importa a anotação que marca o método chamado quando a aplicação é encerrada.
+import org.bson.Document; // Importa a classe Document, que representa os estágios do pipeline e os resultados.
+import org.slf4j.Logger; // Importa a interface de log.
+import org.slf4j.LoggerFactory; // Importa a fábrica de loggers.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Importa o evento disparado quando a aplicação termina de subir.
+import org.springframework.context.event.EventListener; // Importa a anotação que registra um método como ouvinte de eventos.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que dá acesso às coleções.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.time.Instant; // Importa a classe que representa um instante no tempo (UTC).
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.Collection; // Importa a interface Collection.
+import java.util.Date; // Importa a classe de data usada pelo driver do MongoDB.
+import java.util.HashSet; // Importa a implementação de conjunto.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Set; // Importa a interface Set.
+import java.util.concurrent.ConcurrentHashMap; // Importa o mapa concorrente, usado nos conjuntos de grupos alterados.
+import java.util.concurrent.Executors; // Importa a fábrica de executores.
+import java.util.concurrent.ScheduledExecutorService; // Importa o agendador da atualização do resumo.
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo.
+import java.util.concurrent.atomic.AtomicBoolean; // Importa o indicador de "recalcular tudo".
+
+/**
+ * Calcula as estatísticas do IRA dos alunos (por curso ou por período de ingresso) no próprio MongoDB,
+ * com um pipeline de agregação ($match, $group, $bucket), em vez de baixar todos os alunos e calcular no cliente.
+ *
+ * - O filtro por grupo ($match em cursoId/periodoIngressoId) usa os índices cursoId_ira e periodoIngressoId_ira.
+ * - Os percentis usam o operador $percentile quando o servidor é MongoDB 7.0 ou mais novo. Em versões anteriores,
+ *   o $group junta apenas os valores de IRA de cada grupo ($push) e os percentis (e o desvio padrão) são calculados aqui.
+ * - As estatísticas também são gravadas na coleção de resumo 'estatisticas_ira'. Quando um aluno é gravado,
+ *   o AlunoService marca os grupos afetados, e só eles são recalculados na próxima atualização do resumo.
+ *
+ * Propriedades:
+ *   crudmongo.estatisticas.intervalo-ms Intervalo entre as atualizações do resumo (padrão: 5000 ms; 0 desliga o resumo).
+ */
+@Component
+public class EstatisticasIra {
+
+    // Nome da coleção de resumo.
+    public static final String COLECAO_RESUMO = "estatisticas_ira";
+
+    // Percentis calculados, na ordem dos campos p25, mediana, p75 e p90.
+    private static final List<Double> PERCENTIS = List.of(0.25, 0.5, 0.75, 0.9);
+
+    // Logger usado para registrar as falhas da atualização do resumo.
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasIra.class);
+
+    /**
+     * Formas de agrupar os alunos nas estatísticas.
+     */
+    public enum Agrupamento {
+        CURSO("curso", "cursoId"),
+        PERIODO_INGRESSO("periodoIngresso", "periodoIngressoId");
+
+        // Nome usado no parâmetro 'agruparPor' da API.
+        private final String nome;
+
+        // Campo do documento Aluno usado no agrupamento.
+        private final String campo;
+
+        Agrupamento(String nome, String campo) {
+            this.nome = nome;
+            this.campo = campo;
+        }
+
+        /**
+         * Converte o parâmetro 'agruparPor' da API no agrupamento correspondente.
+         * @throws IllegalArgumentException se o nome não for 'curso' nem 'periodoIngresso'.
+         */
+        public static Agrupamento de(String nome) {
+            for (Agrupamento agrupamento : values()) {
+                if (agrupamento.nome.equals(nome)) {
+                    return agrupamento;
+                }
+            }
+            throw new IllegalArgumentException("Agrupamento não suportado: " + nome);
+        }
+    }
+
+    // Template do MongoDB, usado para acessar as coleções.
+    private final MongoTemplate mongoTemplate;
+
+    // Intervalo entre as atualizações do resumo, em milissegundos.
+    private final long intervaloMs;
+
+    // Agendador da atualização do resumo.
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "estatisticas-ira");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Grupos alterados desde a última atualização do resumo, por agrupamento.
+    private final Set<String> cursosAlterados = ConcurrentHashMap.newKeySet();
+    private final Set<String> periodosAlterados = ConcurrentHashMap.newKeySet();
+
+    // Indica que o resumo inteiro deve ser recalculado (começa verdadeiro para montar o resumo ao subir a aplicação).
+    private final AtomicBoolean recalcularTudo = new AtomicBoolean(true);
+
+    // Indica se o servidor suporta o operador $percentile (MongoDB 7.0+). Descoberto no primeiro buildInfo bem-sucedido.
+    private volatile Boolean percentilNoServidor;
+
+    /**
+     * Construtor da classe EstatisticasIra.
+     * @param mongoTemplate O MongoTemplate configurado pelo Spring.
+     * @param intervaloMs Propriedade 'crudmongo.estatisticas.intervalo-ms'.
+     */
+    public EstatisticasIra(MongoTemplate mongoTemplate,
+                           @Value("${crudmongo.estatisticas.intervalo-ms:5000}") long intervaloMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.intervaloMs = intervaloMs;
+    }
+
+    /**
+     * Inicia a atualização periódica do resumo assim que a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (intervaloMs > 0) {
+            agendador.scheduleWithFixedDelay(this::atualizarResumo, 0, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Encerra o agendador quando a aplicação é finalizada.
+     */
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    /**
+     * Calcula as estatísticas no momento da consulta.
+     * @param agrupamento Por curso ou por período de ingresso.
+     * @param grupo O ID de um grupo específico (opcional). Se nulo, calcula todos os grupos.
+     * @return As estatísticas de cada grupo, ordenadas pelo ID do grupo.
+     */
+    public List<EstatisticaIra> calcular(Agrupamento agrupamento, String grupo) {
+        return calcular(agrupamento, grupo == null ? null : List.of(grupo));
+    }
+
+    /**
+     * Lê as estatísticas da coleção de resumo (sem percorrer os alunos).
+     * Os valores podem estar atrasados em até um intervalo de atualização em relação aos dados.
+     * @param agrupamento Por curso ou por período de ingresso.
+     * @param grupo O ID de um grupo específico (opcional).
+     * @return As estatísticas de cada grupo, ordenadas pelo ID do grupo.
+     */
+    public List<EstatisticaIra> lerResumo(Agrupamento agrupamento, String grupo) {
+        Document filtro = new Document("agrupamento", agrupamento.nome);
+        if (grupo != null) {
+            filtro.append("grupo", grupo);
+        }
+        List<EstatisticaIra> estatisticas = new ArrayList<>();
+        for (Document documento : resumo().find(filtro).sort(new Document("grupo", 1))) {
+            EstatisticaIra estatistica = converter(documento.getString("grupo"), documento);
+            Date atualizadoEm = documento.getDate("atualizadoEm");
+            estatistica.setAtualizadoEm(atualizadoEm == null ? null : atualizadoEm.toInstant());
+            estatisticas.add(estatistica);
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Calcula a distribuição do IRA em faixas (estágio $bucket).
+     * @param cursoId O ID de um curso (opcional). Se nulo, considera todos os alunos.
+     * @param limites Os limites das faixas, em ordem crescente (ao menos dois valores).
+     * @return A quantidade de alunos em cada faixa. Os alunos fora das faixas vêm em uma faixa sem início e sem fim.
+     * @throws IllegalArgumentException se houver menos de dois limites ou se eles não estiverem em ordem crescente.
+     */
+    public List<FaixaIra> distribuicao(String cursoId, List<Double> limites) {
+        if (limites.size() < 2) {
+            throw new IllegalArgumentException("Informe ao menos dois limites");
+        }
+        for (int i = 1; i < limites.size(); i++) {
+            if (!(limites.get(i) > limites.get(i - 1))) {
+                throw new IllegalArgumentException("Os limites devem estar em ordem crescente");
+            }
+        }
+        // O $bucket não inclui o último limite. Ele é trocado pelo próximo double, para que a última faixa
+        // inclua o seu fim (ex: IRA 10 na faixa [9, 10]).
+        List<Double> fronteiras = new ArrayList<>(limites);
+        fronteiras.set(fronteiras.size() - 1, Math.nextUp(limites.get(limites.size() - 1)));
+
+        Document filtro = filtroIra(cursoId == null ? null : Agrupamento.CURSO.campo, cursoId == null ? null : List.of(cursoId));
+        List<Document> pipeline = List.of(
+                new Document("$match", filtro),
+                new Document("$bucket", new Document("groupBy", "$ira")
+                        .append("boundaries", fronteiras)
+                        .append("default", "fora")
+                        .append("output", new Document("quantidade", new Document("$sum", 1)))));
+
+        List<FaixaIra> faixas = new ArrayList<>();
+        long[] quantidades = new long[limites.size() - 1];
+        long fora = 0;
+        for (Document documento : alunos().aggregate(pipeline)) {
+            long quantidade = ((Number) documento.get("quantidade")).longValue();
+            Object inicio = documento.get("_id");
+            if (inicio instanceof Number numero) {
+                quantidades[fronteiras.indexOf(numero.doubleValue())] = quantidade;
+            } else {
+                fora = quantidade;
+            }
+        }
+        // O $bucket omite as faixas vazias; a resposta traz todas, com zero.
+        for (int i = 0; i < quantidades.length; i++) {
+            faixas.add(new FaixaIra(limites.get(i), limites.get(i + 1), quantidades[i]));
+        }
+        if (fora > 0) {
+            faixas.add(new FaixaIra(null, null, fora));
+        }
+        return faixas;
+    }
+
+    /**
+     * Marca os grupos de um aluno gravado para serem recalculados na próxima atualização do resumo.
+     * Deve ser usado quando os grupos antigos do aluno são conhecidos (inclusão, ou alteração só do IRA).
+     * @param aluno O aluno gravado.
+     */
+    public void marcarAlterado(Aluno aluno) {
+        if (aluno.getCursoId() == null || aluno.getPeriodoIngressoId() == null) {
+            // O grupo "sem curso/período" não cabe nos conjuntos (que não aceitam nulo): recalcula tudo.
+            marcarTudo();
+            return;
+        }
+        cursosAlterados.add(aluno.getCursoId());
+        periodosAlterados.add(aluno.getPeriodoIngressoId());
+    }
+
+    /**
+     * Marca o resumo inteiro para ser recalculado. Usado quando não se sabe a quais grupos o aluno pertencia
+     * antes da gravação (substituição, exclusão, gravação em lote).
+     */
+    public void marcarTudo() {
+        recalcularTudo.set(true);
+    }
+
+    /**
+     * Recalcula, na coleção de resumo, os grupos marcados desde a última execução.
+     * Em caso de falha, as marcações voltam a valer e a atualização é tentada de novo na próxima execução.
+     */
+    void atualizarResumo() {
+        boolean tudo = recalcularTudo.getAndSet(false);
+        List<String> cursos = retirar(cursosAlterados);
+        List<String> periodos = retirar(periodosAlterados);
+        try {
+            if (tudo) {
+                gravarResumo(Agrupamento.CURSO, null);
+                gravarResumo(Agrupamento.PERIODO_INGRESSO, null);
+            } else {
+                if (!cursos.isEmpty()) {
+                    gravarResumo(Agrupamento.CURSO, cursos);
+                }
+                if (!periodos.isEmpty()) {
+                    gravarResumo(Agrupamento.PERIODO_INGRESSO, periodos);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar o resumo das estatísticas de IRA: {}", e.getMessage());
+            if (tudo) {
+                recalcularTudo.set(true);
+            }
+            cursosAlterados.addAll(cursos);
+            periodosAlterados.addAll(periodos);
+        }
+    }
+
+    /**
+     * Recalcula os grupos informados (ou todos, se nulo) e grava o resultado na coleção de resumo.
+     * Os grupos que não têm mais alunos com IRA são removidos do resumo.
+     */
+    private void gravarResumo(Agrupamento agrupamento, Collection<String> grupos) {
+        List<EstatisticaIra> estatisticas = calcular(agrupamento, grupos);
+        Date agora = Date.from(Instant.now());
+        List<ReplaceOneModel<Document>> substituicoes = new ArrayList<>();
+        List<String> encontrados = new ArrayList<>();
+        for (EstatisticaIra estatistica : estatisticas) {
+            encontrados.add(estatistica.getGrupo());
+            Document documento = new Document("_id", agrupamento.nome + ":" + estatistica.getGrupo())
+                    .append("agrupamento", agrupamento.nome)
+                    .append("grupo", estatistica.getGrupo())
+                    .append("quantidade", estatistica.getQuantidade())
+                    .append("media", estatistica.getMedia())
+                    .append("minimo", estatistica.getMinimo())
+                    .append("maximo", estatistica.getMaximo())
+                    .append("desvioPadrao", estatistica.getDesvioPadrao())
+                    .append("p25", estatistica.getP25())
+                    .append("mediana", estatistica.getMediana())
+                    .append("p75", estatistica.getP75())
+                    .append("p90", estatistica.getP90())
+                    .append("atualizadoEm", agora);
+            substituicoes.add(new ReplaceOneModel<>(new Document("_id", documento.get("_id")), documento,
+                    new ReplaceOptions().upsert(true)));
+        }
+        if (!substituicoes.isEmpty()) {
+            resumo().bulkWrite(substituicoes);
+        }
+        Document semAlunos = new Document("agrupamento", agrupamento.nome);
+        Document condicaoGrupo = new Document("$nin", encontrados);
+        if (grupos != null) {
+            condicaoGrupo.append("$in", new ArrayList<>(grupos));
+        }
+        resumo().deleteMany(semAlunos.append("grupo", condicaoGrupo));
+    }
+
+    /**
+     * Executa o pipeline das estatísticas para os grupos informados (ou todos, se nulo).
+     */
+    private List<EstatisticaIra> calcular(Agrupamento agrupamento, Collection<String> grupos) {
+        boolean percentilNoServidor = percentilNoServidor();
+        Document grupo = new Document("_id", "$" + agrupamento.campo)
+                .append("quantidade", new Document("$sum", 1))
+                .append("media", new Document("$avg", "$ira"))
+                .append("minimo", new Document("$min", "$ira"))
+                .append("maximo", new Document("$max", "$ira"));
+        if (percentilNoServidor) {
+            grupo.append("desvioPadrao", new Document("$stdDevPop", "$ira"));
+            grupo.append("percentis", new Document("$percentile", new Document("input", "$ira")
+                    .append("p", PERCENTIS).append("method", "approximate")));
+        } else {
+            // Sem $percentile, apenas os valores de IRA do grupo são trazidos (e não os documentos inteiros).
+            grupo.append("valores", new Document("$push", "$ira"));
+        }
+        List<Document> pipeline = List.of(
+                new Document("$match", filtroIra(agrupamento.campo, grupos)),
+                new Document("$group", grupo),
+                new Document("$sort", new Document("_id", 1)));
+
+        List<EstatisticaIra> estatisticas = new ArrayList<>();
+        for (Document documento : alunos().aggregate(pipeline)) {
+            EstatisticaIra estatistica = converter(documento.getString("_id"), documento);
+            List<Double> percentis;
+            if (percentilNoServidor) {
+                percentis = numeros(documento.getList("percentis", Number.class));
+            } else {
+                List<Double> valores = numeros(documento.getList("valores", Number.class));
+                percentis = percentis(valores);
+                estatistica.setDesvioPadrao(desvioPadrao(valores, estatistica.getMedia()));
+            }
+            estatistica.setP25(percentis.get(0));
+            estatistica.setMediana(percentis.get(1));
+            estatistica.setP75(percentis.get(2));
+            estatistica.setP90(percentis.get(3));
+            estatisticas.add(estatistica);
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Monta o filtro dos alunos com IRA numérico, opcionalmente restrito a alguns grupos.
+     */
+    private static Document filtroIra(String campo, Collection<String> grupos) {
+        Document filtro = new Document();
+        if (grupos != null) {
+            filtro.append(campo, new Document("$in", new ArrayList<>(grupos)));
+        }
+        return filtro.append("ira", new Document("$type", "number"));
+    }
+
+    /**
+     * Preenche os campos comuns (quantidade, média, mínimo, máximo, desvio padrão e percentis já gravados) de um resultado.
+     */
+    private static EstatisticaIra converter(String grupo, Document documento) {
+        EstatisticaIra estatistica = new EstatisticaIra();
+        estatistica.setGrupo(grupo);
+        estatistica.setQuantidade(((Number) documento.get("quantidade")).longValue());
+        estatistica.setMedia(numero(documento.get("media")));
+        estatistica.setMinimo(numero(documento.get("minimo")));
+        estatistica.setMaximo(numero(documento.get("maximo")));
+        estatistica.setDesvioPadrao(numero(documento.get("desvioPadrao")));
+        estatistica.setP25(numero(documento.get("p25")));
+        estatistica.setMediana(numero(documento.get("mediana")));
+        estatistica.setP75(numero(documento.get("p75")));
+        estatistica.setP90(numero(documento.get("p90")));
+        return estatistica;
+    }
+
+    /**
+     * Calcula os percentis pelo método do posto mais próximo (o mesmo resultado do $percentile em poucos valores).
+     */
+    private static List<Double> percentis(List<Double> valores) {
+        List<Double> ordenados = new ArrayList<>(valores);
+        ordenados.sort(null);
+        List<Double> resultado = new ArrayList<>();
+        for (double p : PERCENTIS) {
+            int posicao = (int) Math.ceil(p * ordenados.size()) - 1;
+            resultado.add(ordenados.isEmpty() ? null : ordenados.get(Math.max(0, posicao)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula o desvio padrão populacional (o mesmo do $stdDevPop).
+     */
+    private static Double desvioPadrao(List<Double> valores, Double media) {
+        if (valores.isEmpty() || media == null) {
+            return null;
+        }
+        double soma = 0;
+        for (double valor : valores) {
+            soma += (valor - media) * (valor - media);
+        }
+        return Math.sqrt(soma / valores.size());
+    }
+
+    /**
+     * Descobre (uma única vez) se o servidor suporta o operador $percentile, que existe a partir do MongoDB 7.0.
+     * Só a resposta do buildInfo é guardada: se o comando falhar (ex: o banco fora do ar por um instante), esta
+     * atualização usa o cálculo alternativo e a próxima pergunta de novo, em vez de ficar sem o $percentile para sempre.
+     */
+    private boolean percentilNoServidor() {
+        if (percentilNoServidor == null) {
+            String versao;
+            try {
+                versao = mongoTemplate.executeCommand(new Document("buildInfo", 1)).getString("version");
+            } catch (RuntimeException e) {
+                return false;
+            }
+            boolean suportado;
+            try {
+                suportado = Integer.parseInt(versao.substring(0, versao.indexOf('.'))) >= 7;
+            } catch (RuntimeException e) {
+                suportado = false; // Versão em formato desconhecido: a resposta não muda, então também é guardada.
+            }
+            percentilNoServidor = suportado;
+        }
+        return percentilNoServidor;
+    }
+
+    /**
+     * Retira e devolve os grupos de um conjunto de grupos alterados.
+     */
+    private static List<String> retirar(Set<String> alterados) {
+        List<String> retirados = new ArrayList<>();
+        for (String grupo : new HashSet<>(alterados)) {
+            if (alterados.remove(grupo)) {
+                retirados.add(grupo);
+            }
+        }
+        return retirados;
+    }
+
+    private static List<Double> numeros(List<Number> valores) {
+        List<Double> numeros = new ArrayList<>(valores.size());
+        for (Number valor : valores) {
+            numeros.add(valor == null ? null : valor.doubleValue());
+        }
+        return numeros;
+    }
+
+    private static Double numero(Object valor) {
+        return valor instanceof Number numero ? numero.doubleValue() : null;
+    }
+
+    private MongoCollection<Document> alunos() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Aluno.class));
+    }
+
+    private MongoCollection<Document> resumo() {
+        return mongoTemplate.getCollection(COLECAO_RESUMO);
+    }
+}
@@ -0,0 +1,172 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.config.FormatosBinarios; // Importa os tipos de conteúdo dos formatos binários (CBOR e Smile).
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import com.fasterxml.jackson.core.JsonGenerator; // Importa o gerador de JSON do Jackson, que escreve diretamente no fluxo de saída.
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa o ObjectMapper configurado pelo Spring (o mesmo usado nos controllers).
+import com.fasterxml.jackson.databind.ObjectWriter; // Importa o ObjectWriter, uma versão imutável e reutilizável do ObjectMapper para escrita.
+import com.fasterxml.jackson.databind.SerializationFeature; // Importa as opções de serialização do Jackson.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.data.domain.Sort; // Importa a classe Sort para ordenar a exportação pelo _id.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que permite ler a coleção através de um cursor.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta ao MongoDB.
+import org.springframework.http.MediaType; // Importa a classe que representa um tipo de conteúdo (Content-Type/Accept).
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter; // Importa o conversor CBOR, de onde vem o ObjectMapper do CBOR.
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter; // Importa o conversor Smile, de onde vem o ObjectMapper do Smile.
+import org.springframework.util.MimeTypeUtils; // Importa utilitários de tipos de conteúdo, usados para ordenar o cabeçalho Accept.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.io.IOException; // Importa a exceção lançada em falhas de escrita.
+import java.io.OutputStream; // Importa a classe que representa o corpo da resposta HTTP.
+import java.util.Iterator; // Importa o Iterator, usado para percorrer o cursor documento a documento.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.stream.Stream; // Importa a classe Stream, que aqui representa um cursor aberto no MongoDB.
+
+/**
+ * Componente que exporta uma coleção inteira em NDJSON (um documento JSON por linha).
+ *
+ * Em vez de montar uma List com todos os documentos (o que faria a memória crescer junto com a coleção),
+ * os documentos são lidos de um cursor do MongoDB e escritos um a um no corpo da resposta.
+ * O cursor só busca o próximo lote quando o anterior já foi consumido, e a escrita no socket bloqueia
+ * quando o cliente lê devagar. Isso funciona como controle de fluxo (backpressure): a memória usada
+ * fica limitada a aproximadamente um lote, qualquer que seja o tamanho da coleção.
+ *
+ * Além do NDJSON (padrão), a exportação pode ser escrita em formatos binários, escolhidos pelo cabeçalho Accept
+ * (ver Formato): uma sequência de documentos CBOR (RFC 8742) ou uma sequência de documentos Smile.
+ */
+@Component
+public class ExportadorNdjson {
+
+    // Tipo de conteúdo (Content-Type) usado nas respostas de exportação.
+    public static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Os formatos de exportação. Nos formatos binários, os documentos são escritos um após o outro, sem separador.
+     */
+    public enum Formato {
+        NDJSON(MediaType.parseMediaType(ExportadorNdjson.NDJSON)),
+        CBOR(MediaType.parseMediaType(FormatosBinarios.CBOR_SEQ)),
+        SMILE(MediaType.parseMediaType(FormatosBinarios.SMILE));
+
+        // Tipo de conteúdo (Content-Type) da resposta.
+        private final MediaType tipo;
+
+        Formato(MediaType tipo) {
+            this.tipo = tipo;
+        }
+
+        public MediaType tipo() {
+            return tipo;
+        }
+
+        /**
+         * Escolhe o formato pelo cabeçalho Accept, respeitando a ordem de preferência (parâmetro q) do cliente.
+         * "application/cbor" também escolhe o CBOR. Sem o cabeçalho, ou se nenhum formato binário for pedido, usa NDJSON.
+         * @param accept O valor do cabeçalho Accept (pode ser nulo).
+         */
+        public static Formato de(String accept) {
+            if (accept == null || accept.isBlank()) {
+                return NDJSON;
+            }
+            List<MediaType> aceitos = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(aceitos);
+            for (MediaType aceito : aceitos) {
+                if (aceito.getQualityValue() == 0 || aceito.isWildcardType() || aceito.isWildcardSubtype()) {
+                    continue;
+                }
+                for (Formato formato : values()) {
+                    if (aceito.isCompatibleWith(formato.tipo)
+                            || (formato == CBOR && aceito.isCompatibleWith(MediaType.APPLICATION_CBOR))) {
+                        return formato;
+                    }
+                }
+            }
+            return NDJSON;
+        }
+    }
+
+    // O MongoTemplate é usado para abrir o cursor sobre a coleção.
+    private final MongoTemplate mongoTemplate;
+
+    // Escritor de cada formato, sem o "flush" automático a cada documento; o flush é feito uma vez por lote.
+    private final Map<Formato, ObjectWriter> writers;
+
+    // Tamanho de lote usado quando o cliente não informa o parâmetro 'batchSize'.
+    private final int tamanhoLotePadrao;
+
+    // Maior tamanho de lote aceito, para limitar a memória usada por exportação.
+    private final int tamanhoLoteMaximo;
+
+    /**
+     * Construtor da classe ExportadorNdjson.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     * @param objectMapper O ObjectMapper do Spring, para que o JSON exportado seja igual ao das outras rotas.
+     * @param conversorCbor O conversor CBOR (ver FormatosBinarios), com as mesmas configurações do JSON.
+     * @param conversorSmile O conversor Smile (ver FormatosBinarios), com as mesmas configurações do JSON.
+     * @param tamanhoLotePadrao Propriedade 'crudmongo.exportacao.tamanho-lote'.
+     * @param tamanhoLoteMaximo Propriedade 'crudmongo.exportacao.tamanho-lote-maximo'.
+     */
+    public ExportadorNdjson(MongoTemplate mongoTemplate,
+                            ObjectMapper objectMapper,
+                            MappingJackson2CborHttpMessageConverter conversorCbor,
+                            MappingJackson2SmileHttpMessageConverter conversorSmile,
+                            @Value("${crudmongo.exportacao.tamanho-lote:1000}") int tamanhoLotePadrao,
+                            @Value("${crudmongo.exportacao.tamanho-lote-maximo:10000}") int tamanhoLoteMaximo) {
+        this.mongoTemplate = mongoTemplate;
+        this.writers = Map.of(
+                Formato.NDJSON, objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE),
+                Formato.CBOR, conversorCbor.getObjectMapper().writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE),
+                Formato.SMILE, conversorSmile.getObjectMapper().writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        this.tamanhoLotePadrao = tamanhoLotePadrao;
+        this.tamanhoLoteMaximo = tamanhoLoteMaximo;
+    }
+
+    /**
+     * Escreve todos os documentos da coleção no fluxo de saída, um por linha (NDJSON) ou um após o outro (CBOR e Smile).
+     * @param tipo A classe da entidade a ser exportada (ex: Aluno.class).
+     * @param saida O fluxo de saída (normalmente o corpo da resposta HTTP).
+     * @param tamanhoLote Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param projecao Os campos a serem exportados (parâmetro 'fields').
+     * @param formato O formato da exportação.
+     * @throws IOException se a escrita falhar (ex: o cliente fechou a conexão).
+     */
+    public <T> void exportar(Class<T> tipo, OutputStream saida, Integer tamanhoLote, Projecao projecao, Formato formato) throws IOException {
+        int lote = tamanhoLote == null ? tamanhoLotePadrao : Math.max(1, Math.min(tamanhoLote, tamanhoLoteMaximo));
+
+        // Ordenar pelo _id usa o índice padrão e deixa a exportação estável entre execuções.
+        Query query = new Query().with(Sort.by("id")).cursorBatchSize(lote);
+        projecao.aplicar(query);
+
+        ObjectWriter writer = writers.get(formato);
+        boolean ndjson = formato == Formato.NDJSON;
+
+        // O try-with-resources garante que o cursor seja fechado no banco mesmo se o cliente desconectar no meio.
+        try (Stream<T> documentos = mongoTemplate.stream(query, tipo);
+             JsonGenerator gerador = writer.getFactory().createGenerator(saida)) {
+            // Quem fecha o corpo da resposta é o Spring, não o gerador.
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                // O separador entre documentos é a quebra de linha escrita abaixo, não o espaço padrão do Jackson.
+                gerador.setRootValueSeparator(null);
+            }
+
+            Iterator<T> cursor = documentos.iterator();
+            int escritosNoLote = 0;
+            while (cursor.hasNext()) {
+                writer.writeValue(gerador, projecao.representar(cursor.next()));
+                if (ndjson) {
+                    gerador.writeRaw('\n');
+                }
+                // A cada lote, envia o que foi escrito para o cliente.
+                if (++escritosNoLote == lote) {
+                    gerador.flush();
+                    escritosNoLote = 0;
+                }
+            }
+            gerador.flush();
+        }
+    }
+}
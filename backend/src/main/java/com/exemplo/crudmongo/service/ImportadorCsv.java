@@ -0,0 +1,785 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.Model.Curso; // Importa o modelo 'Curso', usado para conferir o curso informado em cada aluno.
+import com.exemplo.crudmongo.Model.Disciplina; // Importa o modelo 'Disciplina', usado para conferir a disciplina informada em cada turma.
+import com.exemplo.crudmongo.Model.Importacao; // Importa o modelo que guarda a situação e o checkpoint de uma importação.
+import com.exemplo.crudmongo.Model.Turma; // Importa o modelo de dados 'Turma'.
+import com.mongodb.bulk.BulkWriteError; // Importa o erro de uma operação individual do lote.
+import jakarta.annotation.PreDestroy; // Importa a anotação que marca o método chamado quando a aplicação é encerrada.
+import org.bson.types.ObjectId; // Importa o ObjectId, usado para gerar o ID das importações e das linhas.
+import org.slf4j.Logger; // Importa a interface de log.
+import org.slf4j.LoggerFactory; // Importa a fábrica de loggers.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Importa o evento disparado quando a aplicação termina de subir.
+import org.springframework.context.event.EventListener; // Importa a anotação que registra um método como ouvinte de eventos.
+import org.springframework.data.domain.Sort; // Importa a classe de ordenação do Spring Data.
+import org.springframework.data.mongodb.BulkOperationException; // Importa a exceção lançada quando alguma operação do lote falha.
+import org.springframework.data.mongodb.core.BulkOperations; // Importa a API de operações em lote do Spring Data MongoDB.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado nas gravações e no checkpoint.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria, que monta os filtros das consultas.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.io.BufferedReader; // Importa o leitor com buffer, que lê o arquivo linha a linha.
+import java.io.FilterInputStream; // Importa a classe base do contador de bytes lidos.
+import java.io.IOException; // Importa a exceção de entrada/saída.
+import java.io.InputStream; // Importa a classe de fluxo de entrada, usada para receber o arquivo.
+import java.io.InputStreamReader; // Importa o leitor que converte os bytes do arquivo em texto.
+import java.io.UncheckedIOException; // Importa a exceção que embrulha uma IOException.
+import java.nio.charset.StandardCharsets; // Importa a codificação UTF-8.
+import java.nio.file.Files; // Importa a classe utilitária de arquivos.
+import java.nio.file.Path; // Importa a classe que representa o caminho de um arquivo.
+import java.security.SecureRandom; // Importa o gerador de números aleatórios usado no prefixo dos IDs.
+import java.time.Instant; // Importa a classe Instant para representar datas/horas.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.HashMap; // Importa a implementação de mapa.
+import java.util.HashSet; // Importa a implementação de conjunto.
+import java.util.HexFormat; // Importa o conversor de bytes para hexadecimal.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Locale; // Importa a classe de localidade, usada na conversão para minúsculas.
+import java.util.Map; // Importa a interface Map.
+import java.util.Set; // Importa a interface Set.
+import java.util.concurrent.ExecutorService; // Importa a interface dos executores de tarefas.
+import java.util.concurrent.Executors; // Importa a fábrica de executores.
+
+/**
+ * Importa arquivos CSV de alunos ou de turmas (ex: os arquivos do semestre enviados pela secretaria).
+ *
+ * - O arquivo recebido é copiado para o disco à medida que chega, sem ser carregado na memória, e a requisição
+ *   responde logo em seguida. A importação roda em segundo plano, uma de cada vez, e sua situação fica no
+ *   documento da coleção 'importacoes' (ver Importacao).
+ * - O arquivo é lido linha a linha. Cada linha é validada (campos obrigatórios, números, curso ou disciplina
+ *   existentes); as linhas recusadas são contadas e as primeiras mensagens ficam registradas na importação.
+ * - As linhas válidas são gravadas em blocos, em uma única chamada BulkOperations (UNORDERED) por bloco, como no
+ *   EscritorEmLote. O tamanho do bloco se ajusta ao tempo de gravação: dobra enquanto os blocos são gravados bem
+ *   abaixo do tempo alvo e cai pela metade quando passam dele. Opcionalmente, a importação é limitada a uma
+ *   quantidade de linhas por segundo, para não disputar o banco com as requisições da API.
+ * - Depois de cada bloco, a importação grava o checkpoint (linhas já processadas). Se ela for interrompida
+ *   (queda da aplicação ou erro do banco), a retomada pula essas linhas. O ID de cada linha é derivado da
+ *   importação e do número da linha, então uma linha do último bloco que já tinha sido gravada é reconhecida
+ *   pelo erro de chave duplicada em vez de ser inserida de novo.
+ *
+ * Formato do arquivo: UTF-8, primeira linha com o nome das colunas (em qualquer ordem, sem diferenciar maiúsculas),
+ * separadas por vírgula ou ponto e vírgula. Valores podem vir entre aspas (com "" para uma aspa), mas não podem
+ * conter quebras de linha. Colunas desconhecidas são ignoradas.
+ */
+@Component
+public class ImportadorCsv {
+
+    // Logger usado para registrar o início, o fim e as falhas das importações.
+    private static final Logger log = LoggerFactory.getLogger(ImportadorCsv.class);
+
+    // Quantidade máxima de mensagens de linhas recusadas guardadas em cada importação.
+    private static final int MAXIMO_ERROS = 100;
+
+    // Menor tamanho de bloco usado pelo ajuste automático.
+    private static final int TAMANHO_BLOCO_MINIMO = 50;
+
+    // Os IDs das linhas terminam com 3 bytes do número da linha, o que limita a quantidade de linhas de um arquivo.
+    private static final long MAXIMO_LINHAS = 1L << 24;
+
+    /**
+     * As coleções que podem ser importadas, com as colunas obrigatórias e opcionais de cada uma.
+     */
+    public enum Destino {
+        ALUNOS("alunos", Aluno.class, List.of("nome"), List.of("ira", "cursoId", "periodoIngressoId")),
+        TURMAS("turmas", Turma.class, List.of("disciplinaId", "ano", "semestre"), List.of("professor"));
+
+        private final String colecao;
+        private final Class<?> tipo;
+        private final List<String> obrigatorias;
+        private final List<String> opcionais;
+
+        Destino(String colecao, Class<?> tipo, List<String> obrigatorias, List<String> opcionais) {
+            this.colecao = colecao;
+            this.tipo = tipo;
+            this.obrigatorias = obrigatorias;
+            this.opcionais = opcionais;
+        }
+
+        /**
+         * Converte o nome da coleção (ex: "alunos") no destino correspondente.
+         * @throws IllegalArgumentException se a coleção não puder ser importada.
+         */
+        public static Destino de(String colecao) {
+            for (Destino destino : values()) {
+                if (destino.colecao.equalsIgnoreCase(colecao)) {
+                    return destino;
+                }
+            }
+            throw new IllegalArgumentException("Coleção não suportada na importação: " + colecao);
+        }
+    }
+
+    /**
+     * Uma linha válida aguardando a gravação do bloco.
+     * @param numero O número da linha no arquivo (o cabeçalho é a linha 1).
+     * @param documento O documento montado a partir da linha.
+     * @param referencia O ID do curso ou da disciplina informado na linha (nulo se não houver).
+     */
+    record Linha(long numero, Object documento, String referencia) {
+    }
+
+    // Template do MongoDB, usado nas gravações e no checkpoint.
+    private final MongoTemplate mongoTemplate;
+
+    // Contadores de versão das coleções, incrementados a cada bloco gravado (invalidam os ETags das listagens).
+    private final VersaoColecoes versaoColecoes;
+
+    // Estatísticas de IRA, avisadas quando alunos são importados.
+    private final EstatisticasIra estatisticasIra;
+
+    // Índices em memória sobre os alunos, avisados de cada aluno importado.
+    private final List<IndiceAlunos> indices;
+
+    // Pasta onde os arquivos recebidos ficam até a importação terminar.
+    private final Path diretorio;
+
+    // Tamanho do primeiro bloco de cada importação.
+    private final int tamanhoBlocoInicial;
+
+    // Maior tamanho de bloco usado pelo ajuste automático.
+    private final int tamanhoBlocoMaximo;
+
+    // Tempo alvo de gravação de um bloco, em milissegundos.
+    private final long tempoAlvoBlocoMs;
+
+    // Limite de linhas processadas por segundo (0 = sem limite).
+    private final int linhasPorSegundo;
+
+    // Executor das importações: uma de cada vez, na ordem em que foram recebidas.
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "importacao-csv");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Gerador do prefixo aleatório dos IDs das linhas.
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    // Indica que a aplicação está sendo encerrada: a importação em andamento para sem ser marcada como falha.
+    private volatile boolean encerrando;
+
+    /**
+     * Construtor da classe ImportadorCsv.
+     * @param mongoTemplate O MongoTemplate configurado pelo Spring.
+     * @param versaoColecoes Os contadores de versão das coleções.
+     * @param estatisticasIra As estatísticas de IRA.
+     * @param indices Os índices em memória sobre os alunos.
+     * @param diretorio Propriedade 'crudmongo.importacao.diretorio'.
+     * @param tamanhoBlocoInicial Propriedade 'crudmongo.importacao.tamanho-bloco'.
+     * @param tamanhoBlocoMaximo Propriedade 'crudmongo.importacao.tamanho-bloco-maximo'.
+     * @param tempoAlvoBlocoMs Propriedade 'crudmongo.importacao.tempo-alvo-bloco-ms'.
+     * @param linhasPorSegundo Propriedade 'crudmongo.importacao.linhas-por-segundo'.
+     */
+    public ImportadorCsv(MongoTemplate mongoTemplate,
+                         VersaoColecoes versaoColecoes,
+                         EstatisticasIra estatisticasIra,
+                         List<IndiceAlunos> indices,
+                         @Value("${crudmongo.importacao.diretorio:${java.io.tmpdir}/crudmongo-importacoes}") String diretorio,
+                         @Value("${crudmongo.importacao.tamanho-bloco:500}") int tamanhoBlocoInicial,
+                         @Value("${crudmongo.importacao.tamanho-bloco-maximo:10000}") int tamanhoBlocoMaximo,
+                         @Value("${crudmongo.importacao.tempo-alvo-bloco-ms:1000}") long tempoAlvoBlocoMs,
+                         @Value("${crudmongo.importacao.linhas-por-segundo:0}") int linhasPorSegundo) {
+        this.mongoTemplate = mongoTemplate;
+        this.versaoColecoes = versaoColecoes;
+        this.estatisticasIra = estatisticasIra;
+        this.indices = indices;
+        this.diretorio = Path.of(diretorio);
+        this.tamanhoBlocoInicial = Math.max(TAMANHO_BLOCO_MINIMO, tamanhoBlocoInicial);
+        this.tamanhoBlocoMaximo = Math.max(this.tamanhoBlocoInicial, tamanhoBlocoMaximo);
+        this.tempoAlvoBlocoMs = tempoAlvoBlocoMs;
+        this.linhasPorSegundo = linhasPorSegundo;
+    }
+
+    /**
+     * Retoma, quando a aplicação estiver pronta, as importações que estavam na fila ou em andamento quando ela parou.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarInterrompidas() {
+        try {
+            Query consulta = new Query(Criteria.where("status").in(Importacao.PENDENTE, Importacao.EXECUTANDO))
+                    .with(Sort.by("criadaEm"));
+            for (Importacao importacao : mongoTemplate.find(consulta, Importacao.class)) {
+                log.info("Retomando a importação {} a partir da linha {}", importacao.getId(),
+                        importacao.getLinhasProcessadas() + 2);
+                importacao.setStatus(Importacao.PENDENTE);
+                mongoTemplate.save(importacao);
+                executor.submit(() -> executar(importacao.getId()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível verificar as importações interrompidas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Encerra o executor quando a aplicação é finalizada. A importação em andamento continua com o status
+     * 'executando' e é retomada do último checkpoint quando a aplicação subir de novo.
+     */
+    @PreDestroy
+    public void encerrar() {
+        encerrando = true;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Recebe um arquivo CSV e coloca a importação na fila.
+     * O arquivo é copiado para o disco à medida que chega; só o cabeçalho é conferido antes da resposta.
+     * @param colecao A coleção de destino ("alunos" ou "turmas").
+     * @param corpo O conteúdo do arquivo.
+     * @return A importação criada, com o status 'pendente'.
+     * @throws IllegalArgumentException se a coleção não for suportada, o arquivo estiver vazio ou faltar alguma coluna obrigatória.
+     */
+    public Importacao receber(String colecao, InputStream corpo) {
+        Destino destino = Destino.de(colecao);
+        Importacao importacao = new Importacao();
+        importacao.setId(new ObjectId().toHexString());
+        Path arquivo = diretorio.resolve(importacao.getId() + ".csv");
+        try {
+            Files.createDirectories(diretorio);
+            importacao.setTamanhoArquivo(Files.copy(corpo, arquivo));
+            try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                colunas(destino, leitor.readLine());
+            }
+        } catch (IOException e) {
+            apagar(arquivo);
+            throw new UncheckedIOException(e);
+        } catch (IllegalArgumentException e) {
+            apagar(arquivo);
+            throw e;
+        }
+
+        // Prefixo dos IDs das linhas: o momento do recebimento (como em um ObjectId comum) seguido de 5 bytes aleatórios.
+        byte[] prefixo = new byte[9];
+        int segundos = (int) Instant.now().getEpochSecond();
+        prefixo[0] = (byte) (segundos >>> 24);
+        prefixo[1] = (byte) (segundos >>> 16);
+        prefixo[2] = (byte) (segundos >>> 8);
+        prefixo[3] = (byte) segundos;
+        byte[] sorteio = new byte[5];
+        aleatorio.nextBytes(sorteio);
+        System.arraycopy(sorteio, 0, prefixo, 4, 5);
+
+        importacao.setColecao(destino.colecao);
+        importacao.setStatus(Importacao.PENDENTE);
+        importacao.setArquivo(arquivo.toString());
+        importacao.setTamanhoBloco(tamanhoBlocoInicial);
+        importacao.setPrefixoIds(HexFormat.of().formatHex(prefixo));
+        importacao.setCriadaEm(Instant.now());
+        importacao.setAtualizadaEm(importacao.getCriadaEm());
+        mongoTemplate.save(importacao);
+        executor.submit(() -> executar(importacao.getId()));
+        return importacao;
+    }
+
+    /**
+     * Busca uma importação pelo ID.
+     * @param id O ID da importação.
+     * @return A importação, ou nulo se não existir.
+     */
+    public Importacao buscar(String id) {
+        return mongoTemplate.findById(id, Importacao.class);
+    }
+
+    /**
+     * Lista as importações mais recentes.
+     * @param limite A quantidade máxima de importações.
+     * @return As importações, da mais recente para a mais antiga.
+     */
+    public List<Importacao> listar(int limite) {
+        return mongoTemplate.find(new Query().with(Sort.by(Sort.Direction.DESC, "criadaEm")).limit(limite), Importacao.class);
+    }
+
+    /**
+     * Coloca de volta na fila uma importação que falhou. Ela continua a partir do último checkpoint.
+     * @param id O ID da importação.
+     * @return A importação, com o status 'pendente'.
+     * @throws DocumentoNaoEncontradoException se a importação não existir.
+     * @throws IllegalStateException se a importação não tiver falhado (ainda está na fila, em andamento ou já terminou).
+     */
+    public Importacao retomar(String id) {
+        Importacao importacao = buscar(id);
+        if (importacao == null) {
+            throw new DocumentoNaoEncontradoException("Importação não encontrada com o id: " + id);
+        }
+        if (!Importacao.FALHA.equals(importacao.getStatus())) {
+            throw new IllegalStateException("A importação está com o status '" + importacao.getStatus() + "' e não pode ser retomada");
+        }
+        if (!Files.exists(Path.of(importacao.getArquivo()))) {
+            throw new IllegalStateException("O arquivo da importação não existe mais; envie o arquivo novamente");
+        }
+        importacao.setStatus(Importacao.PENDENTE);
+        importacao.setErro(null);
+        importacao.setConcluidaEm(null);
+        mongoTemplate.save(importacao);
+        executor.submit(() -> executar(importacao.getId()));
+        return importacao;
+    }
+
+    /**
+     * Executa (ou continua) uma importação, do último checkpoint até o fim do arquivo.
+     */
+    private void executar(String id) {
+        Importacao importacao = buscar(id);
+        if (importacao == null || !Importacao.PENDENTE.equals(importacao.getStatus())) {
+            return;
+        }
+        Destino destino = Destino.de(importacao.getColecao());
+        Path arquivo = Path.of(importacao.getArquivo());
+        importacao.setStatus(Importacao.EXECUTANDO);
+        checkpoint(importacao);
+        long inicio = System.nanoTime();
+        long linhasNestaExecucao = 0;
+
+        try (ContadorBytes contador = new ContadorBytes(Files.newInputStream(arquivo));
+             BufferedReader leitor = new BufferedReader(new InputStreamReader(contador, StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            Map<String, Integer> colunas = colunas(destino, cabecalho);
+            char separador = separador(cabecalho);
+
+            // Pula as linhas já processadas antes de uma interrupção.
+            pular(leitor, importacao.getLinhasProcessadas());
+
+            List<Linha> bloco = new ArrayList<>();
+            List<String> errosDoBloco = new ArrayList<>();
+            long linhasNoBloco = 0;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                long indice = importacao.getLinhasProcessadas() + linhasNoBloco;
+                if (indice >= MAXIMO_LINHAS) {
+                    throw new IllegalArgumentException("O arquivo passa do limite de " + MAXIMO_LINHAS + " linhas");
+                }
+                linhasNoBloco++;
+                try {
+                    Linha linha = lerLinha(destino, colunas, separador, texto, indice, importacao.getPrefixoIds());
+                    if (linha != null) {
+                        bloco.add(linha);
+                    }
+                } catch (IllegalArgumentException e) {
+                    errosDoBloco.add("linha " + (indice + 2) + ": " + e.getMessage());
+                }
+                if (linhasNoBloco >= importacao.getTamanhoBloco()) {
+                    long tempoMs = gravarBloco(destino, bloco, errosDoBloco, importacao);
+                    fecharBloco(importacao, linhasNoBloco, contador.lidos(), tempoMs);
+                    linhasNestaExecucao += linhasNoBloco;
+                    bloco.clear();
+                    errosDoBloco.clear();
+                    linhasNoBloco = 0;
+                    limitarVelocidade(inicio, linhasNestaExecucao);
+                }
+            }
+            if (linhasNoBloco > 0) {
+                long tempoMs = gravarBloco(destino, bloco, errosDoBloco, importacao);
+                fecharBloco(importacao, linhasNoBloco, contador.lidos(), tempoMs);
+            }
+
+            importacao.setStatus(Importacao.CONCLUIDA);
+            importacao.setProgresso(100.0);
+            importacao.setConcluidaEm(Instant.now());
+            checkpoint(importacao);
+            apagar(arquivo);
+            log.info("Importação {} concluída: {} gravadas, {} já existentes, {} recusadas ({} ms)", id,
+                    importacao.getLinhasGravadas(), importacao.getLinhasJaExistentes(), importacao.getLinhasInvalidas(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Encerramento da aplicação: fica 'executando' e é retomada ao subir.
+        } catch (IOException | RuntimeException e) {
+            if (encerrando) {
+                return; // A falha veio do encerramento da aplicação: fica 'executando' e é retomada ao subir.
+            }
+            log.warn("Importação {} falhou na linha {}: {}", id, importacao.getLinhasProcessadas() + 2, e.getMessage());
+            // Recarrega o último checkpoint gravado, descartando os contadores do bloco que falhou.
+            Importacao gravada = buscar(id);
+            if (gravada != null) {
+                gravada.setStatus(Importacao.FALHA);
+                gravada.setErro(e.getMessage());
+                gravada.setConcluidaEm(Instant.now());
+                checkpoint(gravada);
+            }
+        }
+    }
+
+    /**
+     * Grava as linhas válidas de um bloco em uma única chamada ao banco e registra o resultado na importação.
+     * @return O tempo gasto no banco, em milissegundos.
+     */
+    private long gravarBloco(Destino destino, List<Linha> bloco, List<String> errosDoBloco, Importacao importacao) {
+        long inicio = System.nanoTime();
+        List<Linha> validas = conferirReferencias(destino, bloco, errosDoBloco);
+        List<Linha> gravadas = new ArrayList<>();
+        if (!validas.isEmpty()) {
+            BulkOperations operacoes = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, destino.tipo);
+            for (Linha linha : validas) {
+                operacoes.insert(linha.documento());
+            }
+            Map<Integer, BulkWriteError> erros = new HashMap<>();
+            try {
+                operacoes.execute();
+            } catch (BulkOperationException e) {
+                // No modo UNORDERED, as operações que não falharam foram aplicadas mesmo assim.
+                for (BulkWriteError erro : e.getErrors()) {
+                    erros.put(erro.getIndex(), erro);
+                }
+            }
+            for (int i = 0; i < validas.size(); i++) {
+                BulkWriteError erro = erros.get(i);
+                if (erro == null) {
+                    importacao.setLinhasGravadas(importacao.getLinhasGravadas() + 1);
+                    gravadas.add(validas.get(i));
+                } else if (erro.getCode() == 11000) {
+                    // Chave duplicada: a linha foi gravada antes de uma interrupção.
+                    importacao.setLinhasJaExistentes(importacao.getLinhasJaExistentes() + 1);
+                    gravadas.add(validas.get(i));
+                } else {
+                    errosDoBloco.add("linha " + validas.get(i).numero() + ": " + erro.getMessage());
+                }
+            }
+        }
+        long tempoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        importacao.setLinhasInvalidas(importacao.getLinhasInvalidas() + errosDoBloco.size());
+        for (String erro : errosDoBloco) {
+            if (importacao.getErros().size() < MAXIMO_ERROS) {
+                importacao.getErros().add(erro);
+            }
+        }
+        if (!gravadas.isEmpty()) {
+            versaoColecoes.incrementar(destino.tipo);
+            if (destino == Destino.ALUNOS) {
+                for (Linha linha : gravadas) {
+                    Aluno aluno = (Aluno) linha.documento();
+                    for (IndiceAlunos indice : indices) {
+                        indice.gravado(aluno);
+                    }
+                }
+                estatisticasIra.marcarTudo();
+            }
+        }
+        return tempoMs;
+    }
+
+    /**
+     * Confere se os cursos (alunos) ou disciplinas (turmas) informados nas linhas do bloco existem,
+     * com uma única consulta por bloco. As linhas com referência inexistente são recusadas.
+     * @return As linhas que passaram na conferência.
+     */
+    private List<Linha> conferirReferencias(Destino destino, List<Linha> bloco, List<String> errosDoBloco) {
+        Set<String> referencias = new HashSet<>();
+        for (Linha linha : bloco) {
+            if (linha.referencia() != null) {
+                referencias.add(linha.referencia());
+            }
+        }
+        if (referencias.isEmpty()) {
+            return bloco;
+        }
+        Class<?> tipoReferencia = destino == Destino.ALUNOS ? Curso.class : Disciplina.class;
+        // A consulta pela propriedade 'id' converte os IDs para ObjectId do mesmo jeito que o findById.
+        Query consulta = new Query(Criteria.where("id").in(referencias));
+        consulta.fields().include("id");
+        Set<String> existentes = new HashSet<>();
+        for (Object documento : mongoTemplate.find(consulta, tipoReferencia)) {
+            existentes.add(documento instanceof Curso curso ? curso.getId() : ((Disciplina) documento).getId());
+        }
+        List<Linha> validas = new ArrayList<>(bloco.size());
+        String naoEncontrado = destino == Destino.ALUNOS ? "curso não encontrado: " : "disciplina não encontrada: ";
+        for (Linha linha : bloco) {
+            if (linha.referencia() == null || existentes.contains(linha.referencia())) {
+                validas.add(linha);
+            } else {
+                errosDoBloco.add("linha " + linha.numero() + ": " + naoEncontrado + linha.referencia());
+            }
+        }
+        return validas;
+    }
+
+    /**
+     * Registra o fim de um bloco: avança o checkpoint, atualiza o progresso, ajusta o tamanho do próximo bloco
+     * pelo tempo de gravação e grava a importação.
+     */
+    private void fecharBloco(Importacao importacao, long linhasNoBloco, long bytesLidos, long tempoMs) {
+        importacao.setLinhasProcessadas(importacao.getLinhasProcessadas() + linhasNoBloco);
+        if (importacao.getTamanhoArquivo() > 0) {
+            // Os bytes lidos incluem o que o leitor já carregou no buffer, então o progresso é uma estimativa.
+            double progresso = Math.min(99.9, 100.0 * bytesLidos / importacao.getTamanhoArquivo());
+            importacao.setProgresso(Math.round(progresso * 10) / 10.0);
+        }
+        int tamanho = importacao.getTamanhoBloco();
+        if (tempoMs * 2 < tempoAlvoBlocoMs) {
+            tamanho = Math.min(tamanho * 2, tamanhoBlocoMaximo);
+        } else if (tempoMs > tempoAlvoBlocoMs) {
+            tamanho = Math.max(tamanho / 2, TAMANHO_BLOCO_MINIMO);
+        }
+        importacao.setTamanhoBloco(tamanho);
+        checkpoint(importacao);
+    }
+
+    /**
+     * Espera o tempo necessário para manter a importação dentro do limite de linhas por segundo.
+     */
+    private void limitarVelocidade(long inicio, long linhas) throws InterruptedException {
+        if (linhasPorSegundo <= 0) {
+            return;
+        }
+        long esperadoMs = linhas * 1000 / linhasPorSegundo;
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+        if (esperadoMs > decorridoMs) {
+            Thread.sleep(esperadoMs - decorridoMs);
+        }
+    }
+
+    /**
+     * Grava a situação da importação no banco.
+     */
+    private void checkpoint(Importacao importacao) {
+        importacao.setAtualizadaEm(Instant.now());
+        mongoTemplate.save(importacao);
+    }
+
+    /**
+     * Pula as linhas de dados já processadas (o leitor está logo depois do cabeçalho).
+     * As linhas em branco também contam, já que o checkpoint conta todas as linhas lidas.
+     */
+    static void pular(BufferedReader leitor, long linhasProcessadas) throws IOException {
+        for (long i = 0; i < linhasProcessadas; i++) {
+            if (leitor.readLine() == null) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Lê uma linha de dados do arquivo.
+     * @param indice A posição da linha entre as linhas de dados, a partir de 0 (a linha logo depois do cabeçalho).
+     * @return A linha, ou nulo se ela estiver em branco (linhas em branco são puladas, mas contam na numeração).
+     * @throws IllegalArgumentException se algum valor for inválido.
+     */
+    static Linha lerLinha(Destino destino, Map<String, Integer> colunas, char separador, String texto, long indice, String prefixoIds) {
+        if (texto.isBlank()) {
+            return null;
+        }
+        return linha(destino, colunas, separar(texto, separador), indice + 2, idDaLinha(prefixoIds, indice));
+    }
+
+    /**
+     * Confere o cabeçalho e devolve a posição de cada coluna conhecida.
+     * @throws IllegalArgumentException se o arquivo estiver vazio ou faltar alguma coluna obrigatória.
+     */
+    static Map<String, Integer> colunas(Destino destino, String cabecalho) {
+        if (cabecalho == null || cabecalho.isBlank()) {
+            throw new IllegalArgumentException("O arquivo está vazio");
+        }
+        if (cabecalho.charAt(0) == '\uFEFF') {
+            cabecalho = cabecalho.substring(1); // Marca de ordem de bytes (BOM) gravada por algumas planilhas.
+        }
+        Map<String, Integer> posicoes = new HashMap<>();
+        List<String> nomes = separar(cabecalho, separador(cabecalho));
+        for (int i = 0; i < nomes.size(); i++) {
+            posicoes.putIfAbsent(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (String coluna : destino.obrigatorias) {
+            Integer posicao = posicoes.get(coluna.toLowerCase(Locale.ROOT));
+            if (posicao == null) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente: " + coluna);
+            }
+            colunas.put(coluna, posicao);
+        }
+        for (String coluna : destino.opcionais) {
+            Integer posicao = posicoes.get(coluna.toLowerCase(Locale.ROOT));
+            if (posicao != null) {
+                colunas.put(coluna, posicao);
+            }
+        }
+        return colunas;
+    }
+
+    /**
+     * Descobre o separador pelo cabeçalho: ponto e vírgula (comum nas planilhas em português) ou vírgula.
+     */
+    static char separador(String cabecalho) {
+        return cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0 ? ';' : ',';
+    }
+
+    /**
+     * Separa os valores de uma linha, respeitando os valores entre aspas.
+     * @throws IllegalArgumentException se uma aspa não for fechada.
+     */
+    static List<String> separar(String linha, char separador) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+
+    /**
+     * Monta o documento de uma linha, validando os valores.
+     * @throws IllegalArgumentException se algum valor for inválido.
+     */
+    static Linha linha(Destino destino, Map<String, Integer> colunas, List<String> valores, long numero, String id) {
+        if (destino == Destino.ALUNOS) {
+            Aluno aluno = new Aluno();
+            aluno.setId(id);
+            aluno.setNome(obrigatorio(colunas, valores, "nome"));
+            String ira = valor(colunas, valores, "ira");
+            if (ira != null) {
+                aluno.setIra(numero(ira, "ira"));
+                if (aluno.getIra() < 0) {
+                    throw new IllegalArgumentException("ira não pode ser negativo: " + ira);
+                }
+            }
+            aluno.setCursoId(valor(colunas, valores, "cursoId"));
+            aluno.setPeriodoIngressoId(valor(colunas, valores, "periodoIngressoId"));
+            aluno.setVersao(0L); // A versão começa em 0, como no save().
+            aluno.setUltimaModificacao(Instant.now());
+            return new Linha(numero, aluno, aluno.getCursoId());
+        }
+        Turma turma = new Turma();
+        turma.setId(id);
+        turma.setDisciplinaId(obrigatorio(colunas, valores, "disciplinaId"));
+        turma.setAno(inteiro(obrigatorio(colunas, valores, "ano"), "ano"));
+        turma.setSemestre(inteiro(obrigatorio(colunas, valores, "semestre"), "semestre"));
+        if (turma.getSemestre() < 1 || turma.getSemestre() > 2) {
+            throw new IllegalArgumentException("semestre deve ser 1 ou 2: " + turma.getSemestre());
+        }
+        turma.setProfessor(valor(colunas, valores, "professor"));
+        turma.setVersao(0L);
+        turma.setUltimaModificacao(Instant.now());
+        return new Linha(numero, turma, turma.getDisciplinaId());
+    }
+
+    /**
+     * Devolve o valor de uma coluna (sem espaços nas pontas), ou nulo se a coluna não existir ou estiver vazia.
+     */
+    private static String valor(Map<String, Integer> colunas, List<String> valores, String coluna) {
+        Integer posicao = colunas.get(coluna);
+        if (posicao == null || posicao >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(posicao).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Devolve o valor de uma coluna obrigatória.
+     * @throws IllegalArgumentException se o valor estiver vazio.
+     */
+    private static String obrigatorio(Map<String, Integer> colunas, List<String> valores, String coluna) {
+        String valor = valor(colunas, valores, coluna);
+        if (valor == null) {
+            throw new IllegalArgumentException(coluna + " é obrigatório");
+        }
+        return valor;
+    }
+
+    /**
+     * Converte um número decimal, aceitando vírgula ou ponto como separador decimal.
+     */
+    private static Double numero(String valor, String coluna) {
+        try {
+            double numero = Double.parseDouble(valor.replace(',', '.'));
+            if (Double.isNaN(numero) || Double.isInfinite(numero)) {
+                throw new NumberFormatException();
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(coluna + " não é um número: " + valor);
+        }
+    }
+
+    /**
+     * Converte um número inteiro.
+     */
+    private static Integer inteiro(String valor, String coluna) {
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(coluna + " não é um número inteiro: " + valor);
+        }
+    }
+
+    /**
+     * Monta o ID de uma linha: o prefixo da importação (9 bytes) seguido do índice da linha (3 bytes).
+     */
+    static String idDaLinha(String prefixoIds, long indice) {
+        byte[] bytes = new byte[12];
+        System.arraycopy(HexFormat.of().parseHex(prefixoIds), 0, bytes, 0, 9);
+        bytes[9] = (byte) (indice >>> 16);
+        bytes[10] = (byte) (indice >>> 8);
+        bytes[11] = (byte) indice;
+        return new ObjectId(bytes).toHexString();
+    }
+
+    /**
+     * Apaga o arquivo de uma importação, sem interromper o fluxo se não conseguir.
+     */
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o arquivo {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    /**
+     * Fluxo de entrada que conta os bytes lidos do arquivo, usado para estimar o progresso.
+     */
+    private static class ContadorBytes extends FilterInputStream {
+
+        // Quantidade de bytes lidos até agora.
+        private long lidos;
+
+        ContadorBytes(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido = super.read();
+            if (lido >= 0) {
+                lidos++;
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] b, int inicio, int tamanho) throws IOException {
+            int lidosAgora = super.read(b, inicio, tamanho);
+            if (lidosAgora > 0) {
+                lidos += lidosAgora;
+            }
+            return lidosAgora;
+        }
+
+        long lidos() {
+            return lidos;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// Define o pacote onde esta interface está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+
+/**
+ * Índice em memória sobre a coleção de alunos (ex: RankingIra, AutocompletarAlunos).
+ * O AlunoService (e o ImportadorCsv, nas importações de alunos) avisa todos os índices a cada gravação,
+ * para que eles continuem iguais ao banco.
+ */
+public interface IndiceAlunos {
+
+    /**
+     * Registra a gravação de um aluno (inclusão ou alteração).
+     * @param aluno O documento como ficou no banco (com a versão atual).
+     */
+    void gravado(Aluno aluno);
+
+    /**
+     * Registra a exclusão de um aluno.
+     * @param id O ID do aluno excluído.
+     */
+    void excluido(String id);
+}
@@ -0,0 +1,155 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.Model.Curriculo; // Importa o modelo de dados 'Curriculo'.
+import com.exemplo.crudmongo.Model.Curso; // Importa o modelo de dados 'Curso'.
+import com.exemplo.crudmongo.Model.Disciplina; // Importa o modelo de dados 'Disciplina'.
+import com.exemplo.crudmongo.Model.Turma; // Importa o modelo de dados 'Turma'.
+import com.exemplo.crudmongo.dto.Painel; // Importa o DTO da resposta do painel.
+import jakarta.annotation.PreDestroy; // Importa a anotação que marca o método chamado quando a aplicação é encerrada.
+import org.springframework.beans.factory.annotation.Value; // Importa a anotação @Value para ler configurações.
+import org.springframework.data.domain.Sort; // Importa a classe de ordenação do Spring Data.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado nas contagens e na busca dos recentes.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa a consulta dos recentes.
+import org.springframework.stereotype.Service; // Importa a anotação @Service, que marca a classe como um componente de serviço do Spring.
+
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem de inserção das seções.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.concurrent.ExecutionException; // Importa a exceção que embrulha as falhas das consultas.
+import java.util.concurrent.ExecutorService; // Importa a interface dos executores de tarefas.
+import java.util.concurrent.Executors; // Importa a fábrica de executores.
+import java.util.concurrent.Future; // Importa o Future, que representa a consulta de cada seção (e permite cancelá-la).
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo.
+import java.util.concurrent.TimeoutException; // Importa a exceção de tempo esgotado.
+
+/**
+ * Monta o painel da página inicial (contagem e itens recentes de cada coleção).
+ *
+ * As cinco coleções são consultadas ao mesmo tempo, cada uma em uma virtual thread, então o tempo de resposta
+ * é o da consulta mais lenta, e não a soma das cinco. Cada consulta tem seu próprio tempo limite: uma coleção
+ * lenta ou indisponível não segura o painel inteiro, ela apenas vem marcada com erro. A consulta que passa do tempo
+ * é cancelada no servidor (maxTimeMS) e na aplicação (a tarefa é interrompida).
+ *
+ * Propriedades:
+ *   crudmongo.painel.timeout-ms Tempo limite de cada seção (padrão: 1000 ms).
+ *   crudmongo.painel.recentes   Quantidade de itens recentes por coleção (padrão: 5).
+ */
+@Service
+public class PainelService {
+
+    // Coleções do painel, pelo nome usado na resposta (o mesmo da URL da API), na ordem em que aparecem.
+    private static final Map<String, Class<?>> COLECOES = new LinkedHashMap<>();
+
+    static {
+        COLECOES.put("alunos", Aluno.class);
+        COLECOES.put("cursos", Curso.class);
+        COLECOES.put("disciplinas", Disciplina.class);
+        COLECOES.put("turmas", Turma.class);
+        COLECOES.put("curriculos", Curriculo.class);
+    }
+
+    // Executor das consultas: uma virtual thread por seção, já que as tarefas passam quase todo o tempo esperando o banco.
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Template do MongoDB, usado nas consultas.
+    private final MongoTemplate mongoTemplate;
+
+    // Tempo limite de cada seção, em milissegundos.
+    private final long timeoutMs;
+
+    // Quantidade de itens recentes por coleção.
+    private final int recentes;
+
+    /**
+     * Construtor da classe PainelService.
+     * @param mongoTemplate O MongoTemplate configurado pelo Spring.
+     * @param timeoutMs Propriedade 'crudmongo.painel.timeout-ms'.
+     * @param recentes Propriedade 'crudmongo.painel.recentes'.
+     */
+    public PainelService(MongoTemplate mongoTemplate,
+                         @Value("${crudmongo.painel.timeout-ms:1000}") long timeoutMs,
+                         @Value("${crudmongo.painel.recentes:5}") int recentes) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeoutMs = timeoutMs;
+        this.recentes = Math.max(0, recentes);
+    }
+
+    /**
+     * Monta o painel consultando as coleções em paralelo.
+     * @param contagemExata Se verdadeiro, conta os documentos um a um (countDocuments); senão, usa a contagem
+     *                      estimada dos metadados da coleção (estimatedDocumentCount), que não percorre os documentos.
+     * @return O painel, com as seções que falharam ou passaram do tempo limite marcadas com erro.
+     */
+    public Painel montar(boolean contagemExata) {
+        long inicio = System.nanoTime();
+        // Dispara todas as consultas antes de esperar qualquer uma delas.
+        Map<String, Future<Painel.Secao>> consultas = new LinkedHashMap<>();
+        COLECOES.forEach((nome, tipo) -> consultas.put(nome, executor.submit(() -> secao(tipo, contagemExata))));
+
+        Painel painel = new Painel();
+        // Todas as seções começaram juntas, então cada uma tem até 'inicio + timeoutMs' para terminar
+        // e a espera total também fica limitada a 'timeoutMs'.
+        long prazo = inicio + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        consultas.forEach((nome, consulta) -> painel.adicionar(nome, aguardar(consulta, prazo)));
+        painel.setTempoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return painel;
+    }
+
+    /**
+     * Encerra o executor quando a aplicação é finalizada.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Consulta a contagem e os itens recentes de uma coleção.
+     */
+    private Painel.Secao secao(Class<?> tipo, boolean contagemExata) {
+        long inicio = System.nanoTime();
+        Painel.Secao secao = new Painel.Secao();
+        // A contagem exata percorre o índice inteiro: o maxTime (ver abaixo) também vale para ela.
+        secao.setTotal(contagemExata ? mongoTemplate.count(new Query().maxTimeMsec(timeoutMs), tipo) : mongoTemplate.estimatedCount(tipo));
+        secao.setTotalEstimado(!contagemExata);
+        // O _id (ObjectId) começa pelo instante da criação, então a ordem decrescente dele traz os documentos
+        // mais recentes usando o índice que toda coleção já tem. O maxTime faz o próprio banco abandonar a
+        // consulta se ela passar do tempo limite, em vez de continuar trabalhando para uma resposta já descartada.
+        Query consulta = new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(recentes).maxTimeMsec(timeoutMs);
+        secao.setRecentes(recentes == 0 ? List.of() : mongoTemplate.find(consulta, tipo));
+        secao.setTempoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return secao;
+    }
+
+    /**
+     * Espera a seção até o prazo. Se o prazo passar, a tarefa é cancelada (a virtual thread é interrompida),
+     * para que consultas abandonadas não se acumulem a cada atualização do painel.
+     */
+    private static Painel.Secao aguardar(Future<Painel.Secao> consulta, long prazo) {
+        try {
+            return consulta.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            consulta.cancel(true);
+            return secaoComErro("tempo esgotado");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            return secaoComErro(causa.getMessage());
+        } catch (InterruptedException e) {
+            consulta.cancel(true);
+            Thread.currentThread().interrupt();
+            return secaoComErro("interrompido");
+        }
+    }
+
+    /**
+     * Monta a seção de uma consulta que falhou ou passou do tempo limite.
+     */
+    private static Painel.Secao secaoComErro(String erro) {
+        Painel.Secao secao = new Painel.Secao();
+        secao.setErro(erro);
+        return secao;
+    }
+}
@@ -0,0 +1,212 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.dto.PosicaoRanking; // Importa o DTO de uma posição do ranking.
+import org.slf4j.Logger; // Importa a interface de log.
+import org.slf4j.LoggerFactory; // Importa a fábrica de loggers.
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Importa o evento disparado quando a aplicação termina de subir.
+import org.springframework.context.event.EventListener; // Importa a anotação que registra um método como ouvinte de eventos.
+import org.springframework.data.domain.Sort; // Importa a classe de ordenação do Spring Data.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado na carga inicial e nas leituras de fallback.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria, que monta os filtros das consultas.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query, que representa uma consulta.
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.Comparator; // Importa a interface de comparação, que define a ordem do ranking.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.NavigableSet; // Importa a interface dos conjuntos ordenados.
+import java.util.Set; // Importa a interface Set.
+import java.util.concurrent.ConcurrentHashMap; // Importa o mapa concorrente dos alunos e dos cursos.
+import java.util.concurrent.ConcurrentSkipListSet; // Importa o conjunto ordenado e concorrente que guarda o ranking de cada curso.
+import java.util.stream.Stream; // Importa a classe Stream, usada para percorrer o cursor da carga inicial.
+
+/**
+ * Mantém em memória o ranking de IRA de cada curso, para que o top-K seja lido sem consultar o banco.
+ *
+ * - Cada curso tem um conjunto ordenado (ConcurrentSkipListSet) por IRA decrescente e, no empate, por ID.
+ *   Ler os K primeiros é percorrer o começo do conjunto; incluir, alterar ou remover um aluno custa O(log n).
+ * - O índice é montado ao subir a aplicação, percorrendo a coleção com um cursor (só os campos necessários).
+ *   Até a carga terminar, o ranking é lido do banco.
+ * - O AlunoService avisa cada gravação (ver IndiceAlunos). Como uma alteração pode tirar o aluno de um curso cujo ID não vem
+ *   na requisição, o índice guarda todos os alunos (e não só os K primeiros de cada curso): assim ele sempre
+ *   sabe onde o aluno estava. Cada entrada leva a versão do documento (@Version), e uma atualização mais antiga
+ *   que a entrada atual é ignorada, o que mantém o índice certo quando gravações e a carga se cruzam.
+ *
+ * O índice vale para esta instância da aplicação: com várias instâncias, as gravações feitas em outra
+ * instância não são vistas aqui.
+ */
+@Component
+public class RankingIra implements IndiceAlunos {
+
+    // Logger usado para registrar a carga inicial.
+    private static final Logger log = LoggerFactory.getLogger(RankingIra.class);
+
+    // Ordem do ranking: maior IRA primeiro; no empate, menor ID (a mesma ordem da consulta no banco, ver doBanco).
+    private static final Comparator<Entrada> ORDEM = Comparator.comparingDouble(Entrada::ira).reversed()
+            .thenComparing(Entrada::id);
+
+    /**
+     * Dados de um aluno guardados no índice.
+     */
+    private record Entrada(String id, String nome, String cursoId, Double ira, long versao) {
+
+        static Entrada de(Aluno aluno) {
+            return new Entrada(aluno.getId(), aluno.getNome(), aluno.getCursoId(), aluno.getIra(),
+                    aluno.getVersao() == null ? -1 : aluno.getVersao());
+        }
+
+        // Só entra no ranking quem tem curso e IRA informados.
+        boolean classificavel() {
+            return cursoId != null && ira != null;
+        }
+    }
+
+    // Template do MongoDB, usado na carga inicial e nas leituras de fallback.
+    private final MongoTemplate mongoTemplate;
+
+    // Todos os alunos conhecidos, pelo ID.
+    private final ConcurrentHashMap<String, Entrada> porId = new ConcurrentHashMap<>();
+
+    // O ranking de cada curso, pelo ID do curso.
+    private final ConcurrentHashMap<String, NavigableSet<Entrada>> porCurso = new ConcurrentHashMap<>();
+
+    // Alunos excluídos durante a carga inicial, para que a carga não os coloque de volta.
+    private final Set<String> excluidosDuranteCarga = ConcurrentHashMap.newKeySet();
+
+    // Indica se a carga inicial já terminou.
+    private volatile boolean pronto;
+
+    /**
+     * Construtor da classe RankingIra.
+     * @param mongoTemplate O MongoTemplate configurado pelo Spring.
+     */
+    public RankingIra(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Monta o índice quando a aplicação estiver pronta, percorrendo a coleção de alunos com um cursor.
+     * Uma falha aqui (ex: banco fora do ar) não impede a aplicação de subir: o ranking continua sendo lido do banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        Query consulta = new Query();
+        consulta.fields().include("nome", "cursoId", "ira", "versao");
+        try (Stream<Aluno> alunos = mongoTemplate.stream(consulta, Aluno.class)) {
+            alunos.forEach(aluno -> {
+                if (!excluidosDuranteCarga.contains(aluno.getId())) {
+                    aplicar(Entrada.de(aluno));
+                }
+            });
+            pronto = true;
+            excluidosDuranteCarga.clear();
+            log.info("Ranking de IRA carregado: {} alunos em {} cursos ({} ms)", porId.size(), porCurso.size(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível carregar o ranking de IRA; ele será lido do banco: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Devolve os K alunos de maior IRA de um curso.
+     * @param cursoId O ID do curso.
+     * @param k A quantidade de posições.
+     * @return As K primeiras posições (ou menos, se o curso tiver menos alunos com IRA).
+     */
+    public List<PosicaoRanking> topK(String cursoId, int k) {
+        if (!pronto) {
+            return doBanco(cursoId, k);
+        }
+        List<PosicaoRanking> ranking = new ArrayList<>(k);
+        NavigableSet<Entrada> curso = porCurso.get(cursoId);
+        if (curso != null) {
+            for (Entrada entrada : curso) {
+                if (ranking.size() == k) {
+                    break;
+                }
+                ranking.add(new PosicaoRanking(ranking.size() + 1, entrada.id(), entrada.nome(), entrada.ira()));
+            }
+        }
+        return ranking;
+    }
+
+    /**
+     * Registra a gravação de um aluno (inclusão ou alteração).
+     * @param aluno O documento como ficou no banco (com a versão atual).
+     */
+    @Override
+    public void gravado(Aluno aluno) {
+        aplicar(Entrada.de(aluno));
+    }
+
+    /**
+     * Registra a exclusão de um aluno.
+     * @param id O ID do aluno excluído.
+     */
+    @Override
+    public void excluido(String id) {
+        if (!pronto) {
+            excluidosDuranteCarga.add(id);
+        }
+        remover(id);
+    }
+
+    /**
+     * Aplica uma entrada no índice, se ela não for mais antiga que a entrada atual do mesmo aluno.
+     */
+    private void aplicar(Entrada nova) {
+        // O compute é atômico por ID: duas gravações do mesmo aluno não se misturam.
+        porId.compute(nova.id(), (id, atual) -> {
+            if (atual != null && atual.versao() > nova.versao()) {
+                return atual; // A gravação que chegou é mais antiga do que a que já está no índice.
+            }
+            trocar(atual, nova);
+            return nova;
+        });
+    }
+
+    /**
+     * Remove um aluno do índice.
+     */
+    private void remover(String id) {
+        porId.computeIfPresent(id, (chave, atual) -> {
+            trocar(atual, null);
+            return null;
+        });
+    }
+
+    /**
+     * Tira a entrada antiga do ranking do seu curso e coloca a nova no ranking do curso dela.
+     */
+    private void trocar(Entrada antiga, Entrada nova) {
+        if (antiga != null && antiga.classificavel()) {
+            NavigableSet<Entrada> curso = porCurso.get(antiga.cursoId());
+            if (curso != null) {
+                curso.remove(antiga);
+            }
+        }
+        if (nova != null && nova.classificavel()) {
+            porCurso.computeIfAbsent(nova.cursoId(), c -> new ConcurrentSkipListSet<>(ORDEM)).add(nova);
+        }
+    }
+
+    /**
+     * Lê o ranking de um curso diretamente do banco, na mesma ordem do índice em memória.
+     * Usa o índice (cursoId, ira) criado em IndicesMongo. Os testes comparam o índice em memória com esta consulta.
+     */
+    List<PosicaoRanking> doBanco(String cursoId, int k) {
+        Query consulta = new Query(Criteria.where("cursoId").is(cursoId).and("ira").ne(null))
+                .with(Sort.by(Sort.Order.desc("ira"), Sort.Order.asc("_id")))
+                .limit(k);
+        consulta.fields().include("nome", "ira");
+        List<PosicaoRanking> ranking = new ArrayList<>(k);
+        for (Aluno aluno : mongoTemplate.find(consulta, Aluno.class)) {
+            ranking.add(new PosicaoRanking(ranking.size() + 1, aluno.getId(), aluno.getNome(), aluno.getIra()));
+        }
+        return ranking;
+    }
+}
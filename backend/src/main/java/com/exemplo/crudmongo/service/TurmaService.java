@@ -3,11 +3,30 @@ package com.exemplo.crudmongo.service;
 
 // Importações de classes e anotações necessárias.
 import com.exemplo.crudmongo.Model.Turma; // Importa o modelo de dados 'Turma'.
+import com.exemplo.crudmongo.config.CacheConfig; // Importa os nomes dos caches de leitura.
+import com.exemplo.crudmongo.dto.Pagina; // Importa o DTO que representa uma página de resultados.
+import com.exemplo.crudmongo.dto.ResultadoLote; // Importa o DTO com o resumo da gravação em lote.
 import com.exemplo.crudmongo.repository.TurmaRepository; // Importa o repositório que faz a comunicação com o banco de dados para a entidade Turma.
+import com.exemplo.crudmongo.repository.AtualizacaoAtomica; // Importa o componente de alterações atômicas (findAndModify/deleteOne).
+import com.exemplo.crudmongo.repository.ConsultaProjetada; // Importa o componente de consultas com projeção de campos.
+import com.exemplo.crudmongo.repository.Ordenacao; // Importa a representação da chave de ordenação da paginação.
+import com.exemplo.crudmongo.repository.PaginacaoKeyset; // Importa o componente que faz a paginação por cursor.
+import com.exemplo.crudmongo.repository.Projecao; // Importa a representação do parâmetro 'fields' (projeção de campos).
+import com.exemplo.crudmongo.repository.LimiteFiltro; // Importa o padrão e o máximo de resultados dos filtros.
+import org.springframework.cache.annotation.CacheEvict; // Importa a anotação que remove uma entrada do cache após uma escrita.
+import org.springframework.cache.annotation.Cacheable; // Importa a anotação que guarda o resultado de um método no cache.
+import org.springframework.dao.OptimisticLockingFailureException; // Importa a exceção de conflito de versão (controle de concorrência otimista).
+import org.springframework.data.domain.Limit; // Importa a classe Limit, usada para limitar os resultados dos filtros.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, que representa o $set das alterações.
 import org.springframework.stereotype.Service; // Importa a anotação @Service, que marca a classe como um componente de serviço do Spring.
 
+import java.io.IOException; // Importa a exceção lançada em falhas de escrita na exportação.
+import java.io.InputStream; // Importa a classe que representa o corpo da requisição na gravação em lote.
+import java.io.OutputStream; // Importa a classe que representa o fluxo de saída da exportação.
 import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map, que representa os campos enviados em um PATCH.
 import java.util.Optional; // Importa a classe Optional, que é uma forma elegante de lidar com valores que podem ser nulos, evitando NullPointerException.
+import java.util.Set; // Importa a interface Set para declarar os campos de ordenação permitidos.
 
 /**
  * A anotação @Service indica ao Spring que esta classe é um "Serviço".
@@ -20,83 +39,243 @@ public class TurmaService {
     // Declaração final do repositório de turma. 'final' significa que ele deve ser inicializado no construtor.
     private final TurmaRepository turmaRepository;
 
+    // Componente que executa a paginação por cursor (keyset) sobre a coleção.
+    private final PaginacaoKeyset paginacaoKeyset;
+
+    // Componente que exporta a coleção em NDJSON diretamente de um cursor do MongoDB.
+    private final ExportadorNdjson exportadorNdjson;
+
+    // Componente que executa as leituras com projeção (parâmetro 'fields').
+    private final ConsultaProjetada consultaProjetada;
+
+    // Contador de alterações da coleção, usado no ETag das listagens.
+    private final VersaoColecoes versaoColecoes;
+
+    // Componente que grava vários documentos por chamada ao banco (BulkOperations).
+    private final EscritorEmLote escritorEmLote;
+
+    // Componente que executa as alterações e exclusões em uma única ida ao banco.
+    private final AtualizacaoAtomica atualizacaoAtomica;
+
+    // Campos (além do id) que podem ser usados para ordenar a listagem paginada. Todos possuem índice (ver IndicesMongo).
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("ano");
+
     /**
      * Construtor da classe TurmaService.
      * O Spring utiliza este construtor para realizar a "Injeção de Dependência".
      * Ele automaticamente cria uma instância de TurmaRepository e a "injeta" aqui,
      * permitindo que o serviço utilize os métodos do repositório para acessar o banco de dados.
      * @param turmaRepository A instância de TurmaRepository fornecida pelo Spring.
+     * @param paginacaoKeyset O componente de paginação por cursor.
+     * @param exportadorNdjson O componente de exportação em NDJSON.
+     * @param consultaProjetada O componente de consultas com projeção.
+     * @param versaoColecoes O contador de alterações das coleções.
+     * @param escritorEmLote O componente de gravação em lote.
+     * @param atualizacaoAtomica O componente de alterações atômicas.
      */
-    public TurmaService(TurmaRepository turmaRepository) {
+    public TurmaService(TurmaRepository turmaRepository, PaginacaoKeyset paginacaoKeyset,
+                        ExportadorNdjson exportadorNdjson, ConsultaProjetada consultaProjetada,
+                        VersaoColecoes versaoColecoes, EscritorEmLote escritorEmLote,
+                        AtualizacaoAtomica atualizacaoAtomica) {
         this.turmaRepository = turmaRepository;
+        this.paginacaoKeyset = paginacaoKeyset;
+        this.exportadorNdjson = exportadorNdjson;
+        this.consultaProjetada = consultaProjetada;
+        this.versaoColecoes = versaoColecoes;
+        this.escritorEmLote = escritorEmLote;
+        this.atualizacaoAtomica = atualizacaoAtomica;
     }
 
     /**
      * Método para listar todas as turmas.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields'). Se for completa, traz o documento inteiro.
      * @return Uma lista com todas as turmas encontradas no banco de dados.
      */
-    public List<Turma> listarTodas() {
+    public List<Turma> listarTodas(Projecao projecao) {
+        if (!projecao.completa()) {
+            // Com projeção, o MongoDB só lê e envia os campos pedidos.
+            return consultaProjetada.listar(Turma.class, projecao);
+        }
         // Chama o método findAll() do repositório, que o Spring Data MongoDB implementa automaticamente.
         return turmaRepository.findAll();
     }
 
+    /**
+     * Método para listar as turmas em páginas, usando paginação por cursor (keyset).
+     * Diferente do listarTodas(), nunca carrega a coleção inteira na memória e o custo de cada página
+     * é o mesmo, não importa o quão "funda" ela esteja.
+     * @param limite A quantidade máxima de itens da página.
+     * @param cursor O cursor devolvido pela página anterior (ou nulo para a primeira página).
+     * @param sort O campo de ordenação, opcionalmente precedido de '-' para ordem decrescente.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Uma Pagina com os itens e o cursor da próxima página.
+     * @throws IllegalArgumentException se a ordenação ou o cursor forem inválidos.
+     */
+    public Pagina<Turma> listarPagina(Integer limite, String cursor, String sort, Projecao projecao) {
+        Ordenacao ordenacao = Ordenacao.de(sort, CAMPOS_ORDENACAO);
+        return paginacaoKeyset.buscar(Turma.class, null, ordenacao, limite, cursor, projecao);
+    }
+
+    /**
+     * Método para filtrar as turmas de uma disciplina, opcionalmente por ano e semestre.
+     * A consulta usa o índice (disciplinaId, ano, semestre), então o custo depende da quantidade de resultados
+     * e não do tamanho da coleção.
+     * @param disciplinaId O ID da disciplina (obrigatório).
+     * @param ano O ano da oferta (opcional).
+     * @param semestre O semestre da oferta (opcional, mas só pode ser usado junto com o ano).
+     * @param limite A quantidade máxima de turmas devolvidas (opcional).
+     * @return A lista de turmas encontradas.
+     * @throws IllegalArgumentException se o semestre for informado sem o ano.
+     */
+    public List<Turma> filtrar(String disciplinaId, Integer ano, Integer semestre, Integer limite) {
+        Limit limit = LimiteFiltro.de(limite);
+        if (ano == null) {
+            if (semestre != null) {
+                throw new IllegalArgumentException("O semestre só pode ser filtrado junto com o ano");
+            }
+            return turmaRepository.findByDisciplinaId(disciplinaId, limit);
+        }
+        if (semestre == null) {
+            return turmaRepository.findByDisciplinaIdAndAno(disciplinaId, ano, limit);
+        }
+        return turmaRepository.findByDisciplinaIdAndAnoAndSemestre(disciplinaId, ano, semestre, limit);
+    }
+
+    /**
+     * Método para exportar as turmas em NDJSON (um documento JSON por linha) ou em CBOR/Smile.
+     * Os documentos vão do cursor do banco direto para o fluxo de saída, sem montar uma lista na memória.
+     * @param saida O fluxo de saída onde os documentos serão escritos.
+     * @param tamanhoLote Quantos documentos o cursor busca do banco por vez (opcional).
+     * @param projecao Os campos a serem exportados (parâmetro 'fields').
+     * @param formato O formato da exportação (NDJSON, CBOR ou Smile).
+     * @throws IOException se a escrita falhar (ex: o cliente fechou a conexão).
+     */
+    public void exportar(OutputStream saida, Integer tamanhoLote, Projecao projecao, ExportadorNdjson.Formato formato) throws IOException {
+        exportadorNdjson.exportar(Turma.class, saida, tamanhoLote, projecao, formato);
+    }
+
+    /**
+     * Método para criar ou atualizar vários turmas de uma vez, a partir de um array JSON.
+     * Itens sem ID são inseridos; itens com ID substituem o documento existente (ou o criam).
+     * O array é lido aos poucos e gravado em blocos, com uma chamada ao banco por bloco.
+     * @param corpo O corpo da requisição, com o array JSON.
+     * @param tamanhoBloco Quantos itens são enviados ao banco por chamada (opcional).
+     * @return O resumo da gravação, com o resultado de cada item.
+     * @throws IllegalArgumentException se o corpo não for um array JSON.
+     * @throws IOException se a leitura do corpo falhar.
+     */
+    public ResultadoLote salvarEmLote(InputStream corpo, Integer tamanhoBloco) throws IOException {
+        return escritorEmLote.gravar(Turma.class, CacheConfig.TURMAS, corpo, tamanhoBloco);
+    }
+
+    /**
+     * Método para consultar o contador de alterações da coleção.
+     * Ele muda a cada escrita feita pela aplicação, então serve para saber se uma listagem mudou sem precisar relê-la.
+     * @return O valor atual do contador.
+     */
+    public long versaoColecao() {
+        return versaoColecoes.versao(Turma.class);
+    }
+
     /**
      * Método para buscar uma única turma pelo seu ID.
      * @param id O ID da turma a ser buscada.
      * @return Um Optional contendo a Turma se ela for encontrada, ou um Optional vazio caso contrário.
      */
+    @Cacheable(cacheNames = CacheConfig.TURMAS, key = "#id", unless = "#result == null") // Consulta o cache antes de ir ao banco; só resultados encontrados são guardados.
     public Optional<Turma> buscarPorId(String id) {
         // Chama o método findById() do repositório.
         return turmaRepository.findById(id);
     }
 
+    /**
+     * Método para buscar uma única turma pelo seu ID, lendo apenas os campos pedidos.
+     * @param id O ID a ser buscado.
+     * @param projecao Os campos a serem lidos do banco (parâmetro 'fields').
+     * @return Um Optional com o resultado (preenchido apenas nos campos projetados), ou vazio se não existir.
+     */
+    @Cacheable(cacheNames = CacheConfig.TURMAS, key = "#id", condition = "#projecao.completa()", unless = "#result == null") // Só o documento inteiro é guardado no cache.
+    public Optional<Turma> buscarPorId(String id, Projecao projecao) {
+        if (projecao.completa()) {
+            return buscarPorId(id);
+        }
+        return consultaProjetada.buscarPorId(Turma.class, id, projecao);
+    }
+
     /**
      * Método para salvar uma nova turma ou atualizar uma existente.
      * @param turma O objeto Turma a ser salvo no banco de dados.
      * @return O objeto Turma salvo (com o ID, caso seja uma nova turma).
      */
+    @CacheEvict(cacheNames = CacheConfig.TURMAS, key = "#result.id") // Invalida a entrada em cache do documento gravado.
     public Turma salvar(Turma turma) {
         // Aqui seria um bom lugar para adicionar validações ou lógica de negócios antes de salvar.
         // Por exemplo, verificar se a disciplinaId e o professorId existem.
         // Chama o método save() do repositório para persistir o objeto.
-        return turmaRepository.save(turma);
+        Turma salvo = turmaRepository.save(turma);
+        // Registra a alteração no contador da coleção (usado no ETag das listagens).
+        versaoColecoes.incrementar(Turma.class);
+        return salvo;
     }
 
     /**
      * Método para atualizar os dados de uma turma existente.
      * @param id O ID da turma a ser atualizada.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
      * @param turmaAtualizada Um objeto Turma com os novos dados.
      * @return O objeto Turma com os dados atualizados.
-     * @throws RuntimeException se nenhuma turma for encontrada com o ID fornecido.
+     * @throws DocumentoNaoEncontradoException se nenhuma turma for encontrada com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TURMAS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Turma atualizar(String id, List<Long> versoesEsperadas, Turma turmaAtualizada) {
+        // Monta um $set com os campos que vieram na requisição. O MongoDB aplica a alteração e devolve o documento
+        // já atualizado em uma única operação (findAndModify), sem precisar buscá-lo antes.
+        Update update = new Update()
+                .set("disciplinaId", turmaAtualizada.getDisciplinaId())
+                .set("ano", turmaAtualizada.getAno())
+                .set("semestre", turmaAtualizada.getSemestre())
+                .set("professor", turmaAtualizada.getProfessor());
+        Turma salvo = atualizacaoAtomica.atualizar(Turma.class, id, versoesEsperadas, update)
+                // Se nenhum documento tiver o ID informado, o orElseThrow() é executado.
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Turma não encontrada com o id: " + id)); // Lança uma exceção informando que a turma não foi encontrada.
+        versaoColecoes.incrementar(Turma.class);
+        return salvo;
+    }
+
+    /**
+     * Método para alterar apenas alguns campos de uma turma (PATCH).
+     * Só os campos enviados são gravados, em uma única operação no banco; os demais continuam como estão.
+     * @param id O ID do documento a ser alterado.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @param campos Os campos a serem alterados e seus novos valores (ex: { "professor": "..." }).
+     * @return O documento com os dados atualizados.
+     * @throws IllegalArgumentException se algum campo não existir, não puder ser alterado ou tiver um valor incompatível.
+     * @throws DocumentoNaoEncontradoException se nenhum documento for encontrado com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public Turma atualizar(String id, Turma turmaAtualizada) {
-        // Primeiro, busca a turma pelo ID. O retorno é um Optional.
-        return turmaRepository.findById(id)
-                .map(turmaExistente -> { // O método map() é executado apenas se a turma for encontrada.
-                    // Atualiza os campos da turma que já existe no banco com os dados da turma que veio na requisição.
-                    turmaExistente.setDisciplinaId(turmaAtualizada.getDisciplinaId());
-                    turmaExistente.setAno(turmaAtualizada.getAno());
-                    turmaExistente.setSemestre(turmaAtualizada.getSemestre());
-                    turmaExistente.setProfessor(turmaAtualizada.getProfessor());
-                    // Salva a turma com os dados atualizados e a retorna.
-                    return turmaRepository.save(turmaExistente);
-                })
-                // Se o findById() não encontrar nada, o orElseThrow() é executado.
-                .orElseThrow(() -> new RuntimeException("Turma não encontrada com o id: " + id)); // Lança uma exceção informando que a turma não foi encontrada.
+    @CacheEvict(cacheNames = CacheConfig.TURMAS, key = "#id") // Invalida a entrada em cache do documento alterado.
+    public Turma atualizarParcialmente(String id, List<Long> versoesEsperadas, Map<String, Object> campos) {
+        Turma salvo = atualizacaoAtomica.atualizarCampos(Turma.class, id, versoesEsperadas, campos)
+                .orElseThrow(() -> new DocumentoNaoEncontradoException("Turma não encontrada com o id: " + id));
+        versaoColecoes.incrementar(Turma.class);
+        return salvo;
     }
 
     /**
      * Método para excluir uma turma do banco de dados.
      * @param id O ID da turma a ser excluída.
-     * @throws RuntimeException se nenhuma turma for encontrada com o ID fornecido.
+     * @param versoesEsperadas As versões aceitas pelo cliente (cabeçalho If-Match), ou nulo para não verificar a versão.
+     * @throws DocumentoNaoEncontradoException se nenhuma turma for encontrada com o ID fornecido.
+     * @throws OptimisticLockingFailureException se o documento tiver sido alterado depois da versão esperada.
      */
-    public void excluir(String id) {
-        // Primeiro, verifica se uma turma com o ID fornecido realmente existe.
-        if (!turmaRepository.existsById(id)) {
+    @CacheEvict(cacheNames = CacheConfig.TURMAS, key = "#id") // Invalida a entrada em cache do documento removido.
+    public void excluir(String id, List<Long> versoesEsperadas) {
+        // Remove o documento com um único deleteOne. Se nenhum documento foi removido, é porque o ID não existe.
+        if (!atualizacaoAtomica.excluir(Turma.class, id, versoesEsperadas)) {
             // Se não existe, lança uma exceção para informar o erro.
-            throw new RuntimeException("Turma não encontrada com o id: " + id);
+            throw new DocumentoNaoEncontradoException("Turma não encontrada com o id: " + id);
         }
-        // Se existe, chama o método deleteById() do repositório para remover a turma.
-        turmaRepository.deleteById(id);
+        versaoColecoes.incrementar(Turma.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+// Define o pacote onde esta classe está localizada. A camada de Serviço é responsável pela lógica de negócios.
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import org.bson.Document; // Importa a classe Document do driver do MongoDB, para ler o contador sem precisar de um modelo.
+import org.springframework.data.mongodb.core.FindAndModifyOptions; // Importa as opções do findAndModify (upsert).
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, que executa as operações no contador.
+import org.springframework.data.mongodb.core.query.Criteria; // Importa a classe Criteria para montar o filtro.
+import org.springframework.data.mongodb.core.query.Query; // Importa a classe Query.
+import org.springframework.data.mongodb.core.query.Update; // Importa a classe Update, usada para o incremento ($inc).
+import org.springframework.stereotype.Component; // Importa a anotação @Component para registrar a classe no Spring.
+
+/**
+ * Mantém um contador de alterações para cada coleção, na coleção auxiliar "versoes_colecoes".
+ *
+ * Toda escrita feita pelos serviços incrementa o contador da coleção afetada. O ETag das listagens é derivado
+ * desse contador: enquanto ele não muda, a lista também não mudou, e o servidor pode responder 304 (Not Modified)
+ * lendo apenas um documento minúsculo, em vez de consultar e serializar a coleção inteira.
+ * Como o contador fica no próprio MongoDB, ele vale para todas as instâncias da aplicação.
+ */
+@Component
+public class VersaoColecoes {
+
+    // Nome da coleção auxiliar onde ficam os contadores (um documento por coleção, com _id igual ao nome dela).
+    static final String COLECAO = "versoes_colecoes";
+
+    // O MongoTemplate é usado para ler e incrementar os contadores.
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Construtor da classe VersaoColecoes.
+     * @param mongoTemplate O MongoTemplate fornecido pelo Spring.
+     */
+    public VersaoColecoes(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Lê o contador de alterações da coleção da entidade informada.
+     * @param entidade A classe da entidade (ex: Aluno.class).
+     * @return O valor atual do contador (0 se a coleção nunca foi alterada pela aplicação).
+     */
+    public long versao(Class<?> entidade) {
+        Document contador = mongoTemplate.findById(mongoTemplate.getCollectionName(entidade), Document.class, COLECAO);
+        return contador == null ? 0L : ((Number) contador.get("versao")).longValue();
+    }
+
+    /**
+     * Registra que a coleção da entidade informada foi alterada.
+     * @param entidade A classe da entidade (ex: Aluno.class).
+     */
+    public void incrementar(Class<?> entidade) {
+        mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(mongoTemplate.getCollectionName(entidade))),
+                new Update().inc("versao", 1L),
+                FindAndModifyOptions.options().upsert(true),
+                Document.class,
+                COLECAO);
+    }
+}
@@ -0,0 +1,182 @@
+// Define o pacote onde esta classe está localizada (o mesmo do ConversoresMongo).
+package com.exemplo.crudmongo.config;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa os modelos convertidos pelo ConversoresMongo.
+import com.exemplo.crudmongo.Model.Curriculo;
+import com.exemplo.crudmongo.Model.Curso;
+import com.exemplo.crudmongo.Model.Disciplina;
+import com.exemplo.crudmongo.Model.Turma;
+import org.bson.Document; // Importa a classe Document, que representa um documento BSON do MongoDB.
+import org.bson.types.ObjectId; // Importa o ObjectId, usado como ID dos objetos de teste.
+import org.junit.jupiter.params.ParameterizedTest; // Importa a anotação dos testes repetidos para cada modelo.
+import org.junit.jupiter.params.provider.ValueSource; // Importa a fonte dos parâmetros (os modelos).
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter; // Importa o conversor do Spring Data MongoDB.
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions; // Importa o registro de conversores personalizados.
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver; // Importa o resolvedor de referências vazio (os modelos não usam @DBRef).
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext; // Importa os metadados de mapeamento dos modelos.
+
+import java.lang.reflect.Field; // Importa a classe que representa um campo, usada para preencher todos os campos dos modelos.
+import java.lang.reflect.Modifier; // Importa os modificadores dos campos (para ignorar os estáticos).
+import java.time.Instant; // Importa a classe Instant, o tipo das datas dos modelos.
+import java.time.temporal.ChronoUnit; // Importa as unidades de tempo (as datas são gravadas com precisão de milissegundos).
+import java.util.List; // Importa a interface para trabalhar com listas.
+
+import static org.assertj.core.api.Assertions.assertThat; // Importa as verificações do AssertJ.
+
+/**
+ * Confere se os conversores escritos à mão (ConversoresMongo) produzem e leem os mesmos documentos que o mapeamento
+ * genérico do Spring Data.
+ *
+ * Os objetos de teste têm todos os campos preenchidos por reflexão, então um campo novo em um modelo que não for
+ * incluído nos conversores faz o teste falhar, em vez de ser descartado em silêncio na gravação ou na leitura.
+ */
+class ConversoresMongoTest {
+
+    // Conversor com o mapeamento genérico (sem os conversores escritos à mão).
+    private final MappingMongoConverter generico = conversor(new MongoCustomConversions(List.of()));
+
+    // Conversor com os conversores escritos à mão, como na aplicação.
+    private final MappingMongoConverter manual = conversor(new MongoCustomConversions(ConversoresMongo.conversores()));
+
+    @ParameterizedTest
+    @ValueSource(classes = {Aluno.class, Curso.class, Disciplina.class, Turma.class, Curriculo.class})
+    void gravaOMesmoDocumentoQueOMapeamentoGenerico(Class<?> tipo) throws Exception {
+        Object objeto = preenchido(tipo);
+
+        Document esperado = new Document();
+        generico.write(objeto, esperado);
+        esperado.remove("_class"); // Os conversores não gravam o tipo (cada coleção guarda um único tipo).
+        Document gravado = new Document();
+        manual.write(objeto, gravado);
+
+        // Todos os campos do modelo estão no documento (o _id no lugar do id).
+        assertThat(esperado).hasSize(campos(tipo).size());
+        assertThat(gravado).isEqualTo(esperado);
+        assertThat(gravado.get("_id")).isInstanceOf(ObjectId.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {Aluno.class, Curso.class, Disciplina.class, Turma.class, Curriculo.class})
+    void leOMesmoObjetoQueOMapeamentoGenerico(Class<?> tipo) throws Exception {
+        Object objeto = preenchido(tipo);
+
+        // Documento gravado pelo mapeamento genérico (com '_class', como os documentos antigos).
+        Document antigo = new Document();
+        generico.write(objeto, antigo);
+        assertThat(manual.read(tipo, antigo)).isEqualTo(objeto);
+        assertThat(generico.read(tipo, antigo)).isEqualTo(objeto);
+
+        // Documento gravado pelos conversores: ida e volta pelos dois caminhos.
+        Document novo = new Document();
+        manual.write(objeto, novo);
+        assertThat(manual.read(tipo, novo)).isEqualTo(objeto);
+        assertThat(generico.read(tipo, novo)).isEqualTo(objeto);
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {Aluno.class, Curso.class, Disciplina.class, Turma.class, Curriculo.class})
+    void camposNulosSaoOmitidos(Class<?> tipo) throws Exception {
+        Object vazio = tipo.getDeclaredConstructor().newInstance();
+
+        Document esperado = new Document();
+        generico.write(vazio, esperado);
+        esperado.remove("_class");
+        Document gravado = new Document();
+        manual.write(vazio, gravado);
+
+        assertThat(gravado).isEqualTo(esperado);
+        assertThat(manual.read(tipo, gravado)).isEqualTo(generico.read(tipo, gravado));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"aluno-1", "12345"})
+    void idQueNaoEObjectIdContinuaTexto(String id) {
+        Aluno aluno = new Aluno();
+        aluno.setId(id);
+
+        Document esperado = new Document();
+        generico.write(aluno, esperado);
+        Document gravado = new Document();
+        manual.write(aluno, gravado);
+
+        assertThat(gravado.get("_id")).isEqualTo(esperado.get("_id")).isEqualTo(id);
+        assertThat(manual.read(Aluno.class, gravado).getId()).isEqualTo(id);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 8})
+    void numerosGravadosComOutroTipo(int ira) {
+        // Ex: IRA gravado como inteiro e versão como int por outra ferramenta.
+        Document documento = new Document("_id", new ObjectId()).append("ira", ira).append("versao", 3);
+
+        Aluno lido = manual.read(Aluno.class, documento);
+        assertThat(lido).isEqualTo(generico.read(Aluno.class, documento));
+        assertThat(lido.getIra()).isEqualTo((double) ira);
+        assertThat(lido.getVersao()).isEqualTo(3L);
+    }
+
+    /**
+     * Monta um conversor com os conversores personalizados informados.
+     */
+    private static MappingMongoConverter conversor(MongoCustomConversions conversoes) {
+        MongoMappingContext contexto = new MongoMappingContext();
+        contexto.setSimpleTypeHolder(conversoes.getSimpleTypeHolder());
+        contexto.afterPropertiesSet();
+        MappingMongoConverter conversor = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexto);
+        conversor.setCustomConversions(conversoes);
+        conversor.afterPropertiesSet();
+        return conversor;
+    }
+
+    /**
+     * Cria um objeto do modelo com todos os campos preenchidos (cada um com um valor diferente).
+     */
+    private static Object preenchido(Class<?> tipo) throws Exception {
+        Object objeto = tipo.getDeclaredConstructor().newInstance();
+        int i = 0;
+        for (Field campo : campos(tipo)) {
+            campo.setAccessible(true);
+            campo.set(objeto, valor(campo, ++i));
+        }
+        return objeto;
+    }
+
+    /**
+     * Um valor de teste para o campo. Um tipo novo nos modelos precisa ser incluído aqui.
+     */
+    private static Object valor(Field campo, int i) {
+        Class<?> tipo = campo.getType();
+        if (campo.getName().equals("id")) {
+            return new ObjectId().toHexString();
+        }
+        if (tipo == String.class) {
+            return campo.getName() + "-" + i;
+        }
+        if (tipo == Double.class) {
+            return i + 0.25;
+        }
+        if (tipo == Integer.class) {
+            return 1000 + i;
+        }
+        if (tipo == Long.class) {
+            return 7L + i;
+        }
+        if (tipo == Instant.class) {
+            return Instant.now().minusSeconds(i).truncatedTo(ChronoUnit.MILLIS);
+        }
+        if (tipo == List.class) {
+            return List.of(campo.getName() + "-a", campo.getName() + "-b");
+        }
+        throw new AssertionError("Tipo sem valor de teste: " + campo);
+    }
+
+    /**
+     * Os campos gravados do modelo (os não estáticos).
+     */
+    private static List<Field> campos(Class<?> tipo) {
+        return List.of(tipo.getDeclaredFields()).stream()
+                .filter(campo -> !Modifier.isStatic(campo.getModifiers()))
+                .toList();
+    }
+}
@@ -0,0 +1,155 @@
+// Define o pacote onde esta classe está localizada (o mesmo do CarregadorEmLote, para usar o construtor do pacote).
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import org.junit.jupiter.api.AfterEach; // Importa a anotação do método executado depois de cada teste.
+import org.junit.jupiter.api.Test; // Importa a anotação que marca um método de teste.
+import org.springframework.cache.Cache; // Importa o cache de leitura preenchido pelo carregador.
+import org.springframework.cache.concurrent.ConcurrentMapCache; // Importa um cache simples em memória, no lugar do Caffeine.
+
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.Collection; // Importa a interface Collection, que representa os IDs de cada consulta.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Optional; // Importa a classe Optional, o resultado de cada busca.
+import java.util.concurrent.CompletableFuture; // Importa o CompletableFuture, usado para buscar em outras threads.
+import java.util.concurrent.CopyOnWriteArrayList; // Importa a lista segura para escrita concorrente das consultas feitas.
+import java.util.concurrent.CountDownLatch; // Importa a trava que segura a consulta até o teste liberar.
+import java.util.concurrent.Executors; // Importa a fábrica de executores.
+import java.util.concurrent.ScheduledExecutorService; // Importa o agendador usado pelo carregador.
+import java.util.concurrent.TimeUnit; // Importa as unidades de tempo.
+import java.util.concurrent.atomic.AtomicReference; // Importa a referência que guarda o valor "no banco".
+import java.util.function.Function; // Importa a interface funcional das funções de busca.
+
+import static org.assertj.core.api.Assertions.assertThat; // Importa as verificações do AssertJ.
+
+/**
+ * Testes do carregador em lote: envio imediato sem consulta em andamento, formação do próximo lote durante uma
+ * consulta e o cache, que não guarda o resultado de uma busca que começou antes de uma gravação.
+ */
+class CarregadorEmLoteTest {
+
+    // Janela longa: os testes não podem depender dela (uma busca que esperasse a janela passaria do tempo do teste).
+    private static final long JANELA_MICROS = 60_000_000L;
+
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor();
+
+    // IDs de cada consulta feita, na ordem.
+    private final List<List<String>> consultas = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    @Test
+    void buscaIsoladaNaoEsperaAJanela() {
+        CarregadorEmLote<String> carregador = carregador(ids -> List.copyOf(ids), null);
+
+        long inicio = System.nanoTime();
+        assertThat(carregador.carregar("a")).contains("a");
+        assertThat(carregador.carregar("b")).contains("b");
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio)).isLessThan(5);
+        assertThat(consultas).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void buscasDuranteUmaConsultaFormamOProximoLote() throws Exception {
+        CountDownLatch primeiraComecou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CarregadorEmLote<String> carregador = carregador(ids -> {
+            if (consultas.size() == 1) {
+                primeiraComecou.countDown();
+                aguardar(liberar);
+            }
+            return List.copyOf(ids);
+        }, null);
+
+        CompletableFuture<Optional<String>> primeira = CompletableFuture.supplyAsync(() -> carregador.carregar("a"));
+        assertThat(primeiraComecou.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Optional<String>>> seguintes = new ArrayList<>();
+        for (String id : List.of("b", "c", "d")) {
+            seguintes.add(CompletableFuture.supplyAsync(() -> carregador.carregar(id)));
+        }
+        aguardarPedidos(carregador, 4);
+        liberar.countDown();
+
+        assertThat(primeira.get(5, TimeUnit.SECONDS)).contains("a");
+        for (CompletableFuture<Optional<String>> seguinte : seguintes) {
+            assertThat(seguinte.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+        // Uma consulta para a busca isolada e uma só para as três que chegaram enquanto ela estava em andamento.
+        assertThat(consultas).hasSize(2);
+        assertThat(consultas.get(1)).containsExactlyInAnyOrder("b", "c", "d");
+    }
+
+    @Test
+    void resultadoLidoAntesDeUmaGravacaoNaoFicaNoCache() throws Exception {
+        AtomicReference<String> noBanco = new AtomicReference<>("v1");
+        CountDownLatch leu = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Cache cache = new ConcurrentMapCache("teste");
+        CarregadorEmLote<String> carregador = carregador(ids -> {
+            // O valor é lido antes da gravação, e a resposta só chega depois dela.
+            String lido = noBanco.get();
+            if (consultas.size() == 1) {
+                leu.countDown();
+                aguardar(liberar);
+            }
+            return List.of("x@" + lido);
+        }, cache);
+
+        CompletableFuture<Optional<String>> antiga = CompletableFuture.supplyAsync(() -> carregador.carregar("x"));
+        assertThat(leu.await(5, TimeUnit.SECONDS)).isTrue();
+        // Gravação, como nos serviços: o banco muda, o carregador é avisado e a entrada sai do cache.
+        noBanco.set("v2");
+        carregador.invalidar("x");
+        cache.evict("x");
+        liberar.countDown();
+
+        // Quem já esperava recebe o valor lido, mas ele não fica no cache.
+        assertThat(antiga.get(5, TimeUnit.SECONDS)).contains("x@v1");
+        assertThat(cache.get("x")).isNull();
+        assertThat(carregador.estatisticas()).containsEntry("naoGuardadas", 1L);
+
+        // A busca seguinte vai ao banco, e o resultado dela fica no cache e responde as buscas depois dela.
+        assertThat(carregador.carregar("x")).contains("x@v2");
+        assertThat(cache.get("x", String.class)).isEqualTo("x@v2");
+        assertThat(carregador.carregar("x")).contains("x@v2");
+        assertThat(consultas).hasSize(2);
+    }
+
+    /**
+     * Cria um carregador cuja consulta registra os IDs pedidos e delega à função informada.
+     * Os documentos de teste são textos: o próprio ID ou "id@valor".
+     */
+    private CarregadorEmLote<String> carregador(Function<Collection<String>, Iterable<String>> buscar,
+                                                Cache cache) {
+        return new CarregadorEmLote<>("teste", ids -> {
+            consultas.add(List.copyOf(ids));
+            return buscar.apply(ids);
+        }, documento -> documento.split("@")[0], JANELA_MICROS, 100, 10_000, agendador, cache);
+    }
+
+    /**
+     * Espera até o carregador ter recebido a quantidade de buscas informada.
+     */
+    private static void aguardarPedidos(CarregadorEmLote<?> carregador, long buscas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) carregador.estatisticas().get("buscas") < buscas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        // As buscas são contadas antes de entrarem no lote: uma pausa curta cobre o intervalo entre as duas coisas.
+        Thread.sleep(50);
+    }
+
+    /**
+     * Espera a trava, sem exceção verificada (para usar dentro das funções de busca).
+     */
+    private static void aguardar(CountDownLatch trava) {
+        try {
+            trava.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+// Define o pacote onde esta classe está localizada (o mesmo do ImportadorCsv, para acessar os métodos auxiliares).
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.Model.Importacao; // Importa o modelo com a situação de uma importação.
+import com.exemplo.crudmongo.Model.Turma; // Importa o modelo de dados 'Turma'.
+import com.exemplo.crudmongo.service.ImportadorCsv.Destino; // Importa as coleções que podem ser importadas.
+import com.exemplo.crudmongo.service.ImportadorCsv.Linha; // Importa a linha lida do arquivo.
+import com.fasterxml.jackson.databind.json.JsonMapper; // Importa o conversor JSON, usado para conferir os campos escondidos da resposta.
+import org.junit.jupiter.api.Test; // Importa a anotação que marca um método de teste.
+
+import java.io.BufferedReader; // Importa o leitor com buffer, como o usado na importação.
+import java.io.StringReader; // Importa o leitor de texto em memória, que faz o papel do arquivo.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+
+import static org.assertj.core.api.Assertions.assertThat; // Importa as verificações do AssertJ.
+import static org.assertj.core.api.Assertions.assertThatThrownBy; // Importa a verificação de exceções do AssertJ.
+
+/**
+ * Testes da leitura dos arquivos CSV (separador, cabeçalho, valores entre aspas, linhas em branco e retomada).
+ */
+class ImportadorCsvTest {
+
+    // Prefixo dos IDs de uma importação (9 bytes em hexadecimal).
+    private static final String PREFIXO = "0123456789abcdef01";
+
+    @Test
+    void separadorPeloCabecalho() {
+        assertThat(ImportadorCsv.separador("nome,ira,cursoId")).isEqualTo(',');
+        assertThat(ImportadorCsv.separador("nome;ira;cursoId")).isEqualTo(';');
+        // Com os dois caracteres no cabeçalho, vale a vírgula.
+        assertThat(ImportadorCsv.separador("nome;apelido,ira")).isEqualTo(',');
+        assertThat(ImportadorCsv.separador("nome")).isEqualTo(',');
+    }
+
+    @Test
+    void separarRespeitaAspas() {
+        assertThat(ImportadorCsv.separar("Ana,8.5,c1", ',')).containsExactly("Ana", "8.5", "c1");
+        assertThat(ImportadorCsv.separar("\"Silva, Ana\",8.5", ',')).containsExactly("Silva, Ana", "8.5");
+        assertThat(ImportadorCsv.separar("\"Ana; Maria\";\"8,5\";c1", ';')).containsExactly("Ana; Maria", "8,5", "c1");
+        // "" dentro de um valor entre aspas é uma aspa.
+        assertThat(ImportadorCsv.separar("\"Ana \"\"Aninha\"\" Souza\",7", ',')).containsExactly("Ana \"Aninha\" Souza", "7");
+        // Valores vazios, inclusive no fim da linha, são mantidos.
+        assertThat(ImportadorCsv.separar("Ana,,", ',')).containsExactly("Ana", "", "");
+        assertThat(ImportadorCsv.separar("", ',')).containsExactly("");
+    }
+
+    @Test
+    void separarRecusaAspasNaoFechadas() {
+        assertThatThrownBy(() -> ImportadorCsv.separar("\"Ana,8.5", ','))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("aspas não fechadas");
+    }
+
+    @Test
+    void colunasEmQualquerOrdemEComBom() {
+        Map<String, Integer> colunas = ImportadorCsv.colunas(Destino.ALUNOS, "\uFEFFIRA;Nome;desconhecida;cursoid");
+        // A marca de ordem de bytes (BOM) não faz parte do nome da primeira coluna.
+        assertThat(colunas).containsOnly(Map.entry("ira", 0), Map.entry("nome", 1), Map.entry("cursoId", 3));
+    }
+
+    @Test
+    void colunasRecusaCabecalhoVazioOuIncompleto() {
+        assertThatThrownBy(() -> ImportadorCsv.colunas(Destino.ALUNOS, null)).hasMessage("O arquivo está vazio");
+        assertThatThrownBy(() -> ImportadorCsv.colunas(Destino.ALUNOS, "  ")).hasMessage("O arquivo está vazio");
+        assertThatThrownBy(() -> ImportadorCsv.colunas(Destino.TURMAS, "disciplinaId,ano,professor"))
+                .hasMessage("Coluna obrigatória ausente: semestre");
+    }
+
+    @Test
+    void linhaDeAluno() {
+        Map<String, Integer> colunas = ImportadorCsv.colunas(Destino.ALUNOS, "nome;ira;cursoId;periodoIngressoId");
+        Linha linha = ImportadorCsv.linha(Destino.ALUNOS, colunas, ImportadorCsv.separar(" Ana ;8,5;;p1", ';'), 2, "id1");
+
+        Aluno aluno = (Aluno) linha.documento();
+        assertThat(aluno.getId()).isEqualTo("id1");
+        assertThat(aluno.getNome()).isEqualTo("Ana");
+        assertThat(aluno.getIra()).isEqualTo(8.5);
+        assertThat(aluno.getCursoId()).isNull(); // Valor vazio vira nulo.
+        assertThat(aluno.getPeriodoIngressoId()).isEqualTo("p1");
+        assertThat(aluno.getVersao()).isZero();
+        assertThat(linha.numero()).isEqualTo(2);
+        assertThat(linha.referencia()).isNull();
+    }
+
+    @Test
+    void linhaDeTurma() {
+        Map<String, Integer> colunas = ImportadorCsv.colunas(Destino.TURMAS, "disciplinaId,ano,semestre,professor");
+        Linha linha = ImportadorCsv.linha(Destino.TURMAS, colunas, ImportadorCsv.separar("d1,2024,2", ','), 3, "id2");
+
+        Turma turma = (Turma) linha.documento();
+        assertThat(turma.getDisciplinaId()).isEqualTo("d1");
+        assertThat(turma.getAno()).isEqualTo(2024);
+        assertThat(turma.getSemestre()).isEqualTo(2);
+        assertThat(turma.getProfessor()).isNull(); // Coluna ausente na linha.
+        assertThat(linha.referencia()).isEqualTo("d1");
+    }
+
+    @Test
+    void linhaRecusaValoresInvalidos() {
+        Map<String, Integer> alunos = ImportadorCsv.colunas(Destino.ALUNOS, "nome,ira");
+        assertThatThrownBy(() -> ImportadorCsv.linha(Destino.ALUNOS, alunos, List.of(" ", "7"), 2, "id"))
+                .hasMessage("nome é obrigatório");
+        assertThatThrownBy(() -> ImportadorCsv.linha(Destino.ALUNOS, alunos, List.of("Ana", "sete"), 2, "id"))
+                .hasMessage("ira não é um número: sete");
+        assertThatThrownBy(() -> ImportadorCsv.linha(Destino.ALUNOS, alunos, List.of("Ana", "-1"), 2, "id"))
+                .hasMessage("ira não pode ser negativo: -1");
+        assertThatThrownBy(() -> ImportadorCsv.linha(Destino.ALUNOS, alunos, List.of("Ana", "NaN"), 2, "id"))
+                .hasMessage("ira não é um número: NaN");
+
+        Map<String, Integer> turmas = ImportadorCsv.colunas(Destino.TURMAS, "disciplinaId,ano,semestre");
+        assertThatThrownBy(() -> ImportadorCsv.linha(Destino.TURMAS, turmas, List.of("d1", "2024", "3"), 2, "id"))
+                .hasMessage("semestre deve ser 1 ou 2: 3");
+        assertThatThrownBy(() -> ImportadorCsv.linha(Destino.TURMAS, turmas, List.of("d1", "2024.5", "1"), 2, "id"))
+                .hasMessage("ano não é um número inteiro: 2024.5");
+    }
+
+    @Test
+    void idDaLinhaUsaOPrefixoEOIndice() {
+        assertThat(ImportadorCsv.idDaLinha(PREFIXO, 0)).isEqualTo(PREFIXO + "000000");
+        assertThat(ImportadorCsv.idDaLinha(PREFIXO, 1)).isEqualTo(PREFIXO + "000001");
+        assertThat(ImportadorCsv.idDaLinha(PREFIXO, 0x0a0b0c)).isEqualTo(PREFIXO + "0a0b0c");
+        assertThat(ImportadorCsv.idDaLinha(PREFIXO, (1 << 24) - 1)).isEqualTo(PREFIXO + "ffffff");
+    }
+
+    @Test
+    void linhasEmBrancoSaoPuladasMasContamNaNumeracao() {
+        Map<String, Integer> colunas = ImportadorCsv.colunas(Destino.ALUNOS, "nome");
+        assertThat(ImportadorCsv.lerLinha(Destino.ALUNOS, colunas, ',', "", 0, PREFIXO)).isNull();
+        assertThat(ImportadorCsv.lerLinha(Destino.ALUNOS, colunas, ',', "  \t", 1, PREFIXO)).isNull();
+
+        Linha linha = ImportadorCsv.lerLinha(Destino.ALUNOS, colunas, ',', "Ana", 2, PREFIXO);
+        // Terceira linha de dados: linha 4 do arquivo (o cabeçalho é a linha 1).
+        assertThat(linha.numero()).isEqualTo(4);
+        assertThat(((Aluno) linha.documento()).getId()).isEqualTo(PREFIXO + "000002");
+    }
+
+    @Test
+    void retomadaContinuaDaMesmaLinhaComOsMesmosIds() throws Exception {
+        String arquivo = "\uFEFFnome;ira\nAna;7\n\nBia;8\nCaio;9\n\nDani;10\n";
+
+        // Importação sem interrupção.
+        List<Linha> todas = ler(arquivo, 0);
+        assertThat(todas).extracting(Linha::numero).containsExactly(2L, 4L, 5L, 7L);
+
+        // Retomada depois de cada checkpoint possível (inclusive depois de uma linha em branco):
+        // as linhas restantes têm os mesmos números e IDs da importação sem interrupção.
+        for (long processadas = 0; processadas <= 6; processadas++) {
+            long inicio = processadas;
+            List<Linha> esperadas = todas.stream().filter(l -> l.numero() - 2 >= inicio).toList();
+            List<Linha> retomadas = ler(arquivo, processadas);
+            assertThat(retomadas).extracting(Linha::numero).isEqualTo(esperadas.stream().map(Linha::numero).toList());
+            assertThat(retomadas).extracting(l -> ((Aluno) l.documento()).getId())
+                    .isEqualTo(esperadas.stream().map(l -> ((Aluno) l.documento()).getId()).toList());
+        }
+
+        // Checkpoint além do fim do arquivo: nada a ler.
+        assertThat(ler(arquivo, 50)).isEmpty();
+    }
+
+    @Test
+    void importacaoNaoExpoeArquivoNemPrefixo() throws Exception {
+        Importacao importacao = new Importacao();
+        importacao.setId("i1");
+        importacao.setArquivo("/tmp/importacao-i1.csv");
+        importacao.setPrefixoIds(PREFIXO);
+
+        String json = JsonMapper.builder().findAndAddModules().build().writeValueAsString(importacao);
+        assertThat(json).contains("\"id\":\"i1\"").doesNotContain("arquivo\"", "prefixoIds", "/tmp/", PREFIXO);
+    }
+
+    /**
+     * Lê o arquivo como a importação: cabeçalho, linhas já processadas puladas e as demais linhas.
+     */
+    private static List<Linha> ler(String arquivo, long linhasProcessadas) throws Exception {
+        List<Linha> linhas = new ArrayList<>();
+        try (BufferedReader leitor = new BufferedReader(new StringReader(arquivo))) {
+            String cabecalho = leitor.readLine();
+            Map<String, Integer> colunas = ImportadorCsv.colunas(Destino.ALUNOS, cabecalho);
+            char separador = ImportadorCsv.separador(cabecalho);
+            ImportadorCsv.pular(leitor, linhasProcessadas);
+            long indice = linhasProcessadas;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                Linha linha = ImportadorCsv.lerLinha(Destino.ALUNOS, colunas, separador, texto, indice++, PREFIXO);
+                if (linha != null) {
+                    linhas.add(linha);
+                }
+            }
+        }
+        return linhas;
+    }
+}
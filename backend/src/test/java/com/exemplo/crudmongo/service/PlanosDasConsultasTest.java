@@ -0,0 +1,348 @@
+// Define o pacote onde esta classe está localizada (o mesmo dos serviços, para acessar a consulta do ranking no banco).
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.mongodb.ConnectionString; // Importa a URI de conexão, usada para ler o nome do banco.
+import com.mongodb.MongoException; // Importa a exceção do driver (ex: comando não suportado pelo servidor).
+import com.mongodb.client.MongoClient; // Importa o cliente síncrono do MongoDB, usado antes e depois do contexto do Spring.
+import com.mongodb.client.MongoClients; // Importa a fábrica de clientes do MongoDB.
+import com.mongodb.event.CommandListener; // Importa a interface dos ouvintes de comandos do driver.
+import com.mongodb.event.CommandStartedEvent; // Importa o evento publicado quando um comando é enviado ao MongoDB.
+import de.bwaldvogel.mongo.MongoServer; // Importa o servidor compatível com o MongoDB que roda dentro da JVM.
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend; // Importa o armazenamento em memória do servidor embutido.
+import org.bson.BsonArray; // Importa a lista BSON, usada para ler o pipeline das agregações.
+import org.bson.BsonDocument; // Importa o documento BSON dos comandos enviados.
+import org.bson.BsonString; // Importa o texto BSON, usado no comando 'explain'.
+import org.bson.BsonValue; // Importa o valor BSON de cada critério do filtro.
+import org.bson.Document; // Importa a classe Document, que representa a resposta do 'explain'.
+import org.junit.jupiter.api.AfterAll; // Importa a anotação do método executado depois de todos os testes.
+import org.junit.jupiter.api.Assertions; // Importa a falha explícita, usada quando o MongoDB informado não responde.
+import org.junit.jupiter.api.BeforeAll; // Importa a anotação do método executado antes de todos os testes.
+import org.junit.jupiter.api.Test; // Importa a anotação que marca um método de teste.
+import org.springframework.beans.factory.annotation.Autowired; // Importa a anotação de injeção dos beans nos testes.
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer; // Personaliza os clientes do MongoDB criados pelo Spring Boot.
+import org.springframework.boot.test.context.SpringBootTest; // Importa a anotação que sobe o contexto da aplicação no teste.
+import org.springframework.boot.test.context.TestConfiguration; // Importa a anotação das configurações usadas só no teste.
+import org.springframework.context.annotation.Bean; // Importa a anotação @Bean.
+import org.springframework.data.domain.Sort; // Importa a direção dos campos dos índices.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado para executar o 'explain' e ler os índices.
+import org.springframework.data.mongodb.core.index.IndexField; // Importa a descrição de um campo de índice.
+import org.springframework.data.mongodb.core.index.IndexInfo; // Importa a descrição de um índice existente.
+import org.springframework.test.annotation.DirtiesContext; // Importa a anotação que encerra o contexto no fim da classe.
+import org.springframework.test.context.DynamicPropertyRegistry; // Importa o registro das propriedades definidas no teste.
+import org.springframework.test.context.DynamicPropertySource; // Importa a anotação do método que define as propriedades.
+
+import java.net.InetSocketAddress; // Importa o endereço em que o servidor embutido escuta.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem dos campos da ordenação.
+import java.util.LinkedHashSet; // Importa o conjunto que mantém a ordem dos campos do filtro.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.Set; // Importa a interface Set, usada para a lista de comandos conferidos.
+
+import static org.assertj.core.api.Assertions.assertThat; // Importa as verificações do AssertJ.
+
+/**
+ * Confere se as consultas da aplicação que dependem dos índices criados em IndicesMongo podem usar esses índices.
+ *
+ * As consultas não são copiadas para cá: cada teste chama o serviço ou o repositório, e os comandos enviados ao banco
+ * (find e aggregate) são capturados por um ouvinte do driver. Para cada comando, são feitas duas conferências:
+ * - Em todo build: os campos do filtro e da ordenação precisam formar o começo de um dos índices criados por
+ *   IndicesMongo (primeiro os filtros de igualdade, depois os de intervalo e a ordenação, na direção do índice ou na
+ *   inversa). Os índices são lidos do banco depois que IndicesMongo os criou, no servidor embutido (mongo-java-server).
+ * - Com um MongoDB de verdade: o plano do comando 'explain' não pode ler a coleção inteira (COLLSCAN). O servidor
+ *   embutido não implementa o 'explain', então essa parte só roda quando a propriedade 'crudmongo.teste.mongo-uri'
+ *   (ou a variável CRUDMONGO_TESTE_MONGO_URI) informa um banco descartável, que é apagado no fim. Se esse servidor não
+ *   responder ao 'explain', o teste falha (em vez de ser pulado).
+ * Ex: mvn test -Dtest=PlanosDasConsultasTest -Dcrudmongo.teste.mongo-uri=mongodb://localhost:27017/crudmongo-planos
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext
+class PlanosDasConsultasTest {
+
+    // Comandos cujo plano é conferido.
+    private static final Set<String> CONSULTAS = Set.of("find", "aggregate");
+
+    // Comandos enviados pela thread do teste enquanto a captura está ligada (o driver síncrono avisa na própria thread).
+    private static final ThreadLocal<List<BsonDocument>> capturados = new ThreadLocal<>();
+
+    // Operadores que o índice trata como igualdade (os demais são intervalos, ex: $gte, $ne, $type).
+    private static final Set<String> IGUALDADE = Set.of("$eq", "$in");
+
+    // A URI do MongoDB de teste.
+    private static String uri;
+
+    // Servidor embutido, usado quando nenhum MongoDB de verdade é informado (nulo no outro caso).
+    private static MongoServer servidor;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private TurmaService turmaService;
+
+    @Autowired
+    private CurriculoService curriculoService;
+
+    @Autowired
+    private EstatisticasIra estatisticasIra;
+
+    @Autowired
+    private RankingIra rankingIra;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Ouvinte que guarda os comandos de consulta da thread que ligou a captura.
+     */
+    @TestConfiguration
+    static class Captura {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer capturaDeComandos() {
+            return configuracoes -> configuracoes.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent evento) {
+                    List<BsonDocument> lista = capturados.get();
+                    if (lista != null && CONSULTAS.contains(evento.getCommandName())) {
+                        lista.add(evento.getCommand().clone());
+                    }
+                }
+            });
+        }
+    }
+
+    @BeforeAll
+    static void escolherMongo() {
+        uri = System.getProperty("crudmongo.teste.mongo-uri", System.getenv("CRUDMONGO_TESTE_MONGO_URI"));
+        if (uri == null || uri.isBlank()) {
+            servidor = new MongoServer(new MemoryBackend());
+            InetSocketAddress endereco = servidor.bind(); // Escuta no localhost, em uma porta livre.
+            uri = "mongodb://127.0.0.1:" + endereco.getPort() + "/planos-teste";
+            return;
+        }
+        if (new ConnectionString(uri).getDatabase() == null) {
+            Assertions.fail("Informe o nome de um banco descartável na URI " + uri);
+        }
+        try (MongoClient cliente = MongoClients.create(uri)) {
+            cliente.getDatabase(new ConnectionString(uri).getDatabase()).runCommand(
+                    new Document("explain", new Document("find", "alunos")).append("verbosity", "queryPlanner"));
+        } catch (MongoException e) {
+            Assertions.fail("O servidor em " + uri + " não executou o 'explain': " + e.getMessage());
+        }
+    }
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registro) {
+        registro.add("spring.data.mongodb.uri", () -> uri);
+        // O servidor embutido registra um aviso para cada índice e comando que não implementa.
+        registro.add("logging.level.de.bwaldvogel", () -> "OFF");
+    }
+
+    @AfterAll
+    static void encerrar() {
+        if (servidor != null) {
+            servidor.shutdownNow();
+        } else if (uri != null && !uri.isBlank()) {
+            try (MongoClient cliente = MongoClients.create(uri)) {
+                cliente.getDatabase(new ConnectionString(uri).getDatabase()).drop();
+            }
+        }
+    }
+
+    @Test
+    void rankingDoCurso() {
+        conferirIndice(() -> rankingIra.doBanco("curso-1", 10));
+    }
+
+    @Test
+    void filtroDeAlunos() {
+        conferirIndice(() -> alunoService.filtrar("curso-1", null, 10));
+        conferirIndice(() -> alunoService.filtrar("curso-1", 7.0, 10));
+    }
+
+    @Test
+    void filtroDeTurmas() {
+        conferirIndice(() -> turmaService.filtrar("disciplina-1", null, null, 10));
+        conferirIndice(() -> turmaService.filtrar("disciplina-1", 2024, null, 10));
+        conferirIndice(() -> turmaService.filtrar("disciplina-1", 2024, 1, 10));
+    }
+
+    @Test
+    void filtroDeCurriculos() {
+        conferirIndice(() -> curriculoService.filtrar("curso-1", null, null, 10));
+        conferirIndice(() -> curriculoService.filtrar("curso-1", 2024, null, 10));
+        conferirIndice(() -> curriculoService.filtrar("curso-1", 2024, 1, 10));
+    }
+
+    @Test
+    void estatisticasDeUmGrupo() {
+        conferirIndice(() -> estatisticasIra.calcular(EstatisticasIra.Agrupamento.CURSO, "curso-1"));
+        conferirIndice(() -> estatisticasIra.calcular(EstatisticasIra.Agrupamento.PERIODO_INGRESSO, "periodo-1"));
+    }
+
+    @Test
+    void distribuicaoDeUmCurso() {
+        conferirIndice(() -> estatisticasIra.distribuicao("curso-1", List.of(0.0, 5.0, 10.0)));
+    }
+
+    /**
+     * Executa a consulta, captura os comandos enviados ao banco e confere cada um.
+     */
+    private void conferirIndice(Runnable consulta) {
+        List<BsonDocument> comandos = new ArrayList<>();
+        capturados.set(comandos);
+        try {
+            consulta.run();
+        } finally {
+            capturados.remove();
+        }
+        assertThat(comandos).as("comandos de consulta enviados ao banco").isNotEmpty();
+
+        for (BsonDocument comando : comandos) {
+            conferirPrefixoDeIndice(comando);
+            if (servidor == null) {
+                conferirPlano(comando);
+            }
+        }
+    }
+
+    /**
+     * Confere se os campos do filtro e da ordenação do comando formam o começo de algum índice da coleção.
+     * Nos comandos aggregate, valem o $match do primeiro estágio e o $sort logo depois dele (os estágios seguintes
+     * trabalham sobre documentos já lidos).
+     */
+    private void conferirPrefixoDeIndice(BsonDocument comando) {
+        String colecao = comando.getString(comando.getFirstKey()).getValue();
+        BsonDocument filtro;
+        BsonDocument ordem;
+        if (comando.containsKey("pipeline")) {
+            BsonArray pipeline = comando.getArray("pipeline");
+            BsonDocument primeiro = pipeline.get(0).asDocument();
+            assertThat(primeiro.getFirstKey()).as("primeiro estágio de %s", comando.toJson()).isEqualTo("$match");
+            filtro = primeiro.getDocument("$match");
+            BsonDocument segundo = pipeline.size() > 1 ? pipeline.get(1).asDocument() : new BsonDocument();
+            ordem = segundo.getDocument("$sort", new BsonDocument());
+        } else {
+            filtro = comando.getDocument("filter", new BsonDocument());
+            ordem = comando.getDocument("sort", new BsonDocument());
+        }
+
+        // Campos com filtro de igualdade, e os demais (intervalo e ordenação), que vêm depois deles no índice.
+        Set<String> igualdade = new LinkedHashSet<>();
+        Set<String> campos = new LinkedHashSet<>();
+        filtro.forEach((campo, valor) -> {
+            assertThat(campo).as("critério de %s", comando.toJson()).doesNotStartWith("$");
+            if (ehIgualdade(valor)) {
+                igualdade.add(campo);
+            }
+        });
+        campos.addAll(igualdade);
+        campos.addAll(filtro.keySet());
+        Map<String, Integer> direcoes = new LinkedHashMap<>();
+        ordem.forEach((campo, valor) -> direcoes.put(campo, valor.asNumber().intValue()));
+        // O _id no fim da ordenação só desempata: como ele é único, o índice não precisa incluí-lo.
+        if (!direcoes.isEmpty() && List.copyOf(direcoes.keySet()).get(direcoes.size() - 1).equals("_id")) {
+            direcoes.remove("_id");
+        }
+        campos.addAll(direcoes.keySet());
+
+        List<IndexInfo> indices = mongoTemplate.indexOps(colecao).getIndexInfo();
+        assertThat(indices.stream().anyMatch(indice -> atende(indice.getIndexFields(), igualdade, campos, direcoes)))
+                .as("nenhum índice de %s começa pelos campos %s (igualdade: %s) de %s; índices: %s",
+                        colecao, campos, igualdade, comando.toJson(), indices.stream()
+                                .map(indice -> indice.getName() + indice.getIndexFields().stream().map(IndexField::getKey).toList())
+                                .toList())
+                .isTrue();
+    }
+
+    /**
+     * Indica se o critério de um campo é de igualdade (valor direto, $eq ou $in).
+     */
+    private static boolean ehIgualdade(BsonValue valor) {
+        if (!valor.isDocument() || valor.asDocument().isEmpty() || !valor.asDocument().getFirstKey().startsWith("$")) {
+            return true;
+        }
+        return IGUALDADE.containsAll(valor.asDocument().keySet());
+    }
+
+    /**
+     * Indica se o índice começa pelos campos de igualdade, seguidos dos demais campos (em qualquer ordem entre si),
+     * e se os campos ordenados têm todos a direção do índice ou todos a direção inversa.
+     */
+    private static boolean atende(List<IndexField> indice, Set<String> igualdade, Set<String> campos,
+                                  Map<String, Integer> direcoes) {
+        if (indice.size() < campos.size()) {
+            return false;
+        }
+        List<String> chaves = indice.stream().map(IndexField::getKey).toList();
+        if (!Set.copyOf(chaves.subList(0, igualdade.size())).equals(igualdade)
+                || !Set.copyOf(chaves.subList(0, campos.size())).equals(campos)) {
+            return false;
+        }
+        Set<Boolean> mesmaDirecao = new LinkedHashSet<>();
+        for (IndexField campo : indice.subList(0, campos.size())) {
+            Integer direcao = direcoes.get(campo.getKey());
+            if (direcao != null && !igualdade.contains(campo.getKey())) {
+                mesmaDirecao.add((direcao > 0) == (campo.getDirection() == Sort.Direction.ASC));
+            }
+        }
+        return mesmaDirecao.size() <= 1;
+    }
+
+    /**
+     * Confere, com o comando 'explain', se o plano do comando não lê a coleção inteira.
+     */
+    private void conferirPlano(BsonDocument comando) {
+        // Retira os campos que o driver acrescenta ao comando ($db, lsid, $clusterTime...).
+        BsonDocument consultaEnviada = new BsonDocument();
+        comando.forEach((campo, valor) -> {
+            if (!campo.startsWith("$") && !campo.equals("lsid")) {
+                consultaEnviada.append(campo, valor);
+            }
+        });
+        Document plano = mongoTemplate.getDb().runCommand(
+                new BsonDocument("explain", consultaEnviada).append("verbosity", new BsonString("queryPlanner")));
+
+        List<Object> planosVencedores = new ArrayList<>();
+        procurar(plano, "winningPlan", planosVencedores);
+        assertThat(planosVencedores).as("plano de %s", consultaEnviada.toJson()).isNotEmpty();
+        assertThat(planosVencedores.stream().anyMatch(PlanosDasConsultasTest::leColecaoInteira))
+                .as("%s lê a coleção inteira (COLLSCAN): %s", consultaEnviada.toJson(), planosVencedores)
+                .isFalse();
+    }
+
+    /**
+     * Procura, recursivamente, os valores de um campo dentro da resposta do 'explain'.
+     * O formato da resposta varia entre versões do MongoDB e entre find e aggregate (ex: stages[0].$cursor.queryPlanner),
+     * por isso a busca percorre todos os documentos e listas aninhados.
+     */
+    private static void procurar(Object valor, String campo, List<Object> encontrados) {
+        if (valor instanceof Document documento) {
+            documento.forEach((nome, filho) -> {
+                if (nome.equals(campo)) {
+                    encontrados.add(filho);
+                } else {
+                    procurar(filho, campo, encontrados);
+                }
+            });
+        } else if (valor instanceof List<?> lista) {
+            lista.forEach(filho -> procurar(filho, campo, encontrados));
+        }
+    }
+
+    /**
+     * Indica se o plano tem algum estágio COLLSCAN (ex: FETCH -> IXSCAN usa índice; COLLSCAN lê a coleção inteira).
+     */
+    private static boolean leColecaoInteira(Object plano) {
+        if (plano instanceof Document documento) {
+            return "COLLSCAN".equals(documento.get("stage"))
+                    || documento.values().stream().anyMatch(PlanosDasConsultasTest::leColecaoInteira);
+        }
+        if (plano instanceof List<?> lista) {
+            return lista.stream().anyMatch(PlanosDasConsultasTest::leColecaoInteira);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,225 @@
+// Define o pacote onde esta classe está localizada (o mesmo do RankingIra, para acessar a consulta no banco).
+package com.exemplo.crudmongo.service;
+
+// Importações de classes e anotações necessárias.
+import com.exemplo.crudmongo.Model.Aluno; // Importa o modelo de dados 'Aluno'.
+import com.exemplo.crudmongo.Model.Curso; // Importa o modelo de dados 'Curso'.
+import com.exemplo.crudmongo.Model.Importacao; // Importa o modelo com a situação de uma importação.
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa o ObjectMapper, usado para montar o corpo do lote.
+import de.bwaldvogel.mongo.MongoServer; // Importa o servidor compatível com o MongoDB que roda dentro da JVM.
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend; // Importa o armazenamento em memória do servidor embutido.
+import org.junit.jupiter.api.AfterAll; // Importa a anotação do método executado depois de todos os testes.
+import org.junit.jupiter.api.Test; // Importa a anotação que marca um método de teste.
+import org.springframework.beans.factory.annotation.Autowired; // Importa a anotação de injeção dos beans nos testes.
+import org.springframework.boot.test.context.SpringBootTest; // Importa a anotação que sobe o contexto da aplicação no teste.
+import org.springframework.data.mongodb.core.MongoTemplate; // Importa o MongoTemplate, usado para gravar por fora dos serviços.
+import org.springframework.test.annotation.DirtiesContext; // Importa a anotação que encerra o contexto no fim da classe.
+import org.springframework.test.context.DynamicPropertyRegistry; // Importa o registro das propriedades definidas no teste.
+import org.springframework.test.context.DynamicPropertySource; // Importa a anotação do método que define as propriedades.
+
+import java.io.ByteArrayInputStream; // Importa o fluxo de entrada em memória, que faz o papel do corpo das requisições.
+import java.net.InetSocketAddress; // Importa o endereço em que o servidor embutido escuta.
+import java.nio.charset.StandardCharsets; // Importa a codificação UTF-8.
+import java.util.ArrayList; // Importa a implementação de lista.
+import java.util.HashMap; // Importa a implementação de mapa (aceita valores nulos no PATCH).
+import java.util.LinkedHashMap; // Importa o mapa que mantém a ordem dos campos dos itens do lote.
+import java.util.List; // Importa a interface para trabalhar com listas.
+import java.util.Map; // Importa a interface Map.
+import java.util.Random; // Importa o gerador de números aleatórios (com semente fixa, para o teste ser repetível).
+
+import static org.assertj.core.api.Assertions.assertThat; // Importa as verificações do AssertJ.
+
+/**
+ * Confere se o ranking de IRA em memória (RankingIra) continua igual à consulta no banco depois das gravações feitas
+ * por todos os caminhos da aplicação: inclusão, alteração (PUT), alteração parcial (PATCH), exclusão, lote e
+ * importação de CSV. As alterações são sorteadas (com semente fixa) entre alguns cursos, com IRAs repetidos para
+ * exercitar o desempate pelo ID.
+ *
+ * O MongoDB é um servidor embutido em memória (mongo-java-server), então o teste roda sem nada instalado.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext
+class RankingIraTest {
+
+    // Servidor embutido, iniciado antes do contexto do Spring (ver propriedades).
+    private static MongoServer servidor;
+
+    // Quantidades de posições conferidas em cada curso (1000 é o máximo da API e cobre o curso inteiro).
+    private static final int[] QUANTIDADES = {1, 5, 1000};
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private ImportadorCsv importadorCsv;
+
+    @Autowired
+    private RankingIra rankingIra;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Sorteio das alterações.
+    private final Random sorteio = new Random(17);
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registro) {
+        servidor = new MongoServer(new MemoryBackend());
+        InetSocketAddress endereco = servidor.bind(); // Escuta no localhost, em uma porta livre.
+        registro.add("spring.data.mongodb.uri", () -> "mongodb://127.0.0.1:" + endereco.getPort() + "/ranking-teste");
+        // O servidor embutido registra um aviso para cada índice e comando que não implementa.
+        registro.add("logging.level.de.bwaldvogel", () -> "OFF");
+    }
+
+    @AfterAll
+    static void encerrar() {
+        servidor.shutdownNow();
+    }
+
+    @Test
+    void rankingEmMemoriaIgualAoDoBanco() throws Exception {
+        List<String> cursos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Curso curso = new Curso();
+            curso.setNome("Curso " + i);
+            cursos.add(cursoService.salvar(curso).getId());
+        }
+        // Um ID de curso inexistente também é conferido (ranking vazio nos dois lados).
+        List<String> conferidos = new ArrayList<>(cursos);
+        conferidos.add("000000000000000000000000");
+
+        // Inclusões.
+        List<String> alunos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            alunos.add(alunoService.salvar(novoAluno(cursos, "Aluno " + i)).getId());
+        }
+        conferir(conferidos);
+
+        // Alterações (PUT e PATCH) e exclusões sorteadas.
+        for (int i = 0; i < 200; i++) {
+            String id = alunos.get(sorteio.nextInt(alunos.size()));
+            switch (sorteio.nextInt(6)) {
+                case 0, 1 -> alunoService.atualizar(id, null, novoAluno(cursos, "Alterado " + i));
+                case 2 -> alunoService.atualizarParcialmente(id, null, Map.of("ira", ira()));
+                case 3 -> {
+                    Map<String, Object> campos = new HashMap<>();
+                    campos.put(sorteio.nextBoolean() ? "cursoId" : "ira", null);
+                    alunoService.atualizarParcialmente(id, null, campos);
+                }
+                case 4 -> alunoService.atualizarParcialmente(id, null, Map.of("cursoId", cursos.get(sorteio.nextInt(cursos.size()))));
+                default -> {
+                    alunoService.excluir(id, null);
+                    alunos.remove(id);
+                    alunos.add(alunoService.salvar(novoAluno(cursos, "Novo " + i)).getId());
+                }
+            }
+            if (i % 50 == 49) {
+                conferir(conferidos);
+            }
+        }
+        conferir(conferidos);
+
+        // Lote: itens novos e itens que substituem alunos existentes (inclusive trocando de curso).
+        List<Map<String, Object>> lote = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            if (i % 2 == 0) {
+                item.put("id", alunos.get(sorteio.nextInt(alunos.size())));
+            }
+            item.put("nome", "Lote " + i);
+            item.put("ira", sorteio.nextInt(10) == 0 ? null : ira());
+            item.put("cursoId", cursos.get(sorteio.nextInt(cursos.size())));
+            lote.add(item);
+        }
+        alunoService.salvarEmLote(new ByteArrayInputStream(objectMapper.writeValueAsBytes(lote)), 7);
+        conferir(conferidos);
+
+        // Importação de CSV, com uma linha em branco e uma linha recusada (curso inexistente).
+        StringBuilder csv = new StringBuilder("nome;ira;cursoId\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("Importado ").append(i).append(';').append(String.valueOf(ira()).replace('.', ','))
+                    .append(';').append(cursos.get(sorteio.nextInt(cursos.size()))).append('\n');
+        }
+        csv.append("\nRecusado;9,5;000000000000000000000000\n");
+        Importacao importacao = importadorCsv.receber("alunos",
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        Importacao concluida = aguardar(importacao.getId());
+        assertThat(concluida.getStatus()).isEqualTo(Importacao.CONCLUIDA);
+        assertThat(concluida.getLinhasGravadas()).isEqualTo(50);
+        assertThat(concluida.getLinhasInvalidas()).isEqualTo(1);
+        conferir(conferidos);
+    }
+
+    @Test
+    void rankingLidoDaMemoria() {
+        Curso curso = new Curso();
+        curso.setNome("Curso da memória");
+        String cursoId = cursoService.salvar(curso).getId();
+        Aluno aluno = new Aluno();
+        aluno.setNome("Pelo serviço");
+        aluno.setIra(7.0);
+        aluno.setCursoId(cursoId);
+        String id = alunoService.salvar(aluno).getId();
+
+        // Um documento gravado por fora dos serviços não aparece no ranking: a leitura não vai ao banco.
+        Aluno porFora = new Aluno();
+        porFora.setNome("Por fora");
+        porFora.setIra(10.0);
+        porFora.setCursoId(cursoId);
+        mongoTemplate.insert(porFora);
+
+        assertThat(alunoService.ranking(cursoId, 5)).extracting("id").containsExactly(id);
+        assertThat(rankingIra.doBanco(cursoId, 5)).extracting("id").containsExactly(porFora.getId(), id);
+    }
+
+    /**
+     * Compara o ranking devolvido pelo serviço (em memória) com a consulta no banco, em cada curso.
+     */
+    private void conferir(List<String> cursos) {
+        for (String cursoId : cursos) {
+            for (int k : QUANTIDADES) {
+                assertThat(alunoService.ranking(cursoId, k))
+                        .as("curso %s, k = %d", cursoId, k)
+                        .isEqualTo(rankingIra.doBanco(cursoId, k));
+            }
+        }
+    }
+
+    /**
+     * Um aluno com curso e IRA sorteados (às vezes sem curso ou sem IRA, que ficam fora do ranking).
+     */
+    private Aluno novoAluno(List<String> cursos, String nome) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(nome);
+        aluno.setIra(sorteio.nextInt(10) == 0 ? null : ira());
+        aluno.setCursoId(sorteio.nextInt(10) == 0 ? null : cursos.get(sorteio.nextInt(cursos.size())));
+        return aluno;
+    }
+
+    /**
+     * Um IRA entre 5 e 10, de meio em meio ponto (com muitos empates).
+     */
+    private double ira() {
+        return 5.0 + sorteio.nextInt(11) * 0.5;
+    }
+
+    /**
+     * Espera a importação terminar (ela roda em segundo plano).
+     */
+    private Importacao aguardar(String id) throws InterruptedException {
+        long limite = System.nanoTime() + 30_000_000_000L;
+        Importacao importacao = importadorCsv.buscar(id);
+        while (!Importacao.CONCLUIDA.equals(importacao.getStatus()) && !Importacao.FALHA.equals(importacao.getStatus())
+                && System.nanoTime() < limite) {
+            Thread.sleep(50);
+            importacao = importadorCsv.buscar(id);
+        }
+        return importacao;
+    }
+}